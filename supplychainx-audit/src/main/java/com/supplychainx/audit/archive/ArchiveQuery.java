@@ -0,0 +1,59 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtres d'une lecture de l'archive (mêmes règles que la recherche en base : performedBy par préfixe,
+ * ou exact pour l'historique d'un utilisateur)
+ */
+public record ArchiveQuery(
+        EntityType entityType,
+        Long entityId,
+        ActionType action,
+        String performedBy,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        boolean exactUser) {
+
+    public ArchiveQuery(EntityType entityType, Long entityId, ActionType action, String performedBy,
+                        LocalDateTime startDate, LocalDateTime endDate) {
+        this(entityType, entityId, action, performedBy, startDate, endDate, false);
+    }
+
+    public static ArchiveQuery forEntity(EntityType entityType, Long entityId) {
+        return new ArchiveQuery(entityType, entityId, null, null, null, null);
+    }
+
+    public static ArchiveQuery forUser(String username) {
+        return new ArchiveQuery(null, null, null, username, null, null, true);
+    }
+
+    long startMicros() {
+        return startDate != null ? RecordCodec.toMicros(startDate) : Long.MIN_VALUE;
+    }
+
+    long endMicros() {
+        return endDate != null ? RecordCodec.toMicros(endDate) : Long.MAX_VALUE;
+    }
+
+    boolean matches(AuditLogResponseDTO log) {
+        return (entityType == null || entityType == log.getEntityType())
+                && (entityId == null || entityId.equals(log.getEntityId()))
+                && (action == null || action == log.getAction())
+                && matchesUser(log.getPerformedBy())
+                && (startDate == null || !log.getTimestamp().isBefore(startDate))
+                && (endDate == null || !log.getTimestamp().isAfter(endDate));
+    }
+
+    private boolean matchesUser(String user) {
+        if (exactUser) {
+            return performedBy == null || performedBy.equals(user);
+        }
+        return performedBy == null || performedBy.isBlank()
+                || (user != null && user.startsWith(performedBy.trim()));
+    }
+}
@@ -0,0 +1,173 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Métadonnées d'un segment d'archive, lues depuis son pied
+ *
+ * Un segment est stocké en deux parties : le contenu ([bloc compressé]...) et le pied
+ * ([MAGIC : int] [version] bornes du segment (dates, identifiants), index clairsemé des blocs (position,
+ * tailles, nombre de logs, première/dernière date, CRC32) et filtre de Bloom des entités).
+ * Seul le pied est gardé en mémoire ; le contenu est fourni à chaque parcours.
+ */
+final class ArchiveSegment {
+
+    static final int MAGIC = 0x41554C47;
+    static final int VERSION = 2;
+
+    record Block(long offset, int compressedLength, int rawLength, int records, long firstMicros, long lastMicros,
+                 int crc) {
+    }
+
+    private final long id;
+    private final int recordCount;
+    private final long minMicros;
+    private final long maxMicros;
+    private final long minId;
+    private final long maxId;
+    private final List<Block> blocks;
+    private final BloomFilter bloom;
+
+    private ArchiveSegment(long id, int recordCount, long minMicros, long maxMicros, long minId, long maxId,
+                           List<Block> blocks, BloomFilter bloom) {
+        this.id = id;
+        this.recordCount = recordCount;
+        this.minMicros = minMicros;
+        this.maxMicros = maxMicros;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.blocks = blocks;
+        this.bloom = bloom;
+    }
+
+    static ArchiveSegment open(long id, ByteBuffer footer) throws IOException {
+        if (footer.remaining() < 2 * Integer.BYTES || footer.getInt() != MAGIC) {
+            throw new IOException("Segment d'archive invalide: " + id);
+        }
+        if (footer.getInt() != VERSION) {
+            throw new IOException("Version de segment non supportée: " + id);
+        }
+        int recordCount = footer.getInt();
+        long minMicros = footer.getLong();
+        long maxMicros = footer.getLong();
+        long minId = footer.getLong();
+        long maxId = footer.getLong();
+        int blockCount = footer.getInt();
+        List<Block> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            blocks.add(new Block(footer.getLong(), footer.getInt(), footer.getInt(), footer.getInt(),
+                    footer.getLong(), footer.getLong(), footer.getInt()));
+        }
+        int hashCount = footer.getInt();
+        long[] words = new long[footer.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = footer.getLong();
+        }
+        return new ArchiveSegment(id, recordCount, minMicros, maxMicros, minId, maxId,
+                List.copyOf(blocks), new BloomFilter(words, hashCount));
+    }
+
+    long id() {
+        return id;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    long maxMicros() {
+        return maxMicros;
+    }
+
+    long minMicros() {
+        return minMicros;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    long minId() {
+        return minId;
+    }
+
+    /**
+     * Le segment peut-il contenir des logs de la requête ? (bornes de dates, filtre de Bloom)
+     */
+    boolean mayMatch(ArchiveQuery query) {
+        if (recordCount == 0 || query.endMicros() < minMicros || query.startMicros() > maxMicros) {
+            return false;
+        }
+        return query.entityType() == null || query.entityId() == null
+                || bloom.mightContain(query.entityType(), query.entityId());
+    }
+
+    /**
+     * Parcourir les logs correspondant à la requête, dans l'ordre chronologique ou inverse
+     *
+     * @param content blocs compressés du segment
+     * @param visitor renvoie false pour arrêter le parcours
+     * @return false si le parcours a été arrêté
+     */
+    boolean scan(ByteBuffer content, ArchiveQuery query, boolean newestFirst, Predicate<AuditLogResponseDTO> visitor)
+            throws IOException {
+        long start = query.startMicros();
+        long end = query.endMicros();
+        for (int n = 0; n < blocks.size(); n++) {
+            Block block = blocks.get(newestFirst ? blocks.size() - 1 - n : n);
+            if (block.lastMicros() < start || block.firstMicros() > end) {
+                continue;
+            }
+            List<AuditLogResponseDTO> records = decode(content, block);
+            if (newestFirst) {
+                Collections.reverse(records);
+            }
+            for (AuditLogResponseDTO log : records) {
+                if (query.matches(log) && !visitor.test(log)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<AuditLogResponseDTO> decode(ByteBuffer content, Block block) throws IOException {
+        ByteBuffer compressed = content.slice((int) block.offset(), block.compressedLength());
+        CRC32 crc = new CRC32();
+        crc.update(compressed.duplicate());
+        if ((int) crc.getValue() != block.crc()) {
+            throw new IOException("Bloc corrompu à la position " + block.offset() + " du segment " + id);
+        }
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloc illisible à la position " + block.offset() + " du segment " + id, e);
+        } finally {
+            inflater.end();
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        List<AuditLogResponseDTO> records = new ArrayList<>(block.records());
+        for (int i = 0; i < block.records(); i++) {
+            records.add(RecordCodec.read(in));
+        }
+        return records;
+    }
+}
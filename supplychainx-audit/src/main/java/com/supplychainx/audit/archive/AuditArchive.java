@@ -0,0 +1,302 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.config.AuditArchiveProperties;
+import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
+import com.supplychainx.audit.entity.AuditLog;
+import com.supplychainx.audit.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Archive froide des logs d'audit : segments compressés immuables dans la table audit_archive_segments
+ *
+ * Chaque lot est inséré comme segment dans la transaction qui supprime ses lignes de audit_logs : un log est
+ * toujours soit en base "chaude", soit dans un segment validé, et tous les nœuds voient la même archive.
+ * Chaque nœud garde en mémoire les pieds des segments (bornes, index, filtre de Bloom) et quelques contenus
+ * récemment lus ; la liste des segments est relue à chaque lecture (une ligne par segment).
+ *
+ * Les lectures ne prennent aucun verrou : la liste des segments est publiée par copie (référence volatile),
+ * avec le cache des totaux qui lui correspond. L'archivage, long, est protégé par son propre drapeau.
+ */
+@Slf4j
+@Component
+public class AuditArchive {
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    private static final int COUNT_CACHE_SIZE = 256;
+
+    static final Comparator<AuditLogResponseDTO> NEWEST_FIRST = Comparator
+            .comparing(AuditLogResponseDTO::getTimestamp)
+            .thenComparing(AuditLogResponseDTO::getId)
+            .reversed();
+
+    /**
+     * Page lue dans l'archive : nombre total de logs correspondants et logs demandés (du plus récent au plus ancien)
+     */
+    public record ArchivePage(long total, List<AuditLogResponseDTO> content) {
+    }
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditArchiveProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong archivedRecords = new AtomicLong();
+    private final AtomicBoolean archiving = new AtomicBoolean();
+
+    // Remplacé en bloc à chaque changement de la table, jamais modifié sur place
+    private volatile ArchiveState state = new ArchiveState(List.of());
+
+    private final Map<Long, ByteBuffer> contentCache;
+
+    public AuditArchive(AuditLogRepository auditLogRepository, AuditArchiveProperties properties,
+                        JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int cachedSegments = Math.max(1, properties.getCachedSegments());
+        this.contentCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
+                return size() > cachedSegments;
+            }
+        });
+        Gauge.builder("supplychainx.audit.archive.records", archivedRecords, AtomicLong::get)
+                .description("Logs d'audit conservés dans l'archive froide")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Déplacer vers l'archive les logs plus anciens que la rétention "chaude"
+     *
+     * @return nombre de logs archivés
+     */
+    public int archiveAgedLogs() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        if (!archiving.compareAndSet(false, true)) {
+            log.info("Archivage des logs d'audit déjà en cours, exécution ignorée");
+            return 0;
+        }
+        try {
+            return archiveUntil(LocalDateTime.now().minusDays(properties.getHotRetentionDays()));
+        } finally {
+            archiving.set(false);
+        }
+    }
+
+    /**
+     * L'archive peut-elle contenir des logs correspondant à la requête ?
+     */
+    public boolean mayContain(ArchiveQuery query) {
+        return refresh().segments().stream().anyMatch(segment -> segment.mayMatch(query));
+    }
+
+    /**
+     * Lire une page de logs archivés, du plus récent au plus ancien
+     *
+     * @param skip  nombre de logs correspondants à sauter
+     * @param limit nombre maximal de logs à renvoyer (0 pour obtenir seulement le total)
+     */
+    public ArchivePage search(ArchiveQuery query, long skip, int limit) {
+        ArchiveState current = refresh();
+        List<ArchiveSegment> candidates = current.segments().stream().filter(segment -> segment.mayMatch(query)).toList();
+        if (candidates.isEmpty()) {
+            return new ArchivePage(0, List.of());
+        }
+        Long cachedTotal = current.counts().get(query);
+        long wanted = limit > 0 ? skip + limit : 0;
+        // Tas des "wanted" logs les plus récents, le moins récent en tête
+        PriorityQueue<AuditLogResponseDTO> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+        long[] total = {0};
+        try {
+            for (ArchiveSegment segment : candidates) {
+                if (cachedTotal != null && newest.size() >= wanted
+                        && (wanted == 0 || segment.maxMicros() < RecordCodec.toMicros(newest.peek().getTimestamp()))) {
+                    break;
+                }
+                segment.scan(content(segment), query, true, log -> {
+                    total[0]++;
+                    if (newest.size() < wanted) {
+                        newest.add(log);
+                    } else if (wanted > 0 && NEWEST_FIRST.compare(log, newest.peek()) < 0) {
+                        newest.poll();
+                        newest.add(log);
+                    } else if (cachedTotal != null) {
+                        // Parcours décroissant : le reste du segment est plus ancien
+                        return false;
+                    }
+                    return true;
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de l'archive d'audit impossible", e);
+        }
+        if (cachedTotal == null) {
+            current.counts().put(query, total[0]);
+        }
+        List<AuditLogResponseDTO> content = new ArrayList<>(newest);
+        content.sort(NEWEST_FIRST);
+        int from = (int) Math.min(skip, content.size());
+        return new ArchivePage(cachedTotal != null ? cachedTotal : total[0], content.subList(from, content.size()));
+    }
+
+    /**
+     * Tous les logs archivés correspondant à la requête, dans l'ordre chronologique
+     */
+    public List<AuditLogResponseDTO> findAll(ArchiveQuery query) {
+        List<AuditLogResponseDTO> logs = new ArrayList<>();
+        try {
+            for (ArchiveSegment segment : refresh().segments()) {
+                if (segment.mayMatch(query)) {
+                    segment.scan(content(segment), query, false, logs::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de l'archive d'audit impossible", e);
+        }
+        logs.sort(NEWEST_FIRST.reversed());
+        return logs;
+    }
+
+    private int archiveUntil(LocalDateTime cutoff) {
+        int maxRecords = Math.max(1, properties.getMaxRecordsPerSegment());
+        int fetchSize = Math.max(1, properties.getFetchSize());
+        int archived = 0;
+        long lastId = 0;
+        while (true) {
+            List<AuditLog> batch = new ArrayList<>();
+            boolean exhausted = false;
+            while (batch.size() < maxRecords) {
+                int size = Math.min(fetchSize, maxRecords - batch.size());
+                List<AuditLog> page = auditLogRepository.findByTimestampBeforeAndIdGreaterThanOrderByIdAsc(
+                        cutoff, lastId, PageRequest.of(0, size));
+                batch.addAll(page);
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                }
+                if (page.size() < size) {
+                    exhausted = true;
+                    break;
+                }
+            }
+            if (!batch.isEmpty()) {
+                archiveBatch(batch);
+                archived += batch.size();
+            }
+            if (exhausted || batch.isEmpty()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("{} logs d'audit antérieurs au {} déplacés vers l'archive", archived, cutoff);
+        }
+        return archived;
+    }
+
+    // Segment et suppression des lignes validés ensemble : rien n'est supprimé sans segment durable
+    private void archiveBatch(List<AuditLog> batch) {
+        SegmentWriter.Encoded encoded;
+        try {
+            encoded = SegmentWriter.write(batch, properties.getBlockSizeBytes(), properties.getBloomFalsePositiveRate());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archivage des logs d'audit impossible", e);
+        }
+        List<Long> ids = batch.stream().map(AuditLog::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO audit_archive_segments (min_log_id, max_log_id, record_count, footer, "
+                            + "content, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                    Collections.min(ids), Collections.max(ids), ids.size(), encoded.footer(), encoded.content(),
+                    Timestamp.valueOf(LocalDateTime.now()));
+            for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                auditLogRepository.deleteAllByIdInBatch(ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE)));
+            }
+        });
+    }
+
+    /**
+     * Aligner la liste locale sur la table (segments écrits par un autre nœud)
+     *
+     * Sans verrou : deux lectures concurrentes peuvent charger le même pied, la dernière publication l'emporte
+     * et chacune renvoie l'état calculé à partir de sa propre lecture de la table.
+     */
+    private ArchiveState refresh() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM audit_archive_segments", Long.class);
+        ArchiveState current = state;
+        Map<Long, ArchiveSegment> loaded = new LinkedHashMap<>();
+        current.segments().forEach(segment -> loaded.put(segment.id(), segment));
+        if (loaded.size() == ids.size() && loaded.keySet().containsAll(ids)) {
+            return current;
+        }
+        loaded.keySet().retainAll(ids);
+        for (Long id : ids) {
+            if (!loaded.containsKey(id)) {
+                loaded.put(id, loadFooter(id));
+            }
+        }
+        List<ArchiveSegment> updated = new ArrayList<>(loaded.values());
+        updated.sort(Comparator.comparingLong(ArchiveSegment::maxMicros).reversed());
+        ArchiveState published = new ArchiveState(List.copyOf(updated));
+        state = published;
+        archivedRecords.set(updated.stream().mapToLong(ArchiveSegment::recordCount).sum());
+        return published;
+    }
+
+    private ArchiveSegment loadFooter(Long id) {
+        byte[] footer = jdbcTemplate.queryForObject(
+                "SELECT footer FROM audit_archive_segments WHERE id = ?", byte[].class, id);
+        try {
+            return ArchiveSegment.open(id, ByteBuffer.wrap(footer));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de l'archive d'audit impossible", e);
+        }
+    }
+
+    private ByteBuffer content(ArchiveSegment segment) {
+        ByteBuffer cached = contentCache.get(segment.id());
+        if (cached == null) {
+            cached = ByteBuffer.wrap(jdbcTemplate.queryForObject(
+                    "SELECT content FROM audit_archive_segments WHERE id = ?", byte[].class, segment.id()));
+            contentCache.put(segment.id(), cached);
+        }
+        return cached.asReadOnlyBuffer();
+    }
+
+    /**
+     * Segments triés par date du log le plus récent (décroissante) et totaux déjà comptés sur ces segments
+     */
+    private record ArchiveState(List<ArchiveSegment> segments, Map<ArchiveQuery, Long> counts) {
+
+        private ArchiveState(List<ArchiveSegment> segments) {
+            this(segments, Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ArchiveQuery, Long> eldest) {
+                    return size() > COUNT_CACHE_SIZE;
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.enums.EntityType;
+
+/**
+ * Filtre de Bloom sur les entités (type + identifiant) présentes dans un segment
+ *
+ * Double hachage (h1 + i·h2) sur un mélange 64 bits de la clé : un "non" est certain, un "oui" peut
+ * être un faux positif au taux choisi à la création.
+ */
+final class BloomFilter {
+
+    private final long[] words;
+    private final int hashCount;
+    private final long bitCount;
+
+    BloomFilter(long[] words, int hashCount) {
+        this.words = words;
+        this.hashCount = hashCount;
+        this.bitCount = (long) words.length * Long.SIZE;
+    }
+
+    static BloomFilter create(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(1, expectedEntries);
+        double rate = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+        long bits = (long) Math.ceil(-entries * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        int hashCount = (int) Math.max(1, Math.round((double) wordCount * Long.SIZE / entries * Math.log(2)));
+        return new BloomFilter(new long[wordCount], hashCount);
+    }
+
+    void add(EntityType entityType, long entityId) {
+        long h1 = mix(key(entityType, entityId));
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(EntityType entityType, long entityId) {
+        long h1 = mix(key(entityType, entityId));
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long[] words() {
+        return words;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    // Nom du type plutôt que son ordinal : stable si l'énumération est réordonnée
+    private static long key(EntityType entityType, long entityId) {
+        return entityId * 0x9E3779B97F4A7C15L + entityType.name().hashCode();
+    }
+
+    // Finaliseur de SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,87 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
+import com.supplychainx.audit.entity.AuditLog;
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Encodage binaire d'un log d'audit dans un bloc de segment
+ *
+ * Dates en microsecondes (LocalDateTime lu comme UTC), chaînes préfixées par leur longueur (-1 = null).
+ */
+final class RecordCodec {
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private RecordCodec() {
+    }
+
+    static void write(DataOutput out, AuditLog log) throws IOException {
+        out.writeLong(log.getId());
+        out.writeLong(toMicros(log.getTimestamp()));
+        writeString(out, log.getEntityType().name());
+        out.writeLong(log.getEntityId());
+        writeString(out, log.getAction().name());
+        writeString(out, log.getPerformedBy());
+        writeString(out, log.getDetails());
+        writeString(out, log.getIpAddress());
+        writeString(out, log.getOldValues());
+        writeString(out, log.getNewValues());
+        out.writeLong(log.getCreatedAt() != null ? toMicros(log.getCreatedAt()) : NULL_TIME);
+    }
+
+    static AuditLogResponseDTO read(DataInput in) throws IOException {
+        AuditLogResponseDTO log = new AuditLogResponseDTO();
+        log.setId(in.readLong());
+        log.setTimestamp(fromMicros(in.readLong()));
+        log.setEntityType(EntityType.valueOf(readString(in)));
+        log.setEntityId(in.readLong());
+        log.setAction(ActionType.valueOf(readString(in)));
+        log.setPerformedBy(readString(in));
+        log.setDetails(readString(in));
+        log.setIpAddress(readString(in));
+        log.setOldValues(readString(in));
+        log.setNewValues(readString(in));
+        long createdAt = in.readLong();
+        log.setCreatedAt(createdAt != NULL_TIME ? fromMicros(createdAt) : null);
+        return log;
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
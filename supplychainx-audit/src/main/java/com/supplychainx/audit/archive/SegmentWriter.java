@@ -0,0 +1,121 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.entity.AuditLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodage d'un segment d'archive (immuable, voir ArchiveSegment pour le format)
+ *
+ * Les logs sont triés par (timestamp, id) puis regroupés en blocs compressés séparément : une lecture
+ * ne décompresse que les blocs dont la plage de dates recoupe la requête.
+ */
+final class SegmentWriter {
+
+    /**
+     * Segment encodé : blocs compressés et pied (bornes, index des blocs, filtre de Bloom)
+     */
+    record Encoded(byte[] content, byte[] footer) {
+    }
+
+    static final Comparator<AuditLog> ORDER = Comparator.comparing(AuditLog::getTimestamp)
+            .thenComparing(AuditLog::getId);
+
+    private SegmentWriter() {
+    }
+
+    static Encoded write(List<AuditLog> logs, int blockSizeBytes, double bloomFalsePositiveRate) throws IOException {
+        List<AuditLog> sorted = logs.stream().sorted(ORDER).toList();
+        BloomFilter bloom = BloomFilter.create(sorted.size(), bloomFalsePositiveRate);
+        List<ArchiveSegment.Block> blocks = new ArrayList<>();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(blockSizeBytes + 4096);
+            DataOutputStream out = new DataOutputStream(raw);
+            int count = 0;
+            long firstMicros = 0;
+            long lastMicros = 0;
+            long offset = 0;
+            for (AuditLog log : sorted) {
+                long micros = RecordCodec.toMicros(log.getTimestamp());
+                if (count == 0) {
+                    firstMicros = micros;
+                }
+                RecordCodec.write(out, log);
+                bloom.add(log.getEntityType(), log.getEntityId());
+                lastMicros = micros;
+                count++;
+                if (raw.size() >= blockSizeBytes) {
+                    offset += writeBlock(content, deflater, raw, offset, count, firstMicros, lastMicros, blocks);
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                offset += writeBlock(content, deflater, raw, offset, count, firstMicros, lastMicros, blocks);
+            }
+            return new Encoded(content.toByteArray(), footer(sorted, blocks, bloom));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static int writeBlock(ByteArrayOutputStream content, Deflater deflater, ByteArrayOutputStream raw,
+                                  long offset, int count, long firstMicros, long lastMicros,
+                                  List<ArchiveSegment.Block> blocks) {
+        byte[] input = raw.toByteArray();
+        raw.reset();
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        byte[] bytes = compressed.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        content.writeBytes(bytes);
+        blocks.add(new ArchiveSegment.Block(offset, bytes.length, input.length, count, firstMicros, lastMicros,
+                (int) crc.getValue()));
+        return bytes.length;
+    }
+
+    private static byte[] footer(List<AuditLog> sorted, List<ArchiveSegment.Block> blocks, BloomFilter bloom)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream footer = new DataOutputStream(bytes);
+        footer.writeInt(ArchiveSegment.MAGIC);
+        footer.writeInt(ArchiveSegment.VERSION);
+        footer.writeInt(sorted.size());
+        footer.writeLong(sorted.isEmpty() ? 0 : RecordCodec.toMicros(sorted.get(0).getTimestamp()));
+        footer.writeLong(sorted.isEmpty() ? 0 : RecordCodec.toMicros(sorted.get(sorted.size() - 1).getTimestamp()));
+        footer.writeLong(sorted.stream().mapToLong(AuditLog::getId).min().orElse(0));
+        footer.writeLong(sorted.stream().mapToLong(AuditLog::getId).max().orElse(0));
+        footer.writeInt(blocks.size());
+        for (ArchiveSegment.Block block : blocks) {
+            footer.writeLong(block.offset());
+            footer.writeInt(block.compressedLength());
+            footer.writeInt(block.rawLength());
+            footer.writeInt(block.records());
+            footer.writeLong(block.firstMicros());
+            footer.writeLong(block.lastMicros());
+            footer.writeInt(block.crc());
+        }
+        footer.writeInt(bloom.hashCount());
+        footer.writeInt(bloom.words().length);
+        for (long word : bloom.words()) {
+            footer.writeLong(word);
+        }
+        footer.flush();
+        return bytes.toByteArray();
+    }
+}
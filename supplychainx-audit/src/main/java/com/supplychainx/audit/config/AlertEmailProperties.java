@@ -0,0 +1,67 @@
+package com.supplychainx.audit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Configuration de l'envoi des emails d'alerte de stock
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.alert.email")
+public class AlertEmailProperties {
+
+    /**
+     * Activer l'envoi réel des emails (sinon les digests sont seulement journalisés)
+     */
+    private boolean enabled = false;
+
+    /**
+     * Destinataires de toutes les alertes (liste séparée par des virgules)
+     */
+    private List<String> to = new ArrayList<>();
+
+    /**
+     * Destinataires supplémentaires des seules alertes critiques (CRITICAL_STOCK, OUT_OF_STOCK)
+     */
+    private List<String> criticalTo = new ArrayList<>();
+
+    private Dispatch dispatch = new Dispatch();
+
+    @Data
+    public static class Dispatch {
+
+        /**
+         * Nombre de threads d'envoi SMTP
+         * Par défaut: 2
+         */
+        private int threads = 2;
+
+        /**
+         * Nombre maximal d'emails envoyés par seconde (0 = illimité)
+         * Par défaut: 5
+         */
+        private double ratePerSecond = 5.0;
+
+        /**
+         * Nombre maximal de tentatives par digest
+         * Par défaut: 3
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Délai avant la première nouvelle tentative, doublé à chaque échec (en millisecondes)
+         * Par défaut: 2000 ms
+         */
+        private long initialBackoffMs = 2000;
+
+        /**
+         * Nombre maximal d'alertes regroupées dans un même digest
+         * Par défaut: 50
+         */
+        private int maxAlertsPerDigest = 50;
+    }
+}
@@ -0,0 +1,55 @@
+package com.supplychainx.audit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration de l'archivage des anciens logs d'audit dans des segments compressés (table audit_archive_segments)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.audit.archive")
+public class AuditArchiveProperties {
+
+    /**
+     * Déplacer les logs anciens de la base vers l'archive (sinon ils restent en base)
+     */
+    private boolean enabled = true;
+
+
+    /**
+     * Âge au-delà duquel un log quitte la table audit_logs (en jours)
+     * Par défaut: 365
+     */
+    private int hotRetentionDays = 365;
+
+    /**
+     * Nombre maximal de logs par segment
+     * Par défaut: 50000
+     */
+    private int maxRecordsPerSegment = 50_000;
+
+    /**
+     * Taille non compressée d'un bloc (unité de compression et de lecture, en octets)
+     * Par défaut: 65536
+     */
+    private int blockSizeBytes = 64 * 1024;
+
+    /**
+     * Taux de faux positifs du filtre de Bloom par entité de chaque segment
+     * Par défaut: 0.01
+     */
+    private double bloomFalsePositiveRate = 0.01;
+
+    /**
+     * Nombre de logs lus par requête lors de l'archivage
+     * Par défaut: 1000
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Nombre de contenus de segments gardés en mémoire sur chaque nœud (les pieds le sont tous)
+     * Par défaut: 8
+     */
+    private int cachedSegments = 8;
+}
@@ -0,0 +1,50 @@
+package com.supplychainx.audit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Configuration de la capture des modifications d'entités dans le journal d'audit
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.audit.change-capture")
+public class AuditChangeCaptureProperties {
+
+    /**
+     * Enregistrer les créations, modifications et suppressions (anciennes / nouvelles valeurs)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre maximal de modifications en attente d'écriture ; au-delà elles sont ignorées et comptées
+     * Par défaut: 10000
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Nombre maximal de logs écrits par transaction
+     * Par défaut: 500
+     */
+    private int batchSize = 500;
+
+    /**
+     * Intervalle d'écriture des modifications en attente (en millisecondes)
+     * Par défaut: 1000 ms
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * Propriétés jamais enregistrées (colonnes techniques, date de dernière connexion)
+     */
+    private List<String> ignoredProperties = new ArrayList<>(
+            List.of("createdAt", "updatedAt", "createdBy", "updatedBy", "lastLogin"));
+
+    /**
+     * Propriétés dont la valeur est masquée
+     */
+    private List<String> maskedProperties = new ArrayList<>(List.of("password"));
+}
@@ -5,6 +5,7 @@ import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
 import com.supplychainx.audit.enums.ActionType;
 import com.supplychainx.audit.enums.EntityType;
 import com.supplychainx.audit.service.AuditLogService;
+import com.supplychainx.common.annotation.Bulkhead;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -27,6 +28,7 @@ import java.util.Map;
 @RequestMapping("/api/audit/logs")
 @RequiredArgsConstructor
 @Tag(name = "Audit Logs", description = "Gestion des logs d'audit du système")
+@Bulkhead("reporting")
 public class AuditLogController {
 
     private final AuditLogService auditLogService;
@@ -92,7 +94,7 @@ public class AuditLogController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Recherche avancée de logs avec filtres multiples")
+    @Operation(summary = "Recherche avancée de logs avec filtres multiples", description = "performedBy est recherché par préfixe")
     public ResponseEntity<Page<AuditLogResponseDTO>> searchLogs(
             @RequestParam(required = false) EntityType entityType,
             @RequestParam(required = false) ActionType action,
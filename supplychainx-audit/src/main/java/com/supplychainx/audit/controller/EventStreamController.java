@@ -0,0 +1,43 @@
+package com.supplychainx.audit.controller;
+
+import com.supplychainx.common.event.EventStreamBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Flux temps réel (Server-Sent Events) des alertes de stock et des changements de statut des commandes
+ * Remplace le polling des tableaux de bord sur les endpoints /unresolved, /critical et /delayed
+ */
+@RestController
+@RequestMapping("/api/audit/stream")
+@RequiredArgsConstructor
+@Tag(name = "Event Stream", description = "Flux temps réel des alertes et des commandes")
+public class EventStreamController {
+
+    private final EventStreamBroadcaster broadcaster;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "S'abonner au flux d'événements (alert-created, alert-resolved, order-status-changed)")
+    public SseEmitter stream(
+            @RequestParam(required = false) List<String> events,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) {
+        Long resumeFrom = lastEventIdHeader != null ? parseEventId(lastEventIdHeader) : lastEventId;
+        return broadcaster.subscribe(events != null ? Set.copyOf(events) : Set.of(), resumeFrom);
+    }
+
+    private Long parseEventId(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.supplychainx.audit.controller;
+
+import com.supplychainx.common.annotation.Bulkhead;
+import com.supplychainx.common.dto.ApiResponse;
+import com.supplychainx.common.search.SearchHit;
+import com.supplychainx.common.search.SearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Recherche unifiée (matières premières, produits, fournisseurs, clients, utilisateurs)
+ * Servie par un index de trigrammes en mémoire : préfixe, tolérance aux fautes de frappe, tri par pertinence
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Recherche", description = "Recherche unifiée sur le catalogue et les partenaires")
+@Bulkhead("search")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    @GetMapping
+    @Operation(summary = "Rechercher", description = "Recherche par nom, code, email... limitée aux types que l'utilisateur peut consulter")
+    public ApiResponse<List<SearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Requête de recherche unifiée: {}", q);
+        return ApiResponse.success(searchIndexService.search(q, types, limit));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Reconstruire l'index de recherche", description = "Relit toutes les entités indexées depuis la base")
+    @PreAuthorize("@securityExpressions.hasPermission('USER_MANAGEMENT')")
+    public ApiResponse<Boolean> rebuild() {
+        log.info("Requête de reconstruction de l'index de recherche");
+        boolean rebuilt = searchIndexService.rebuild();
+        return ApiResponse.success(rebuilt ? "Index de recherche reconstruit"
+                : "Reconstruction déjà en cours", rebuilt);
+    }
+}
@@ -7,6 +7,7 @@ import com.supplychainx.audit.enums.AlertType;
 import com.supplychainx.audit.enums.EntityType;
 import com.supplychainx.audit.scheduler.StockAlertScheduler;
 import com.supplychainx.audit.service.StockAlertService;
+import com.supplychainx.common.annotation.Bulkhead;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -29,6 +30,7 @@ import java.util.Map;
 @RequestMapping("/api/audit/alerts")
 @RequiredArgsConstructor
 @Tag(name = "Stock Alerts", description = "Gestion des alertes de stock")
+@Bulkhead("reporting")
 public class StockAlertController {
 
     private final StockAlertService stockAlertService;
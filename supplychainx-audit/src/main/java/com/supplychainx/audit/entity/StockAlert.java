@@ -109,11 +109,19 @@ public class StockAlert extends BaseEntity {
     @Column(name = "email_sent_at")
     private LocalDateTime emailSentAt;
 
+    /**
+     * TRUE tant que l'alerte est ouverte, NULL une fois résolue (clé unique uk_stock_alerts_open :
+     * une seule alerte ouverte par article)
+     */
+    @Column(name = "open_marker")
+    private Boolean openMarker;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        openMarker = resolved ? null : Boolean.TRUE;
     }
 
     /**
@@ -124,6 +132,7 @@ public class StockAlert extends BaseEntity {
         this.resolvedAt = LocalDateTime.now();
         this.resolvedBy = resolvedBy;
         this.resolutionComment = comment;
+        this.openMarker = null;
     }
 
     /**
@@ -32,5 +32,18 @@ public enum AlertType {
     /**
      * Alerte générale système
      */
-    SYSTEM_ALERT
+    SYSTEM_ALERT;
+
+    /**
+     * Type d'alerte en fonction du niveau de stock
+     */
+    public static AlertType forStockLevel(Integer currentStock, Integer minStock) {
+        if (currentStock == 0) {
+            return OUT_OF_STOCK;
+        } else if (currentStock < minStock / 2) {
+            return CRITICAL_STOCK;
+        } else {
+            return LOW_STOCK;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.supplychainx.audit.event;
+
+import com.supplychainx.audit.entity.StockAlert;
+import com.supplychainx.audit.enums.AlertType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.common.event.StreamEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Création ou résolution d'une alerte de stock, diffusée sur le flux temps réel
+ */
+public record StockAlertEvent(
+        String eventName,
+        Long alertId,
+        AlertType alertType,
+        EntityType entityType,
+        Long entityId,
+        String entityName,
+        Integer currentStock,
+        Integer minimumStock,
+        boolean critical,
+        LocalDateTime occurredAt
+) implements StreamEvent {
+
+    public static final String ALERT_CREATED = "alert-created";
+    public static final String ALERT_RESOLVED = "alert-resolved";
+
+    public static StockAlertEvent created(StockAlert alert) {
+        return of(ALERT_CREATED, alert);
+    }
+
+    public static StockAlertEvent resolved(StockAlert alert) {
+        return of(ALERT_RESOLVED, alert);
+    }
+
+    private static StockAlertEvent of(String eventName, StockAlert alert) {
+        return new StockAlertEvent(eventName, alert.getId(), alert.getAlertType(), alert.getEntityType(),
+                alert.getEntityId(), alert.getEntityName(), alert.getCurrentStock(), alert.getMinimumStock(),
+                alert.isCritical(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,32 @@
+package com.supplychainx.audit.handler;
+
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.service.AuditLogService;
+import com.supplychainx.common.event.DeliveryShippedEvent;
+import com.supplychainx.common.outbox.DomainEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Départ en livraison d'une commande client inscrit au journal d'audit (livré par l'outbox,
+ * voir OrderReceivedAuditHandler)
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryShippedAuditHandler implements DomainEventHandler<DeliveryShippedEvent> {
+
+    private final AuditLogService auditLogService;
+
+    @Override
+    public Class<DeliveryShippedEvent> eventType() {
+        return DeliveryShippedEvent.class;
+    }
+
+    @Override
+    public void handle(DeliveryShippedEvent event) {
+        auditLogService.logEvent(EntityType.ORDER, event.orderId(), ActionType.STATUS_CHANGE,
+                event.performedBy(), event.occurredAt(),
+                "Commande " + event.orderNumber() + " en route vers le client " + event.customerId());
+    }
+}
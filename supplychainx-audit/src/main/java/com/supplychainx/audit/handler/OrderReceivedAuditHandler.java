@@ -0,0 +1,34 @@
+package com.supplychainx.audit.handler;
+
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.service.AuditLogService;
+import com.supplychainx.common.event.OrderReceivedEvent;
+import com.supplychainx.common.outbox.DomainEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Réception d'une commande d'approvisionnement inscrite au journal d'audit
+ *
+ * Livrée par l'outbox (au moins une fois, jamais perdue) : contrairement à la capture des modifications
+ * d'entités, dont la file en mémoire peut déborder, ce jalon figure toujours dans l'historique de la commande.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderReceivedAuditHandler implements DomainEventHandler<OrderReceivedEvent> {
+
+    private final AuditLogService auditLogService;
+
+    @Override
+    public Class<OrderReceivedEvent> eventType() {
+        return OrderReceivedEvent.class;
+    }
+
+    @Override
+    public void handle(OrderReceivedEvent event) {
+        auditLogService.logEvent(EntityType.SUPPLY_ORDER, event.orderId(), ActionType.STATUS_CHANGE,
+                event.performedBy(), event.occurredAt(),
+                "Commande " + event.orderNumber() + " reçue le " + event.receivedOn());
+    }
+}
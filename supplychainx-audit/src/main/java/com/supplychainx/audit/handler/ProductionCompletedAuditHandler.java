@@ -0,0 +1,32 @@
+package com.supplychainx.audit.handler;
+
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.service.AuditLogService;
+import com.supplychainx.common.event.ProductionCompletedEvent;
+import com.supplychainx.common.outbox.DomainEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fin d'un ordre de production inscrite au journal d'audit (livrée par l'outbox, voir OrderReceivedAuditHandler)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductionCompletedAuditHandler implements DomainEventHandler<ProductionCompletedEvent> {
+
+    private final AuditLogService auditLogService;
+
+    @Override
+    public Class<ProductionCompletedEvent> eventType() {
+        return ProductionCompletedEvent.class;
+    }
+
+    @Override
+    public void handle(ProductionCompletedEvent event) {
+        auditLogService.logEvent(EntityType.PRODUCTION_ORDER, event.orderId(), ActionType.STATUS_CHANGE,
+                event.performedBy(), event.occurredAt(),
+                "Ordre " + event.orderNumber() + " terminé : " + event.quantity()
+                        + " unités du produit " + event.productId() + " ajoutées au stock");
+    }
+}
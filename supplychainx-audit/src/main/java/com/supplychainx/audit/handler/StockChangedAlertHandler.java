@@ -0,0 +1,35 @@
+package com.supplychainx.audit.handler;
+
+import com.supplychainx.audit.service.StockAlertService;
+import com.supplychainx.common.event.StockChangedEvent;
+import com.supplychainx.common.outbox.DomainEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alerte de stock créée dès qu'une variation fait passer le stock sous le minimum,
+ * sans attendre la vérification planifiée
+ *
+ * Idempotent : la clé uk_stock_alerts_open garantit une seule alerte non résolue par article,
+ * y compris face à la vérification planifiée ou à une nouvelle livraison du même événement.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockChangedAlertHandler implements DomainEventHandler<StockChangedEvent> {
+
+    private final StockAlertService stockAlertService;
+
+    @Override
+    public Class<StockChangedEvent> eventType() {
+        return StockChangedEvent.class;
+    }
+
+    @Override
+    public void handle(StockChangedEvent event) {
+        if (!event.isBelowMinimum()) {
+            return;
+        }
+        stockAlertService.raiseLowStockAlert(event.itemType(), event.itemId(), event.itemName(),
+                event.newStock().intValue(), event.stockMin().intValue());
+    }
+}
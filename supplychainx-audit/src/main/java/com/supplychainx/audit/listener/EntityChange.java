@@ -0,0 +1,22 @@
+package com.supplychainx.audit.listener;
+
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Modification validée d'une entité, en attente d'écriture dans le journal d'audit
+ *
+ * Seules les propriétés modifiées sont conservées (valeurs simples ; identifiant pour une association).
+ */
+public record EntityChange(
+        EntityType entityType,
+        Long entityId,
+        ActionType action,
+        String performedBy,
+        LocalDateTime timestamp,
+        Map<String, Object> oldValues,
+        Map<String, Object> newValues) {
+}
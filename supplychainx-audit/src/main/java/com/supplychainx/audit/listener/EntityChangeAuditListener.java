@@ -0,0 +1,202 @@
+package com.supplychainx.audit.listener;
+
+import com.supplychainx.audit.config.AuditChangeCaptureProperties;
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.service.AuditChangeWriter;
+import com.supplychainx.common.entity.BaseEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Capture des créations, modifications et suppressions d'entités pour le journal d'audit
+ *
+ * Pour une modification, seules les propriétés signalées par le dirty-checking de Hibernate sont lues
+ * (indices getDirtyProperties(), ancien et nouvel état déjà en mémoire) : ni réflexion ni sérialisation
+ * complète de l'entité. La modification est déposée dans la file de l'AuditChangeWriter, qui la
+ * sérialise et l'écrit hors du thread de la requête. Événements post-commit : rien n'est journalisé
+ * pour une transaction annulée.
+ */
+@Slf4j
+@Component
+public class EntityChangeAuditListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    static final String MASK = "***";
+    private static final String SYSTEM_USER = "system";
+
+    // Par nom de classe : le module audit ne dépend pas des modules livraison et sécurité
+    private static final Map<String, EntityType> ENTITY_TYPES = Map.ofEntries(
+            Map.entry("Supplier", EntityType.SUPPLIER),
+            Map.entry("RawMaterial", EntityType.RAW_MATERIAL),
+            Map.entry("SupplyOrder", EntityType.SUPPLY_ORDER),
+            Map.entry("SupplyOrderLine", EntityType.SUPPLY_ORDER_LINE),
+            Map.entry("Product", EntityType.PRODUCT),
+            Map.entry("BillOfMaterial", EntityType.BILL_OF_MATERIAL),
+            Map.entry("ProductionOrder", EntityType.PRODUCTION_ORDER),
+            Map.entry("Customer", EntityType.CUSTOMER),
+            Map.entry("DeliveryOrder", EntityType.ORDER),
+            Map.entry("Delivery", EntityType.DELIVERY),
+            Map.entry("User", EntityType.USER));
+
+    private final AuditChangeWriter writer;
+    private final AuditChangeCaptureProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Set<String> ignoredProperties;
+    private final Set<String> maskedProperties;
+
+    public EntityChangeAuditListener(AuditChangeWriter writer, AuditChangeCaptureProperties properties,
+                                     EntityManagerFactory entityManagerFactory) {
+        this.writer = writer;
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.ignoredProperties = Set.copyOf(properties.getIgnoredProperties());
+        this.maskedProperties = Set.copyOf(properties.getMaskedProperties());
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        log.info("Capture des modifications d'entités active pour le journal d'audit");
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] state = event.getState();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (state[i] != null) {
+                capture(newValues, names[i], state[i]);
+            }
+        }
+        submit(event.getPersister(), event.getId(), ActionType.CREATE, null, newValues);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        int[] dirty = event.getDirtyProperties();
+        if (oldState == null || dirty == null) {
+            // Entité détachée mise à jour sans chargement préalable : pas d'ancien état à comparer
+            log.debug("Ancien état indisponible pour {} {}, modification non auditée",
+                    event.getPersister().getEntityName(), event.getId());
+            return;
+        }
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        for (int i : dirty) {
+            if (!Objects.equals(oldState[i], state[i])) {
+                capture(oldValues, names[i], oldState[i]);
+                capture(newValues, names[i], state[i]);
+            }
+        }
+        if (!newValues.isEmpty() || !oldValues.isEmpty()) {
+            submit(event.getPersister(), event.getId(), ActionType.UPDATE, oldValues, newValues);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] state = event.getDeletedState();
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        if (state != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (state[i] != null) {
+                    capture(oldValues, names[i], state[i]);
+                }
+            }
+        }
+        submit(event.getPersister(), event.getId(), ActionType.DELETE, oldValues, null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return properties.isEnabled() && ENTITY_TYPES.containsKey(persister.getMappedClass().getSimpleName());
+    }
+
+    private void submit(EntityPersister persister, Object id, ActionType action,
+                        Map<String, Object> oldValues, Map<String, Object> newValues) {
+        EntityType entityType = ENTITY_TYPES.get(persister.getMappedClass().getSimpleName());
+        if (entityType == null || !(id instanceof Long entityId)) {
+            return;
+        }
+        writer.submit(new EntityChange(entityType, entityId, action, currentUser(), LocalDateTime.now(),
+                oldValues, newValues));
+    }
+
+    private void capture(Map<String, Object> target, String property, Object value) {
+        if (ignoredProperties.contains(property) || value instanceof Collection<?>) {
+            return;
+        }
+        target.put(property, maskedProperties.contains(property) ? MASK : compact(value));
+    }
+
+    // Valeur immuable et sérialisable : les associations sont réduites à leur identifiant
+    static Object compact(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean || value instanceof String) {
+            return value;
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof BaseEntity entity) {
+            return entity.getId();
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : SYSTEM_USER;
+    }
+}
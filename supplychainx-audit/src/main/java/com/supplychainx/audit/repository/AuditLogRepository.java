@@ -6,8 +6,8 @@ import com.supplychainx.audit.enums.EntityType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -15,7 +15,7 @@ import java.util.List;
 
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, JpaSpecificationExecutor<AuditLog> {
 
     /**
      * Trouver tous les logs par type d'entité
@@ -42,6 +42,12 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
      */
     Page<AuditLog> findByTimestampBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
+    /**
+     * Lot de logs antérieurs à une date, par identifiant croissant (parcours par clé pour l'archivage)
+     */
+    List<AuditLog> findByTimestampBeforeAndIdGreaterThanOrderByIdAsc(LocalDateTime date, Long lastId,
+                                                                      Pageable pageable);
+
     /**
      * Trouver les logs par utilisateur et type d'action
      */
@@ -71,27 +77,15 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<Object[]> countActionsByEntityType();
 
     /**
-     * Recherche avancée avec filtres multiples
+     * Compter le nombre total d'actions pour une entité
      */
-    @Query("SELECT a FROM AuditLog a WHERE " +
-           "(:entityType IS NULL OR a.entityType = :entityType) AND " +
-           "(:action IS NULL OR a.action = :action) AND " +
-           "(:performedBy IS NULL OR a.performedBy LIKE %:performedBy%) AND " +
-           "(:startDate IS NULL OR a.timestamp >= :startDate) AND " +
-           "(:endDate IS NULL OR a.timestamp <= :endDate)")
-    Page<AuditLog> searchAuditLogs(
-            @Param("entityType") EntityType entityType,
-            @Param("action") ActionType action,
-            @Param("performedBy") String performedBy,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable
-    );
+    long countByEntityTypeAndEntityId(EntityType entityType, Long entityId);
 
     /**
-     * Compter le nombre total d'actions pour une entité
+     * Un log existe-t-il déjà pour cette action à cet instant (événement de l'outbox livré plusieurs fois) ?
      */
-    long countByEntityTypeAndEntityId(EntityType entityType, Long entityId);
+    boolean existsByEntityTypeAndEntityIdAndActionAndTimestamp(EntityType entityType, Long entityId,
+                                                               ActionType action, LocalDateTime timestamp);
 
     /**
      * Supprimer les logs plus anciens qu'une date donnée (pour nettoyage)
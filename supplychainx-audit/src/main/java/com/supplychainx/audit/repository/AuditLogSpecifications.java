@@ -0,0 +1,48 @@
+package com.supplychainx.audit.repository;
+
+import com.supplychainx.audit.entity.AuditLog;
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères de la recherche avancée des logs d'audit
+ *
+ * Seuls les filtres renseignés produisent un prédicat : la requête reste sargable et MySQL peut choisir
+ * l'index composé adapté (entity_type / action / performed_by, puis timestamp).
+ */
+public final class AuditLogSpecifications {
+
+    private AuditLogSpecifications() {
+    }
+
+    public static Specification<AuditLog> search(EntityType entityType, ActionType action, String performedBy,
+                                                 LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (entityType != null) {
+                predicates.add(cb.equal(root.get("entityType"), entityType));
+            }
+            if (action != null) {
+                predicates.add(cb.equal(root.get("action"), action));
+            }
+            if (performedBy != null && !performedBy.isBlank()) {
+                // Recherche par préfixe : parcours de plage sur idx_audit_performed_by_timestamp
+                predicates.add(cb.like(root.get("performedBy"), LikePatterns.startsWith(performedBy.trim()),
+                        LikePatterns.ESCAPE));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), endDate));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.supplychainx.audit.repository;
+
+/**
+ * Motifs LIKE construits à partir d'une saisie utilisateur (caractères spéciaux échappés)
+ */
+final class LikePatterns {
+
+    static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Motif "valeur%" : contrairement à "%valeur%", il reste utilisable par un index
+     */
+    static String startsWith(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 1);
+        for (char c : value.toCharArray()) {
+            if (c == ESCAPE || c == '%' || c == '_') {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -6,16 +6,19 @@ import com.supplychainx.audit.enums.EntityType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
 @Repository
-public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
+public interface StockAlertRepository extends JpaRepository<StockAlert, Long>, JpaSpecificationExecutor<StockAlert> {
 
     /**
      * Trouver toutes les alertes non résolues
@@ -64,6 +67,14 @@ public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
      */
     List<StockAlert> findByEmailSentFalseAndResolvedFalse();
 
+    /**
+     * Marquer en une seule requête les emails comme envoyés
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StockAlert s SET s.emailSent = true, s.emailSentAt = :sentAt " +
+           "WHERE s.id IN :ids AND s.emailSent = false")
+    int markEmailSentByIds(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
     /**
      * Vérifier si une alerte existe déjà pour une entité
      */
@@ -81,24 +92,6 @@ public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
     @Query("SELECT s.entityType, COUNT(s) FROM StockAlert s WHERE s.resolved = false GROUP BY s.entityType")
     List<Object[]> countUnresolvedAlertsByEntityType();
 
-    /**
-     * Recherche avancée avec filtres multiples
-     */
-    @Query("SELECT s FROM StockAlert s WHERE " +
-           "(:alertType IS NULL OR s.alertType = :alertType) AND " +
-           "(:entityType IS NULL OR s.entityType = :entityType) AND " +
-           "(:resolved IS NULL OR s.resolved = :resolved) AND " +
-           "(:startDate IS NULL OR s.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR s.createdAt <= :endDate)")
-    Page<StockAlert> searchAlerts(
-            @Param("alertType") AlertType alertType,
-            @Param("entityType") EntityType entityType,
-            @Param("resolved") Boolean resolved,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable
-    );
-
     /**
      * Trouver les alertes les plus anciennes non résolues
      */
@@ -0,0 +1,46 @@
+package com.supplychainx.audit.repository;
+
+import com.supplychainx.audit.entity.StockAlert;
+import com.supplychainx.audit.enums.AlertType;
+import com.supplychainx.audit.enums.EntityType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères de la recherche avancée des alertes de stock
+ *
+ * Seuls les filtres renseignés produisent un prédicat, couverts par les index composés
+ * (alert_type, resolved, created_at), (resolved, created_at) et (entity_type, created_at).
+ */
+public final class StockAlertSpecifications {
+
+    private StockAlertSpecifications() {
+    }
+
+    public static Specification<StockAlert> search(AlertType alertType, EntityType entityType, Boolean resolved,
+                                                   LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (alertType != null) {
+                predicates.add(cb.equal(root.get("alertType"), alertType));
+            }
+            if (entityType != null) {
+                predicates.add(cb.equal(root.get("entityType"), entityType));
+            }
+            if (resolved != null) {
+                predicates.add(cb.equal(root.get("resolved"), resolved));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,19 +1,16 @@
 package com.supplychainx.audit.scheduler;
 
-import com.supplychainx.audit.dto.request.StockAlertRequestDTO;
-import com.supplychainx.audit.dto.response.StockAlertResponseDTO;
-import com.supplychainx.audit.entity.StockAlert;
-import com.supplychainx.audit.enums.AlertType;
-import com.supplychainx.audit.enums.EntityType;
-import com.supplychainx.audit.repository.StockAlertRepository;
-import com.supplychainx.audit.service.EmailService;
+import com.supplychainx.audit.archive.AuditArchive;
+import com.supplychainx.audit.service.AlertEmailDispatcher;
 import com.supplychainx.audit.service.StockAlertService;
-import com.supplychainx.supply.entity.RawMaterial;
-import com.supplychainx.supply.repository.RawMaterialRepository;
-import com.supplychainx.production.entity.Product;
-import com.supplychainx.production.repository.ProductRepository;
+import com.supplychainx.common.lock.JobLease;
+import com.supplychainx.common.lock.JobLockManager;
+import com.supplychainx.common.lock.JobShard;
+import com.supplychainx.common.stock.LowStockItem;
+import com.supplychainx.common.stock.LowStockSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -21,190 +18,120 @@ import java.util.List;
 
 /**
  * Scheduler pour vérifier automatiquement les stocks et envoyer des alertes
+ * Chaque tâche ne s'exécute que sur le nœud qui obtient son verrou (JobLockManager).
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class StockAlertScheduler {
 
+    static final String STOCK_CHECK_JOB = "stock-check";
+    static final String EMAIL_ALERTS_JOB = "email-alerts";
+    static final String CLEANUP_JOB = "cleanup";
+
     private final StockAlertService stockAlertService;
-    private final StockAlertRepository stockAlertRepository;
-    private final EmailService emailService;
-    private final RawMaterialRepository rawMaterialRepository;
-    private final ProductRepository productRepository;
+    private final AlertEmailDispatcher alertEmailDispatcher;
+    private final AuditArchive auditArchive;
+    private final JobLockManager jobLockManager;
+    private final List<LowStockSource> lowStockSources;
+
+    @Value("${app.scheduler.stock-check.shards:1}")
+    private int stockCheckShards;
 
     /**
      * Vérifier les stocks toutes les 2 heures
      * Cron: 0 0 *\/2 * * * (toutes les 2 heures: 0h, 2h, 4h, 6h, 8h, 10h, 12h, 14h, 16h, 18h, 20h, 22h)
+     * Avec plusieurs parts (app.scheduler.stock-check.shards), les nœuds se répartissent les entités par identifiant.
      */
     @Scheduled(cron = "${app.scheduler.stock-check.cron:0 0 6-18/6 * * *}")
     public void checkLowStockLevels() {
         log.info("Starting scheduled stock level check...");
 
-        int alertsCreated = 0;
-
         try {
-            // Vérifier les matières premières avec stock faible
-            List<RawMaterial> lowStockMaterials = rawMaterialRepository.findLowStockMaterials();
-            log.info("Found {} raw materials with low stock", lowStockMaterials.size());
-
-            for (RawMaterial material : lowStockMaterials) {
-                // Vérifier si une alerte non résolue existe déjà pour ce matériau
-                boolean alertExists = stockAlertRepository.existsByEntityTypeAndEntityIdAndResolvedFalse(
-                        EntityType.RAW_MATERIAL, 
-                        material.getId()
-                );
-
-                if (!alertExists) {
-                    createStockAlertForMaterial(
-                            material.getId(),
-                            material.getName(),
-                            material.getStock(),
-                            material.getStockMin()
-                    );
-                    alertsCreated++;
-                } else {
-                    log.debug("Alert already exists for material: {}", material.getName());
-                }
+            int shards = jobLockManager.runSharded(STOCK_CHECK_JOB, stockCheckShards, this::checkLowStockLevels);
+            if (shards == 0) {
+                log.info("Stock level check already handled by another node");
             }
+        } catch (Exception e) {
+            log.error("Error during stock level check: {}", e.getMessage(), e);
+        }
+    }
+
+    private void checkLowStockLevels(JobLease lease, JobShard shard) {
+        int alertsCreated = 0;
 
-            // Vérifier les produits avec stock faible
-            List<Product> lowStockProducts = productRepository.findLowStockProducts();
-            log.info("Found {} products with low stock", lowStockProducts.size());
-
-            for (Product product : lowStockProducts) {
-                // Vérifier si une alerte non résolue existe déjà pour ce produit
-                boolean alertExists = stockAlertRepository.existsByEntityTypeAndEntityIdAndResolvedFalse(
-                        EntityType.PRODUCT, 
-                        product.getId()
-                );
-
-                if (!alertExists) {
-                    createStockAlertForProduct(
-                            product.getId(),
-                            product.getName(),
-                            product.getStock().intValue(),
-                            product.getStockMin().intValue()
-                    );
+        // Matières premières et produits en stock faible, fournis par leurs modules
+        for (LowStockSource source : lowStockSources) {
+            List<LowStockItem> items = source.findLowStock(shard);
+            log.info("Found {} low stock items from {} (shard {}/{})",
+                    items.size(), source.getClass().getSimpleName(), shard.index(), shard.count());
+
+            for (LowStockItem item : items) {
+                lease.verify();
+                // Aucune alerte si une alerte non résolue existe déjà pour l'article (clé uk_stock_alerts_open)
+                if (stockAlertService.raiseLowStockAlert(item.itemType(), item.itemId(), item.itemName(),
+                        (int) item.stock(), (int) item.stockMin())) {
                     alertsCreated++;
                 } else {
-                    log.debug("Alert already exists for product: {}", product.getName());
+                    log.debug("Alert already exists for {} {}", item.itemType(), item.itemName());
                 }
             }
-
-            log.info("Stock level check completed. Created {} new alerts", alertsCreated);
-
-        } catch (Exception e) {
-            log.error("Error during stock level check: {}", e.getMessage(), e);
         }
+
+        log.info("Stock level check completed. Created {} new alerts", alertsCreated);
     }
 
     /**
-     * Envoyer les emails pour les alertes non envoyées
+     * Envoyer les emails pour les alertes non envoyées (digests groupés par destinataire)
      * Cron: 0 star/30 * * * * (toutes les 30 minutes)
      */
     @Scheduled(cron = "${app.scheduler.email-alerts.cron:0 0/30 * * * *}")
     public void sendPendingAlertEmails() {
         log.info("Starting to send pending alert emails...");
 
-        List<StockAlertResponseDTO> pendingAlerts = stockAlertService.findAlertsWithoutEmail();
-
-        for (StockAlertResponseDTO alertDTO : pendingAlerts) {
-            try {
-                // Récupérer l'entité pour l'envoyer par email
-                StockAlert alert = stockAlertRepository.findById(alertDTO.getId())
-                        .orElseThrow(() -> new RuntimeException("Alert not found"));
-
-                emailService.sendStockAlert(alert);
-                stockAlertService.markEmailAsSent(alert.getId());
-
-                log.info("Email sent for alert ID: {}", alert.getId());
-
-            } catch (Exception e) {
-                log.error("Failed to send email for alert ID: {}: {}",
-                        alertDTO.getId(), e.getMessage());
+        try {
+            boolean ran = jobLockManager.runExclusively(EMAIL_ALERTS_JOB, lease -> {
+                int sent = alertEmailDispatcher.dispatchPendingAlerts(lease::verify);
+                log.info("Pending alert emails processing completed. Sent: {} alerts", sent);
+            });
+            if (!ran) {
+                log.info("Pending alert emails already handled by another node");
             }
+        } catch (Exception e) {
+            log.error("Error during alert email dispatch: {}", e.getMessage(), e);
         }
-
-        log.info("Pending alert emails processing completed. Sent: {} emails", pendingAlerts.size());
     }
 
     /**
-     * Nettoyage des anciens logs et alertes (tous les dimanches à 2h du matin)
+     * Archivage des anciens logs et nettoyage des alertes (tous les dimanches à 2h du matin)
      * Cron: 0 0 2 * * SUN
      */
     @Scheduled(cron = "${app.scheduler.cleanup.cron:0 0 2 * * SUN}")
     public void cleanupOldData() {
         log.info("Starting cleanup of old data...");
 
-        int auditLogRetentionDays = 365; // 1 an
         int alertRetentionDays = 90; // 3 mois
 
         try {
-            // Nettoyage des alertes résolues anciennes
-            stockAlertService.cleanupResolvedAlerts(alertRetentionDays);
-            log.info("Cleaned up resolved alerts older than {} days", alertRetentionDays);
-
+            boolean ran = jobLockManager.runExclusively(CLEANUP_JOB, lease -> {
+                // Logs d'audit au-delà de la rétention "chaude" : déplacés vers l'archive compressée
+                lease.verify();
+                int archived = auditArchive.archiveAgedLogs();
+                log.info("Archived {} old audit logs", archived);
+
+                // Nettoyage des alertes résolues anciennes
+                lease.verify();
+                stockAlertService.cleanupResolvedAlerts(alertRetentionDays);
+                log.info("Cleaned up resolved alerts older than {} days", alertRetentionDays);
+            });
+            if (!ran) {
+                log.info("Cleanup already handled by another node");
+                return;
+            }
         } catch (Exception e) {
             log.error("Error during cleanup: {}", e.getMessage(), e);
         }
 
         log.info("Cleanup completed");
     }
-
-    /**
-     * Méthode utilitaire pour créer une alerte de stock
-     * (à utiliser une fois les modules supply et production disponibles)
-     */
-    private void createStockAlertForMaterial(Long materialId, String materialName,
-                                            Integer currentStock, Integer minStock) {
-        AlertType alertType = determineAlertType(currentStock, minStock);
-
-        StockAlertRequestDTO request = StockAlertRequestDTO.builder()
-                .alertType(alertType)
-                .entityType(EntityType.RAW_MATERIAL)
-                .entityId(materialId)
-                .entityName(materialName)
-                .currentStock(currentStock)
-                .minimumStock(minStock)
-                .message(String.format("Stock faible pour %s: %d/%d", materialName, currentStock, minStock))
-                .build();
-
-        stockAlertService.createAlert(request);
-        log.info("Created alert for material: {} (Stock: {}/{})", materialName, currentStock, minStock);
-    }
-
-    /**
-     * Méthode utilitaire pour créer une alerte pour un produit
-     */
-    private void createStockAlertForProduct(Long productId, String productName,
-                                           Integer currentStock, Integer minStock) {
-        AlertType alertType = determineAlertType(currentStock, minStock);
-
-        StockAlertRequestDTO request = StockAlertRequestDTO.builder()
-                .alertType(alertType)
-                .entityType(EntityType.PRODUCT)
-                .entityId(productId)
-                .entityName(productName)
-                .currentStock(currentStock)
-                .minimumStock(minStock)
-                .message(String.format("Stock faible pour %s: %d/%d", productName, currentStock, minStock))
-                .build();
-
-        stockAlertService.createAlert(request);
-        log.info("Created alert for product: {} (Stock: {}/{})", productName, currentStock, minStock);
-    }
-
-    /**
-     * Déterminer le type d'alerte en fonction du niveau de stock
-     */
-    private AlertType determineAlertType(Integer currentStock, Integer minStock) {
-        if (currentStock == 0) {
-            return AlertType.OUT_OF_STOCK;
-        } else if (currentStock < minStock / 2) {
-            return AlertType.CRITICAL_STOCK;
-        } else {
-            return AlertType.LOW_STOCK;
-        }
-    }
 }
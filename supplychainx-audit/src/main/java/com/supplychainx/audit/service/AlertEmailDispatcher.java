@@ -0,0 +1,238 @@
+package com.supplychainx.audit.service;
+
+import com.supplychainx.audit.config.AlertEmailProperties;
+import com.supplychainx.audit.entity.StockAlert;
+import com.supplychainx.audit.repository.StockAlertRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envoi groupé des alertes de stock en attente
+ *
+ * Les alertes sont regroupées en un digest par ensemble de destinataires, rendu une seule fois,
+ * puis envoyé sur un pool borné avec limitation de débit et nouvelles tentatives (backoff exponentiel).
+ * En mode threads virtuels (spring.threads.virtual.enabled), chaque envoi a son thread virtuel, toujours
+ * limité à dispatch.threads envois simultanés.
+ * Les alertes envoyées sont marquées en une seule requête UPDATE ... WHERE id IN (...).
+ */
+@Slf4j
+@Service
+public class AlertEmailDispatcher {
+
+    private final StockAlertRepository stockAlertRepository;
+    private final StockAlertService stockAlertService;
+    private final EmailService emailService;
+    private final AlertEmailProperties properties;
+    private final Executor executor;
+    private final SendRateLimiter rateLimiter;
+
+    public AlertEmailDispatcher(StockAlertRepository stockAlertRepository,
+                                StockAlertService stockAlertService,
+                                EmailService emailService,
+                                AlertEmailProperties properties,
+                                Environment environment) {
+        this.stockAlertRepository = stockAlertRepository;
+        this.stockAlertService = stockAlertService;
+        this.emailService = emailService;
+        this.properties = properties;
+
+        int threads = Math.max(1, properties.getDispatch().getThreads());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Au-delà de la limite, le thread appelant (scheduler) attend qu'un envoi se termine
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("alert-mail-");
+            virtualExecutor.setVirtualThreads(true);
+            virtualExecutor.setConcurrencyLimit(threads);
+            this.executor = virtualExecutor;
+        } else {
+            // File bornée : au-delà, le thread appelant (scheduler) envoie lui-même
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads * 4),
+                    new CustomizableThreadFactory("alert-mail-"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        this.rateLimiter = new SendRateLimiter(properties.getDispatch().getRatePerSecond());
+    }
+
+    /**
+     * Envoyer toutes les alertes en attente
+     *
+     * @return nombre d'alertes marquées comme envoyées
+     */
+    public int dispatchPendingAlerts() {
+        return dispatchPendingAlerts(() -> { });
+    }
+
+    /**
+     * Envoyer toutes les alertes en attente, en vérifiant avant chaque envoi que ce nœud détient
+     * toujours le verrou de la tâche (un digest refusé reste en attente pour le nœud suivant)
+     *
+     * @param leaseCheck vérifie le jeton du verrou en base (JobLease.verify) et lève une exception s'il est perdu
+     * @return nombre d'alertes marquées comme envoyées
+     */
+    public int dispatchPendingAlerts(Runnable leaseCheck) {
+        List<StockAlert> pending = stockAlertRepository.findByEmailSentFalseAndResolvedFalse();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Digest> digests = buildDigests(pending);
+        Set<Long> deliveredAlertIds = ConcurrentHashMap.newKeySet();
+        Set<Long> failedAlertIds = ConcurrentHashMap.newKeySet();
+
+        List<CompletableFuture<Void>> dispatches = new ArrayList<>(digests.size());
+        for (Digest digest : digests) {
+            dispatches.add(CompletableFuture.runAsync(() -> sendWithRetry(digest, leaseCheck), executor)
+                    .thenRun(() -> digest.alerts().forEach(alert -> deliveredAlertIds.add(alert.getId())))
+                    .exceptionally(e -> {
+                        digest.alerts().forEach(alert -> failedAlertIds.add(alert.getId()));
+                        log.error("Failed to send alert digest to {} ({} alerts): {}",
+                                digest.recipients(), digest.alerts().size(), e.getMessage());
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(dispatches.toArray(CompletableFuture[]::new)).join();
+
+        // Une alerte n'est marquée envoyée que si un digest la contenant est parti et qu'aucun n'a échoué ;
+        // sans destinataire (app.alert.email.to vide pour une alerte non critique), elle reste en attente
+        List<Long> sentIds = pending.stream()
+                .map(StockAlert::getId)
+                .filter(id -> deliveredAlertIds.contains(id) && !failedAlertIds.contains(id))
+                .toList();
+        stockAlertService.markEmailsAsSent(sentIds);
+
+        log.info("Alert digests dispatched: {} digests, {}/{} alerts sent",
+                digests.size(), sentIds.size(), pending.size());
+        return sentIds.size();
+    }
+
+    /**
+     * Regrouper les alertes par destinataire puis fusionner les destinataires recevant le même contenu
+     */
+    List<Digest> buildDigests(List<StockAlert> alerts) {
+        List<StockAlert> ordered = alerts.stream()
+                .sorted(Comparator.comparing(StockAlert::isCritical).reversed()
+                        .thenComparing(StockAlert::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        List<StockAlert> critical = ordered.stream().filter(StockAlert::isCritical).toList();
+
+        Map<String, List<StockAlert>> byRecipient = new LinkedHashMap<>();
+        for (String recipient : properties.getTo()) {
+            byRecipient.put(recipient, ordered);
+        }
+        for (String recipient : properties.getCriticalTo()) {
+            byRecipient.putIfAbsent(recipient, critical);
+        }
+
+        Map<List<StockAlert>, Set<String>> recipientsByContent = new LinkedHashMap<>();
+        byRecipient.forEach((recipient, content) -> {
+            if (!content.isEmpty()) {
+                recipientsByContent.computeIfAbsent(content, k -> new LinkedHashSet<>()).add(recipient);
+            }
+        });
+
+        int maxPerDigest = Math.max(1, properties.getDispatch().getMaxAlertsPerDigest());
+        List<Digest> digests = new ArrayList<>();
+        recipientsByContent.forEach((content, recipients) -> {
+            for (int from = 0; from < content.size(); from += maxPerDigest) {
+                digests.add(new Digest(List.copyOf(recipients),
+                        content.subList(from, Math.min(from + maxPerDigest, content.size()))));
+            }
+        });
+        return digests;
+    }
+
+    private void sendWithRetry(Digest digest, Runnable leaseCheck) {
+        String subject = emailService.buildDigestSubject(digest.alerts());
+        String body = emailService.buildDigestBody(digest.alerts());
+
+        int maxAttempts = Math.max(1, properties.getDispatch().getMaxAttempts());
+        long backoffMs = properties.getDispatch().getInitialBackoffMs();
+
+        for (int attempt = 1; ; attempt++) {
+            // Hors du try : un verrou perdu n'est pas retenté
+            leaseCheck.run();
+            try {
+                rateLimiter.acquire();
+                emailService.sendHtmlEmail(digest.recipients(), subject, body);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Alert digest to {} failed (attempt {}/{}), retrying in {} ms: {}",
+                        digest.recipients(), attempt, maxAttempts, backoffMs, e.getMessage());
+                sleep(backoffMs);
+                backoffMs *= 2;
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Envoi des alertes interrompu", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtualExecutor) {
+            virtualExecutor.close();
+        }
+    }
+
+    record Digest(List<String> recipients, List<StockAlert> alerts) {}
+
+    /**
+     * Limiteur de débit simple : espace les envois d'au moins 1/ratePerSecond seconde
+     */
+    private static final class SendRateLimiter {
+
+        private final long intervalNanos;
+        private long nextSlotNanos = System.nanoTime();
+
+        private SendRateLimiter(double ratePerSecond) {
+            this.intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0L;
+        }
+
+        private void acquire() {
+            if (intervalNanos == 0L) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextSlotNanos);
+                nextSlotNanos = slot + intervalNanos;
+                waitNanos = slot - now;
+            }
+            if (waitNanos > 0) {
+                sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.supplychainx.audit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supplychainx.audit.config.AuditChangeCaptureProperties;
+import com.supplychainx.audit.entity.AuditLog;
+import com.supplychainx.audit.listener.EntityChange;
+import com.supplychainx.audit.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Écriture différée des modifications d'entités dans le journal d'audit
+ *
+ * Le thread de la requête ne fait que déposer la modification dans une file bornée (jamais bloquante :
+ * file pleine = modification ignorée et comptée). La file est vidée périodiquement par lots, chaque lot
+ * étant sérialisé en JSON puis enregistré dans sa propre transaction.
+ *
+ * Capture au mieux : une modification ignorée (file pleine) ou en attente lors d'un arrêt brutal n'est pas
+ * journalisée. Les jalons métier (réception, fin de production, départ en livraison) passent par l'outbox,
+ * dans la transaction de l'écriture, et ne dépendent pas de cette file.
+ */
+@Slf4j
+@Service
+public class AuditChangeWriter {
+
+    static final String COUNTER_NAME = "supplychainx.audit.changes";
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditChangeCaptureProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<EntityChange> queue;
+    private final AtomicLong droppedSinceFlush = new AtomicLong();
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    public AuditChangeWriter(AuditLogRepository auditLogRepository, ObjectMapper objectMapper,
+                             AuditChangeCaptureProperties properties, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.writtenCounter = counter(meterRegistry, "written");
+        this.droppedCounter = counter(meterRegistry, "dropped");
+        this.failedCounter = counter(meterRegistry, "failed");
+        Gauge.builder("supplychainx.audit.changes.pending", queue, BlockingQueue::size)
+                .description("Modifications d'entités en attente d'écriture dans le journal d'audit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Déposer une modification (appelé après le commit, sur le thread de la requête)
+     */
+    public boolean submit(EntityChange change) {
+        if (queue.offer(change)) {
+            return true;
+        }
+        droppedSinceFlush.incrementAndGet();
+        droppedCounter.increment();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.change-capture.flush-interval-ms:1000}")
+    public void flush() {
+        long dropped = droppedSinceFlush.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("File d'audit pleine : {} modifications non journalisées", dropped);
+        }
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<EntityChange> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void write(List<EntityChange> changes) {
+        List<AuditLog> logs = changes.stream().map(this::toAuditLog).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(logs));
+            writtenCounter.increment(logs.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(logs.size());
+            log.error("Échec de l'écriture de {} logs d'audit: {}", logs.size(), e.getMessage());
+        }
+    }
+
+    private AuditLog toAuditLog(EntityChange change) {
+        return AuditLog.builder()
+                .entityType(change.entityType())
+                .entityId(change.entityId())
+                .action(change.action())
+                .performedBy(change.performedBy())
+                .timestamp(change.timestamp())
+                .oldValues(toJson(change.oldValues()))
+                .newValues(toJson(change.newValues()))
+                .build();
+    }
+
+    private String toJson(Map<String, Object> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            log.warn("Valeurs d'audit non sérialisables: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Modifications d'entités journalisées par issue (écrites, ignorées file pleine, en échec)")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
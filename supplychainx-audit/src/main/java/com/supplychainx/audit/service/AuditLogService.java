@@ -1,5 +1,7 @@
 package com.supplychainx.audit.service;
 
+import com.supplychainx.audit.archive.ArchiveQuery;
+import com.supplychainx.audit.archive.AuditArchive;
 import com.supplychainx.audit.dto.request.AuditLogRequestDTO;
 import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
 import com.supplychainx.audit.entity.AuditLog;
@@ -7,19 +9,32 @@ import com.supplychainx.audit.enums.ActionType;
 import com.supplychainx.audit.enums.EntityType;
 import com.supplychainx.audit.mapper.AuditLogMapper;
 import com.supplychainx.audit.repository.AuditLogRepository;
+import com.supplychainx.audit.repository.AuditLogSpecifications;
+import com.supplychainx.common.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service pour gérer les logs d'audit
+ *
+ * Les lectures paginées triées du plus récent au plus ancien (tri par défaut), l'historique d'une entité et
+ * son décompte incluent l'archive froide. Restent limités à la base "chaude" : les autres tris et les
+ * statistiques globales (par utilisateur, action, type d'entité).
  */
 @Service
 @RequiredArgsConstructor
@@ -28,6 +43,7 @@ public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
     private final AuditLogMapper auditLogMapper;
+    private final AuditArchive auditArchive;
 
     /**
      * Créer un nouveau log d'audit
@@ -60,13 +76,35 @@ public class AuditLogService {
         createAuditLog(requestDTO);
     }
 
+    /**
+     * Journaliser un événement métier reçu de l'outbox, une seule fois malgré les livraisons répétées
+     *
+     * L'instant de l'événement (à la seconde) sert de clé : une nouvelle livraison retrouve le log déjà écrit.
+     */
+    @Transactional
+    public void logEvent(EntityType entityType, Long entityId, ActionType action, String performedBy,
+                         LocalDateTime occurredAt, String details) {
+        LocalDateTime timestamp = occurredAt != null ? occurredAt : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (auditLogRepository.existsByEntityTypeAndEntityIdAndActionAndTimestamp(entityType, entityId, action, timestamp)) {
+            log.debug("Événement {} {} déjà journalisé pour {} {}", action, timestamp, entityType, entityId);
+            return;
+        }
+        auditLogRepository.save(AuditLog.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .action(action)
+                .performedBy(performedBy != null ? performedBy : SecurityUtil.SYSTEM_USER)
+                .timestamp(timestamp)
+                .details(details)
+                .build());
+    }
+
     /**
      * Trouver tous les logs avec pagination
      */
     @Transactional(readOnly = true)
     public Page<AuditLogResponseDTO> findAll(Pageable pageable) {
-        return auditLogRepository.findAll(pageable)
-                .map(auditLogMapper::toResponseDTO);
+        return searchAuditLogs(null, null, null, null, null, pageable);
     }
 
     /**
@@ -74,17 +112,25 @@ public class AuditLogService {
      */
     @Transactional(readOnly = true)
     public Page<AuditLogResponseDTO> findByEntityType(EntityType entityType, Pageable pageable) {
-        return auditLogRepository.findByEntityType(entityType, pageable)
-                .map(auditLogMapper::toResponseDTO);
+        return searchAuditLogs(entityType, null, null, null, null, pageable);
     }
 
     /**
-     * Trouver les logs pour une entité spécifique
+     * Trouver les logs pour une entité spécifique (historique archivé en tête)
      */
     @Transactional(readOnly = true)
     public List<AuditLogResponseDTO> findByEntity(EntityType entityType, Long entityId) {
-        List<AuditLog> logs = auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId);
-        return auditLogMapper.toResponseDTOList(logs);
+        List<AuditLogResponseDTO> logs = auditLogMapper.toResponseDTOList(
+                auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId));
+        ArchiveQuery query = ArchiveQuery.forEntity(entityType, entityId);
+        if (!auditArchive.mayContain(query)) {
+            return logs;
+        }
+        Set<Long> hotIds = logs.stream().map(AuditLogResponseDTO::getId).collect(Collectors.toSet());
+        List<AuditLogResponseDTO> merged = new ArrayList<>(auditArchive.findAll(query));
+        merged.removeIf(archived -> hotIds.contains(archived.getId()));
+        merged.addAll(logs);
+        return merged;
     }
 
     /**
@@ -92,8 +138,7 @@ public class AuditLogService {
      */
     @Transactional(readOnly = true)
     public Page<AuditLogResponseDTO> findByAction(ActionType action, Pageable pageable) {
-        return auditLogRepository.findByAction(action, pageable)
-                .map(auditLogMapper::toResponseDTO);
+        return searchAuditLogs(null, action, null, null, null, pageable);
     }
 
     /**
@@ -101,8 +146,10 @@ public class AuditLogService {
      */
     @Transactional(readOnly = true)
     public Page<AuditLogResponseDTO> findByUser(String username, Pageable pageable) {
-        return auditLogRepository.findByPerformedBy(username, pageable)
+        pageable = newestFirstByDefault(pageable);
+        Page<AuditLogResponseDTO> hot = auditLogRepository.findByPerformedBy(username, pageable)
                 .map(auditLogMapper::toResponseDTO);
+        return withArchive(hot, ArchiveQuery.forUser(username), pageable);
     }
 
     /**
@@ -111,12 +158,14 @@ public class AuditLogService {
     @Transactional(readOnly = true)
     public Page<AuditLogResponseDTO> findByDateRange(LocalDateTime startDate, LocalDateTime endDate,
                                                      Pageable pageable) {
-        return auditLogRepository.findByTimestampBetween(startDate, endDate, pageable)
-                .map(auditLogMapper::toResponseDTO);
+        return searchAuditLogs(null, null, null, startDate, endDate, pageable);
     }
 
     /**
      * Recherche avancée avec filtres multiples
+     *
+     * Triée du plus récent au plus ancien (tri par défaut), la recherche se poursuit dans l'archive froide :
+     * les logs archivés sont tous plus anciens que ceux de la base et viennent donc après eux.
      */
     @Transactional(readOnly = true)
     public Page<AuditLogResponseDTO> searchAuditLogs(
@@ -127,9 +176,40 @@ public class AuditLogService {
             LocalDateTime endDate,
             Pageable pageable) {
 
-        return auditLogRepository.searchAuditLogs(
-                entityType, action, performedBy, startDate, endDate, pageable
+        pageable = newestFirstByDefault(pageable);
+        Page<AuditLogResponseDTO> hot = auditLogRepository.findAll(
+                AuditLogSpecifications.search(entityType, action, performedBy, startDate, endDate), pageable
         ).map(auditLogMapper::toResponseDTO);
+        return withArchive(hot, new ArchiveQuery(entityType, null, action, performedBy, startDate, endDate), pageable);
+    }
+
+    // Tri par défaut aligné sur les index composés (filtre, timestamp)
+    private static Pageable newestFirstByDefault(Pageable pageable) {
+        if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        }
+        return pageable;
+    }
+
+    // Les logs archivés sont tous plus anciens que ceux de la base : ils complètent la page après eux
+    private Page<AuditLogResponseDTO> withArchive(Page<AuditLogResponseDTO> hot, ArchiveQuery query, Pageable pageable) {
+        if (!pageable.isPaged() || !isNewestFirst(pageable.getSort()) || !auditArchive.mayContain(query)) {
+            return hot;
+        }
+        int missing = pageable.getPageSize() - hot.getNumberOfElements();
+        long skip = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+        AuditArchive.ArchivePage archived = auditArchive.search(query, skip, missing);
+
+        List<AuditLogResponseDTO> content = new ArrayList<>(hot.getContent());
+        Set<Long> hotIds = content.stream().map(AuditLogResponseDTO::getId).collect(Collectors.toSet());
+        archived.content().stream().filter(log -> !hotIds.contains(log.getId())).forEach(content::add);
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archived.total());
+    }
+
+    private static boolean isNewestFirst(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        return first != null && first.isDescending() && "timestamp".equals(first.getProperty());
     }
 
     /**
@@ -176,11 +256,12 @@ public class AuditLogService {
      */
     @Transactional(readOnly = true)
     public long countByEntity(EntityType entityType, Long entityId) {
-        return auditLogRepository.countByEntityTypeAndEntityId(entityType, entityId);
+        return auditLogRepository.countByEntityTypeAndEntityId(entityType, entityId)
+                + auditArchive.search(ArchiveQuery.forEntity(entityType, entityId), 0, 0).total();
     }
 
     /**
-     * Nettoyage des anciens logs (plus de X jours)
+     * Nettoyage des anciens logs (plus de X jours), sans passer par l'archive
      */
     @Transactional
     public void cleanupOldLogs(int daysToKeep) {
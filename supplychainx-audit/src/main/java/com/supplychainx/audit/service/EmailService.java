@@ -1,5 +1,6 @@
 package com.supplychainx.audit.service;
 
+import com.supplychainx.audit.config.AlertEmailProperties;
 import com.supplychainx.audit.entity.StockAlert;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -9,8 +10,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Service pour envoyer des emails d'alerte
@@ -20,23 +23,20 @@ import java.time.format.DateTimeFormatter;
 @Slf4j
 public class EmailService {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     private final JavaMailSender mailSender;
+    private final AlertEmailProperties properties;
 
     @Value("${spring.mail.from:noreply@supplychainx.com}")
     private String fromEmail;
 
-    @Value("${app.alert.email.to:admin@supplychainx.com}")
-    private String alertEmailTo;
-
-    @Value("${app.alert.email.enabled:false}")
-    private boolean emailEnabled;
-
     /**
-     * Envoyer un email d'alerte de stock
+     * Envoyer un email HTML déjà rendu à plusieurs destinataires (digest d'alertes)
      */
-    public void sendStockAlert(StockAlert alert) {
-        if (!emailEnabled) {
-            log.info("Email sending is disabled. Alert email would have been sent for: {}", alert.getEntityName());
+    public void sendHtmlEmail(List<String> recipients, String subject, String htmlBody) {
+        if (!properties.isEnabled()) {
+            log.info("Email sending is disabled. Email '{}' would have been sent to: {}", subject, recipients);
             return;
         }
 
@@ -45,38 +45,53 @@ public class EmailService {
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
             helper.setFrom(fromEmail);
-            helper.setTo(alertEmailTo);
-            helper.setSubject(buildSubject(alert));
-            helper.setText(buildEmailBody(alert), true);
+            helper.setTo(recipients.toArray(String[]::new));
+            helper.setSubject(subject);
+            helper.setText(htmlBody, true);
 
             mailSender.send(message);
-            log.info("Stock alert email sent successfully for {} {}", 
-                    alert.getEntityType(), alert.getEntityId());
+            log.debug("Email '{}' sent successfully to {}", subject, recipients);
 
         } catch (MessagingException e) {
-            log.error("Failed to send alert email for {} {}: {}", 
-                    alert.getEntityType(), alert.getEntityId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to send alert email", e);
+            throw new RuntimeException("Failed to build email: " + subject, e);
         }
     }
 
     /**
-     * Construire le sujet de l'email
+     * Construire le sujet d'un digest d'alertes
      */
-    private String buildSubject(StockAlert alert) {
-        String priority = alert.isCritical() ? "[URGENT] " : "";
-        return String.format("%sSupplyChainX Alert - %s: %s",
-                priority,
-                alert.getAlertType(),
-                alert.getEntityName());
+    public String buildDigestSubject(List<StockAlert> alerts) {
+        long critical = alerts.stream().filter(StockAlert::isCritical).count();
+        String priority = critical > 0 ? "[URGENT] " : "";
+        return String.format("%sSupplyChainX Alert - %d alerte(s) de stock dont %d critique(s)",
+                priority, alerts.size(), critical);
     }
 
     /**
-     * Construire le corps de l'email en HTML
+     * Construire le corps HTML d'un digest d'alertes (rendu une seule fois par digest)
      */
-    private String buildEmailBody(StockAlert alert) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        String priorityStyle = alert.isCritical() ? "color: red; font-weight: bold;" : "color: orange;";
+    public String buildDigestBody(List<StockAlert> alerts) {
+        StringBuilder rows = new StringBuilder(alerts.size() * 256);
+        for (StockAlert alert : alerts) {
+            rows.append(String.format("""
+                                <tr class="%s">
+                                    <td>%s</td>
+                                    <td>%s</td>
+                                    <td><strong>%s</strong></td>
+                                    <td>%d / %d</td>
+                                    <td>%s</td>
+                                    <td>%s</td>
+                                </tr>
+                    """,
+                    alert.isCritical() ? "alert-critical" : "alert-warning",
+                    alert.getAlertType(),
+                    alert.getEntityType(),
+                    HtmlUtils.htmlEscape(String.valueOf(alert.getEntityName())),
+                    alert.getCurrentStock() != null ? alert.getCurrentStock() : 0,
+                    alert.getMinimumStock() != null ? alert.getMinimumStock() : 0,
+                    alert.getCreatedAt() != null ? alert.getCreatedAt().format(DATE_FORMATTER) : "",
+                    HtmlUtils.htmlEscape(String.valueOf(alert.getMessage()))));
+        }
 
         return String.format("""
                 <!DOCTYPE html>
@@ -85,11 +100,10 @@ public class EmailService {
                     <meta charset="UTF-8">
                     <style>
                         body { font-family: Arial, sans-serif; line-height: 1.6; }
-                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                        .container { max-width: 800px; margin: 0 auto; padding: 20px; }
                         .header { background-color: #f4f4f4; padding: 20px; text-align: center; }
                         .alert-critical { color: #dc3545; }
-                        .alert-warning { color: #ffc107; }
-                        .content { padding: 20px; background-color: #ffffff; }
+                        .alert-warning { color: #856404; }
                         .footer { padding: 20px; text-align: center; font-size: 12px; color: #666; }
                         table { width: 100%%; border-collapse: collapse; margin: 20px 0; }
                         th, td { padding: 10px; text-align: left; border-bottom: 1px solid #ddd; }
@@ -99,42 +113,19 @@ public class EmailService {
                 <body>
                     <div class="container">
                         <div class="header">
-                            <h2 style="%s">⚠️ Alerte de Stock - SupplyChainX</h2>
-                        </div>
-                        <div class="content">
-                            <h3>Détails de l'alerte</h3>
-                            <table>
-                                <tr>
-                                    <th>Type d'alerte</th>
-                                    <td>%s</td>
-                                </tr>
-                                <tr>
-                                    <th>Type d'entité</th>
-                                    <td>%s</td>
-                                </tr>
-                                <tr>
-                                    <th>Nom</th>
-                                    <td><strong>%s</strong></td>
-                                </tr>
-                                <tr>
-                                    <th>Stock actuel</th>
-                                    <td>%d</td>
-                                </tr>
-                                <tr>
-                                    <th>Stock minimum</th>
-                                    <td>%d</td>
-                                </tr>
-                                <tr>
-                                    <th>Date de création</th>
-                                    <td>%s</td>
-                                </tr>
-                            </table>
-                            
-                            <h3>Message</h3>
-                            <p>%s</p>
-                            
-                            %s
+                            <h2>⚠️ Alertes de Stock - SupplyChainX</h2>
+                            <p>%d alerte(s) en attente</p>
                         </div>
+                        <table>
+                            <tr>
+                                <th>Type d'alerte</th>
+                                <th>Type d'entité</th>
+                                <th>Nom</th>
+                                <th>Stock (actuel / min)</th>
+                                <th>Date de création</th>
+                                <th>Message</th>
+                            </tr>
+                %s        </table>
                         <div class="footer">
                             <p>Cet email a été généré automatiquement par SupplyChainX.</p>
                             <p>Merci de ne pas répondre à cet email.</p>
@@ -142,27 +133,14 @@ public class EmailService {
                     </div>
                 </body>
                 </html>
-                """,
-                priorityStyle,
-                alert.getAlertType(),
-                alert.getEntityType(),
-                alert.getEntityName(),
-                alert.getCurrentStock() != null ? alert.getCurrentStock() : 0,
-                alert.getMinimumStock() != null ? alert.getMinimumStock() : 0,
-                alert.getCreatedAt().format(formatter),
-                alert.getMessage(),
-                alert.isCritical() ?
-                        "<div style='background-color: #fff3cd; border-left: 4px solid #dc3545; padding: 10px; margin: 20px 0;'>" +
-                        "<strong>⚠️ ATTENTION:</strong> Cette alerte est critique et nécessite une action immédiate!" +
-                        "</div>" : ""
-        );
+                """, alerts.size(), rows);
     }
 
     /**
      * Envoyer un email de test
      */
     public void sendTestEmail(String to) {
-        if (!emailEnabled) {
+        if (!properties.isEnabled()) {
             log.info("Email sending is disabled. Test email would have been sent to: {}", to);
             return;
         }
@@ -6,16 +6,29 @@ import com.supplychainx.audit.dto.response.StockAlertResponseDTO;
 import com.supplychainx.audit.entity.StockAlert;
 import com.supplychainx.audit.enums.AlertType;
 import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.event.StockAlertEvent;
 import com.supplychainx.audit.mapper.StockAlertMapper;
 import com.supplychainx.audit.repository.StockAlertRepository;
+import com.supplychainx.audit.repository.StockAlertSpecifications;
+import com.supplychainx.common.annotation.SingleFlight;
+import com.supplychainx.common.event.StockChangedEvent;
+import com.supplychainx.common.exception.DuplicateResourceException;
+import com.supplychainx.common.util.ConstraintUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -27,8 +40,15 @@ import java.util.Map;
 @Slf4j
 public class StockAlertService {
 
+    // Taille des lots pour les clauses IN (limite de paramètres des drivers JDBC)
+    private static final int BULK_UPDATE_BATCH_SIZE = 500;
+
+    // Une seule alerte ouverte par article (voir StockAlert.openMarker)
+    private static final String OPEN_ALERT_KEY = "uk_stock_alerts_open";
+
     private final StockAlertRepository stockAlertRepository;
     private final StockAlertMapper stockAlertMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Créer une nouvelle alerte de stock
@@ -38,22 +58,69 @@ public class StockAlertService {
         log.debug("Creating stock alert for {} {}: {}",
                 requestDTO.getEntityType(), requestDTO.getEntityId(), requestDTO.getAlertType());
 
-        // Vérifier si une alerte non résolue existe déjà
-        boolean exists = stockAlertRepository.existsByEntityTypeAndEntityIdAndResolvedFalse(
-                requestDTO.getEntityType(), requestDTO.getEntityId()
-        );
-
-        if (exists) {
-            log.warn("An unresolved alert already exists for {} {}",
-                    requestDTO.getEntityType(), requestDTO.getEntityId());
+        // Vérifier si une alerte non résolue existe déjà (la clé uk_stock_alerts_open tranche les créations concurrentes)
+        if (stockAlertRepository.existsByEntityTypeAndEntityIdAndResolvedFalse(
+                requestDTO.getEntityType(), requestDTO.getEntityId())) {
+            throw openAlertExists(requestDTO);
         }
 
-        StockAlert alert = stockAlertMapper.toEntity(requestDTO);
-        StockAlert savedAlert = stockAlertRepository.save(alert);
+        StockAlert savedAlert;
+        try {
+            savedAlert = stockAlertRepository.save(stockAlertMapper.toEntity(requestDTO));
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintUtil.isUniqueViolation(e, OPEN_ALERT_KEY, "open_marker")) {
+                throw e;
+            }
+            throw openAlertExists(requestDTO);
+        }
+        eventPublisher.publishEvent(StockAlertEvent.created(savedAlert));
 
         return stockAlertMapper.toResponseDTO(savedAlert);
     }
 
+    /**
+     * Ouvrir une alerte de stock faible, sauf si l'article en a déjà une non résolue
+     *
+     * Hors transaction : une création concurrente (autre nœud, relais de l'outbox) n'annule que l'insertion
+     * perdante, et l'appelant peut poursuivre avec les articles suivants.
+     *
+     * @param itemType type d'article (StockChangedEvent.RAW_MATERIAL ou StockChangedEvent.PRODUCT)
+     * @return true si l'alerte a été créée
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean raiseLowStockAlert(String itemType, Long itemId, String itemName, int currentStock, int minStock) {
+        EntityType entityType = StockChangedEvent.PRODUCT.equals(itemType) ? EntityType.PRODUCT : EntityType.RAW_MATERIAL;
+        if (stockAlertRepository.existsByEntityTypeAndEntityIdAndResolvedFalse(entityType, itemId)) {
+            return false;
+        }
+        StockAlertRequestDTO request = StockAlertRequestDTO.builder()
+                .alertType(AlertType.forStockLevel(currentStock, minStock))
+                .entityType(entityType)
+                .entityId(itemId)
+                .entityName(itemName)
+                .currentStock(currentStock)
+                .minimumStock(minStock)
+                .message(String.format("Stock faible pour %s: %d/%d", itemName, currentStock, minStock))
+                .build();
+        StockAlert savedAlert;
+        try {
+            savedAlert = stockAlertRepository.save(stockAlertMapper.toEntity(request));
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintUtil.isUniqueViolation(e, OPEN_ALERT_KEY, "open_marker")) {
+                throw e;
+            }
+            return false;
+        }
+        eventPublisher.publishEvent(StockAlertEvent.created(savedAlert));
+        log.info("Alerte de stock créée pour {} {} (Stock: {}/{})", entityType, itemId, currentStock, minStock);
+        return true;
+    }
+
+    private static DuplicateResourceException openAlertExists(StockAlertRequestDTO requestDTO) {
+        return new DuplicateResourceException("Une alerte non résolue existe déjà pour "
+                + requestDTO.getEntityType() + " " + requestDTO.getEntityId());
+    }
+
     /**
      * Trouver une alerte par ID
      */
@@ -158,8 +225,13 @@ public class StockAlertService {
             LocalDateTime endDate,
             Pageable pageable) {
 
-        return stockAlertRepository.searchAlerts(
-                alertType, entityType, resolved, startDate, endDate, pageable
+        // Tri par défaut aligné sur les index composés (filtres, created_at)
+        if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        }
+        return stockAlertRepository.findAll(
+                StockAlertSpecifications.search(alertType, entityType, resolved, startDate, endDate), pageable
         ).map(stockAlertMapper::toResponseDTO);
     }
 
@@ -177,6 +249,7 @@ public class StockAlertService {
 
         alert.markAsResolved(requestDTO.getResolvedBy(), requestDTO.getResolutionComment());
         StockAlert updatedAlert = stockAlertRepository.save(alert);
+        eventPublisher.publishEvent(StockAlertEvent.resolved(updatedAlert));
 
         log.info("Alert {} resolved by {}", alertId, requestDTO.getResolvedBy());
 
@@ -197,14 +270,36 @@ public class StockAlertService {
         log.debug("Email marked as sent for alert {}", alertId);
     }
 
+    /**
+     * Marquer les emails comme envoyés pour un ensemble d'alertes (UPDATE ... WHERE id IN)
+     */
+    @Transactional
+    public int markEmailsAsSent(Collection<Long> alertIds) {
+        if (alertIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(alertIds);
+        LocalDateTime sentAt = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_UPDATE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BULK_UPDATE_BATCH_SIZE, ids.size()));
+            updated += stockAlertRepository.markEmailSentByIds(batch, sentAt);
+        }
+
+        log.debug("Email marked as sent for {} alerts", updated);
+        return updated;
+    }
+
     /**
      * Statistiques des alertes non résolues par type
      */
     @Transactional(readOnly = true)
+    @SingleFlight(ttlMs = 2000)
     public Map<AlertType, Long> getUnresolvedStatisticsByType() {
         List<Object[]> results = stockAlertRepository.countUnresolvedAlertsByType();
         return results.stream()
-                .collect(java.util.stream.Collectors.toMap(
+                .collect(java.util.stream.Collectors.toUnmodifiableMap(
                         row -> (AlertType) row[0],
                         row -> (Long) row[1]
                 ));
@@ -214,10 +309,11 @@ public class StockAlertService {
      * Statistiques des alertes non résolues par type d'entité
      */
     @Transactional(readOnly = true)
+    @SingleFlight(ttlMs = 2000)
     public Map<EntityType, Long> getUnresolvedStatisticsByEntityType() {
         List<Object[]> results = stockAlertRepository.countUnresolvedAlertsByEntityType();
         return results.stream()
-                .collect(java.util.stream.Collectors.toMap(
+                .collect(java.util.stream.Collectors.toUnmodifiableMap(
                         row -> (EntityType) row[0],
                         row -> (Long) row[1]
                 ));
@@ -227,6 +323,7 @@ public class StockAlertService {
      * Compter les alertes non résolues
      */
     @Transactional(readOnly = true)
+    @SingleFlight(ttlMs = 2000)
     public long countUnresolvedAlerts() {
         return stockAlertRepository.countByResolvedFalse();
     }
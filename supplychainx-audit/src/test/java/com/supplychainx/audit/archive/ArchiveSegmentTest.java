@@ -0,0 +1,93 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
+import com.supplychainx.audit.entity.AuditLog;
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 8, 0, 0, 123_456_000);
+
+    @Test
+    void scan_shouldReadBackEveryRecordAcrossBlocks() throws Exception {
+        SegmentWriter.Encoded encoded = encode(500);
+        ArchiveSegment segment = open(encoded);
+
+        List<AuditLogResponseDTO> logs = new ArrayList<>();
+        segment.scan(ByteBuffer.wrap(encoded.content()), new ArchiveQuery(null, null, null, null, null, null), false,
+                logs::add);
+
+        assertEquals(500, logs.size());
+        AuditLogResponseDTO first = logs.get(0);
+        assertEquals(1L, first.getId());
+        assertEquals(START, first.getTimestamp());
+        assertEquals(EntityType.ORDER, first.getEntityType());
+        assertEquals(ActionType.UPDATE, first.getAction());
+        assertEquals("user_1", first.getPerformedBy());
+        assertEquals("{\"status\":\"EN_PREPARATION\"}", first.getOldValues());
+        assertNull(first.getIpAddress());
+    }
+
+    @Test
+    void scan_shouldFilterByDateAndReturnNewestFirst() throws Exception {
+        SegmentWriter.Encoded encoded = encode(500);
+        ArchiveSegment segment = open(encoded);
+        ArchiveQuery query = new ArchiveQuery(null, null, null, null, START.plusHours(100), START.plusHours(109));
+
+        List<AuditLogResponseDTO> logs = new ArrayList<>();
+        segment.scan(ByteBuffer.wrap(encoded.content()), query, true, logs::add);
+
+        assertEquals(10, logs.size());
+        assertEquals(110L, logs.get(0).getId());
+        assertEquals(101L, logs.get(9).getId());
+    }
+
+    @Test
+    void mayMatch_shouldUseDateBoundsAndBloomFilter() throws Exception {
+        ArchiveSegment segment = open(encode(500));
+
+        assertTrue(segment.mayMatch(ArchiveQuery.forEntity(EntityType.ORDER, 42L)));
+        assertFalse(segment.mayMatch(new ArchiveQuery(null, null, null, null, START.plusYears(1), null)));
+        long falsePositives = 0;
+        for (long id = 10_000; id < 20_000; id++) {
+            if (segment.mayMatch(ArchiveQuery.forEntity(EntityType.ORDER, id))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "Faux positifs: " + falsePositives);
+    }
+
+    private static ArchiveSegment open(SegmentWriter.Encoded encoded) throws Exception {
+        return ArchiveSegment.open(1L, ByteBuffer.wrap(encoded.footer()));
+    }
+
+    private static SegmentWriter.Encoded encode(int count) throws Exception {
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = count; i >= 1; i--) {
+            AuditLog log = AuditLog.builder()
+                    .entityType(EntityType.ORDER)
+                    .entityId((long) i)
+                    .action(ActionType.UPDATE)
+                    .performedBy("user_" + i)
+                    .timestamp(START.plusHours(i - 1))
+                    .details("Changement de statut de la commande " + i)
+                    .oldValues("{\"status\":\"EN_PREPARATION\"}")
+                    .newValues("{\"status\":\"LIVREE\"}")
+                    .build();
+            log.setId((long) i);
+            log.setCreatedAt(log.getTimestamp());
+            logs.add(log);
+        }
+        // Petits blocs pour répartir les logs sur plusieurs blocs
+        return SegmentWriter.write(logs, 2048, 0.01);
+    }
+}
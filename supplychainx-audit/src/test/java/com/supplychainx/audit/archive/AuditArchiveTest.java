@@ -0,0 +1,149 @@
+package com.supplychainx.audit.archive;
+
+import com.supplychainx.audit.config.AuditArchiveProperties;
+import com.supplychainx.audit.dto.response.AuditLogResponseDTO;
+import com.supplychainx.audit.entity.AuditLog;
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 3, 1, 10, 0);
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-archive;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS audit_archive_segments (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "min_log_id BIGINT NOT NULL, max_log_id BIGINT NOT NULL, record_count INT NOT NULL, "
+                + "footer BLOB NOT NULL, content BLOB NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("DELETE FROM audit_archive_segments");
+    }
+
+    @Test
+    void archivedLogs_shouldBeVisibleFromAnotherNode() {
+        when(auditLogRepository.findByTimestampBeforeAndIdGreaterThanOrderByIdAsc(any(), anyLong(), any()))
+                .thenReturn(logs(30));
+
+        assertEquals(30, newArchive().archiveAgedLogs());
+
+        // Autre nœud : rien sur son disque, l'archive est lue en base
+        AuditArchive otherNode = newArchive();
+        ArchiveQuery query = ArchiveQuery.forEntity(EntityType.ORDER, 7L);
+        assertTrue(otherNode.mayContain(query));
+        List<AuditLogResponseDTO> history = otherNode.findAll(query);
+        assertEquals(1, history.size());
+        assertEquals(7L, history.get(0).getId());
+        assertEquals(30, otherNode.search(new ArchiveQuery(null, null, null, null, null, null), 0, 0).total());
+        assertEquals(3, otherNode.search(ArchiveQuery.forUser("user_1"), 0, 10).total());
+    }
+
+    @Test
+    void failedDelete_shouldNotKeepSegment() {
+        when(auditLogRepository.findByTimestampBeforeAndIdGreaterThanOrderByIdAsc(any(), anyLong(), any()))
+                .thenReturn(logs(10));
+        doThrow(new IllegalStateException("base indisponible")).when(auditLogRepository).deleteAllByIdInBatch(anyList());
+
+        AuditArchive archive = newArchive();
+        assertThrows(IllegalStateException.class, archive::archiveAgedLogs);
+
+        // Les logs sont restés en base : l'archive ne doit pas les compter une seconde fois
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_archive_segments", Integer.class));
+        assertFalse(archive.mayContain(new ArchiveQuery(null, null, null, null, null, null)));
+    }
+
+    @Test
+    void reads_shouldNotWaitForArchiveRun() throws Exception {
+        AuditArchiveProperties properties = new AuditArchiveProperties();
+        properties.setMaxRecordsPerSegment(10);
+        properties.setFetchSize(10);
+        CountDownLatch firstSegmentWritten = new CountDownLatch(1);
+        CountDownLatch readDone = new CountDownLatch(1);
+        List<AuditLog> logs = logs(20);
+        when(auditLogRepository.findByTimestampBeforeAndIdGreaterThanOrderByIdAsc(any(), anyLong(), any()))
+                .thenReturn(logs.subList(0, 10))
+                .thenAnswer(invocation -> {
+                    // Premier segment validé, l'archivage continue avec le lot suivant
+                    firstSegmentWritten.countDown();
+                    assertTrue(readDone.await(5, TimeUnit.SECONDS));
+                    return logs.subList(10, 20);
+                })
+                .thenReturn(List.of());
+        AuditArchive archive = newArchive(properties);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> run = pool.submit(archive::archiveAgedLogs);
+            assertTrue(firstSegmentWritten.await(5, TimeUnit.SECONDS));
+
+            assertTrue(archive.mayContain(ArchiveQuery.forEntity(EntityType.ORDER, 7L)));
+            assertEquals(0, archive.archiveAgedLogs());
+            readDone.countDown();
+
+            assertEquals(20, run.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(20, archive.search(new ArchiveQuery(null, null, null, null, null, null), 0, 0).total());
+    }
+
+    private AuditArchive newArchive() {
+        return newArchive(new AuditArchiveProperties());
+    }
+
+    private AuditArchive newArchive(AuditArchiveProperties properties) {
+        return new AuditArchive(auditLogRepository, properties, jdbcTemplate, transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    // performedBy : user_0 à user_9 à tour de rôle
+    private static List<AuditLog> logs(int count) {
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            AuditLog log = AuditLog.builder()
+                    .entityType(EntityType.ORDER)
+                    .entityId((long) i)
+                    .action(ActionType.UPDATE)
+                    .performedBy("user_" + (i % 10))
+                    .timestamp(START.plusMinutes(i))
+                    .build();
+            log.setId((long) i);
+            logs.add(log);
+        }
+        return logs;
+    }
+}
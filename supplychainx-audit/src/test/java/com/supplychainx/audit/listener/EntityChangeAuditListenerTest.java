@@ -0,0 +1,94 @@
+package com.supplychainx.audit.listener;
+
+import com.supplychainx.audit.config.AuditChangeCaptureProperties;
+import com.supplychainx.audit.enums.ActionType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.service.AuditChangeWriter;
+import com.supplychainx.supply.entity.Supplier;
+import com.supplychainx.supply.entity.SupplyOrder;
+import com.supplychainx.supply.enums.SupplyOrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntityChangeAuditListenerTest {
+
+    private static final String[] PROPERTIES = {"orderNumber", "supplier", "status", "orderLines", "updatedAt", "password"};
+
+    @Mock
+    private AuditChangeWriter writer;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EntityPersister persister;
+
+    private EntityChangeAuditListener listener;
+
+    @BeforeEach
+    void setup() {
+        listener = new EntityChangeAuditListener(writer, new AuditChangeCaptureProperties(), entityManagerFactory);
+        doReturn(SupplyOrder.class).when(persister).getMappedClass();
+        when(persister.getPropertyNames()).thenReturn(PROPERTIES);
+    }
+
+    @Test
+    void onPostUpdate_shouldCaptureOnlyDirtyProperties() {
+        Supplier oldSupplier = supplier(1L);
+        Supplier newSupplier = supplier(2L);
+        Object[] oldState = {"SO-1", oldSupplier, SupplyOrderStatus.EN_ATTENTE, List.of(), LocalDateTime.now(), "old"};
+        Object[] state = {"SO-1", newSupplier, SupplyOrderStatus.EN_COURS, List.of(), LocalDateTime.now(), "new"};
+
+        listener.onPostUpdate(new PostUpdateEvent(new SupplyOrder(), 10L, state, oldState,
+                new int[]{1, 2, 4, 5}, persister, null));
+
+        EntityChange change = captureChange();
+        assertEquals(EntityType.SUPPLY_ORDER, change.entityType());
+        assertEquals(10L, change.entityId());
+        assertEquals(ActionType.UPDATE, change.action());
+        assertEquals(Map.of("supplier", 1L, "status", "EN_ATTENTE", "password", EntityChangeAuditListener.MASK),
+                change.oldValues());
+        assertEquals(Map.of("supplier", 2L, "status", "EN_COURS", "password", EntityChangeAuditListener.MASK),
+                change.newValues());
+    }
+
+    @Test
+    void onPostInsert_shouldSkipNullsCollectionsAndTechnicalColumns() {
+        Object[] state = {"SO-2", supplier(3L), SupplyOrderStatus.EN_ATTENTE, List.of(), LocalDateTime.now(), null};
+
+        listener.onPostInsert(new PostInsertEvent(new SupplyOrder(), 11L, state, persister, null));
+
+        EntityChange change = captureChange();
+        assertEquals(ActionType.CREATE, change.action());
+        assertNull(change.oldValues());
+        assertEquals(Map.of("orderNumber", "SO-2", "supplier", 3L, "status", "EN_ATTENTE"), change.newValues());
+    }
+
+    private EntityChange captureChange() {
+        ArgumentCaptor<EntityChange> captor = ArgumentCaptor.forClass(EntityChange.class);
+        verify(writer).submit(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Supplier supplier(Long id) {
+        Supplier supplier = new Supplier();
+        supplier.setId(id);
+        return supplier;
+    }
+}
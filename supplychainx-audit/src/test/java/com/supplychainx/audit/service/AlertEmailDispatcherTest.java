@@ -0,0 +1,148 @@
+package com.supplychainx.audit.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.supplychainx.audit.config.AlertEmailProperties;
+import com.supplychainx.audit.entity.StockAlert;
+import com.supplychainx.audit.enums.AlertType;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.repository.StockAlertRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertEmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
+    @Mock
+    private StockAlertService stockAlertService;
+
+    private AlertEmailProperties properties;
+    private JavaMailSenderImpl mailSender;
+    private AlertEmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setup() {
+        properties = new AlertEmailProperties();
+        properties.setEnabled(true);
+        properties.setTo(List.of("ops@supplychainx.com"));
+        properties.setCriticalTo(List.of("oncall@supplychainx.com"));
+        properties.getDispatch().setRatePerSecond(0);
+        properties.getDispatch().setMaxAttempts(2);
+        properties.getDispatch().setInitialBackoffMs(10);
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        EmailService emailService = new EmailService(mailSender, properties);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@supplychainx.com");
+
+        dispatcher = new AlertEmailDispatcher(stockAlertRepository, stockAlertService, emailService, properties,
+                new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatchPendingAlerts_sendsOneDigestPerRecipientGroupAndBulkMarksSent() throws Exception {
+        when(stockAlertRepository.findByEmailSentFalseAndResolvedFalse()).thenReturn(List.of(
+                alert(1L, AlertType.LOW_STOCK, 8, 10),
+                alert(2L, AlertType.OUT_OF_STOCK, 0, 10),
+                alert(3L, AlertType.LOW_STOCK, 6, 10)));
+
+        int sent = dispatcher.dispatchPendingAlerts();
+
+        assertEquals(3, sent);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals(1, greenMail.getReceivedMessagesForDomain("ops@supplychainx.com").length);
+        MimeMessage oncall = greenMail.getReceivedMessagesForDomain("oncall@supplychainx.com")[0];
+        assertTrue(oncall.getSubject().contains("1 alerte(s)"));
+        verify(stockAlertService).markEmailsAsSent(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void dispatchPendingAlerts_doesNotMarkAlertsWhenSmtpIsUnavailable() {
+        mailSender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        when(stockAlertRepository.findByEmailSentFalseAndResolvedFalse()).thenReturn(List.of(
+                alert(1L, AlertType.LOW_STOCK, 8, 10)));
+
+        int sent = dispatcher.dispatchPendingAlerts();
+
+        assertEquals(0, sent);
+        verify(stockAlertService).markEmailsAsSent(List.of());
+        verify(stockAlertService, never()).markEmailsAsSent(List.of(1L));
+    }
+
+    @Test
+    void dispatchPendingAlerts_keepsAlertsWithoutRecipientPending() {
+        properties.setTo(List.of());
+        when(stockAlertRepository.findByEmailSentFalseAndResolvedFalse()).thenReturn(List.of(
+                alert(1L, AlertType.LOW_STOCK, 8, 10),
+                alert(2L, AlertType.OUT_OF_STOCK, 0, 10)));
+
+        int sent = dispatcher.dispatchPendingAlerts();
+
+        // Seule l'alerte critique a un destinataire (critical-to)
+        assertEquals(1, sent);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        verify(stockAlertService).markEmailsAsSent(List.of(2L));
+    }
+
+    @Test
+    void buildDigests_splitsLargeBatches() {
+        properties.setCriticalTo(List.of());
+        properties.getDispatch().setMaxAlertsPerDigest(2);
+
+        List<AlertEmailDispatcher.Digest> digests = dispatcher.buildDigests(List.of(
+                alert(1L, AlertType.LOW_STOCK, 8, 10),
+                alert(2L, AlertType.LOW_STOCK, 7, 10),
+                alert(3L, AlertType.LOW_STOCK, 6, 10)));
+
+        assertEquals(2, digests.size());
+        assertEquals(2, digests.get(0).alerts().size());
+        assertEquals(1, digests.get(1).alerts().size());
+    }
+
+    private StockAlert alert(Long id, AlertType type, int current, int minimum) {
+        StockAlert alert = StockAlert.builder()
+                .alertType(type)
+                .entityType(EntityType.RAW_MATERIAL)
+                .entityId(id)
+                .entityName("Matière " + id)
+                .message("Stock faible")
+                .currentStock(current)
+                .minimumStock(minimum)
+                .createdAt(LocalDateTime.now())
+                .build();
+        alert.setId(id);
+        return alert;
+    }
+}
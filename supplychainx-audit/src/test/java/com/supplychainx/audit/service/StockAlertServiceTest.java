@@ -0,0 +1,73 @@
+package com.supplychainx.audit.service;
+
+import com.supplychainx.audit.entity.StockAlert;
+import com.supplychainx.audit.enums.EntityType;
+import com.supplychainx.audit.event.StockAlertEvent;
+import com.supplychainx.audit.mapper.StockAlertMapper;
+import com.supplychainx.audit.repository.StockAlertRepository;
+import com.supplychainx.common.event.StockChangedEvent;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertServiceTest {
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
+    @Mock
+    private StockAlertMapper stockAlertMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StockAlertService stockAlertService;
+
+    @Test
+    void raiseLowStockAlert_shouldSkipItemWithOpenAlert() {
+        when(stockAlertRepository.existsByEntityTypeAndEntityIdAndResolvedFalse(EntityType.PRODUCT, 4L))
+                .thenReturn(true);
+
+        assertFalse(stockAlertService.raiseLowStockAlert(StockChangedEvent.PRODUCT, 4L, "Chaise", 2, 10));
+        verify(stockAlertRepository, never()).save(any());
+    }
+
+    @Test
+    void raiseLowStockAlert_shouldLoseConcurrentCreationQuietly() {
+        when(stockAlertMapper.toEntity(any())).thenReturn(new StockAlert());
+        when(stockAlertRepository.save(any())).thenThrow(violation("UK_STOCK_ALERTS_OPEN_INDEX_1"));
+
+        // Un autre nœud a ouvert l'alerte entre la vérification et l'insertion
+        assertFalse(stockAlertService.raiseLowStockAlert(StockChangedEvent.RAW_MATERIAL, 7L, "Bois", 0, 10));
+        verify(eventPublisher, never()).publishEvent(any(StockAlertEvent.class));
+    }
+
+    @Test
+    void raiseLowStockAlert_shouldPropagateOtherIntegrityErrors() {
+        when(stockAlertMapper.toEntity(any())).thenReturn(new StockAlert());
+        when(stockAlertRepository.save(any())).thenThrow(violation("CK_STOCK_ALERTS_CURRENT_STOCK"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> stockAlertService.raiseLowStockAlert(StockChangedEvent.RAW_MATERIAL, 7L, "Bois", 0, 10));
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("violation", new ConstraintViolationException(
+                "violation", new SQLException("violation"), constraintName));
+    }
+}
@@ -0,0 +1,182 @@
+package com.supplychainx.benchmarks;
+
+import com.supplychainx.common.enums.Role;
+import com.supplychainx.delivery.entity.Customer;
+import com.supplychainx.delivery.entity.DeliveryOrder;
+import com.supplychainx.delivery.entity.DeliveryOrderLine;
+import com.supplychainx.delivery.enums.OrderStatus;
+import com.supplychainx.production.entity.BillOfMaterial;
+import com.supplychainx.production.entity.Product;
+import com.supplychainx.security.entity.User;
+import com.supplychainx.supply.entity.RawMaterial;
+import com.supplychainx.supply.entity.Supplier;
+import com.supplychainx.supply.entity.SupplyOrder;
+import com.supplychainx.supply.entity.SupplyOrderLine;
+import com.supplychainx.supply.enums.SupplyOrderStatus;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jeux de données en mémoire partagés par les benchmarks (aucune base de données)
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "BenchmarkSecretKeyForJWTTokenGenerationSupplyChainX2024";
+
+    private static final String[] MAPPER_PACKAGES = {
+            "com.supplychainx.supply.mapper",
+            "com.supplychainx.production.mapper",
+            "com.supplychainx.delivery.mapper"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Contexte Spring minimal contenant uniquement les mappers MapStruct générés
+     */
+    public static AnnotationConfigApplicationContext mapperContext() {
+        return new AnnotationConfigApplicationContext(MAPPER_PACKAGES);
+    }
+
+    public static User user(Role role) {
+        User user = User.builder()
+                .username("bench_" + role.name().toLowerCase())
+                .password("password123")
+                .email("bench@supplychainx.com")
+                .firstName("Bench")
+                .lastName("User")
+                .role(role)
+                .enabled(true)
+                .accountNonLocked(true)
+                .accountNonExpired(true)
+                .credentialsNonExpired(true)
+                .build();
+        user.setId(1L);
+        return user;
+    }
+
+    public static Supplier supplier() {
+        Supplier supplier = Supplier.builder()
+                .code("SUP-BENCH")
+                .name("Benchmark Supplier")
+                .email("supplier@bench.com")
+                .phone("+212600000000")
+                .rating(4.5)
+                .leadTime(7)
+                .build();
+        supplier.setId(1L);
+        return supplier;
+    }
+
+    public static RawMaterial rawMaterial(long id, int stock) {
+        RawMaterial material = RawMaterial.builder()
+                .code("RM-" + id)
+                .name("Material " + id)
+                .unit("kg")
+                .unitPrice(10.0 + id)
+                .stock(stock)
+                .stockMin(10)
+                .category("Bench")
+                .build();
+        material.setId(id);
+        return material;
+    }
+
+    public static SupplyOrder supplyOrder(int lineCount) {
+        SupplyOrder order = SupplyOrder.builder()
+                .orderNumber("SO-BENCH-" + lineCount)
+                .supplier(supplier())
+                .orderDate(LocalDate.now())
+                .expectedDeliveryDate(LocalDate.now().plusDays(7))
+                .status(SupplyOrderStatus.EN_COURS)
+                .build();
+        order.setId(1L);
+        order.setCreatedAt(LocalDateTime.now());
+
+        List<SupplyOrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 1; i <= lineCount; i++) {
+            SupplyOrderLine line = SupplyOrderLine.builder()
+                    .supplyOrder(order)
+                    .material(rawMaterial(i, 500))
+                    .quantity(i)
+                    .unitPrice(2.5 * i)
+                    .build();
+            line.setId((long) i);
+            lines.add(line);
+        }
+        order.setOrderLines(lines);
+        order.setTotalAmount(order.calculateTotalAmount());
+        return order;
+    }
+
+    public static DeliveryOrder deliveryOrder(int lineCount) {
+        Customer customer = Customer.builder()
+                .code("CUS-BENCH")
+                .name("Benchmark Customer")
+                .email("customer@bench.com")
+                .city("Casablanca")
+                .country("Maroc")
+                .build();
+        customer.setId(1L);
+
+        DeliveryOrder order = DeliveryOrder.builder()
+                .orderNumber("DO-BENCH-" + lineCount)
+                .customer(customer)
+                .orderDate(LocalDate.now())
+                .expectedDeliveryDate(LocalDate.now().plusDays(3))
+                .deliveryAddress("1 Rue du Benchmark")
+                .deliveryCity("Casablanca")
+                .status(OrderStatus.EN_PREPARATION)
+                .build();
+        order.setId(1L);
+
+        for (int i = 1; i <= lineCount; i++) {
+            DeliveryOrderLine line = DeliveryOrderLine.builder()
+                    .product(product(i))
+                    .quantity(i)
+                    .unitPrice(12.0 * i)
+                    .build();
+            line.setId((long) i);
+            order.addOrderLine(line);
+        }
+        return order;
+    }
+
+    public static Product product(long id) {
+        Product product = Product.builder()
+                .code("PRD-" + id)
+                .name("Product " + id)
+                .category("Bench")
+                .productionTime(2)
+                .cost(50.0)
+                .stock(100.0)
+                .stockMin(10.0)
+                .build();
+        product.setId(id);
+        return product;
+    }
+
+    /**
+     * Nomenclature de {@code componentCount} composants, chacun disponible en quantité {@code stock}
+     */
+    public static List<BillOfMaterial> billOfMaterials(int componentCount, int stock) {
+        Product product = product(1L);
+        List<BillOfMaterial> boms = new ArrayList<>(componentCount);
+        for (int i = 1; i <= componentCount; i++) {
+            BillOfMaterial bom = BillOfMaterial.builder()
+                    .product(product)
+                    .rawMaterial(rawMaterial(i, stock))
+                    .quantity(1.5)
+                    .unit("kg")
+                    .build();
+            bom.setId((long) i);
+            boms.add(bom);
+        }
+        return boms;
+    }
+}
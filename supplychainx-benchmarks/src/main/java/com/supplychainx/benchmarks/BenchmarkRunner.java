@@ -0,0 +1,20 @@
+package com.supplychainx.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Point d'entrée du jar de benchmarks
+ * Sans argument, exécute toutes les suites et écrit les résultats en JSON dans target/jmh-result.json
+ * afin de pouvoir comparer les résultats d'un commit à l'autre
+ */
+public final class BenchmarkRunner {
+
+    private static final String[] DEFAULT_ARGS = {"-rf", "json", "-rff", "target/jmh-result.json"};
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Main.main(args.length == 0 ? DEFAULT_ARGS : args);
+    }
+}
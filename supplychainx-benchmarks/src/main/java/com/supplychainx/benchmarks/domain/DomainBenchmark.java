@@ -0,0 +1,49 @@
+package com.supplychainx.benchmarks.domain;
+
+import com.supplychainx.benchmarks.BenchmarkFixtures;
+import com.supplychainx.production.entity.BillOfMaterial;
+import com.supplychainx.supply.entity.SupplyOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private static final int PRODUCTION_QUANTITY = 10;
+
+    private SupplyOrder supplyOrder;
+    private List<BillOfMaterial> billOfMaterials;
+
+    @Setup
+    public void setUp() {
+        supplyOrder = BenchmarkFixtures.supplyOrder(size);
+        // Stock suffisant pour tous les composants : la vérification parcourt toute la nomenclature
+        billOfMaterials = BenchmarkFixtures.billOfMaterials(size, 1000);
+    }
+
+    @Benchmark
+    public Double supplyOrderCalculateTotalAmount() {
+        return supplyOrder.calculateTotalAmount();
+    }
+
+    // Même boucle que ProductionOrderService.checkRawMaterialsAvailability, sans accès base
+    @Benchmark
+    public boolean billOfMaterialsAvailability() {
+        for (BillOfMaterial bom : billOfMaterials) {
+            if (!bom.isAvailableFor(PRODUCTION_QUANTITY)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.supplychainx.benchmarks.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supplychainx.benchmarks.BenchmarkFixtures;
+import com.supplychainx.common.config.JacksonConfig;
+import com.supplychainx.common.dto.ApiResponse;
+import com.supplychainx.common.dto.PageResponse;
+import com.supplychainx.supply.dto.response.SupplyOrderResponseDTO;
+import com.supplychainx.supply.mapper.SupplyOrderMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int LINES_PER_ORDER = 5;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    // ObjectMapper configuré comme dans l'application
+    private ObjectMapper objectMapper;
+    private ApiResponse<SupplyOrderResponseDTO> singleResponse;
+    private ApiResponse<PageResponse<SupplyOrderResponseDTO>> pageResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        try (AnnotationConfigApplicationContext context = BenchmarkFixtures.mapperContext()) {
+            SupplyOrderMapper mapper = context.getBean(SupplyOrderMapper.class);
+
+            List<SupplyOrderResponseDTO> content = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                content.add(mapper.toResponseDTO(BenchmarkFixtures.supplyOrder(LINES_PER_ORDER)));
+            }
+
+            singleResponse = ApiResponse.success(content.get(0));
+            pageResponse = ApiResponse.success(PageResponse.of(content, 0, pageSize, pageSize * 10L, 10));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeApiResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(singleResponse);
+    }
+
+    @Benchmark
+    public byte[] serializePageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+}
@@ -0,0 +1,56 @@
+package com.supplychainx.benchmarks.mapper;
+
+import com.supplychainx.benchmarks.BenchmarkFixtures;
+import com.supplychainx.delivery.dto.response.DeliveryOrderResponseDTO;
+import com.supplychainx.delivery.entity.DeliveryOrder;
+import com.supplychainx.delivery.mapper.DeliveryOrderMapper;
+import com.supplychainx.supply.dto.response.SupplyOrderResponseDTO;
+import com.supplychainx.supply.entity.SupplyOrder;
+import com.supplychainx.supply.mapper.SupplyOrderMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int lineCount;
+
+    private AnnotationConfigApplicationContext context;
+    private SupplyOrderMapper supplyOrderMapper;
+    private DeliveryOrderMapper deliveryOrderMapper;
+    private SupplyOrder supplyOrder;
+    private DeliveryOrder deliveryOrder;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.mapperContext();
+        supplyOrderMapper = context.getBean(SupplyOrderMapper.class);
+        deliveryOrderMapper = context.getBean(DeliveryOrderMapper.class);
+
+        supplyOrder = BenchmarkFixtures.supplyOrder(lineCount);
+        deliveryOrder = BenchmarkFixtures.deliveryOrder(lineCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SupplyOrderResponseDTO supplyOrderToResponseDTO() {
+        return supplyOrderMapper.toResponseDTO(supplyOrder);
+    }
+
+    @Benchmark
+    public DeliveryOrderResponseDTO deliveryOrderToResponseDTO() {
+        return deliveryOrderMapper.toResponseDTO(deliveryOrder);
+    }
+}
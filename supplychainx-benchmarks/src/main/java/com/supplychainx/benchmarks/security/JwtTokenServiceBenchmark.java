@@ -0,0 +1,48 @@
+package com.supplychainx.benchmarks.security;
+
+import com.supplychainx.benchmarks.BenchmarkFixtures;
+import com.supplychainx.common.enums.Role;
+import com.supplychainx.security.config.JwtProperties;
+import com.supplychainx.security.entity.User;
+import com.supplychainx.security.service.JwtTokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+    private JwtTokenService jwtTokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(BenchmarkFixtures.JWT_SECRET);
+
+        jwtTokenService = new JwtTokenService(properties);
+        user = BenchmarkFixtures.user(Role.RESPONSABLE_ACHATS);
+        token = jwtTokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenForUser() {
+        return jwtTokenService.validateToken(token, user.getUsername());
+    }
+}
@@ -0,0 +1,51 @@
+package com.supplychainx.benchmarks.security;
+
+import com.supplychainx.benchmarks.BenchmarkFixtures;
+import com.supplychainx.common.enums.Role;
+import com.supplychainx.security.config.SecurityExpressions;
+import com.supplychainx.security.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// Scope.Thread: le SecurityContext est stocké dans un ThreadLocal, il doit être initialisé sur le thread de mesure
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityExpressionsBenchmark {
+
+    @Param({"ADMIN", "RESPONSABLE_ACHATS"})
+    private Role role;
+
+    private SecurityExpressions securityExpressions;
+
+    @Setup
+    public void setUp() {
+        securityExpressions = new SecurityExpressions();
+
+        User user = BenchmarkFixtures.user(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean hasPermissionGranted() {
+        return securityExpressions.hasPermission("PURCHASE_ORDER_READ");
+    }
+
+    // Permission absente : parcours complet des autorités
+    @Benchmark
+    public boolean hasPermissionDenied() {
+        return securityExpressions.hasPermission("UNKNOWN_PERMISSION");
+    }
+}
@@ -0,0 +1,20 @@
+package com.supplychainx.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Place le contrôleur (ou la méthode) dans une cloison : un nombre borné d'appels simultanés par groupe
+ * Au-delà, la requête est rejetée aussitôt (503 avec Retry-After) au lieu d'occuper un thread et une connexion
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    /**
+     * Nom du groupe, configuré sous app.bulkhead.groups
+     */
+    String value();
+}
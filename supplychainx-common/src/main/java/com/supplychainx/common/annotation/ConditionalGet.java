@@ -0,0 +1,34 @@
+package com.supplychainx.common.annotation;
+
+import com.supplychainx.common.entity.BaseEntity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requête GET conditionnelle (ETag faible / If-None-Match) sur un endpoint de lecture
+ *
+ * L'ETag est dérivé de la date de dernière modification des entités (et de leur nombre pour une liste) :
+ * si le client possède déjà la version courante, la réponse 304 est renvoyée sans exécuter le contrôleur.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * Entité principale de la réponse
+     */
+    Class<? extends BaseEntity> value();
+
+    /**
+     * Variable de chemin portant l'identifiant : version de cette seule ligne (sinon, de toute la table)
+     */
+    String idVariable() default "";
+
+    /**
+     * Autres entités incluses dans la réponse (ex. fournisseurs d'une matière première)
+     */
+    Class<? extends BaseEntity>[] dependsOn() default {};
+}
@@ -0,0 +1,16 @@
+package com.supplychainx.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Endpoint de création rejouable via l'en-tête Idempotency-Key
+ * Une requête répétée avec la même clé renvoie la réponse d'origine sans être ré-exécutée
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+    String scope() default "";
+}
@@ -0,0 +1,20 @@
+package com.supplychainx.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fusionne les appels concurrents identiques (même méthode, mêmes arguments) en une seule exécution
+ * Le résultat est partagé entre les appelants : il doit être immuable
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    /**
+     * Durée pendant laquelle le résultat est réutilisé après l'exécution (0 = aucune mise en cache)
+     */
+    long ttlMs() default 0;
+}
@@ -0,0 +1,21 @@
+package com.supplychainx.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Paramètre FieldSelection alimenté par le paramètre de requête fields=id,orderNumber,supplier.name
+ *
+ * Les champs sont validés sur le DTO indiqué ; la sélection limite à la fois la requête JPA et la sortie JSON.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SparseFieldset {
+
+    /**
+     * DTO de réponse sur lequel portent les champs
+     */
+    Class<?> value();
+}
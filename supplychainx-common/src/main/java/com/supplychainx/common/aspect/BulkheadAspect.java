@@ -0,0 +1,126 @@
+package com.supplychainx.common.aspect;
+
+import com.supplychainx.common.annotation.Bulkhead;
+import com.supplychainx.common.config.BulkheadProperties;
+import com.supplychainx.common.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cloisons entre groupes de contrôleurs (@Bulkhead)
+ *
+ * Chaque groupe dispose d'un sémaphore : un pic de rapports (audit, alertes) ne peut occuper plus de
+ * max-concurrent threads Tomcat, ni donc plus de max-concurrent connexions JDBC (open-in-view désactivé),
+ * et la saisie des commandes garde le reste. Exécuté après @PreAuthorize (un appel refusé en 403 n'occupe
+ * pas de place) et avant les aspects sans ordre : un appel rejeté ne réserve ni clé d'idempotence ni connexion.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(BulkheadAspect.ORDER)
+@RequiredArgsConstructor
+public class BulkheadAspect {
+
+    // Après la sécurité des méthodes (AuthorizationInterceptorsOrder.PRE_AUTHORIZE = 200)
+    static final int ORDER = 1000;
+
+    static final String CALLS_COUNTER = "supplychainx.bulkhead.calls";
+    static final String ACTIVE_GAUGE = "supplychainx.bulkhead.active";
+    static final String LIMIT_GAUGE = "supplychainx.bulkhead.limit";
+
+    private final BulkheadProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+    private final Map<Method, String> groupsByMethod = new ConcurrentHashMap<>();
+
+    @Around("@within(com.supplychainx.common.annotation.Bulkhead) || @annotation(com.supplychainx.common.annotation.Bulkhead)")
+    public Object isolate(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String group = groupsByMethod.computeIfAbsent(method, m -> resolveGroup(m, joinPoint.getTarget()));
+        Compartment compartment = compartments.computeIfAbsent(group, this::createCompartment);
+
+        if (!compartment.tryEnter()) {
+            compartment.rejected.increment();
+            log.debug("Cloison {} saturée ({} appels en cours), appel rejeté: {}", group,
+                    compartment.settings.getMaxConcurrent(), method.getName());
+            throw new BulkheadFullException(group, compartment.settings.getRetryAfterSeconds());
+        }
+        compartment.permitted.increment();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            compartment.permits.release();
+        }
+    }
+
+    // L'annotation de la méthode l'emporte sur celle du contrôleur
+    private static String resolveGroup(Method method, Object target) {
+        Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(method, Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(AopUtils.getTargetClass(target), Bulkhead.class);
+        }
+        return bulkhead.value();
+    }
+
+    private Compartment createCompartment(String group) {
+        BulkheadProperties.Group settings = properties.group(group);
+        int limit = Math.max(1, settings.getMaxConcurrent());
+        Semaphore permits = new Semaphore(limit);
+        Gauge.builder(ACTIVE_GAUGE, permits, semaphore -> limit - semaphore.availablePermits())
+                .description("Appels en cours dans la cloison")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder(LIMIT_GAUGE, () -> limit)
+                .description("Nombre maximal d'appels simultanés de la cloison")
+                .tag("group", group)
+                .register(meterRegistry);
+        log.info("Cloison {} : {} appels simultanés au maximum", group, limit);
+        return new Compartment(settings, permits, counter(group, "permitted"), counter(group, "rejected"));
+    }
+
+    private Counter counter(String group, String outcome) {
+        return Counter.builder(CALLS_COUNTER)
+                .description("Appels des cloisons par issue (admis, rejetés en 503)")
+                .tag("group", group)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Compartment(BulkheadProperties.Group settings, Semaphore permits,
+                               Counter permitted, Counter rejected) {
+
+        private boolean tryEnter() {
+            if (settings.getMaxWaitMs() <= 0) {
+                return permits.tryAcquire();
+            }
+            try {
+                return permits.tryAcquire(settings.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
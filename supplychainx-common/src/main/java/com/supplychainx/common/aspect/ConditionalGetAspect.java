@@ -0,0 +1,168 @@
+package com.supplychainx.common.aspect;
+
+import com.supplychainx.common.annotation.ConditionalGet;
+import com.supplychainx.common.config.ConditionalGetProperties;
+import com.supplychainx.common.entity.BaseEntity;
+import com.supplychainx.common.etag.EntityVersion;
+import com.supplychainx.common.etag.EntityVersionResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Requêtes GET conditionnelles (@ConditionalGet)
+ *
+ * Exécuté après le contrôle d'accès (@PreAuthorize) : un 304 n'est renvoyé qu'à un utilisateur autorisé.
+ * La version est lue avant le chargement des données : en cas d'écriture concurrente, l'ETag est au pire
+ * plus ancien que le contenu, ce qui provoque un rechargement inutile mais jamais une réponse périmée.
+ * Les listes utilisent le compteur d'écritures de la table (en mémoire), les lectures par identifiant la date
+ * de modification de la ligne.
+ */
+@Slf4j
+@Aspect
+@Component
+public class ConditionalGetAspect {
+
+    static final String COUNTER_NAME = "supplychainx.http.conditional";
+
+    private final EntityVersionResolver versionResolver;
+    private final ConditionalGetProperties properties;
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter skipped;
+
+    public ConditionalGetAspect(EntityVersionResolver versionResolver, ConditionalGetProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.versionResolver = versionResolver;
+        this.properties = properties;
+        this.notModified = counter(meterRegistry, "not-modified");
+        this.modified = counter(meterRegistry, "modified");
+        this.skipped = counter(meterRegistry, "skipped");
+    }
+
+    @Around("@annotation(conditionalGet)")
+    public Object conditional(ProceedingJoinPoint joinPoint, ConditionalGet conditionalGet) throws Throwable {
+        if (!properties.isEnabled()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null
+                || !HttpMethod.GET.matches(attributes.getRequest().getMethod())) {
+            return joinPoint.proceed();
+        }
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+
+        String etag = computeEtag(conditionalGet, request);
+        if (etag == null) {
+            skipped.increment();
+            return joinPoint.proceed();
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            setCacheHeaders(response, etag);
+            return null;
+        }
+
+        modified.increment();
+        Object result = joinPoint.proceed();
+        // Posés après l'exécution : une réponse d'erreur ne porte pas d'ETag
+        setCacheHeaders(response, etag);
+        return result;
+    }
+
+    private String computeEtag(ConditionalGet conditionalGet, HttpServletRequest request) {
+        StringBuilder source = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            source.append('?').append(request.getQueryString());
+        }
+
+        EntityVersion primary;
+        if (conditionalGet.idVariable().isEmpty()) {
+            primary = versionResolver.tableVersion(conditionalGet.value());
+        } else {
+            Long id = pathId(request, conditionalGet.idVariable());
+            primary = id != null ? versionResolver.rowVersion(conditionalGet.value(), id) : null;
+        }
+        if (primary == null || !appendVersion(source, primary)) {
+            return null;
+        }
+        for (Class<? extends BaseEntity> dependency : conditionalGet.dependsOn()) {
+            if (!appendVersion(source, versionResolver.tableVersion(dependency))) {
+                return null;
+            }
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Modification trop récente : une autre écriture peut encore survenir avec la même date (précision à la seconde)
+    private boolean appendVersion(StringBuilder source, EntityVersion version) {
+        LocalDateTime lastModified = version.lastModified();
+        if (lastModified != null
+                && lastModified.isAfter(LocalDateTime.now().minusNanos(properties.getSettleWindowMs() * 1_000_000))) {
+            return false;
+        }
+        source.append('|').append(version.tag());
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long pathId(HttpServletRequest request, String variable) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = (variables instanceof Map<?, ?> map ? (Map<String, String>) map : Collections.<String, String>emptyMap())
+                .get(variable);
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Comparaison faible (RFC 9110) : le préfixe W/ est ignoré
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static void setCacheHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Le client peut stocker la réponse mais doit la revalider à chaque utilisation
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Requêtes GET conditionnelles par issue (304, contenu renvoyé, sans ETag)")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,152 @@
+package com.supplychainx.common.aspect;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.supplychainx.common.annotation.Idempotent;
+import com.supplychainx.common.config.IdempotencyProperties;
+import com.supplychainx.common.exception.ValidationException;
+import com.supplychainx.common.idempotency.IdempotencyStore;
+import com.supplychainx.common.idempotency.StoredResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Idempotence des endpoints annotés @Idempotent
+ *
+ * Sans en-tête Idempotency-Key la requête est exécutée normalement. Avec l'en-tête, la réponse est
+ * enregistrée par utilisateur et par clé : une nouvelle tentative la rejoue (en-tête Idempotency-Replayed)
+ * au lieu de recréer la commande.
+ */
+@Slf4j
+@Aspect
+@Component
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter jsonWriter;
+
+    public IdempotencyAspect(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Around("@annotation(idempotent)")
+    public Object handle(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        String idempotencyKey = attributes != null ? attributes.getRequest().getHeader(IDEMPOTENCY_KEY_HEADER) : null;
+        if (!properties.isEnabled() || idempotencyKey == null || idempotencyKey.isBlank()) {
+            return joinPoint.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("L'en-tête " + IDEMPOTENCY_KEY_HEADER + " ne doit pas dépasser "
+                    + MAX_KEY_LENGTH + " caractères");
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        HttpServletRequest request = attributes.getRequest();
+        String scope = idempotent.scope().isEmpty() ? request.getRequestURI() : idempotent.scope();
+        String key = currentUser() + ":" + scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, method, joinPoint.getArgs());
+
+        Object[] result = new Object[1];
+        IdempotencyStore.Result outcome = store.execute(key, fingerprint, () -> {
+            try {
+                result[0] = joinPoint.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            return toStoredResponse(method, result[0], fingerprint);
+        });
+
+        if (!outcome.replayed()) {
+            return result[0];
+        }
+        log.info("Requête rejouée depuis la clé d'idempotence (méthode: {})", method.getName());
+        return replay(method, outcome.response(), attributes.getResponse());
+    }
+
+    private StoredResponse toStoredResponse(Method method, Object result, String fingerprint) {
+        int status;
+        Object body;
+        if (result instanceof ResponseEntity<?> entity) {
+            status = entity.getStatusCode().value();
+            body = entity.getBody();
+        } else {
+            ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(method, ResponseStatus.class);
+            status = responseStatus != null ? responseStatus.code().value() : HttpStatus.OK.value();
+            body = result;
+        }
+        try {
+            return new StoredResponse(fingerprint, status, jsonWriter.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Impossible d'enregistrer la réponse idempotente", e);
+        }
+    }
+
+    private Object replay(Method method, StoredResponse stored, HttpServletResponse response) throws JsonProcessingException {
+        ResolvableType returnType = ResolvableType.forMethodReturnType(method);
+        if (ResponseEntity.class.isAssignableFrom(returnType.toClass())) {
+            JavaType bodyType = objectMapper.getTypeFactory().constructType(returnType.getGeneric(0).getType());
+            return ResponseEntity.status(stored.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(stored.body(), bodyType));
+        }
+        if (response != null) {
+            response.setHeader(REPLAYED_HEADER, "true");
+        }
+        return objectMapper.readValue(stored.body(), objectMapper.getTypeFactory().constructType(returnType.getType()));
+    }
+
+    // Empreinte de la requête : méthode HTTP, URI et corps (@RequestBody)
+    private String fingerprint(HttpServletRequest request, Method method, Object[] args) throws JsonProcessingException {
+        StringBuilder source = new StringBuilder(request.getMethod()).append(' ').append(request.getRequestURI());
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < args.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof RequestBody) {
+                    source.append('\n').append(jsonWriter.writeValueAsString(args[i]));
+                }
+            }
+        }
+        return DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+}
@@ -1,74 +1,150 @@
 package com.supplychainx.common.aspect;
 
+import com.supplychainx.common.config.AccessLogProperties;
+import com.supplychainx.common.util.StringUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 
 @Slf4j
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class LoggingAspect {
 
+    // Logger dédié, ajustable à chaud via /actuator/loggers/com.supplychainx.access
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("com.supplychainx.access");
+
+    private final AccessLogProperties properties;
+
     @Pointcut("within(com.supplychainx.*.controller..*)")
     public void controllerMethods() {}
 
     @Pointcut("within(com.supplychainx.*.service..*)")
     public void serviceMethods() {}
 
-    @Before("controllerMethods()")
-    public void logBeforeController(JoinPoint joinPoint) {
-        log.info(">>> Entering Controller: {}.{}() with arguments: {}", 
-                joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(),
-                Arrays.toString(joinPoint.getArgs()));
-    }
+    @Around("controllerMethods()")
+    public Object logAccess(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled() || !ACCESS_LOG.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
 
-    @AfterReturning(pointcut = "controllerMethods()", returning = "result")
-    public void logAfterController(JoinPoint joinPoint, Object result) {
-        log.info("<<< Exiting Controller: {}.{}() with result: {}", 
-                joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(),
-                result != null ? result.getClass().getSimpleName() : "null");
-    }
+        long startTime = System.nanoTime();
+        Throwable failure = null;
 
-    @AfterThrowing(pointcut = "controllerMethods() || serviceMethods()", throwing = "exception")
-    public void logException(JoinPoint joinPoint, Exception exception) {
-        log.error("!!! Exception in {}.{}(): {}", 
-                joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(),
-                exception.getMessage(),
-                exception);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            writeAccessLog(joinPoint, executionTime, failure);
+        }
     }
 
     @Around("serviceMethods()")
     public Object logAroundService(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
-        log.debug(">>> Entering Service: {}.{}()", 
+        if (!log.isDebugEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        log.debug(">>> Entering Service: {}.{}()",
                 joinPoint.getSignature().getDeclaringTypeName(),
                 joinPoint.getSignature().getName());
-        
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            log.debug("<<< Exiting Service: {}.{}() - Execution time: {} ms", 
-                    joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(),
-                    executionTime);
-            
-            return result;
-        } catch (Exception ex) {
-            log.error("!!! Exception in Service: {}.{}() - {}", 
-                    joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(),
-                    ex.getMessage());
-            throw ex;
+
+        Object result = joinPoint.proceed();
+
+        log.debug("<<< Exiting Service: {}.{}()",
+                joinPoint.getSignature().getDeclaringTypeName(),
+                joinPoint.getSignature().getName());
+
+        return result;
+    }
+
+    private void writeAccessLog(ProceedingJoinPoint joinPoint, long executionTime, Throwable failure) {
+        String controller = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+
+        if (failure != null) {
+            // La pile complète est journalisée par GlobalExceptionHandler pour les erreurs inattendues
+            ACCESS_LOG.warn("controller={} method={} outcome=error exception={} message=\"{}\" durationMs={}",
+                    controller, method, failure.getClass().getSimpleName(), failure.getMessage(), executionTime);
+            return;
+        }
+
+        if (executionTime > properties.getSlowRequestThresholdMs()) {
+            // Jamais d'arguments hors DEBUG : ils peuvent contenir des secrets (mot de passe, token)
+            ACCESS_LOG.warn("controller={} method={} outcome=slow durationMs={}",
+                    controller, method, executionTime);
+            return;
+        }
+
+        if (!isSampled()) {
+            return;
+        }
+
+        if (ACCESS_LOG.isDebugEnabled()) {
+            ACCESS_LOG.debug("controller={} method={} outcome=ok durationMs={} args={}",
+                    controller, method, executionTime, new LazyArgs(joinPoint.getArgs(), properties.getMaxArgLength()));
+        } else {
+            ACCESS_LOG.info("controller={} method={} outcome=ok durationMs={}",
+                    controller, method, executionTime);
+        }
+    }
+
+    private boolean isSampled() {
+        double sampleRate = properties.getSampleRate();
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Rendu différé et borné des arguments : n'est calculé que si le message est effectivement écrit
+     */
+    private record LazyArgs(Object[] args, int maxArgLength) {
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(render(args[i]));
+            }
+            return sb.append(']').toString();
+        }
+
+        private String render(Object arg) {
+            if (arg == null) {
+                return "null";
+            }
+            if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean
+                    || arg instanceof Enum<?> || arg instanceof Temporal) {
+                return StringUtil.truncate(arg.toString(), maxArgLength);
+            }
+            // Ne jamais sérialiser le contenu des collections (ex: lignes de commande)
+            if (arg instanceof Collection<?> collection) {
+                return arg.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+            }
+            if (arg instanceof Map<?, ?> map) {
+                return arg.getClass().getSimpleName() + "(size=" + map.size() + ")";
+            }
+            if (arg.getClass().isArray()) {
+                return arg.getClass().getComponentType().getSimpleName() + "[]";
+            }
+            return StringUtil.truncate(arg.toString(), maxArgLength);
         }
     }
 }
@@ -1,18 +1,41 @@
 package com.supplychainx.common.aspect;
 
+import com.supplychainx.common.config.PerformanceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class PerformanceAspect {
 
-    private static final long SLOW_METHOD_THRESHOLD_MS = 1000;
+    static final String TIMER_NAME = "supplychainx.method.duration";
+    static final String ERROR_COUNTER_NAME = "supplychainx.method.errors";
+
+    private static final String BASE_PACKAGE = "com.supplychainx.";
+
+    private final MeterRegistry meterRegistry;
+    private final PerformanceProperties properties;
+
+    // Spring AOP crée une nouvelle Signature à chaque appel : on indexe donc par la Method sous-jacente
+    private final Map<Object, MethodMeters> metersCache = new ConcurrentHashMap<>();
 
     @Pointcut("within(com.supplychainx.*.service..*)")
     public void serviceMethods() {}
@@ -22,24 +45,100 @@ public class PerformanceAspect {
 
     @Around("serviceMethods() || repositoryMethods()")
     public Object monitorPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        MethodMeters meters = metersFor(joinPoint.getSignature());
+        long startTime = System.nanoTime();
+
         try {
             return joinPoint.proceed();
+        } catch (Throwable ex) {
+            meters.recordError(meterRegistry, ex);
+            throw ex;
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            if (executionTime > SLOW_METHOD_THRESHOLD_MS) {
-                log.warn("[PERFORMANCE] Slow method detected: {}.{}() took {} ms", 
-                        joinPoint.getSignature().getDeclaringTypeName(),
-                        joinPoint.getSignature().getName(),
-                        executionTime);
-            } else {
-                log.trace("[PERFORMANCE] {}.{}() executed in {} ms", 
-                        joinPoint.getSignature().getDeclaringTypeName(),
-                        joinPoint.getSignature().getName(),
-                        executionTime);
+            long elapsedNanos = System.nanoTime() - startTime;
+            meters.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            if (executionTime > properties.getSlowMethodThresholdMs()) {
+                log.warn("[PERFORMANCE] Slow method detected: {}.{}() took {} ms",
+                        meters.className, meters.methodName, executionTime);
+            } else if (log.isTraceEnabled()) {
+                log.trace("[PERFORMANCE] {}.{}() executed in {} ms",
+                        meters.className, meters.methodName, executionTime);
             }
         }
     }
+
+    private MethodMeters metersFor(Signature signature) {
+        Object key = signature instanceof MethodSignature methodSignature
+                ? methodSignature.getMethod()
+                : signature.toLongString();
+        return metersCache.computeIfAbsent(key, k -> createMeters(signature));
+    }
+
+    private MethodMeters createMeters(Signature signature) {
+        String typeName = signature.getDeclaringTypeName();
+        String module = resolveModule(typeName);
+        String layer = typeName.contains(".repository.") ? "repository" : "service";
+        String className = signature.getDeclaringType().getSimpleName();
+        String methodName = signature.getName();
+
+        Timer.Builder builder = Timer.builder(TIMER_NAME)
+                .description("Durée d'exécution des méthodes service/repository")
+                .tag("module", module)
+                .tag("layer", layer)
+                .tag("class", className)
+                .tag("method", methodName);
+        if (properties.getSloMs() != null && properties.getSloMs().length > 0) {
+            builder.serviceLevelObjectives(Arrays.stream(properties.getSloMs())
+                    .mapToObj(Duration::ofMillis)
+                    .toArray(Duration[]::new));
+        }
+        if (properties.getPercentiles() != null && properties.getPercentiles().length > 0) {
+            builder.publishPercentiles(properties.getPercentiles());
+        }
+
+        return new MethodMeters(builder.register(meterRegistry), module, className, methodName);
+    }
+
+    /**
+     * Extraire le module (supply, production, delivery, audit, security...) depuis le package
+     */
+    static String resolveModule(String typeName) {
+        if (typeName == null || !typeName.startsWith(BASE_PACKAGE)) {
+            return "other";
+        }
+        int end = typeName.indexOf('.', BASE_PACKAGE.length());
+        return end < 0 ? "other" : typeName.substring(BASE_PACKAGE.length(), end);
+    }
+
+    private static final class MethodMeters {
+
+        private final Timer timer;
+        private final String module;
+        private final String className;
+        private final String methodName;
+
+        private MethodMeters(Timer timer, String module, String className, String methodName) {
+            this.timer = timer;
+            this.module = module;
+            this.className = className;
+            this.methodName = methodName;
+        }
+
+        // Chemin rare : le registre met lui-même en cache le compteur par combinaison de tags
+        private void recordError(MeterRegistry registry, Throwable ex) {
+            Counter.builder(ERROR_COUNTER_NAME)
+                    .description("Nombre d'exceptions levées par les méthodes service/repository")
+                    .tag("module", module)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("exception", ex.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.supplychainx.common.aspect;
+
+import com.supplychainx.common.annotation.SingleFlight;
+import com.supplychainx.common.config.SingleFlightProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Fusion des appels concurrents identiques (@SingleFlight)
+ *
+ * Le premier appelant exécute la méthode, les appels identiques arrivés entre-temps attendent son résultat.
+ * Exécuté avant @Transactional : les appelants en attente ne mobilisent pas de connexion JDBC.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@RequiredArgsConstructor
+public class SingleFlightAspect {
+
+    static final String COUNTER_NAME = "supplychainx.singleflight.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final SingleFlightProperties properties;
+
+    private final Map<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<CallKey, CachedResult> cache = new ConcurrentHashMap<>();
+    private final Map<Method, Outcomes> countersCache = new ConcurrentHashMap<>();
+
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Outcomes outcomes = countersCache.computeIfAbsent(method, this::registerCounters);
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs()));
+
+        CachedResult cached = cache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            outcomes.cached.increment();
+            return cached.value();
+        }
+
+        CompletableFuture<Object> execution = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, execution);
+        if (existing != null) {
+            outcomes.coalesced.increment();
+            return await(existing);
+        }
+
+        outcomes.executed.increment();
+        try {
+            Object result = joinPoint.proceed();
+            if (singleFlight.ttlMs() > 0) {
+                putInCache(key, result, singleFlight.ttlMs());
+            }
+            execution.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            execution.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private void putInCache(CallKey key, Object result, long ttlMs) {
+        if (cache.size() >= properties.getMaxCachedResults()) {
+            cache.values().removeIf(CachedResult::isExpired);
+            if (cache.size() >= properties.getMaxCachedResults()) {
+                log.debug("Cache @SingleFlight plein ({} entrées), résultat non conservé", cache.size());
+                return;
+            }
+        }
+        cache.put(key, new CachedResult(result, System.nanoTime() + ttlMs * 1_000_000));
+    }
+
+    private static Object await(CompletableFuture<Object> execution) throws Throwable {
+        try {
+            return execution.get();
+        } catch (ExecutionException e) {
+            // Les appelants fusionnés reçoivent la même exception que l'exécution d'origine
+            throw e.getCause();
+        }
+    }
+
+    private Outcomes registerCounters(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new Outcomes(
+                counter(name, "executed"),
+                counter(name, "coalesced"),
+                counter(name, "cached"));
+    }
+
+    private Counter counter(String method, String outcome) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Appels @SingleFlight par issue (exécuté, fusionné, servi depuis le cache)")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record CallKey(Method method, List<Object> args) {
+    }
+
+    private record CachedResult(Object value, long expiresAtNanos) {
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+    private record Outcomes(Counter executed, Counter coalesced, Counter cached) {
+    }
+}
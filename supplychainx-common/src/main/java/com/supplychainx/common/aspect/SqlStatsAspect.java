@@ -0,0 +1,77 @@
+package com.supplychainx.common.aspect;
+
+import com.supplychainx.common.sql.SqlStatsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contexte des statistiques SQL : méthode appelante (service ou mapper le plus proche de l'ordre SQL)
+ * et portée de la requête HTTP (appel de contrôleur) pour la détection des N+1
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SqlStatsAspect {
+
+    private static final String MAPPER_IMPL_SUFFIX = "Impl";
+
+    private final SqlStatsRegistry registry;
+
+    // Spring AOP crée une nouvelle Signature à chaque appel : on indexe donc par la Method sous-jacente
+    private final Map<Object, String> labels = new ConcurrentHashMap<>();
+
+    @Pointcut("within(com.supplychainx.*.controller..*)")
+    public void controllerMethods() {}
+
+    @Pointcut("within(com.supplychainx.*.service..*) || within(com.supplychainx.*.mapper..*)")
+    public void callerMethods() {}
+
+    @Around("controllerMethods()")
+    public Object trackRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!registry.isEnabled() || registry.inRequest()) {
+            return joinPoint.proceed();
+        }
+        registry.beginRequest();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            registry.endRequest(labelFor(joinPoint.getSignature()));
+        }
+    }
+
+    @Around("callerMethods()")
+    public Object trackCaller(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!registry.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        String previous = registry.enterCaller(labelFor(joinPoint.getSignature()));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            registry.restoreCaller(previous);
+        }
+    }
+
+    // SupplyOrderMapperImpl.toResponseDTO est affiché SupplyOrderMapper.toResponseDTO
+    private String labelFor(Signature signature) {
+        Object key = signature instanceof MethodSignature methodSignature
+                ? methodSignature.getMethod()
+                : signature.toLongString();
+        return labels.computeIfAbsent(key, k -> {
+            String className = signature.getDeclaringType().getSimpleName();
+            if (className.endsWith(MAPPER_IMPL_SUFFIX) && signature.getDeclaringTypeName().contains(".mapper.")) {
+                className = className.substring(0, className.length() - MAPPER_IMPL_SUFFIX.length());
+            }
+            return className + "." + signature.getName();
+        });
+    }
+}
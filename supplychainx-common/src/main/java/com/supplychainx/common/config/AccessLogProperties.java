@@ -0,0 +1,38 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration des propriétés du journal d'accès des contrôleurs
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.logging.access")
+public class AccessLogProperties {
+
+    /**
+     * Active le journal d'accès des contrôleurs
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Proportion des requêtes réussies journalisées (0.0 à 1.0)
+     * Les erreurs et les requêtes lentes sont toujours journalisées
+     * Par défaut: 0.1
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Taille maximale du rendu d'un argument (niveau DEBUG uniquement)
+     * Par défaut: 200 caractères
+     */
+    private int maxArgLength = 200;
+
+    /**
+     * Requêtes au-delà de ce seuil journalisées en WARN, sans échantillonnage
+     * Par défaut: 1000 ms
+     */
+    private long slowRequestThresholdMs = 1000;
+}
@@ -0,0 +1,53 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Configuration des cloisons (@Bulkhead) entre groupes de contrôleurs
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Active la limitation des appels simultanés par groupe
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limites par groupe ; un groupe absent reçoit les valeurs par défaut de {@link Group}
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public Group group(String name) {
+        return groups.getOrDefault(name, new Group());
+    }
+
+    @Data
+    public static class Group {
+
+        /**
+         * Nombre maximal d'appels simultanés du groupe
+         * Par défaut: 20
+         */
+        private int maxConcurrent = 20;
+
+        /**
+         * Attente maximale d'une place libre avant le rejet (0 = rejet immédiat, en millisecondes)
+         * Par défaut: 0
+         */
+        private long maxWaitMs = 0;
+
+        /**
+         * Valeur de l'en-tête Retry-After des réponses 503 (en secondes)
+         * Par défaut: 1
+         */
+        private int retryAfterSeconds = 1;
+    }
+}
@@ -0,0 +1,64 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Configuration du bus d'invalidation des caches en mémoire entre nœuds
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * Publier les modifications d'entités aux autres nœuds et appliquer les leurs
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Entités dont chaque écriture validée est publiée (nom simple de la classe)
+     */
+    private List<String> entities = new ArrayList<>(List.of("Product", "RawMaterial", "User", "Supplier", "Customer",
+            "SupplyOrder", "ProductionOrder", "DeliveryOrder", "Delivery"));
+
+    /**
+     * Transport entre nœuds : "jdbc" (table cache_invalidations) ou un InvalidationTransport fourni par l'application
+     * Par défaut: jdbc
+     */
+    private String transport = "jdbc";
+
+    /**
+     * Intervalle d'envoi des clés locales et de lecture des clés des autres nœuds (en millisecondes)
+     * Par défaut: 1000 ms
+     */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * Nombre maximal de clés lues par requête
+     * Par défaut: 500
+     */
+    private int batchSize = 500;
+
+    /**
+     * Nombre maximal de clés en attente d'envoi ; au-delà, elles sont regroupées en une invalidation par entité
+     * Par défaut: 10000
+     */
+    private int maxPendingKeys = 10_000;
+
+    /**
+     * Délai pendant lequel un identifiant manquant (transaction concurrente pas encore validée) est recherché
+     * Par défaut: 10000 ms
+     */
+    private long gapTimeoutMs = 10_000;
+
+    /**
+     * Conservation des lignes de cache_invalidations (en minutes)
+     * Par défaut: 60
+     */
+    private int retentionMinutes = 60;
+}
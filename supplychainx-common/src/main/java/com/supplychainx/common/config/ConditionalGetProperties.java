@@ -0,0 +1,26 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration des requêtes GET conditionnelles (ETag / If-None-Match)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.conditional-get")
+public class ConditionalGetProperties {
+
+    /**
+     * Active le calcul des ETags et les réponses 304 sur les endpoints @ConditionalGet
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Aucun ETag n'est émis si la dernière modification date de moins de ce délai : les dates sont
+     * stockées à la seconde, deux écritures dans la même seconde donneraient le même ETag
+     * Par défaut: 2000 ms
+     */
+    private long settleWindowMs = 2000;
+}
@@ -0,0 +1,50 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration du flux d'événements temps réel (Server-Sent Events)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.stream")
+public class EventStreamProperties {
+
+    /**
+     * Nombre d'événements en attente par abonné ; au-delà, l'abonné lent est déconnecté
+     * Par défaut: 256
+     */
+    private int subscriberBufferSize = 256;
+
+    /**
+     * Nombre d'événements conservés pour la reprise via Last-Event-ID
+     * Par défaut: 1000
+     */
+    private int replayBufferSize = 1000;
+
+    /**
+     * Durée maximale d'une connexion SSE avant reconnexion du client (en millisecondes)
+     * Par défaut: 1800000 ms (30 minutes)
+     */
+    private long connectionTimeoutMs = 1_800_000;
+
+    /**
+     * Intervalle d'envoi des heartbeats (en millisecondes)
+     * Par défaut: 15000 ms
+     */
+    private long heartbeatIntervalMs = 15_000;
+
+    /**
+     * Nombre maximal de threads d'écriture vers les abonnés ; un client lent bloque le sien sans retarder les autres
+     * Au-delà, les envois attendent qu'un thread se libère ; les threads inactifs s'arrêtent après 60 secondes
+     * Par défaut: 64
+     */
+    private int maxSenderThreads = 64;
+
+    /**
+     * Durée maximale d'un envoi vers un abonné ; au-delà, l'abonné est déconnecté (en millisecondes)
+     * Par défaut: 5000 ms
+     */
+    private long sendTimeoutMs = 5_000;
+}
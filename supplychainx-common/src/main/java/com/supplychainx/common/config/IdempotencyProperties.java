@@ -0,0 +1,37 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration des clés d'idempotence (en-tête Idempotency-Key)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Active la prise en compte de l'en-tête Idempotency-Key
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Durée de conservation des réponses enregistrées (en heures)
+     * Par défaut: 24 h
+     */
+    private int ttlHours = 24;
+
+    /**
+     * Nombre maximal de réponses gardées en mémoire (les plus anciennes sont relues en base)
+     * Par défaut: 10000
+     */
+    private int maxCachedResponses = 10000;
+
+    /**
+     * Au-delà de ce délai, une requête encore "en cours" est considérée abandonnée (en millisecondes)
+     * Par défaut: 60000 ms
+     */
+    private long processingTimeoutMs = 60000;
+}
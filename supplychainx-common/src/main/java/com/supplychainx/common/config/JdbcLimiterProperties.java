@@ -0,0 +1,26 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration du limiteur de concurrence JDBC (mode threads virtuels)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.jdbc.limiter")
+public class JdbcLimiterProperties {
+
+    /**
+     * Nombre maximal de connexions empruntées simultanément
+     * Doit rester inférieur ou égal à la taille du pool Hikari
+     * Par défaut: 10
+     */
+    private int maxConcurrentConnections = 10;
+
+    /**
+     * Délai maximal d'attente d'une connexion (en millisecondes)
+     * Par défaut: 30000 ms
+     */
+    private long acquireTimeoutMs = 30000;
+}
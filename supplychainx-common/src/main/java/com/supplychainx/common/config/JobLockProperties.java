@@ -0,0 +1,44 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration des verrous de tâches planifiées partagés entre nœuds (table job_locks)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.job-lock")
+public class JobLockProperties {
+
+    /**
+     * Exécuter chaque tâche planifiée sur un seul nœud (sinon chaque nœud l'exécute, déploiement mono-instance)
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Identifiant du nœud dans la table des verrous
+     * Par défaut: nom d'hôte et PID
+     */
+    private String nodeId = "";
+
+    /**
+     * Durée d'un bail ; sans renouvellement, le verrou est repris par un autre nœud à son expiration (en millisecondes)
+     * Par défaut: 60000 ms
+     */
+    private long leaseDurationMs = 60000;
+
+    /**
+     * Intervalle de renouvellement des baux en cours (en millisecondes)
+     * Par défaut: 20000 ms
+     */
+    private long renewIntervalMs = 20000;
+
+    /**
+     * Durée minimale de détention après une exécution, pour qu'un nœud dont le déclenchement est décalé
+     * de quelques secondes ne relance pas la même occurrence (en millisecondes)
+     * Par défaut: 30000 ms
+     */
+    private long minHoldMs = 30000;
+}
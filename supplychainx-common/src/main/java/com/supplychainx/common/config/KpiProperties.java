@@ -0,0 +1,39 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.annotation.Isolation;
+
+//Configuration des KPI maintenus de façon incrémentale
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.kpi")
+public class KpiProperties {
+
+    /**
+     * Sert les KPI depuis les compteurs en mémoire (sinon requêtes d'agrégat à chaque appel)
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Intervalle de sauvegarde des compteurs en base (en millisecondes)
+     * Par défaut: 60000 ms
+     */
+    private long persistIntervalMs = 60000;
+
+    /**
+     * Intervalle de recalcul complet, qui corrige aussi les écritures faites par les autres nœuds
+     * Par défaut: 300000 ms
+     */
+    private long reconcileIntervalMs = 300000;
+
+    /**
+     * Isolation de la transaction de recalcul : elle doit figer toutes les tables dès la première lecture.
+     * REPEATABLE_READ pour MySQL (InnoDB) et PostgreSQL, SERIALIZABLE pour H2
+     * Par défaut: REPEATABLE_READ
+     */
+    private Isolation snapshotIsolation = Isolation.REPEATABLE_READ;
+}
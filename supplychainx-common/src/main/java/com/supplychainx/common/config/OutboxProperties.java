@@ -0,0 +1,61 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration de l'outbox transactionnelle et de son relais vers les consommateurs des modules
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Relayer les événements de l'outbox (sinon ils sont écrits mais restent en attente)
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Intervalle de lecture des événements en attente (en millisecondes)
+     * Par défaut: 500 ms
+     */
+    private long pollIntervalMs = 500;
+
+    /**
+     * Nombre maximal d'événements lus et livrés par passage
+     * Par défaut: 200
+     */
+    private int batchSize = 200;
+
+    /**
+     * Nombre de threads de livraison (les événements d'un même agrégat restent sur un seul)
+     * Par défaut: 4
+     */
+    private int lanes = 4;
+
+    /**
+     * Nombre de tentatives avant qu'un événement passe au statut FAILED
+     * Par défaut: 10
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Délai avant la première nouvelle tentative, doublé à chaque échec (en millisecondes)
+     * Par défaut: 1000 ms
+     */
+    private long initialBackoffMs = 1000;
+
+    /**
+     * Délai maximal entre deux tentatives (en millisecondes)
+     * Par défaut: 300000 ms
+     */
+    private long maxBackoffMs = 300_000;
+
+    /**
+     * Durée de conservation des événements livrés (en heures)
+     * Par défaut: 24
+     */
+    private int retentionHours = 24;
+}
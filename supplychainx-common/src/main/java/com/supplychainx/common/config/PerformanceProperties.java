@@ -0,0 +1,38 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration des propriétés de monitoring des performances
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.performance")
+public class PerformanceProperties {
+
+    /**
+     * Active la mesure des méthodes service/repository
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Seuil au-delà duquel une méthode est signalée comme lente (en millisecondes)
+     * Par défaut: 1000 ms
+     */
+    private long slowMethodThresholdMs = 1000;
+
+    /**
+     * Bornes des buckets d'histogramme publiés par méthode (en millisecondes, agrégeables côté Prometheus)
+     * Quelques bornes fixes plutôt que l'histogramme complet (~70 buckets) sur chaque méthode
+     * Par défaut: 50, 100, 250, 500, 1000, 2500
+     */
+    private long[] sloMs = {50, 100, 250, 500, 1000, 2500};
+
+    /**
+     * Percentiles calculés côté application (vide = aucun)
+     * Par défaut: aucun
+     */
+    private double[] percentiles = {};
+}
@@ -0,0 +1,91 @@
+package com.supplychainx.common.config;
+
+import com.supplychainx.common.jdbc.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Réplica de lecture (app.datasource.routing.enabled=true)
+ *
+ * Deux pools Hikari : la principale (spring.datasource) et le réplica (app.datasource.replica, réglages
+ * Hikari propres sous app.datasource.replica.hikari). La DataSource exposée à JPA et Liquibase route
+ * les transactions readOnly vers le réplica, voir {@link ReadWriteRoutingDataSource}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        // Lié à la main pour ne pas exposer un second bean DataSourceProperties à l'auto-configuration
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("app.datasource.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Réplica de lecture activé sans configuration app.datasource.replica"));
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReadReplicaProperties properties,
+            MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica,
+                Duration.ofMillis(properties.getReadYourWritesWindowMs()));
+        Gauge.builder("supplychainx.datasource.replica.healthy", routing, r -> r.isReplicaHealthy() ? 1 : 0)
+                .description("Disponibilité du réplica de lecture (1 = lectures routées vers le réplica)")
+                .register(meterRegistry);
+        log.info("Routage lecture/écriture actif : transactions readOnly envoyées au réplica");
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routing) {
+        // La connexion n'est résolue qu'au premier ordre SQL, une fois le flag readOnly connu
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(ReadWriteRoutingDataSource routing, ReadReplicaProperties properties) {
+        return new ReplicaHealthCheck(routing, properties.getHealthCheckTimeoutSeconds());
+    }
+
+    @RequiredArgsConstructor
+    public static class ReplicaHealthCheck {
+
+        private final ReadWriteRoutingDataSource routing;
+        private final int timeoutSeconds;
+
+        @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval-ms:10000}")
+        public void check() {
+            routing.checkReplicaHealth(timeoutSeconds);
+        }
+    }
+}
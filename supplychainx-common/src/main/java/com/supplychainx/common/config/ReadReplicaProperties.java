@@ -0,0 +1,37 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration du routage lecture/écriture vers un réplica de lecture
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReadReplicaProperties {
+
+    /**
+     * Active le routage des transactions readOnly vers le réplica (app.datasource.replica)
+     * Par défaut: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Durée pendant laquelle un utilisateur qui vient d'écrire lit sur la principale (délai de réplication)
+     * Par défaut: 5000 ms
+     */
+    private long readYourWritesWindowMs = 5000;
+
+    /**
+     * Intervalle de vérification de la santé du réplica (en millisecondes)
+     * Par défaut: 10000 ms
+     */
+    private long healthCheckIntervalMs = 10000;
+
+    /**
+     * Délai maximal de validation d'une connexion au réplica (en secondes)
+     * Par défaut: 2 s
+     */
+    private int healthCheckTimeoutSeconds = 2;
+}
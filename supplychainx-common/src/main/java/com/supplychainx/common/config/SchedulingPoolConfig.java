@@ -0,0 +1,44 @@
+package com.supplychainx.common.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+/**
+ * Contrôle du pool de planification (spring.task.scheduling.pool.size)
+ *
+ * Toutes les tâches @Scheduled partagent le même pool : avec moins de threads que de tâches, une tâche longue
+ * (archivage, reconstruction de l'index, resynchronisation des échéances) retarde les tâches sous la seconde
+ * (bus d'invalidation, relais de l'outbox, écriture de l'audit). Le pool est dimensionné à un thread par tâche ;
+ * un avertissement est émis au démarrage si une nouvelle tâche le fait dépasser.
+ * En mode threads virtuels, chaque exécution a son propre thread et le contrôle est sans objet.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class SchedulingPoolConfig {
+
+    private final ObjectProvider<ScheduledTaskHolder> taskHolders;
+    private final ObjectProvider<ThreadPoolTaskScheduler> schedulers;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPoolSize() {
+        ThreadPoolTaskScheduler scheduler = schedulers.getIfUnique();
+        if (scheduler == null) {
+            return;
+        }
+        int taskCount = taskHolders.orderedStream().mapToInt(holder -> holder.getScheduledTasks().size()).sum();
+        int poolSize = scheduler.getScheduledThreadPoolExecutor().getCorePoolSize();
+        if (taskCount > poolSize) {
+            log.warn("Pool de planification sous-dimensionné : {} threads pour {} tâches planifiées "
+                    + "(augmenter spring.task.scheduling.pool.size)", poolSize, taskCount);
+        } else {
+            log.info("Pool de planification : {} threads pour {} tâches planifiées", poolSize, taskCount);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration de l'index de recherche unifié (matières, produits, fournisseurs, clients, utilisateurs)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /**
+     * Active l'index de recherche en mémoire et sa mise à jour après chaque écriture
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre de résultats renvoyés si la requête ne précise pas de limite
+     * Par défaut: 10
+     */
+    private int defaultLimit = 10;
+
+    /**
+     * Nombre maximal de résultats par requête
+     * Par défaut: 50
+     */
+    private int maxLimit = 50;
+
+    /**
+     * Longueur maximale du texte recherché
+     * Par défaut: 100
+     */
+    private int maxQueryLength = 100;
+
+    /**
+     * Part minimale des trigrammes de la requête présents dans un document (tolérance aux fautes de frappe)
+     * Par défaut: 0.5
+     */
+    private double minMatchRatio = 0.5;
+
+    /**
+     * Taille des lots lus en base lors d'une reconstruction complète
+     * Par défaut: 1000
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Reconstruction complète périodique (resynchronisation et compactage de l'index)
+     * Par défaut: 0 0 4 * * * (tous les jours à 4h)
+     */
+    private String rebuildCron = "0 0 4 * * *";
+}
@@ -0,0 +1,25 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration de la fusion des appels concurrents (@SingleFlight)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * Active la fusion des appels et le cache court des méthodes @SingleFlight
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre maximal de résultats gardés en cache (toutes méthodes confondues)
+     * Par défaut: 1000
+     */
+    private int maxCachedResults = 1000;
+}
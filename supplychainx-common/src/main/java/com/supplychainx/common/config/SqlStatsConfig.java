@@ -0,0 +1,47 @@
+package com.supplychainx.common.config;
+
+import com.supplychainx.common.jdbc.SqlStatsDataSource;
+import com.supplychainx.common.sql.SqlStatsRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Mesure des ordres SQL (app.sql-stats.enabled)
+ *
+ * La DataSource exposée à JPA, JdbcTemplate et Liquibase (bean "dataSource", routage lecture/écriture
+ * compris) est enveloppée en dernier par {@link SqlStatsDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(ObjectProvider<SqlStatsRegistry> registryProvider) {
+        return new SqlStatsPostProcessor(registryProvider);
+    }
+
+    private record SqlStatsPostProcessor(ObjectProvider<SqlStatsRegistry> registryProvider)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                return new SqlStatsDataSource(dataSource, registryProvider.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
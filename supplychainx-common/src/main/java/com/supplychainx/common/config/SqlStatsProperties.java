@@ -0,0 +1,37 @@
+package com.supplychainx.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+//Configuration des statistiques SQL par forme de requête (empreinte) et de la détection des N+1
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.sql-stats")
+public class SqlStatsProperties {
+
+    /**
+     * Mesurer chaque ordre SQL (nombre, lignes, durée) par empreinte et méthode appelante
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre maximal de couples (empreinte, méthode appelante) suivis ; au-delà les ordres sont seulement comptés
+     * Par défaut: 2000
+     */
+    private int maxFingerprints = 2000;
+
+    /**
+     * Nombre d'exécutions d'un même SELECT dans une requête HTTP à partir duquel un N+1 est signalé
+     * Par défaut: 10
+     */
+    private int nPlusOneThreshold = 10;
+
+    /**
+     * Nombre de requêtes renvoyées par défaut par /actuator/sqlstats
+     * Par défaut: 50
+     */
+    private int reportLimit = 50;
+}
@@ -1,5 +1,7 @@
 package com.supplychainx.common.config;
 
+import com.supplychainx.common.annotation.SparseFieldset;
+import com.supplychainx.common.projection.FieldSelection;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
@@ -7,13 +9,21 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import org.springdoc.core.customizers.OperationCustomizer;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+
 
 @Configuration
 public class SwaggerConfig {
 
+    static {
+        // Documenté par sparseFieldsetParameter() à la place du type Java
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(FieldSelection.class);
+    }
+
     @Bean
     public OpenAPI openAPI() {
         return new OpenAPI()
@@ -49,4 +59,20 @@ public class SwaggerConfig {
             return operation;
         };
     }
+
+    @Bean
+    public OperationCustomizer sparseFieldsetParameter() {
+        return (operation, handlerMethod) -> {
+            if (Arrays.stream(handlerMethod.getMethodParameters())
+                    .anyMatch(parameter -> parameter.hasParameterAnnotation(SparseFieldset.class))) {
+                operation.addParametersItem(new Parameter()
+                        .in("query")
+                        .required(false)
+                        .schema(new StringSchema())
+                        .name(FieldSelection.PARAMETER)
+                        .description("Champs à renvoyer, séparés par des virgules (ex: id,orderNumber,supplier.name)"));
+            }
+            return operation;
+        };
+    }
 }
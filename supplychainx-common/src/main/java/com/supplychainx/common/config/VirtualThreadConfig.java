@@ -0,0 +1,62 @@
+package com.supplychainx.common.config;
+
+import com.supplychainx.common.jdbc.ConcurrencyLimitingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Mode threads virtuels (Java 21+, spring.threads.virtual.enabled=true)
+ *
+ * Spring Boot sert alors les requêtes Tomcat et les tâches @Scheduled sur des threads virtuels ; l'envoi des alertes
+ * par email (AlertEmailDispatcher) passe lui aussi sur des threads virtuels.
+ * Les I/O bloquantes ne limitant plus la concurrence, l'accès à la base est borné par un limiteur JDBC.
+ * Sur Java 17 ou sans la propriété, cette configuration est ignorée.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            ObjectProvider<JdbcLimiterProperties> propertiesProvider) {
+        return new ConcurrencyLimitingPostProcessor(propertiesProvider);
+    }
+
+    // Appliqué avant les autres enveloppes (mesures SQL), qui ne doivent pas masquer le pool
+    private record ConcurrencyLimitingPostProcessor(ObjectProvider<JdbcLimiterProperties> propertiesProvider)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !isDelegating(bean)) {
+                JdbcLimiterProperties properties = propertiesProvider.getObject();
+                log.info("Threads virtuels actifs : DataSource '{}' limitée à {} connexions simultanées",
+                        beanName, properties.getMaxConcurrentConnections());
+                return new ConcurrencyLimitingDataSource(dataSource,
+                        properties.getMaxConcurrentConnections(), properties.getAcquireTimeoutMs());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    // Seuls les pools réels sont limités, pas les proxys ni le routage lecture/écriture qui les enveloppent
+    private static boolean isDelegating(Object bean) {
+        return bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource;
+    }
+}
@@ -1,9 +1,13 @@
 package com.supplychainx.common.config;
 
+import com.supplychainx.common.projection.FieldSelectionArgumentResolver;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -17,4 +21,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .exposedHeaders("X-User-Id", "X-User-Role")
                 .maxAge(3600);
     }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // Paramètre fields=... des endpoints de liste (@SparseFieldset)
+        resolvers.add(new FieldSelectionArgumentResolver());
+    }
 }
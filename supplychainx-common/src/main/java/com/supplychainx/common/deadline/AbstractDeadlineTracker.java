@@ -0,0 +1,154 @@
+package com.supplychainx.common.deadline;
+
+import com.supplychainx.common.event.OrderDeletedEvent;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.common.event.OrderLateEvent;
+import com.supplychainx.common.invalidation.CacheInvalidationListener;
+import com.supplychainx.common.invalidation.InvalidationKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Suivi des échéances d'un type de commande, pour répondre aux endpoints /delayed sans scanner la table
+ *
+ * L'index est chargé au démarrage, puis tenu à jour après chaque commit à partir des événements de commande
+ * et, pour les écritures des autres nœuds, à partir du bus d'invalidation. Une resynchronisation périodique
+ * rattrape les messages perdus. Seule la vérification planifiée publie les OrderLateEvent.
+ * Les mises à jour unitaires partagent le verrou de la resynchronisation : une resynchronisation en cours,
+ * chargée avant elles, ne peut pas écraser leur résultat.
+ */
+@Slf4j
+public abstract class AbstractDeadlineTracker implements CacheInvalidationListener {
+
+    private final DeadlineIndex index = new DeadlineIndex();
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean ready;
+
+    protected AbstractDeadlineTracker(ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager) {
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Appelé après le commit de la transaction d'origine, encore liée au thread : il faut une lecture distincte
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Type de commande suivi (voir OrderEvent)
+     */
+    protected abstract String orderType();
+
+    /**
+     * Nom simple de l'entité publiée sur le bus d'invalidation (ex: "SupplyOrder")
+     */
+    protected abstract String entityName();
+
+    /**
+     * Charger toutes les commandes dont l'échéance doit être suivie
+     */
+    protected abstract List<DeadlineIndex.Entry> loadTrackedEntries();
+
+    /**
+     * Charger une commande si son échéance doit être suivie (statut concerné et date renseignée)
+     */
+    protected abstract Optional<DeadlineIndex.Entry> loadTrackedEntry(Long orderId);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        resync();
+        checkDeadlines();
+    }
+
+    @Scheduled(cron = "${app.deadline.resync-cron:0 15 * * * *}")
+    public synchronized void resync() {
+        List<DeadlineIndex.Entry> entries = loadTrackedEntries();
+        index.reset(entries);
+        ready = true;
+        log.info("Index des échéances {} resynchronisé: {} commandes suivies", orderType(), entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        // Traité même avant le premier chargement : refresh() attend la resynchronisation en cours
+        if (!orderType().equals(event.orderType())) {
+            return;
+        }
+        if (event instanceof OrderDeletedEvent) {
+            untrack(event.orderId());
+        } else {
+            refresh(event.orderId());
+        }
+    }
+
+    /**
+     * Écritures faites sur un autre nœud (les écritures locales arrivent par onOrderEvent)
+     */
+    @Override
+    public void onInvalidation(InvalidationKey key, boolean remote) {
+        if (!remote || !entityName().equals(key.entity())) {
+            return;
+        }
+        if (key.isAll()) {
+            resync();
+        } else {
+            refresh(key.id());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.deadline.check-interval-ms:300000}")
+    public void checkDeadlines() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (DeadlineIndex.Entry entry : index.advance(now.toLocalDate())) {
+            log.info("Échéance dépassée: {} {} (prévue le {})", orderType(), entry.reference(), entry.deadline());
+            eventPublisher.publishEvent(new OrderLateEvent(
+                    orderType(), entry.id(), entry.reference(), entry.deadline(), now));
+        }
+    }
+
+    /**
+     * Identifiants des commandes en retard, de la plus ancienne échéance à la plus récente
+     * (lecture seule : aucun événement n'est publié depuis le thread de la requête)
+     */
+    public List<Long> findLateOrderIds() {
+        if (!ready) {
+            resync();
+        }
+        return index.lateEntries(LocalDate.now()).stream()
+                .sorted(Comparator.comparing(DeadlineIndex.Entry::deadline))
+                .map(DeadlineIndex.Entry::id)
+                .toList();
+    }
+
+    public int getTrackedCount() {
+        return index.size();
+    }
+
+    /**
+     * Retirer une commande supprimée de l'index
+     */
+    public synchronized void untrack(Long orderId) {
+        index.untrack(orderId);
+    }
+
+    // Transaction en écriture : lecture sur la base principale, le réplica peut être en retard sur le commit
+    private synchronized void refresh(Long orderId) {
+        transactionTemplate.executeWithoutResult(status -> loadTrackedEntry(orderId)
+                .ifPresentOrElse(index::track, () -> index.untrack(orderId)));
+    }
+}
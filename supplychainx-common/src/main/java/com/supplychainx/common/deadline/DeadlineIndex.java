@@ -0,0 +1,120 @@
+package com.supplychainx.common.deadline;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Index en mémoire des échéances (tas binaire trié par date)
+ *
+ * Les entrées à venir sont dans le tas ; advance() déplace celles dont l'échéance est dépassée
+ * vers l'ensemble des retards, qui se lit ensuite en O(k). Les entrées remplacées ou retirées
+ * sont supprimées paresseusement du tas.
+ */
+public class DeadlineIndex {
+
+    public record Entry(Long id, String reference, LocalDate deadline) {}
+
+    private static final int COMPACTION_MIN_SIZE = 64;
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparing(Entry::deadline));
+    private final Map<Long, Entry> upcoming = new HashMap<>();
+    private final Map<Long, Entry> late = new LinkedHashMap<>();
+
+    /**
+     * Suivre (ou mettre à jour) l'échéance d'un élément
+     */
+    public synchronized void track(Entry entry) {
+        late.remove(entry.id());
+        upcoming.put(entry.id(), entry);
+        heap.add(entry);
+        compactIfNeeded();
+    }
+
+    /**
+     * Ne plus suivre un élément (statut final, suppression...)
+     */
+    public synchronized void untrack(Long id) {
+        upcoming.remove(id);
+        late.remove(id);
+        compactIfNeeded();
+    }
+
+    /**
+     * Remplacer tout le contenu de l'index (resynchronisation depuis la base)
+     *
+     * Une entrée déjà en retard avec la même échéance le reste : advance() ne la signale pas une seconde fois.
+     */
+    public synchronized void reset(Collection<Entry> entries) {
+        Map<Long, Entry> previouslyLate = new HashMap<>(late);
+        heap.clear();
+        upcoming.clear();
+        late.clear();
+        for (Entry entry : entries) {
+            if (entry.equals(previouslyLate.get(entry.id()))) {
+                late.put(entry.id(), entry);
+            } else {
+                upcoming.put(entry.id(), entry);
+            }
+        }
+        heap.addAll(upcoming.values());
+    }
+
+    /**
+     * Faire passer en retard les échéances antérieures à la date donnée
+     *
+     * @return les entrées nouvellement en retard
+     */
+    public synchronized List<Entry> advance(LocalDate today) {
+        List<Entry> newlyLate = new ArrayList<>();
+        while (!heap.isEmpty() && heap.peek().deadline().isBefore(today)) {
+            Entry entry = heap.poll();
+            // Ignorer les entrées obsolètes (remplacées ou retirées depuis leur insertion)
+            if (upcoming.get(entry.id()) == entry) {
+                upcoming.remove(entry.id());
+                late.put(entry.id(), entry);
+                newlyLate.add(entry);
+            }
+        }
+        return newlyLate;
+    }
+
+    public synchronized List<Entry> lateEntries() {
+        return new ArrayList<>(late.values());
+    }
+
+    /**
+     * Entrées en retard à la date donnée, sans modifier l'index ni signaler de nouveaux retards
+     * (celles qu'advance() n'a pas encore déplacées sont incluses)
+     */
+    public synchronized List<Entry> lateEntries(LocalDate today) {
+        List<Entry> entries = new ArrayList<>(late.values());
+        // Cas courant : la plus proche échéance n'est pas dépassée, aucun parcours du tas
+        if (!heap.isEmpty() && heap.peek().deadline().isBefore(today)) {
+            for (Entry entry : upcoming.values()) {
+                if (entry.deadline().isBefore(today)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    public synchronized int size() {
+        return upcoming.size() + late.size();
+    }
+
+    // Reconstruire le tas quand les entrées obsolètes dominent
+    private void compactIfNeeded() {
+        if (heap.size() > COMPACTION_MIN_SIZE && heap.size() > 2 * upcoming.size()) {
+            heap.clear();
+            heap.addAll(upcoming.values());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.supplychainx.common.etag;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version d'une table ou d'une ligne, telle qu'incluse dans l'ETag
+ *
+ * @param tag          valeur opaque qui change à chaque écriture
+ * @param lastModified date de dernière modification quand le tag en dépend (fenêtre de stabilisation), sinon null
+ */
+public record EntityVersion(String tag, LocalDateTime lastModified) {
+
+    /**
+     * Compteur d'écritures propre à un démarrage de nœud
+     */
+    public static EntityVersion counter(String epoch, long value) {
+        return new EntityVersion(epoch + "." + value, null);
+    }
+
+    /**
+     * Nombre de lignes et date de dernière modification lus en base
+     */
+    public static EntityVersion modifiedAt(long count, LocalDateTime lastModified) {
+        return new EntityVersion(count + "@" + lastModified, lastModified);
+    }
+}
@@ -0,0 +1,82 @@
+package com.supplychainx.common.etag;
+
+import com.supplychainx.common.entity.BaseEntity;
+import com.supplychainx.common.invalidation.CacheInvalidationBus;
+import com.supplychainx.common.invalidation.CacheInvalidationListener;
+import com.supplychainx.common.invalidation.InvalidationKey;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lecture des versions servant au calcul des ETags
+ *
+ * Version d'une table : compteur en mémoire incrémenté après chaque écriture validée, locale ou reçue d'un
+ * autre nœud par le bus d'invalidation (aucune requête par GET). Les compteurs de deux nœuds ne sont pas
+ * comparables : l'époque de ce démarrage fait partie de la version. Une entité absente du bus retombe sur
+ * un agrégat en base. Version d'une ligne : date de modification lue par clé primaire.
+ */
+@Component
+public class EntityVersionResolver implements CacheInvalidationListener {
+
+    private final EntityManager entityManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> entityNames = new ConcurrentHashMap<>();
+
+    public EntityVersionResolver(EntityManager entityManager, CacheInvalidationBus invalidationBus,
+                                 PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.invalidationBus = invalidationBus;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Version de toute la table : une insertion, modification ou suppression la change
+     */
+    public EntityVersion tableVersion(Class<? extends BaseEntity> type) {
+        String name = type.getSimpleName();
+        if (invalidationBus.handles(name)) {
+            return EntityVersion.counter(epoch, tableVersions.computeIfAbsent(name, key -> new AtomicLong()).get());
+        }
+        return readOnlyTransaction.execute(status -> {
+            Object[] row = entityManager.createQuery("SELECT COUNT(e), MAX(COALESCE(e.updatedAt, e.createdAt)) FROM "
+                            + entityName(type) + " e", Object[].class)
+                    .getSingleResult();
+            return EntityVersion.modifiedAt(((Number) row[0]).longValue(), (LocalDateTime) row[1]);
+        });
+    }
+
+    /**
+     * Version d'une ligne, ou null si elle n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public EntityVersion rowVersion(Class<? extends BaseEntity> type, Long id) {
+        List<LocalDateTime> rows = entityManager.createQuery("SELECT COALESCE(e.updatedAt, e.createdAt) FROM "
+                        + entityName(type) + " e WHERE e.id = :id", LocalDateTime.class)
+                .setParameter("id", id)
+                .getResultList();
+        return rows.isEmpty() ? null : EntityVersion.modifiedAt(1, rows.get(0));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationKey key, boolean remote) {
+        tableVersions.computeIfAbsent(key.entity(), name -> new AtomicLong()).incrementAndGet();
+    }
+
+    private String entityName(Class<?> type) {
+        return entityNames.computeIfAbsent(type, t -> entityManager.getMetamodel().entity(t).getName());
+    }
+}
@@ -0,0 +1,33 @@
+package com.supplychainx.common.event;
+
+import com.supplychainx.common.util.SecurityUtil;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Départ d'une commande client en livraison (statut EN_ROUTE)
+ */
+public record DeliveryShippedEvent(
+        Long orderId,
+        String orderNumber,
+        Long customerId,
+        String performedBy,
+        LocalDateTime occurredAt
+) implements DomainEvent {
+
+    public static DeliveryShippedEvent of(Long orderId, String orderNumber, Long customerId) {
+        return new DeliveryShippedEvent(orderId, orderNumber, customerId, SecurityUtil.getCurrentUsername(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Override
+    public String aggregateType() {
+        return OrderEvent.DELIVERY_ORDER;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
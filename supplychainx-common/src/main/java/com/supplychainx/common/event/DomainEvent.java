@@ -0,0 +1,20 @@
+package com.supplychainx.common.event;
+
+/**
+ * Événement métier transmis entre modules par l'outbox (écrit dans la transaction qui le produit)
+ *
+ * Les événements d'un même agrégat sont livrés dans leur ordre d'écriture, au moins une fois :
+ * les consommateurs doivent être idempotents.
+ */
+public interface DomainEvent {
+
+    /**
+     * Type de l'agrégat concerné (commande d'approvisionnement, produit, ...)
+     */
+    String aggregateType();
+
+    /**
+     * Identifiant de l'agrégat : clé d'ordonnancement des événements
+     */
+    Long aggregateId();
+}
@@ -0,0 +1,285 @@
+package com.supplychainx.common.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.supplychainx.common.config.EventStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Diffuseur en mémoire des événements temps réel vers les abonnés SSE
+ *
+ * Chaque événement est sérialisé une seule fois puis déposé dans la file bornée de chaque abonné ;
+ * un pool de threads d'écriture vide ces files : un envoi bloqué sur un client lent n'immobilise que son propre
+ * thread. Quand tous les threads sont occupés, les vidages attendent dans la file du pool, qui compte au plus
+ * une tâche par abonné. Seuls l'abonné dont la file déborde et celui dont l'envoi dépasse send-timeout-ms sont
+ * déconnectés : ils se reconnectent avec Last-Event-ID et reprennent depuis le tampon de rejeu.
+ */
+@Slf4j
+@Component
+public class EventStreamBroadcaster {
+
+    public static final String RESET_EVENT_NAME = "stream-reset";
+
+    private final EventStreamProperties properties;
+    private final ObjectWriter jsonWriter;
+    private final ThreadPoolExecutor senders;
+    private final Counter evictedCounter;
+
+    // Protège la numérotation, le tampon de rejeu et l'inscription des abonnés (ordre garanti)
+    private final Object lock = new Object();
+    private final Deque<StreamedEvent> replayBuffer = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long lastEventId;
+
+    public EventStreamBroadcaster(EventStreamProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        int senderThreads = Math.max(1, properties.getMaxSenderThreads());
+        // File non bornée : le drapeau draining limite chaque abonné à une tâche en attente
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("sse-sender-"));
+        this.senders.allowCoreThreadTimeOut(true);
+        this.evictedCounter = Counter.builder("supplychainx.stream.evicted")
+                .description("Abonnés SSE déconnectés car trop lents")
+                .register(meterRegistry);
+        Gauge.builder("supplychainx.stream.subscribers", subscribers, Set::size)
+                .description("Nombre d'abonnés SSE connectés")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Diffuser les événements métier une fois la transaction validée
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStreamEvent(StreamEvent event) {
+        broadcast(event);
+    }
+
+    public void broadcast(StreamEvent event) {
+        String payload;
+        try {
+            payload = jsonWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Impossible de sérialiser l'événement {}: {}", event.eventName(), e.getMessage());
+            return;
+        }
+
+        synchronized (lock) {
+            StreamedEvent streamed = new StreamedEvent(++lastEventId, event.eventName(), payload);
+            replayBuffer.addLast(streamed);
+            while (replayBuffer.size() > properties.getReplayBufferSize()) {
+                replayBuffer.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(streamed);
+            }
+        }
+    }
+
+    /**
+     * Ouvrir un flux SSE
+     *
+     * @param eventNames  événements souhaités (vide = tous)
+     * @param lastEventId dernier événement reçu par le client, pour reprendre le flux (peut être null)
+     */
+    public SseEmitter subscribe(Set<String> eventNames, Long lastEventId) {
+        return register(new SseEmitter(properties.getConnectionTimeoutMs()), eventNames, lastEventId);
+    }
+
+    SseEmitter register(SseEmitter emitter, Set<String> eventNames, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, eventNames);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        synchronized (lock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        log.debug("Nouvel abonné SSE (événements: {}, reprise après: {})", eventNames, lastEventId);
+        return emitter;
+    }
+
+    private void replay(Subscriber subscriber, long fromEventId) {
+        StreamedEvent oldest = replayBuffer.peekFirst();
+        // Événements perdus (tampon dépassé ou redémarrage du serveur) : le client doit recharger son état complet
+        boolean gap = fromEventId < lastEventId && (oldest == null || oldest.id() > fromEventId + 1);
+        if (gap || fromEventId > lastEventId) {
+            subscriber.offer(new StreamedEvent(lastEventId, RESET_EVENT_NAME, "{}"));
+            return;
+        }
+        for (StreamedEvent event : replayBuffer) {
+            if (event.id() > fromEventId) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Heartbeat périodique : maintient les proxys ouverts et détecte les connexions mortes
+     */
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(StreamedEvent.HEARTBEAT);
+        }
+    }
+
+    /**
+     * Déconnecter les abonnés dont l'envoi en cours dépasse send-timeout-ms
+     */
+    @Scheduled(fixedDelayString = "${app.stream.send-timeout-ms:5000}")
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSendTimeoutMs());
+        for (Subscriber subscriber : subscribers) {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > timeoutNanos) {
+                evictedCounter.increment();
+                log.warn("Envoi SSE bloqué depuis plus de {} ms, déconnexion de l'abonné", properties.getSendTimeoutMs());
+                subscriber.abort();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        new ArrayList<>(subscribers).forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    private record StreamedEvent(long id, String name, String payload) {
+
+        private static final StreamedEvent HEARTBEAT = new StreamedEvent(-1, null, null);
+
+        private SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(Long.toString(id)).name(name).data(payload);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<String> eventNames;
+        private final BlockingQueue<StreamedEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // Début de l'envoi en cours (System.nanoTime), 0 au repos
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, Set<String> eventNames) {
+            this.emitter = emitter;
+            this.eventNames = eventNames;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getSubscriberBufferSize()));
+        }
+
+        private void offer(StreamedEvent event) {
+            if (closed) {
+                return;
+            }
+            if (event.name() != null && !eventNames.isEmpty()
+                    && !eventNames.contains(event.name()) && !RESET_EVENT_NAME.equals(event.name())) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                evictedCounter.increment();
+                log.warn("Abonné SSE trop lent ({} événements en attente), déconnexion", queue.size());
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Pool arrêté (fermeture de l'application)
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                List<StreamedEvent> batch = new ArrayList<>();
+                while (!closed && queue.drainTo(batch) > 0) {
+                    for (StreamedEvent event : batch) {
+                        sendStartedAt = System.nanoTime();
+                        emitter.send(event.toSse());
+                        sendStartedAt = 0;
+                    }
+                    batch.clear();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté
+                log.debug("Abonné SSE déconnecté: {}", e.getMessage());
+                close();
+            } finally {
+                sendStartedAt = 0;
+                draining.set(false);
+                if (!closed && !queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                subscribers.remove(this);
+                queue.clear();
+                emitter.complete();
+            }
+        }
+
+        // Envoi bloqué : terminer la requête asynchrone en erreur libère la connexion et fait échouer l'écriture
+        private void abort() {
+            if (!closed) {
+                closed = true;
+                subscribers.remove(this);
+                queue.clear();
+                emitter.completeWithError(new TimeoutException("Envoi SSE trop lent"));
+            }
+        }
+    }
+}
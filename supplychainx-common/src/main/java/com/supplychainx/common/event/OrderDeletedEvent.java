@@ -0,0 +1,7 @@
+package com.supplychainx.common.event;
+
+/**
+ * Suppression d'une commande
+ */
+public record OrderDeletedEvent(String orderType, Long orderId) implements OrderEvent {
+}
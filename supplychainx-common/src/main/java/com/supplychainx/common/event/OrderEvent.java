@@ -0,0 +1,16 @@
+package com.supplychainx.common.event;
+
+/**
+ * Événement concernant une commande (création, modification, changement de statut)
+ */
+public interface OrderEvent {
+
+    String SUPPLY_ORDER = "SUPPLY_ORDER";
+    String PRODUCTION_ORDER = "PRODUCTION_ORDER";
+    String DELIVERY_ORDER = "DELIVERY_ORDER";
+    String DELIVERY = "DELIVERY";
+
+    String orderType();
+
+    Long orderId();
+}
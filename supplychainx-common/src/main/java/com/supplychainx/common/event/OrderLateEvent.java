@@ -0,0 +1,23 @@
+package com.supplychainx.common.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Échéance dépassée pour une commande (détectée par l'index des échéances)
+ */
+public record OrderLateEvent(
+        String orderType,
+        Long orderId,
+        String orderNumber,
+        LocalDate deadline,
+        LocalDateTime detectedAt
+) implements StreamEvent {
+
+    public static final String EVENT_NAME = "order-late";
+
+    @Override
+    public String eventName() {
+        return EVENT_NAME;
+    }
+}
@@ -0,0 +1,34 @@
+package com.supplychainx.common.event;
+
+import com.supplychainx.common.util.SecurityUtil;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Réception d'une commande d'approvisionnement (stock des matières premières augmenté)
+ */
+public record OrderReceivedEvent(
+        Long orderId,
+        String orderNumber,
+        LocalDate receivedOn,
+        String performedBy,
+        LocalDateTime occurredAt
+) implements DomainEvent {
+
+    public static OrderReceivedEvent of(Long orderId, String orderNumber, LocalDate receivedOn) {
+        return new OrderReceivedEvent(orderId, orderNumber, receivedOn, SecurityUtil.getCurrentUsername(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Override
+    public String aggregateType() {
+        return OrderEvent.SUPPLY_ORDER;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
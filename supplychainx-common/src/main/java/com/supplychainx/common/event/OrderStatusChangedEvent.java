@@ -0,0 +1,31 @@
+package com.supplychainx.common.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Changement de statut d'une commande (approvisionnement, production, livraison)
+ */
+public record OrderStatusChangedEvent(
+        String orderType,
+        Long orderId,
+        String orderNumber,
+        String previousStatus,
+        String newStatus,
+        LocalDateTime changedAt
+) implements StreamEvent, OrderEvent {
+
+    public static final String EVENT_NAME = "order-status-changed";
+
+    public static OrderStatusChangedEvent of(String orderType, Long orderId, String orderNumber,
+                                             Enum<?> previousStatus, Enum<?> newStatus) {
+        return new OrderStatusChangedEvent(orderType, orderId, orderNumber,
+                previousStatus != null ? previousStatus.name() : null,
+                newStatus != null ? newStatus.name() : null,
+                LocalDateTime.now());
+    }
+
+    @Override
+    public String eventName() {
+        return EVENT_NAME;
+    }
+}
@@ -0,0 +1,7 @@
+package com.supplychainx.common.event;
+
+/**
+ * Modification d'une commande (dates, lignes...) sans changement de statut
+ */
+public record OrderUpdatedEvent(String orderType, Long orderId) implements OrderEvent {
+}
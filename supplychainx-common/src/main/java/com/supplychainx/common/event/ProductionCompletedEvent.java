@@ -0,0 +1,34 @@
+package com.supplychainx.common.event;
+
+import com.supplychainx.common.util.SecurityUtil;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Fin d'un ordre de production (matières premières consommées, produits finis ajoutés au stock)
+ */
+public record ProductionCompletedEvent(
+        Long orderId,
+        String orderNumber,
+        Long productId,
+        Integer quantity,
+        String performedBy,
+        LocalDateTime occurredAt
+) implements DomainEvent {
+
+    public static ProductionCompletedEvent of(Long orderId, String orderNumber, Long productId, Integer quantity) {
+        return new ProductionCompletedEvent(orderId, orderNumber, productId, quantity,
+                SecurityUtil.getCurrentUsername(), LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Override
+    public String aggregateType() {
+        return OrderEvent.PRODUCTION_ORDER;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
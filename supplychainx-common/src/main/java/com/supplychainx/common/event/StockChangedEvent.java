@@ -0,0 +1,52 @@
+package com.supplychainx.common.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Variation du stock d'une matière première ou d'un produit fini
+ */
+public record StockChangedEvent(
+        String itemType,
+        Long itemId,
+        String itemName,
+        Double previousStock,
+        Double newStock,
+        Double stockMin
+) implements DomainEvent {
+
+    public static final String RAW_MATERIAL = "RAW_MATERIAL";
+    public static final String PRODUCT = "PRODUCT";
+
+    public static StockChangedEvent rawMaterial(Long id, String name, Integer previousStock, Integer newStock,
+                                                Integer stockMin) {
+        return new StockChangedEvent(RAW_MATERIAL, id, name, toDouble(previousStock), toDouble(newStock),
+                toDouble(stockMin));
+    }
+
+    public static StockChangedEvent product(Long id, String name, Double previousStock, Double newStock,
+                                            Double stockMin) {
+        return new StockChangedEvent(PRODUCT, id, name, previousStock, newStock, stockMin);
+    }
+
+    @Override
+    public String aggregateType() {
+        return itemType;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return itemId;
+    }
+
+    /**
+     * Stock passé sous le minimum avec cette variation
+     */
+    @JsonIgnore
+    public boolean isBelowMinimum() {
+        return newStock != null && stockMin != null && newStock < stockMin;
+    }
+
+    private static Double toDouble(Integer value) {
+        return value != null ? value.doubleValue() : null;
+    }
+}
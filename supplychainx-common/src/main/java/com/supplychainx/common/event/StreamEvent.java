@@ -0,0 +1,14 @@
+package com.supplychainx.common.event;
+
+/**
+ * Événement métier diffusé aux abonnés du flux temps réel (SSE)
+ *
+ * Les services publient ces événements via ApplicationEventPublisher ; ils sont diffusés après le commit.
+ */
+public interface StreamEvent {
+
+    /**
+     * Nom de l'événement SSE (ex: alert-created, order-status-changed)
+     */
+    String eventName();
+}
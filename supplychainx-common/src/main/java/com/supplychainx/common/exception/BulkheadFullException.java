@@ -0,0 +1,17 @@
+package com.supplychainx.common.exception;
+
+import lombok.Getter;
+
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+
+    private final String group;
+    private final int retryAfterSeconds;
+
+    public BulkheadFullException(String group, int retryAfterSeconds) {
+        super("Service momentanément saturé (" + group + "), réessayez dans " + retryAfterSeconds + " s");
+        this.group = group;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package com.supplychainx.common.exception;
+
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
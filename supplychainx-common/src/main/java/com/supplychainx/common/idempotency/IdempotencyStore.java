@@ -0,0 +1,257 @@
+package com.supplychainx.common.idempotency;
+
+import com.supplychainx.common.config.IdempotencyProperties;
+import com.supplychainx.common.exception.IdempotencyConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Stockage des réponses associées aux clés d'idempotence
+ *
+ * Trois niveaux : un cache LRU borné des réponses terminées, les exécutions en cours sur ce nœud
+ * (les doublons concurrents attendent la même exécution) et la table idempotency_keys, qui sert de verrou
+ * entre nœuds et conserve les réponses au-delà du cache mémoire.
+ *
+ * La réservation (PROCESSING) est validée avant l'exécution ; l'action et le passage à COMPLETED partagent
+ * ensuite la même transaction. Une clé ne peut donc rester PROCESSING que si rien n'a été validé : elle est
+ * libérée en cas d'échec, ou reprise après processing-timeout-ms si la libération elle-même échoue.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final String STATUS_PROCESSING = "PROCESSING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final Map<String, CachedResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        int maxEntries = Math.max(1, properties.getMaxCachedResponses());
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Exécuter l'action une seule fois par clé, ou rejouer la réponse déjà obtenue
+     *
+     * @param key         clé d'idempotence (déjà préfixée par l'utilisateur)
+     * @param fingerprint empreinte de la requête
+     * @param action      exécution réelle de la requête
+     */
+    public Result execute(String key, String fingerprint, Supplier<StoredResponse> action) {
+        StoredResponse cached = getCached(key);
+        if (cached != null) {
+            return Result.replayed(checkFingerprint(cached, fingerprint));
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = inFlight.putIfAbsent(key, execution);
+        if (existing != null) {
+            return Result.replayed(checkFingerprint(await(existing), fingerprint));
+        }
+
+        try {
+            StoredResponse stored = claim(key, fingerprint);
+            if (stored != null) {
+                execution.complete(stored);
+                return Result.replayed(checkFingerprint(stored, fingerprint));
+            }
+
+            StoredResponse response;
+            try {
+                // Les @Transactional des services rejoignent cette transaction : réponse et effets validés ensemble
+                response = transactionTemplate.execute(status -> {
+                    StoredResponse executed = action.get();
+                    complete(key, executed);
+                    return executed;
+                });
+            } catch (RuntimeException e) {
+                releaseQuietly(key);
+                execution.completeExceptionally(e);
+                throw e;
+            }
+
+            cache(key, response);
+            execution.complete(response);
+            return Result.executed(response);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    /**
+     * Purger les réponses expirées
+     */
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+        long now = System.currentTimeMillis();
+        synchronized (completed) {
+            completed.values().removeIf(entry -> entry.expiresAt() < now);
+        }
+        if (deleted > 0) {
+            log.info("{} clés d'idempotence expirées supprimées", deleted);
+        }
+    }
+
+    /**
+     * Réserver la clé en base, ou renvoyer la réponse déjà enregistrée par un autre nœud
+     */
+    private StoredResponse claim(String key, String fingerprint) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            List<StoredRow> rows = jdbcTemplate.query(
+                    "SELECT fingerprint, status, response_status, response_body, created_at FROM idempotency_keys WHERE idempotency_key = ?",
+                    (rs, i) -> new StoredRow(rs.getString("fingerprint"), rs.getString("status"),
+                            rs.getInt("response_status"), rs.getString("response_body"),
+                            rs.getTimestamp("created_at").toLocalDateTime()),
+                    key);
+
+            if (!rows.isEmpty()) {
+                StoredRow row = rows.get(0);
+                if (STATUS_COMPLETED.equals(row.status())) {
+                    StoredResponse stored = new StoredResponse(row.fingerprint(), row.responseStatus(), row.body());
+                    cache(key, stored);
+                    return stored;
+                }
+                if (row.createdAt().isAfter(LocalDateTime.now().minusNanos(
+                        TimeUnit.MILLISECONDS.toNanos(properties.getProcessingTimeoutMs())))) {
+                    throw new IdempotencyConflictException(
+                            "Une requête avec cette clé d'idempotence est déjà en cours de traitement");
+                }
+                // Exécution abandonnée (nœud arrêté en cours de requête) : la clé est reprise
+                log.warn("Clé d'idempotence abandonnée reprise: {}", key);
+                release(key);
+            }
+
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                jdbcTemplate.update(
+                        "INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, created_at, expires_at) VALUES (?, ?, ?, ?, ?)",
+                        key, fingerprint, STATUS_PROCESSING, Timestamp.valueOf(now),
+                        Timestamp.valueOf(now.plusHours(properties.getTtlHours())));
+                return null;
+            } catch (DuplicateKeyException e) {
+                // Un autre nœud a réservé la clé entre-temps : relire son état
+            }
+        }
+        throw new IdempotencyConflictException("Une requête avec cette clé d'idempotence est déjà en cours de traitement");
+    }
+
+    // Aucune ligne mise à jour : la clé a été reprise par un autre nœud, l'action est annulée
+    private void complete(String key, StoredResponse response) {
+        int updated = jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status = ?, response_status = ?, response_body = ? WHERE idempotency_key = ? AND status = ?",
+                STATUS_COMPLETED, response.status(), response.body(), key, STATUS_PROCESSING);
+        if (updated == 0) {
+            throw new IdempotencyConflictException(
+                    "La clé d'idempotence a été reprise par une autre requête pendant le traitement");
+        }
+    }
+
+    private void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+    }
+
+    // En cas d'échec la clé est libérée : le client peut réessayer avec la même clé.
+    // Si la libération échoue aussi, rien n'a été validé et la clé sera reprise après processing-timeout-ms
+    private void releaseQuietly(String key) {
+        try {
+            release(key);
+        } catch (RuntimeException e) {
+            log.warn("Libération de la clé d'idempotence {} impossible: {}", key, e.getMessage());
+        }
+    }
+
+    private void cache(String key, StoredResponse response) {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(properties.getTtlHours());
+        completed.put(key, new CachedResponse(response, expiresAt));
+    }
+
+    private StoredResponse getCached(String key) {
+        CachedResponse entry = completed.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            completed.remove(key);
+            return null;
+        }
+        return entry.response();
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> execution) {
+        try {
+            return execution.get(properties.getProcessingTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Les doublons concurrents reçoivent la même erreur que la requête d'origine
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("Une requête avec cette clé d'idempotence est déjà en cours de traitement");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Attente de la requête d'origine interrompue");
+        }
+    }
+
+    private static StoredResponse checkFingerprint(StoredResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyConflictException(
+                    "Cette clé d'idempotence a déjà été utilisée pour une requête différente");
+        }
+        return response;
+    }
+
+    public record Result(StoredResponse response, boolean replayed) {
+
+        static Result executed(StoredResponse response) {
+            return new Result(response, false);
+        }
+
+        static Result replayed(StoredResponse response) {
+            return new Result(response, true);
+        }
+    }
+
+    private record CachedResponse(StoredResponse response, long expiresAt) {
+    }
+
+    private record StoredRow(String fingerprint, String status, int responseStatus, String body, LocalDateTime createdAt) {
+    }
+}
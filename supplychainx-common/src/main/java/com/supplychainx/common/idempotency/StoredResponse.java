@@ -0,0 +1,11 @@
+package com.supplychainx.common.idempotency;
+
+/**
+ * Réponse enregistrée pour une clé d'idempotence
+ *
+ * @param fingerprint empreinte de la requête d'origine (une même clé ne peut pas servir à une autre requête)
+ * @param status      code HTTP renvoyé
+ * @param body        corps JSON renvoyé
+ */
+public record StoredResponse(String fingerprint, int status, String body) {
+}
@@ -0,0 +1,141 @@
+package com.supplychainx.common.invalidation;
+
+import com.supplychainx.common.config.CacheInvalidationProperties;
+import com.supplychainx.common.lock.JobLockManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bus d'invalidation des caches en mémoire entre nœuds
+ *
+ * Une écriture validée est appliquée tout de suite aux caches locaux, puis envoyée aux autres nœuds
+ * au tick suivant (clés dédoublonnées, envoi groupé). Le même tick applique les clés reçues des autres
+ * nœuds : chaque nœud n'évince que les lignes réellement modifiées.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    private final ObjectProvider<CacheInvalidationListener> listeners;
+    private final ObjectProvider<InvalidationTransport> transport;
+    private final CacheInvalidationProperties properties;
+    private final String nodeId;
+    private final Set<InvalidationKey> outbound = new LinkedHashSet<>();
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+
+    public CacheInvalidationBus(ObjectProvider<CacheInvalidationListener> listeners,
+                                ObjectProvider<InvalidationTransport> transport,
+                                CacheInvalidationProperties properties, JobLockManager jobLockManager,
+                                MeterRegistry meterRegistry) {
+        this.listeners = listeners;
+        this.transport = transport;
+        this.properties = properties;
+        this.nodeId = jobLockManager.nodeId();
+        this.publishedCounter = counter(meterRegistry, "published");
+        this.receivedCounter = counter(meterRegistry, "received");
+    }
+
+    public boolean handles(String entity) {
+        return properties.isEnabled() && properties.getEntities().contains(entity);
+    }
+
+    /**
+     * Publier une écriture validée sur ce nœud
+     */
+    public void publish(InvalidationKey key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        deliver(key, false);
+        synchronized (outbound) {
+            outbound.add(key);
+            if (outbound.size() > properties.getMaxPendingKeys()) {
+                // Trop de clés en attente : une invalidation par entité
+                List<InvalidationKey> collapsed = outbound.stream()
+                        .map(pending -> InvalidationKey.all(pending.entity()))
+                        .distinct()
+                        .toList();
+                outbound.clear();
+                outbound.addAll(collapsed);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache-invalidation.poll-interval-ms:1000}")
+    public void tick() {
+        InvalidationTransport current = transport.getIfAvailable();
+        if (!properties.isEnabled() || current == null) {
+            return;
+        }
+        try {
+            flush(current);
+            List<InvalidationKey> received = current.receive(nodeId);
+            received.forEach(key -> deliver(key, true));
+            receivedCounter.increment(received.size());
+        } catch (RuntimeException e) {
+            log.warn("Échange des invalidations de cache impossible: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        InvalidationTransport current = transport.getIfAvailable();
+        if (properties.isEnabled() && current != null) {
+            try {
+                flush(current);
+            } catch (RuntimeException e) {
+                log.warn("Envoi des invalidations de cache impossible à l'arrêt: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flush(InvalidationTransport current) {
+        List<InvalidationKey> keys;
+        synchronized (outbound) {
+            if (outbound.isEmpty()) {
+                return;
+            }
+            keys = new ArrayList<>(outbound);
+            outbound.clear();
+        }
+        try {
+            current.publish(nodeId, keys);
+            publishedCounter.increment(keys.size());
+        } catch (RuntimeException e) {
+            // Renvoyées au tick suivant
+            synchronized (outbound) {
+                outbound.addAll(keys);
+            }
+            throw e;
+        }
+    }
+
+    private void deliver(InvalidationKey key, boolean remote) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onInvalidation(key, remote);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation {} non appliquée par {}: {}", key, listener.getClass().getSimpleName(),
+                        e.getMessage());
+            }
+        });
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("supplychainx.cache.invalidations")
+                .description("Clés de cache invalidées échangées entre nœuds")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
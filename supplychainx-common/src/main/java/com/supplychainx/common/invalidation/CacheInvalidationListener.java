@@ -0,0 +1,12 @@
+package com.supplychainx.common.invalidation;
+
+/**
+ * Cache en mémoire à tenir à jour lors des écritures, locales ou faites sur un autre nœud
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * @param remote true si l'écriture a été faite par un autre nœud
+     */
+    void onInvalidation(InvalidationKey key, boolean remote);
+}
@@ -0,0 +1,17 @@
+package com.supplychainx.common.invalidation;
+
+/**
+ * Clé invalidée : une ligne (entity + id) ou toute l'entité (id null)
+ *
+ * @param entity nom simple de la classe d'entité (ex. "Product")
+ */
+public record InvalidationKey(String entity, Long id) {
+
+    public static InvalidationKey all(String entity) {
+        return new InvalidationKey(entity, null);
+    }
+
+    public boolean isAll() {
+        return id == null;
+    }
+}
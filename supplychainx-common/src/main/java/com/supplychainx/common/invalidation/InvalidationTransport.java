@@ -0,0 +1,22 @@
+package com.supplychainx.common.invalidation;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transport des clés invalidées entre nœuds
+ *
+ * Par défaut JdbcInvalidationTransport (aucun broker requis). Un transport poussé (pub/sub) conserve
+ * les messages reçus jusqu'au prochain appel de receive.
+ */
+public interface InvalidationTransport {
+
+    void publish(String origin, Collection<InvalidationKey> keys);
+
+    /**
+     * Clés publiées par les autres nœuds depuis l'appel précédent
+     *
+     * @param origin identifiant de ce nœud (ses propres clés sont ignorées)
+     */
+    List<InvalidationKey> receive(String origin);
+}
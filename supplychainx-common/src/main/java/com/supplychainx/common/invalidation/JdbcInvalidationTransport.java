@@ -0,0 +1,137 @@
+package com.supplychainx.common.invalidation;
+
+import com.supplychainx.common.config.CacheInvalidationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport par la table cache_invalidations, lue par identifiant croissant (high-water mark)
+ *
+ * Les identifiants sont attribués à l'insertion mais visibles au commit : un identifiant sauté peut
+ * appartenir à une insertion encore en cours. Il est donc relu pendant gap-timeout-ms avant d'être
+ * considéré comme perdu (transaction annulée, saut de l'auto-incrément).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache-invalidation", name = "transport", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final int MAX_TRACKED_GAPS = 1000;
+    private static final int MAX_ROUNDS_PER_RECEIVE = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final CacheInvalidationProperties properties;
+
+    private long highWaterMark = -1;
+    // Identifiant manquant -> date de première constatation (nanoTime)
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    public JdbcInvalidationTransport(JdbcTemplate jdbcTemplate, CacheInvalidationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.properties = properties;
+    }
+
+    @Override
+    public void publish(String origin, Collection<InvalidationKey> keys) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO cache_invalidations (entity_name, entity_id, origin, created_at) VALUES (?, ?, ?, ?)",
+                keys, Math.max(1, properties.getBatchSize()), (ps, key) -> {
+                    ps.setString(1, key.entity());
+                    ps.setObject(2, key.id());
+                    ps.setString(3, origin);
+                    ps.setTimestamp(4, now);
+                });
+    }
+
+    @Override
+    public synchronized List<InvalidationKey> receive(String origin) {
+        if (highWaterMark < 0) {
+            // Démarrage : les caches sont vides, l'historique n'a pas à être rejoué
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidations", Long.class);
+            highWaterMark = max != null ? max : 0;
+            return List.of();
+        }
+        List<Row> rows = new ArrayList<>();
+        int limit = Math.max(1, properties.getBatchSize());
+        for (int round = 0; round < MAX_ROUNDS_PER_RECEIVE; round++) {
+            List<Row> batch = jdbcTemplate.query(
+                    "SELECT id, entity_name, entity_id, origin FROM cache_invalidations WHERE id > ? ORDER BY id LIMIT ?",
+                    Row.MAPPER, highWaterMark, limit);
+            for (Row row : batch) {
+                for (long missing = highWaterMark + 1; missing < row.id() && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+                    gaps.put(missing, System.nanoTime());
+                }
+                highWaterMark = row.id();
+            }
+            rows.addAll(batch);
+            if (batch.size() < limit) {
+                break;
+            }
+        }
+        rows.addAll(fillGaps());
+
+        List<InvalidationKey> keys = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (!origin.equals(row.origin())) {
+                keys.add(new InvalidationKey(row.entity(), row.entityId()));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Purger les lignes lues par tous les nœuds
+     */
+    @Scheduled(cron = "${app.cache-invalidation.purge-cron:0 45 * * * *}")
+    public void purge() {
+        int deleted = jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(properties.getRetentionMinutes())));
+        if (deleted > 0) {
+            log.debug("{} invalidations de cache purgées", deleted);
+        }
+    }
+
+    private List<Row> fillGaps() {
+        if (gaps.isEmpty()) {
+            return List.of();
+        }
+        List<Row> found = namedJdbcTemplate.query(
+                "SELECT id, entity_name, entity_id, origin FROM cache_invalidations WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", gaps.keySet()), Row.MAPPER);
+        found.forEach(row -> gaps.remove(row.id()));
+
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getGapTimeoutMs());
+        long now = System.nanoTime();
+        for (Iterator<Long> it = gaps.values().iterator(); it.hasNext(); ) {
+            if (now - it.next() > timeoutNanos) {
+                it.remove();
+            }
+        }
+        return found;
+    }
+
+    private record Row(long id, String entity, Long entityId, String origin) {
+
+        private static final RowMapper<Row> MAPPER = (rs, i) -> new Row(rs.getLong("id"),
+                rs.getString("entity_name"), rs.getObject("entity_id", Long.class), rs.getString("origin"));
+    }
+}
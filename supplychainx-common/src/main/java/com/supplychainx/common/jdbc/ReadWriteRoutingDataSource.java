@@ -0,0 +1,133 @@
+package com.supplychainx.common.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routage lecture/écriture entre la base principale et un réplica
+ *
+ * Les transactions readOnly sont envoyées au réplica, tout le reste à la principale. Après une écriture,
+ * l'utilisateur reste épinglé sur la principale pendant la fenêtre read-your-writes (délai de réplication).
+ * Si le réplica est indisponible, les lectures basculent sur la principale.
+ *
+ * Doit être enveloppé dans un LazyConnectionDataSourceProxy : la connexion réelle n'est alors obtenue
+ * qu'au premier ordre SQL, une fois le flag readOnly de la transaction positionné.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    // Borne du registre read-your-writes, purgé à chaque vérification de santé
+    private static final int MAX_PINNED_USERS = 10_000;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long readYourWritesWindowNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private volatile boolean replicaHealthy = true;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinCurrentUser();
+            return Route.PRIMARY;
+        }
+        if (!replicaHealthy || isCurrentUserPinned()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markReplicaUnhealthy(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Vérifier la disponibilité du réplica (appelé périodiquement)
+     */
+    public boolean checkReplicaHealth(int timeoutSeconds) {
+        boolean healthy;
+        try (Connection connection = replica.getConnection()) {
+            healthy = connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            healthy = false;
+        }
+        if (healthy && !replicaHealthy) {
+            log.info("Réplica de lecture de nouveau disponible, reprise du routage des lectures");
+        } else if (!healthy && replicaHealthy) {
+            log.warn("Réplica de lecture indisponible, bascule des lectures sur la base principale");
+        }
+        replicaHealthy = healthy;
+        purgeExpiredPins();
+        return healthy;
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    private void markReplicaUnhealthy(SQLException e) {
+        if (replicaHealthy) {
+            log.warn("Connexion au réplica impossible ({}), bascule des lectures sur la base principale", e.getMessage());
+        }
+        replicaHealthy = false;
+    }
+
+    private void pinCurrentUser() {
+        String user = currentUser();
+        if (user != null && readYourWritesWindowNanos > 0
+                && (pinnedUntil.size() < MAX_PINNED_USERS || pinnedUntil.containsKey(user))) {
+            pinnedUntil.put(user, System.nanoTime() + readYourWritesWindowNanos);
+        }
+    }
+
+    private boolean isCurrentUserPinned() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    private void purgeExpiredPins() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.supplychainx.common.jdbc;
+
+import com.supplychainx.common.sql.SqlStatsRegistry;
+import com.supplychainx.common.sql.SqlStatsRegistry.QueryStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource mesurant chaque ordre SQL exécuté (Hibernate, JdbcTemplate, Liquibase) : durée d'exécution,
+ * lignes lues ou modifiées, échecs, enregistrés par empreinte dans {@link SqlStatsRegistry}
+ *
+ * Les connexions, ordres et curseurs sont des proxys dynamiques ; seuls les appels execute*, getResultSet
+ * et ResultSet.next sont interceptés, le reste est transmis tel quel.
+ */
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    private final SqlStatsRegistry registry;
+
+    public SqlStatsDataSource(DataSource targetDataSource, SqlStatsRegistry registry) {
+        super(targetDataSource);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    private Connection instrument(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> instrument((Statement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> instrument((Statement) result, CallableStatement.class, (String) args[0]);
+                        case "createStatement" -> instrument((Statement) result, Statement.class, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Statement instrument(Statement target, Class<? extends Statement> type, String preparedSql) {
+        QueryStats[] last = new QueryStats[1];
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("getResultSet".equals(name)) {
+                        return instrument((ResultSet) invoke(target, method, args), last[0]);
+                    }
+                    if (!name.startsWith("execute")) {
+                        return invoke(target, method, args);
+                    }
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    long start = System.nanoTime();
+                    Object result;
+                    try {
+                        result = invoke(target, method, args);
+                    } catch (Throwable ex) {
+                        registry.record(sql, System.nanoTime() - start, true);
+                        throw ex;
+                    }
+                    QueryStats stats = registry.record(sql, System.nanoTime() - start, false);
+                    last[0] = stats;
+                    return countRows(result, stats);
+                });
+    }
+
+    // Lignes modifiées comptées au retour, lignes lues comptées au fil du parcours du curseur
+    private Object countRows(Object result, QueryStats stats) {
+        if (stats == null) {
+            return result;
+        }
+        if (result instanceof ResultSet resultSet) {
+            return instrument(resultSet, stats);
+        }
+        if (result instanceof Integer updated) {
+            stats.addRows(updated);
+        } else if (result instanceof Long updated) {
+            stats.addRows(updated);
+        } else if (result instanceof int[] batch) {
+            for (int updated : batch) {
+                stats.addRows(updated);
+            }
+        } else if (result instanceof long[] batch) {
+            for (long updated : batch) {
+                stats.addRows(updated);
+            }
+        }
+        return result;
+    }
+
+    private ResultSet instrument(ResultSet target, QueryStats stats) {
+        if (target == null || stats == null) {
+            return target;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        stats.addRows(1);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.supplychainx.common.kpi;
+
+import java.util.Map;
+
+/**
+ * Source d'indicateurs (KPI) maintenus de façon incrémentale à partir d'une entité
+ *
+ * Chaque ligne de l'entité apporte une contribution à un ou plusieurs KPI (ex. coût × stock pour la valeur
+ * de l'inventaire). À chaque insertion, modification ou suppression validée, le registre applique la
+ * différence entre la nouvelle et l'ancienne contribution.
+ */
+public interface KpiContributor {
+
+    /**
+     * Entité observée
+     */
+    Class<?> entityType();
+
+    /**
+     * Contribution d'une ligne aux KPI (nom du KPI → valeur)
+     */
+    Map<String, Double> contribution(State state);
+
+    /**
+     * Recalcul complet des KPI depuis la base (réconciliation périodique)
+     */
+    Map<String, Double> recompute();
+
+    /**
+     * Accès aux propriétés persistées d'une ligne (état avant ou après modification)
+     */
+    interface State {
+        Object get(String property);
+
+        default double getDouble(String property) {
+            Object value = get(property);
+            return value instanceof Number number ? number.doubleValue() : 0.0;
+        }
+    }
+}
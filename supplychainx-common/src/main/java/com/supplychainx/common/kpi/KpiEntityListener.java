@@ -0,0 +1,189 @@
+package com.supplychainx.common.kpi;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Alimente le registre des KPI à partir des écritures Hibernate validées
+ *
+ * Les événements post-commit ne sont émis qu'après un commit réussi : une transaction annulée ne
+ * modifie pas les compteurs. Pour une mise à jour, l'ancien état vient du contexte de persistance.
+ * Une transaction qui écrit une entité suivie est signalée au registre du commit jusqu'à l'application
+ * de ses deltas (voir KpiRegistry.enterCommit).
+ */
+@Slf4j
+@Component
+public class KpiEntityListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final KpiRegistry registry;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Class<?>, List<KpiContributor>> contributorsByType;
+    private final Set<EventSource> fencedSessions = ConcurrentHashMap.newKeySet();
+
+    public KpiEntityListener(KpiRegistry registry, EntityManagerFactory entityManagerFactory,
+                             ObjectProvider<KpiContributor> contributors) {
+        this.registry = registry;
+        this.entityManagerFactory = entityManagerFactory;
+        this.contributorsByType = contributors.orderedStream()
+                .collect(Collectors.groupingBy(KpiContributor::entityType));
+    }
+
+    @PostConstruct
+    public void register() {
+        if (contributorsByType.isEmpty()) {
+            return;
+        }
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        CommitFence fence = new CommitFence();
+        listeners.appendListeners(EventType.POST_INSERT, fence);
+        listeners.appendListeners(EventType.POST_UPDATE, fence);
+        listeners.appendListeners(EventType.POST_DELETE, fence);
+        log.info("Suivi incrémental des KPI actif pour {}", contributorsByType.keySet().stream()
+                .map(Class::getSimpleName).toList());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        applyDelta(event.getPersister(), null, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            // Entité détachée mise à jour sans chargement préalable : la réconciliation corrigera l'écart
+            log.debug("Ancien état indisponible pour {}, delta KPI ignoré", event.getPersister().getEntityName());
+            return;
+        }
+        applyDelta(event.getPersister(), event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        applyDelta(event.getPersister(), event.getDeletedState(), null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return contributorsByType.containsKey(persister.getMappedClass());
+    }
+
+    private void applyDelta(EntityPersister persister, Object[] oldState, Object[] newState) {
+        List<KpiContributor> contributors = contributorsByType.get(persister.getMappedClass());
+        if (contributors == null) {
+            return;
+        }
+        String[] propertyNames = persister.getPropertyNames();
+        Map<String, Double> deltas = new HashMap<>();
+        for (KpiContributor contributor : contributors) {
+            if (newState != null) {
+                contributor.contribution(state(propertyNames, newState))
+                        .forEach((name, value) -> deltas.merge(name, value, Double::sum));
+            }
+            if (oldState != null) {
+                contributor.contribution(state(propertyNames, oldState))
+                        .forEach((name, value) -> deltas.merge(name, -value, Double::sum));
+            }
+        }
+        registry.apply(deltas);
+    }
+
+    /**
+     * Signaler le commit de la session au registre, une fois par transaction
+     *
+     * Le jeton est pris juste avant l'écriture en base et rendu par un traitement enregistré à ce moment-là,
+     * donc exécuté après les événements post-commit des entités (qui appliquent les deltas).
+     */
+    private void fence(EntityPersister persister, EventSource session) {
+        if (!contributorsByType.containsKey(persister.getMappedClass()) || !fencedSessions.add(session)) {
+            return;
+        }
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) beforeSession -> {
+            long stamp = registry.enterCommit();
+            beforeSession.getActionQueue().registerProcess(
+                    (AfterTransactionCompletionProcess) (success, afterSession) -> registry.exitCommit(stamp));
+        });
+        session.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, afterSession) -> fencedSessions.remove(session));
+    }
+
+    private static KpiContributor.State state(String[] propertyNames, Object[] values) {
+        return property -> {
+            for (int i = 0; i < propertyNames.length; i++) {
+                if (propertyNames[i].equals(property)) {
+                    return values[i];
+                }
+            }
+            throw new IllegalArgumentException("Propriété inconnue: " + property);
+        };
+    }
+
+    /**
+     * Écritures en cours de flush (avant le commit) des entités suivies
+     */
+    private final class CommitFence implements PostInsertEventListener, PostUpdateEventListener,
+            PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            fence(event.getPersister(), event.getSession());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            fence(event.getPersister(), event.getSession());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            fence(event.getPersister(), event.getSession());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.supplychainx.common.kpi;
+
+import com.supplychainx.common.config.KpiProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Registre des KPI maintenus en mémoire
+ *
+ * Chaque compteur vaut base + somme des deltas (DoubleAdder) : la lecture est en O(1) et les deltas
+ * appliqués après chaque commit ne se bloquent pas entre eux. La réconciliation périodique recalcule
+ * les valeurs en base et ne déplace que la base, sans perdre les deltas appliqués pendant le recalcul.
+ * Les deltas étant propres à chaque nœud, c'est aussi elle qui intègre les écritures des autres nœuds.
+ *
+ * Un commit local est "en vol" entre l'écriture en base et l'application de son delta. La réconciliation
+ * attend qu'aucun commit ne soit en vol pour relever les deltas et ouvrir un instantané de lecture, afin que
+ * chaque delta relevé soit dans l'instantané et que chaque delta postérieur n'y soit pas. Le recalcul
+ * lui-même lit cet instantané hors section exclusive : les commits ne sont bloqués que le temps du relevé,
+ * puis de la bascule des bases, et les deltas appliqués entre-temps restent comptés au-dessus de la base.
+ */
+@Slf4j
+@Component
+public class KpiRegistry {
+
+    static final String GAUGE_NAME = "supplychainx.kpi";
+
+    private final ObjectProvider<KpiContributor> contributors;
+    private final JdbcTemplate jdbcTemplate;
+    private final KpiProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Map<String, KpiCounter> counters = new ConcurrentHashMap<>();
+    // Lecture : commits en vol ; écriture : relevé des deltas et bascule des bases
+    private final StampedLock commitLock = new StampedLock();
+    private volatile boolean ready;
+
+    public KpiRegistry(ObjectProvider<KpiContributor> contributors, JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager, KpiProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.contributors = contributors;
+        this.jdbcTemplate = jdbcTemplate;
+        // Transaction en écriture : lecture sur la base principale, le réplica peut être en retard sur les deltas.
+        // L'isolation doit figer toutes les tables dès la première lecture (voir KpiProperties)
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(properties.getSnapshotIsolation().value());
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Valeur courante d'un KPI, ou null tant que les compteurs ne sont pas initialisés (l'appelant
+     * se rabat alors sur la requête d'agrégat)
+     */
+    public Double value(String name) {
+        if (!properties.isEnabled() || !ready) {
+            return null;
+        }
+        KpiCounter counter = counters.get(name);
+        return counter != null ? counter.value() : 0.0;
+    }
+
+    /**
+     * Début d'un commit qui portera des deltas (avant l'écriture en base)
+     *
+     * @return jeton à rendre par {@link #exitCommit(long)} une fois les deltas appliqués ou le commit échoué
+     */
+    long enterCommit() {
+        return commitLock.readLock();
+    }
+
+    void exitCommit(long stamp) {
+        commitLock.unlockRead(stamp);
+    }
+
+    /**
+     * Appliquer les variations d'une transaction validée
+     */
+    public void apply(Map<String, Double> deltas) {
+        deltas.forEach((name, delta) -> {
+            if (delta != 0.0) {
+                counter(name).deltas.add(delta);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        loadSnapshot();
+        reconcile();
+    }
+
+    /**
+     * Recalcul complet depuis la base
+     */
+    @Scheduled(fixedDelayString = "${app.kpi.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.kpi.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<KpiContributor> sources = contributors.orderedStream().toList();
+        Map<String, Double> marks = new HashMap<>();
+        Map<String, Double> values = new HashMap<>();
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                openSnapshot(marks);
+                sources.forEach(contributor -> values.putAll(contributor.recompute()));
+            });
+        } catch (RuntimeException e) {
+            log.error("Échec de la réconciliation des KPI: {}", e.getMessage());
+            return;
+        }
+
+        // Les deltas appliqués depuis le relevé ne sont pas dans l'instantané : ils restent au-dessus de la base
+        long stamp = commitLock.writeLock();
+        try {
+            values.forEach((name, value) -> {
+                KpiCounter counter = counter(name);
+                double before = counter.value();
+                counter.base = value - marks.getOrDefault(name, 0.0);
+                double after = counter.value();
+                if (ready && Math.abs(before - after) > 1e-6) {
+                    log.debug("KPI {} réconcilié: {} -> {}", name, before, after);
+                }
+            });
+        } finally {
+            commitLock.unlockWrite(stamp);
+        }
+        ready = true;
+    }
+
+    /**
+     * Sauvegarde des compteurs en base (démarrage à chaud)
+     */
+    @Scheduled(fixedDelayString = "${app.kpi.persist-interval-ms:60000}",
+            initialDelayString = "${app.kpi.persist-interval-ms:60000}")
+    public void persist() {
+        if (!ready) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        counters.forEach((name, counter) -> {
+            double value = counter.value();
+            int updated = jdbcTemplate.update(
+                    "UPDATE kpi_counters SET kpi_value = ?, updated_at = ? WHERE name = ?", value, now, name);
+            if (updated == 0) {
+                jdbcTemplate.update("INSERT INTO kpi_counters (name, kpi_value, updated_at) VALUES (?, ?, ?)",
+                        name, value, now);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            persist();
+        } catch (RuntimeException e) {
+            log.warn("Sauvegarde des KPI impossible à l'arrêt: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relever les deltas et ouvrir l'instantané de lecture de la transaction courante, sans commit en vol
+     */
+    private void openSnapshot(Map<String, Double> marks) {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            // Connexion physique obtenue avant le verrou (DataSource paresseuse du routage lecture/écriture) :
+            // l'attente d'une connexion du pool ne doit pas bloquer les commits
+            DataSourceUtils.getTargetConnection(connection);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        long stamp = commitLock.writeLock();
+        try {
+            counters.forEach((name, counter) -> marks.put(name, counter.deltas.sum()));
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM kpi_counters", Long.class);
+        } finally {
+            commitLock.unlockWrite(stamp);
+        }
+    }
+
+    private void loadSnapshot() {
+        try {
+            jdbcTemplate.query("SELECT name, kpi_value FROM kpi_counters",
+                    rs -> {
+                        counter(rs.getString("name")).base = rs.getDouble("kpi_value");
+                    });
+            ready = !counters.isEmpty();
+        } catch (RuntimeException e) {
+            log.warn("Lecture des KPI sauvegardés impossible: {}", e.getMessage());
+        }
+    }
+
+    private KpiCounter counter(String name) {
+        return counters.computeIfAbsent(name, key -> {
+            KpiCounter counter = new KpiCounter();
+            Gauge.builder(GAUGE_NAME, counter, KpiCounter::value)
+                    .description("KPI maintenus de façon incrémentale")
+                    .tag("name", key)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private static final class KpiCounter {
+
+        private final DoubleAdder deltas = new DoubleAdder();
+        private volatile double base;
+
+        private double value() {
+            return base + deltas.sum();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.supplychainx.common.lock;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bail détenu par ce nœud sur une tâche planifiée
+ *
+ * Le jeton de clôture (fencing token) augmente à chaque acquisition : un nœud figé puis réveillé
+ * après la reprise du verrou détient un jeton périmé et ses vérifications échouent.
+ */
+public final class JobLease {
+
+    private final JobLockManager manager;
+    private final String lockName;
+    private final long fencingToken;
+    private final LocalDateTime acquiredAt;
+    private volatile long validUntilNanos;
+    private volatile boolean lost;
+
+    JobLease(JobLockManager manager, String lockName, long fencingToken, LocalDateTime acquiredAt,
+             long validUntilNanos) {
+        this.manager = manager;
+        this.lockName = lockName;
+        this.fencingToken = fencingToken;
+        this.acquiredAt = acquiredAt;
+        this.validUntilNanos = validUntilNanos;
+    }
+
+    public String lockName() {
+        return lockName;
+    }
+
+    public long fencingToken() {
+        return fencingToken;
+    }
+
+    LocalDateTime acquiredAt() {
+        return acquiredAt;
+    }
+
+    /**
+     * Bail encore valide d'après l'horloge locale (sans accès à la base)
+     */
+    public boolean isHeld() {
+        return !lost && System.nanoTime() - validUntilNanos < 0;
+    }
+
+    /**
+     * À appeler avant chaque effet de bord (création d'alerte, envoi d'email) : le jeton est comparé en base,
+     * un nœud figé dont le verrou a été repris échoue même si son horloge locale le croit encore titulaire
+     */
+    public void verify() {
+        if (!manager.renew(this)) {
+            throw new JobLeaseLostException(lockName, fencingToken);
+        }
+    }
+
+    void extend(long validUntilNanos) {
+        this.validUntilNanos = validUntilNanos;
+    }
+
+    void markLost() {
+        this.lost = true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.supplychainx.common.lock;
+
+/**
+ * Le bail d'une tâche a expiré ou a été repris par un autre nœud : la tâche doit s'arrêter
+ */
+public class JobLeaseLostException extends IllegalStateException {
+
+    public JobLeaseLostException(String lockName, long fencingToken) {
+        super("Verrou " + lockName + " perdu (jeton " + fencingToken + ")");
+    }
+}
@@ -0,0 +1,278 @@
+package com.supplychainx.common.lock;
+
+import com.supplychainx.common.config.JobLockProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Verrous de tâches planifiées partagés entre nœuds (table job_locks)
+ *
+ * Un verrou est un bail : acquis si la ligne n'existe pas ou si son échéance est dépassée, renouvelé
+ * en arrière-plan tant que la tâche tourne, puis conservé quelques secondes après la fin pour couvrir
+ * le décalage des déclenchements entre nœuds. Les échéances sont calculées avec l'horloge de la base,
+ * commune à tous les nœuds.
+ */
+@Slf4j
+@Component
+public class JobLockManager {
+
+    static final String COUNTER_NAME = "supplychainx.jobs.lock";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLockProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final Set<JobLease> active = ConcurrentHashMap.newKeySet();
+    private final Map<String, JobLease> leaderships = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewer;
+
+    public JobLockManager(JdbcTemplate jdbcTemplate, JobLockProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = properties.getNodeId() == null || properties.getNodeId().isBlank()
+                ? defaultNodeId() : properties.getNodeId();
+        this.renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lock-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(100, properties.getRenewIntervalMs());
+        renewer.scheduleWithFixedDelay(this::renewActive, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Exécuter la tâche si aucun autre nœud ne la détient
+     *
+     * @return true si la tâche a été exécutée par ce nœud
+     */
+    public boolean runExclusively(String jobName, Consumer<JobLease> task) {
+        JobLease lease = tryAcquire(jobName);
+        if (lease == null) {
+            return false;
+        }
+        run(lease, () -> task.accept(lease));
+        return true;
+    }
+
+    /**
+     * Exécuter une tâche découpée en parts : chaque part est un verrou distinct, les nœuds se répartissent
+     * les parts libres en commençant chacun par une part différente
+     *
+     * @return nombre de parts traitées par ce nœud
+     */
+    public int runSharded(String jobName, int shardCount, BiConsumer<JobLease, JobShard> task) {
+        int count = Math.max(1, shardCount);
+        if (count == 1) {
+            return runExclusively(jobName, lease -> task.accept(lease, JobShard.ALL)) ? 1 : 0;
+        }
+        int first = Math.floorMod(nodeId.hashCode(), count);
+        int processed = 0;
+        for (int i = 0; i < count; i++) {
+            JobShard shard = new JobShard((first + i) % count, count);
+            JobLease lease = tryAcquire(jobName + "#" + shard.index() + "/" + count);
+            if (lease != null) {
+                run(lease, () -> task.accept(lease, shard));
+                processed++;
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Rôle permanent (relais, consommateur unique) : le bail n'est pas libéré après usage et reste renouvelé
+     * tant que ce nœud tourne ; à son arrêt (ou si ses renouvellements échouent) un autre nœud le reprend
+     *
+     * @return le bail si ce nœud est ou devient titulaire du rôle, sinon null
+     */
+    public JobLease leadership(String roleName) {
+        JobLease current = leaderships.get(roleName);
+        if (current != null && current.isHeld()) {
+            return current;
+        }
+        if (current != null) {
+            active.remove(current);
+            leaderships.remove(roleName, current);
+        }
+        JobLease lease = tryAcquire(roleName);
+        if (lease != null) {
+            active.add(lease);
+            leaderships.put(roleName, lease);
+            log.info("Rôle {} pris par {} (jeton {})", roleName, nodeId, lease.fencingToken());
+        }
+        return lease;
+    }
+
+    /**
+     * Prolonger un bail si ce nœud le détient toujours avec le même jeton
+     */
+    boolean renew(JobLease lease) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        long startNanos = System.nanoTime();
+        LocalDateTime now = databaseNow();
+        int updated = jdbcTemplate.update(
+                "UPDATE job_locks SET locked_until = ? WHERE lock_name = ? AND owner = ? AND fencing_token = ? AND locked_until > ?",
+                Timestamp.valueOf(now.plusNanos(leaseNanos())), lease.lockName(), nodeId, lease.fencingToken(),
+                Timestamp.valueOf(now));
+        if (updated == 1) {
+            lease.extend(startNanos + leaseNanos());
+            return true;
+        }
+        lease.markLost();
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // Rôles permanents rendus tout de suite plutôt qu'à l'expiration du bail
+        leaderships.values().forEach(lease -> {
+            try {
+                jdbcTemplate.update(
+                        "UPDATE job_locks SET locked_until = locked_at WHERE lock_name = ? AND owner = ? AND fencing_token = ?",
+                        lease.lockName(), nodeId, lease.fencingToken());
+            } catch (DataAccessException e) {
+                log.warn("Libération du rôle {} impossible: {}", lease.lockName(), e.getMessage());
+            }
+        });
+        leaderships.clear();
+    }
+
+    private JobLease tryAcquire(String lockName) {
+        if (!properties.isEnabled()) {
+            return new JobLease(this, lockName, 0, LocalDateTime.now(), Long.MAX_VALUE);
+        }
+        long startNanos = System.nanoTime();
+        LocalDateTime now = databaseNow();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        Timestamp until = Timestamp.valueOf(now.plusNanos(leaseNanos()));
+        int updated = jdbcTemplate.update(
+                "UPDATE job_locks SET owner = ?, fencing_token = fencing_token + 1, locked_at = ?, locked_until = ? WHERE lock_name = ? AND locked_until <= ?",
+                nodeId, nowTs, until, lockName, nowTs);
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update(
+                        "INSERT INTO job_locks (lock_name, owner, fencing_token, locked_at, locked_until) VALUES (?, ?, 1, ?, ?)",
+                        lockName, nodeId, nowTs, until);
+            } catch (DuplicateKeyException e) {
+                count(lockName, "skipped");
+                log.debug("Verrou {} détenu par un autre nœud", lockName);
+                return null;
+            }
+        }
+        // Bail valide et à notre nom : personne d'autre ne peut modifier la ligne entre-temps
+        List<Long> tokens = jdbcTemplate.queryForList(
+                "SELECT fencing_token FROM job_locks WHERE lock_name = ? AND owner = ?", Long.class, lockName, nodeId);
+        if (tokens.isEmpty()) {
+            count(lockName, "skipped");
+            return null;
+        }
+        count(lockName, "acquired");
+        log.debug("Verrou {} acquis par {} (jeton {})", lockName, nodeId, tokens.get(0));
+        return new JobLease(this, lockName, tokens.get(0), now, startNanos + leaseNanos());
+    }
+
+    private void run(JobLease lease, Runnable task) {
+        active.add(lease);
+        try {
+            task.run();
+        } catch (JobLeaseLostException e) {
+            count(lease.lockName(), "lost");
+            log.warn("Tâche {} interrompue: {}", lease.lockName(), e.getMessage());
+        } finally {
+            active.remove(lease);
+            release(lease);
+        }
+    }
+
+    /**
+     * Fin de tâche : le bail est ramené à la durée minimale de détention (sans jamais la raccourcir en deçà)
+     */
+    private void release(JobLease lease) {
+        if (!properties.isEnabled() || !lease.isHeld()) {
+            return;
+        }
+        try {
+            LocalDateTime now = databaseNow();
+            LocalDateTime holdUntil = lease.acquiredAt().plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getMinHoldMs()));
+            jdbcTemplate.update(
+                    "UPDATE job_locks SET locked_until = ? WHERE lock_name = ? AND owner = ? AND fencing_token = ?",
+                    Timestamp.valueOf(holdUntil.isAfter(now) ? holdUntil : now), lease.lockName(), nodeId,
+                    lease.fencingToken());
+        } catch (DataAccessException e) {
+            // Le bail expirera de lui-même
+            log.warn("Libération du verrou {} impossible: {}", lease.lockName(), e.getMessage());
+        }
+    }
+
+    private void renewActive() {
+        for (JobLease lease : active) {
+            try {
+                if (!renew(lease)) {
+                    count(lease.lockName(), "lost");
+                    log.warn("Verrou {} perdu par {} (jeton {})", lease.lockName(), nodeId, lease.fencingToken());
+                }
+            } catch (RuntimeException e) {
+                // Base injoignable : le bail local expire seul, la tâche s'arrête à sa prochaine vérification
+                log.warn("Renouvellement du verrou {} impossible: {}", lease.lockName(), e.getMessage());
+            }
+        }
+    }
+
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+
+    private long leaseNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(properties.getLeaseDurationMs());
+    }
+
+    private void count(String lockName, String outcome) {
+        int shardSeparator = lockName.indexOf('#');
+        Counter.builder(COUNTER_NAME)
+                .description("Tentatives d'exécution des tâches planifiées partagées entre nœuds")
+                .tag("job", shardSeparator < 0 ? lockName : lockName.substring(0, shardSeparator))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
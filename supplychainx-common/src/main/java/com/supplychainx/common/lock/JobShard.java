@@ -0,0 +1,17 @@
+package com.supplychainx.common.lock;
+
+/**
+ * Part d'une tâche répartie entre nœuds : les entités dont id modulo count vaut index
+ */
+public record JobShard(int index, int count) {
+
+    public static final JobShard ALL = new JobShard(0, 1);
+
+    public boolean isAll() {
+        return count == 1;
+    }
+
+    public boolean owns(long id) {
+        return Math.floorMod(id, count) == index;
+    }
+}
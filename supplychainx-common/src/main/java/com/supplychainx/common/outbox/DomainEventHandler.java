@@ -0,0 +1,16 @@
+package com.supplychainx.common.outbox;
+
+import com.supplychainx.common.event.DomainEvent;
+
+/**
+ * Consommateur d'un type d'événement de l'outbox, déclaré comme bean dans le module concerné
+ *
+ * Appelé hors transaction, sur un thread du relais ; une exception provoque une nouvelle tentative.
+ * Un même événement peut être livré plusieurs fois : le traitement doit être idempotent.
+ */
+public interface DomainEventHandler<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void handle(E event);
+}
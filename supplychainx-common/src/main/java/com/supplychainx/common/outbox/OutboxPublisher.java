@@ -0,0 +1,44 @@
+package com.supplychainx.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supplychainx.common.event.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Écriture des événements métier dans la table outbox_events, dans la transaction en cours :
+ * l'événement existe si et seulement si la modification qui l'a produit est validée
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    static final String PENDING = "PENDING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void append(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Un événement de l'outbox doit être écrit dans une transaction: "
+                    + event.getClass().getSimpleName());
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Événement non sérialisable: " + event.getClass().getSimpleName(), e);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(
+                "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, status, attempts, next_attempt_at, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, 0, ?, ?)",
+                event.aggregateType(), event.aggregateId(), event.getClass().getSimpleName(), payload, PENDING, now, now);
+    }
+}
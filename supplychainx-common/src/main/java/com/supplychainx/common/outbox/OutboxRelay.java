@@ -0,0 +1,265 @@
+package com.supplychainx.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supplychainx.common.config.OutboxProperties;
+import com.supplychainx.common.event.DomainEvent;
+import com.supplychainx.common.lock.JobLease;
+import com.supplychainx.common.lock.JobLeaseLostException;
+import com.supplychainx.common.lock.JobLockManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relais de l'outbox : livre les événements en attente aux consommateurs des modules
+ *
+ * Un seul nœud relaie (rôle outbox-relay). Chaque passage lit un lot par identifiant croissant et
+ * confie les événements de chaque agrégat, dans l'ordre, à un thread de livraison. Un échec repousse
+ * l'événement (délai doublé à chaque tentative) ainsi que tous les suivants du même agrégat ; les
+ * autres agrégats continuent. Après max-attempts l'événement passe en FAILED et ne bloque plus son agrégat.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    static final String RELAY_ROLE = "outbox-relay";
+    static final String COUNTER_NAME = "supplychainx.outbox.events";
+
+    private static final String PUBLISHED = "PUBLISHED";
+    private static final String FAILED = "FAILED";
+    private static final int MAX_BATCHES_PER_RUN = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // Événements dus dont aucun prédécesseur du même agrégat n'attend une nouvelle tentative
+    private static final String SELECT_DUE = "SELECT e.id, e.aggregate_type, e.aggregate_id, e.event_type, e.payload, e.attempts "
+            + "FROM outbox_events e WHERE e.status = ? AND e.next_attempt_at <= ? AND NOT EXISTS ("
+            + "SELECT 1 FROM outbox_events p WHERE p.aggregate_type = e.aggregate_type AND p.aggregate_id = e.aggregate_id "
+            + "AND p.status = ? AND p.id < e.id AND p.next_attempt_at > ?) "
+            + "ORDER BY e.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final JobLockManager lockManager;
+    private final OutboxProperties properties;
+    private final Map<String, List<DomainEventHandler<?>>> handlers = new LinkedHashMap<>();
+    private final ExecutorService lanes;
+    private final Counter publishedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, JobLockManager lockManager,
+                       OutboxProperties properties, ObjectProvider<DomainEventHandler<?>> handlerProvider,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.objectMapper = objectMapper;
+        this.lockManager = lockManager;
+        this.properties = properties;
+        handlerProvider.orderedStream().forEach(handler -> handlers
+                .computeIfAbsent(handler.eventType().getSimpleName(), type -> new ArrayList<>())
+                .add(handler));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.lanes = Executors.newFixedThreadPool(Math.max(1, properties.getLanes()), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-lane-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishedCounter = counter(meterRegistry, "published");
+        this.retriedCounter = counter(meterRegistry, "retried");
+        this.failedCounter = counter(meterRegistry, "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}",
+            initialDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        JobLease lease = lockManager.leadership(RELAY_ROLE);
+        if (lease == null) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                if (relayBatch(lease) < Math.max(1, properties.getBatchSize())) {
+                    break;
+                }
+            }
+        } catch (JobLeaseLostException e) {
+            // Le nouveau relais reprend les événements non marqués (livraison au moins une fois)
+            log.warn("Relais de l'outbox interrompu: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Livrer un lot d'événements dus
+     *
+     * @return nombre d'événements lus
+     */
+    int relayBatch(JobLease lease) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_DUE, OutboxRow.MAPPER,
+                OutboxPublisher.PENDING, now, OutboxPublisher.PENDING, now, Math.max(1, properties.getBatchSize()));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        // Jeton vérifié en base : un relais figé puis réveillé ne livre pas en double avec son successeur
+        lease.verify();
+
+        Map<String, List<OutboxRow>> byAggregate = new LinkedHashMap<>();
+        rows.forEach(row -> byAggregate
+                .computeIfAbsent(row.aggregateType() + ":" + row.aggregateId(), key -> new ArrayList<>())
+                .add(row));
+        List<Future<List<Delivery>>> futures = new ArrayList<>(byAggregate.size());
+        byAggregate.values().forEach(group -> futures.add(lanes.submit(() -> deliver(group))));
+
+        List<Delivery> deliveries = new ArrayList<>(rows.size());
+        for (Future<List<Delivery>> future : futures) {
+            try {
+                deliveries.addAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Livraison d'événements de l'outbox interrompue", e.getCause());
+            }
+        }
+        record(deliveries);
+        return rows.size();
+    }
+
+    /**
+     * Purger les événements livrés
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron:0 50 * * * *}")
+    public void purge() {
+        int deleted = jdbcTemplate.update("DELETE FROM outbox_events WHERE status = ? AND published_at < ?",
+                PUBLISHED, Timestamp.valueOf(LocalDateTime.now().minusHours(properties.getRetentionHours())));
+        if (deleted > 0) {
+            log.debug("{} événements de l'outbox purgés", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lanes.shutdown();
+        lanes.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Événements d'un agrégat livrés dans l'ordre ; le premier échec suspend les suivants
+    private List<Delivery> deliver(List<OutboxRow> group) {
+        List<Delivery> deliveries = new ArrayList<>(group.size());
+        for (OutboxRow row : group) {
+            try {
+                dispatch(row);
+                deliveries.add(new Delivery(row, null));
+            } catch (Exception e) {
+                deliveries.add(new Delivery(row, e));
+                break;
+            }
+        }
+        return deliveries;
+    }
+
+    private void dispatch(OutboxRow row) throws JsonProcessingException {
+        List<DomainEventHandler<?>> eventHandlers = handlers.get(row.eventType());
+        if (eventHandlers == null) {
+            log.debug("Aucun consommateur pour l'événement {} ({})", row.id(), row.eventType());
+            return;
+        }
+        for (DomainEventHandler<?> handler : eventHandlers) {
+            invoke(handler, row.payload());
+        }
+    }
+
+    private <E extends DomainEvent> void invoke(DomainEventHandler<E> handler, String payload)
+            throws JsonProcessingException {
+        handler.handle(objectMapper.readValue(payload, handler.eventType()));
+    }
+
+    private void record(List<Delivery> deliveries) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> publishedIds = new ArrayList<>();
+        List<Object[]> failures = new ArrayList<>();
+        for (Delivery delivery : deliveries) {
+            OutboxRow row = delivery.row();
+            if (delivery.error() == null) {
+                publishedIds.add(row.id());
+                continue;
+            }
+            int attempts = row.attempts() + 1;
+            boolean exhausted = attempts >= properties.getMaxAttempts();
+            String error = String.valueOf(delivery.error().getMessage());
+            if (exhausted) {
+                failedCounter.increment();
+                log.error("Événement {} ({} {}:{}) abandonné après {} tentatives: {}", row.id(), row.eventType(),
+                        row.aggregateType(), row.aggregateId(), attempts, error);
+            } else {
+                retriedCounter.increment();
+                log.warn("Événement {} ({}) en échec, tentative {}: {}", row.id(), row.eventType(), attempts, error);
+            }
+            failures.add(new Object[]{exhausted ? FAILED : OutboxPublisher.PENDING, attempts,
+                    Timestamp.valueOf(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs(attempts)))),
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, row.id()});
+        }
+        if (!publishedIds.isEmpty()) {
+            namedJdbcTemplate.update(
+                    "UPDATE outbox_events SET status = :status, published_at = :now, last_error = NULL WHERE id IN (:ids)",
+                    new MapSqlParameterSource("status", PUBLISHED)
+                            .addValue("now", Timestamp.valueOf(now))
+                            .addValue("ids", publishedIds));
+            publishedCounter.increment(publishedIds.size());
+        }
+        if (!failures.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE outbox_events SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?",
+                    failures);
+        }
+    }
+
+    private long backoffMs(int attempts) {
+        long backoff = Math.max(1, properties.getInitialBackoffMs()) << Math.min(attempts - 1, 30);
+        return Math.min(backoff, properties.getMaxBackoffMs());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Événements de l'outbox par issue (livrés, nouvelle tentative, abandonnés)")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Delivery(OutboxRow row, Exception error) {
+    }
+
+    private record OutboxRow(long id, String aggregateType, long aggregateId, String eventType, String payload,
+                             int attempts) {
+
+        private static final RowMapper<OutboxRow> MAPPER = (rs, i) -> new OutboxRow(rs.getLong("id"),
+                rs.getString("aggregate_type"), rs.getLong("aggregate_id"), rs.getString("event_type"),
+                rs.getString("payload"), rs.getInt("attempts"));
+    }
+}
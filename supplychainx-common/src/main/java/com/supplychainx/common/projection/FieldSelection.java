@@ -0,0 +1,150 @@
+package com.supplychainx.common.projection;
+
+import com.supplychainx.common.exception.ValidationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Champs demandés par le client (sparse fieldset), sous forme d'arbre : "id,supplier.name,orderLines"
+ *
+ * Un champ sans sous-champ est demandé en entier ; l'absence de paramètre sélectionne tout.
+ */
+public final class FieldSelection {
+
+    public static final String PARAMETER = "fields";
+    public static final String FILTER_ID = "fieldSelection";
+    static final String REQUEST_ATTRIBUTE = FieldSelection.class.getName();
+
+    private static final int MAX_FIELDS = 50;
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    // null : tous les champs
+    private final Map<String, FieldSelection> fields;
+
+    private FieldSelection(Map<String, FieldSelection> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Analyser et valider l'expression sur le type de DTO
+     *
+     * @throws ValidationException si un champ n'existe pas
+     */
+    public static FieldSelection parse(String expression, Class<?> type) {
+        if (expression == null || expression.isBlank()) {
+            return ALL;
+        }
+        String[] paths = expression.split(",");
+        if (paths.length > MAX_FIELDS) {
+            throw new ValidationException("Le paramètre fields ne doit pas dépasser " + MAX_FIELDS + " champs");
+        }
+        Map<String, FieldSelection> root = new LinkedHashMap<>();
+        for (String path : paths) {
+            if (!path.isBlank()) {
+                add(root, path.trim().split("\\."), 0, type, path.trim());
+            }
+        }
+        return root.isEmpty() ? ALL : new FieldSelection(root);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.containsKey(field);
+    }
+
+    /**
+     * Sélection d'un champ imbriqué, ou null s'il n'est pas demandé
+     */
+    public FieldSelection select(String field) {
+        return fields == null ? ALL : fields.get(field);
+    }
+
+    public FieldSelection at(Iterable<String> path) {
+        FieldSelection current = this;
+        for (String field : path) {
+            current = current.select(field);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : fields.toString();
+    }
+
+    /**
+     * Chemins des colonnes à lire pour le DTO (champs simples et objets imbriqués, hors collections)
+     * L'identifiant est toujours inclus : il sert à rattacher les collections chargées à part.
+     *
+     * @param computed chemins calculés en Java, sans colonne correspondante
+     */
+    public List<String> columnPaths(Class<?> type, Set<String> computed) {
+        List<String> paths = new ArrayList<>();
+        paths.add("id");
+        collect(type, "", paths, computed);
+        return paths;
+    }
+
+    private void collect(Class<?> type, String prefix, List<String> paths, Set<String> computed) {
+        ReflectionUtils.doWithFields(type, field -> {
+            String path = prefix + field.getName();
+            if (!includes(field.getName()) || computed.contains(path) || paths.contains(path)
+                    || Collection.class.isAssignableFrom(field.getType())) {
+                return;
+            }
+            if (BeanUtils.isSimpleValueType(field.getType())) {
+                paths.add(path);
+            } else {
+                select(field.getName()).collect(field.getType(), path + ".", paths, computed);
+            }
+        }, field -> !Modifier.isStatic(field.getModifiers()));
+    }
+
+    private static void add(Map<String, FieldSelection> target, String[] segments, int index, Class<?> type,
+                            String path) {
+        String name = segments[index];
+        Field field = ReflectionUtils.findField(type, name);
+        if (field == null || Modifier.isStatic(field.getModifiers())) {
+            throw new ValidationException("Champ inconnu dans fields: " + path);
+        }
+        if (index == segments.length - 1) {
+            target.put(name, ALL);
+            return;
+        }
+        Class<?> fieldType = Collection.class.isAssignableFrom(field.getType())
+                ? ResolvableType.forField(field).asCollection().resolveGeneric(0)
+                : field.getType();
+        if (fieldType == null || BeanUtils.isSimpleValueType(fieldType)) {
+            throw new ValidationException("Le champ " + name + " n'a pas de sous-champs: " + path);
+        }
+        FieldSelection child = target.get(name);
+        if (child == ALL) {
+            return;
+        }
+        if (child == null) {
+            child = new FieldSelection(new LinkedHashMap<>());
+            target.put(name, child);
+        }
+        add(child.fields, segments, index + 1, fieldType, path);
+    }
+}
@@ -0,0 +1,31 @@
+package com.supplychainx.common.projection;
+
+import com.supplychainx.common.annotation.SparseFieldset;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Résout les paramètres @SparseFieldset FieldSelection et mémorise la sélection pour la sortie JSON
+ */
+public class FieldSelectionArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(SparseFieldset.class)
+                && FieldSelection.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        SparseFieldset annotation = parameter.getParameterAnnotation(SparseFieldset.class);
+        FieldSelection selection = FieldSelection.parse(webRequest.getParameter(FieldSelection.PARAMETER),
+                annotation.value());
+        webRequest.setAttribute(FieldSelection.REQUEST_ATTRIBUTE, selection, RequestAttributes.SCOPE_REQUEST);
+        return selection;
+    }
+}
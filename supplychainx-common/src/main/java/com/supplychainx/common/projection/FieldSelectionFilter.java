@@ -0,0 +1,59 @@
+package com.supplychainx.common.projection;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Filtre Jackson des DTO annotés @JsonFilter(FieldSelection.FILTER_ID)
+ *
+ * Le chemin d'un objet (ex. orderLines.material) est retrouvé en remontant le contexte d'écriture
+ * jusqu'au premier DTO filtré : les enveloppes (ApiResponse, page) ne comptent pas.
+ */
+public class FieldSelectionFilter extends SimpleBeanPropertyFilter {
+
+    private static final ClassValue<Boolean> FILTERED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            JsonFilter filter = type.getAnnotation(JsonFilter.class);
+            return filter != null && FieldSelection.FILTER_ID.equals(filter.value());
+        }
+    };
+
+    private final FieldSelection selection;
+
+    public FieldSelectionFilter(FieldSelection selection) {
+        this.selection = selection;
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+        FieldSelection current = selection.at(pathOf(gen.getOutputContext()));
+        if (current != null && current.includes(writer.getName())) {
+            writer.serializeAsField(pojo, gen, provider);
+        } else if (!gen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, gen, provider);
+        }
+    }
+
+    private static Deque<String> pathOf(JsonStreamContext context) {
+        Deque<String> path = new ArrayDeque<>();
+        for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent.inObject()) {
+                Object value = parent.getCurrentValue();
+                if (value == null || !FILTERED.get(value.getClass())) {
+                    break;
+                }
+                path.addFirst(parent.getCurrentName());
+            }
+        }
+        return path;
+    }
+}
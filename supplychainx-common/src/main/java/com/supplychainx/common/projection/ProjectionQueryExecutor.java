@@ -0,0 +1,112 @@
+package com.supplychainx.common.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Requêtes paginées ne lisant que les colonnes demandées (sparse fieldsets)
+ *
+ * Les chemins imbriqués ("supplier.name") deviennent des jointures externes sur les associations
+ * à valeur unique ; les collections sont chargées à part par l'appelant, en une requête pour la page.
+ * Les lignes sont copiées dans des DTO par nom de propriété : les noms du DTO doivent suivre ceux de l'entité.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectionQueryExecutor {
+
+    private final EntityManager entityManager;
+
+    public <E, D> Page<D> findPage(Class<E> entityType, Specification<E> specification, Pageable pageable,
+                                   List<String> paths, Supplier<D> dtoFactory) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            selections.add(resolve(root, path, joins));
+        }
+        query.multiselect(selections);
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<D> content = typedQuery.getResultList().stream()
+                .map(tuple -> toDto(tuple, paths, dtoFactory.get()))
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityType, specification));
+    }
+
+    private <E> long count(Class<E> entityType, Specification<E> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Path<?> resolve(Root<?> root, String path, Map<String, From<?, ?>> joins) {
+        String[] segments = path.split("\\.");
+        From<?, ?> from = root;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < segments.length - 1; i++) {
+            prefix.append(segments[i]).append('.');
+            From<?, ?> parent = from;
+            String attribute = segments[i];
+            from = joins.computeIfAbsent(prefix.toString(), key -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(segments[segments.length - 1]);
+    }
+
+    private static <D> D toDto(Tuple tuple, List<String> paths, D dto) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(dto);
+        wrapper.setAutoGrowNestedPaths(true);
+        for (int i = 0; i < paths.size(); i++) {
+            Object value = tuple.get(i);
+            // Association absente : l'objet imbriqué reste null plutôt qu'un DTO vide
+            if (value != null || paths.get(i).indexOf('.') < 0) {
+                wrapper.setPropertyValue(paths.get(i), value);
+            }
+        }
+        return dto;
+    }
+}
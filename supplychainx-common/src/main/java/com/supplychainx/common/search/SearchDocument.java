@@ -0,0 +1,15 @@
+package com.supplychainx.common.search;
+
+import java.util.List;
+
+/**
+ * Document indexé pour la recherche unifiée
+ *
+ * @param type     type d'entité (material, product, supplier, customer, user)
+ * @param id       identifiant de l'entité
+ * @param title    libellé principal (nom), privilégié dans le classement
+ * @param subtitle libellé secondaire affiché (code, email, ville...)
+ * @param keywords autres textes recherchables (valeurs nulles ignorées)
+ */
+public record SearchDocument(String type, Long id, String title, String subtitle, List<String> keywords) {
+}
@@ -0,0 +1,7 @@
+package com.supplychainx.common.search;
+
+/**
+ * Résultat de recherche, trié par pertinence décroissante
+ */
+public record SearchHit(String type, Long id, String title, String subtitle, double score) {
+}
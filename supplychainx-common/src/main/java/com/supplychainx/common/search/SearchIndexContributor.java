@@ -0,0 +1,33 @@
+package com.supplychainx.common.search;
+
+import com.supplychainx.common.entity.BaseEntity;
+
+import java.util.List;
+
+/**
+ * Entité alimentant l'index de recherche unifié
+ *
+ * L'index est tenu à jour après chaque écriture validée de l'entité, et reconstruit en bloc
+ * par lots successifs (pagination par identifiant croissant).
+ */
+public interface SearchIndexContributor<T extends BaseEntity> {
+
+    /**
+     * Type exposé dans les résultats (ex. "material")
+     */
+    String type();
+
+    Class<T> entityType();
+
+    /**
+     * Permission nécessaire pour voir ce type dans les résultats
+     */
+    String requiredPermission();
+
+    SearchDocument toDocument(T entity);
+
+    /**
+     * Lot suivant pour la reconstruction complète : entités d'identifiant supérieur à afterId, triées par id
+     */
+    List<T> loadBatch(Long afterId, int batchSize);
+}
@@ -0,0 +1,37 @@
+package com.supplychainx.common.search;
+
+import com.supplychainx.common.invalidation.CacheInvalidationListener;
+import com.supplychainx.common.invalidation.InvalidationKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tient l'index de recherche de ce nœud à jour des écritures faites sur les autres nœuds
+ * (les écritures locales sont déjà suivies par SearchIndexEntityListener)
+ */
+@Component
+public class SearchIndexInvalidationListener implements CacheInvalidationListener {
+
+    private final SearchIndexService searchIndexService;
+    private final TransactionTemplate transactionTemplate;
+
+    public SearchIndexInvalidationListener(SearchIndexService searchIndexService,
+                                           PlatformTransactionManager transactionManager) {
+        this.searchIndexService = searchIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void onInvalidation(InvalidationKey key, boolean remote) {
+        if (!remote) {
+            return;
+        }
+        if (key.isAll()) {
+            searchIndexService.refresh(key.entity(), null);
+            return;
+        }
+        // Transaction en écriture : lecture sur la base principale, le réplica peut être en retard
+        transactionTemplate.executeWithoutResult(status -> searchIndexService.refresh(key.entity(), key.id()));
+    }
+}
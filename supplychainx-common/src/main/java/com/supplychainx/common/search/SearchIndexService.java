@@ -0,0 +1,248 @@
+package com.supplychainx.common.search;
+
+import com.supplychainx.common.config.SearchProperties;
+import com.supplychainx.common.entity.BaseEntity;
+import com.supplychainx.common.exception.ValidationException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Recherche unifiée sur les entités déclarant un SearchIndexContributor
+ *
+ * L'index est reconstruit en bloc au démarrage (en arrière-plan) puis chaque nuit ; entre deux
+ * reconstructions, il suit les écritures validées. Les écritures reçues pendant une reconstruction
+ * sont appliquées à l'index courant et rejouées sur le nouvel index avant la bascule.
+ */
+@Slf4j
+@Component
+public class SearchIndexService {
+
+    private final Map<String, SearchIndexContributor<?>> contributorsByType = new LinkedHashMap<>();
+    private final Map<Class<?>, SearchIndexContributor<?>> contributorsByEntity = new LinkedHashMap<>();
+    private final SearchProperties properties;
+
+    private final Object writeLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile TrigramIndex index = new TrigramIndex();
+    private List<Consumer<TrigramIndex>> pendingWrites;
+    private volatile boolean ready;
+
+    public SearchIndexService(ObjectProvider<SearchIndexContributor<?>> contributors, SearchProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        contributors.orderedStream().forEach(contributor -> {
+            contributorsByType.put(contributor.type(), contributor);
+            contributorsByEntity.put(contributor.entityType(), contributor);
+        });
+        Gauge.builder("supplychainx.search.documents", this, service -> service.index.size())
+                .description("Nombre de documents dans l'index de recherche")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rechercher parmi les types que l'utilisateur courant a le droit de consulter
+     *
+     * @param types types demandés (tous si vide)
+     * @param limit nombre de résultats (défaut de configuration si null, borné au maximum)
+     */
+    public List<SearchHit> search(String query, Collection<String> types, Integer limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (query.length() > properties.getMaxQueryLength()) {
+            throw new ValidationException("Le texte recherché ne doit pas dépasser "
+                    + properties.getMaxQueryLength() + " caractères");
+        }
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+        if (!ready) {
+            log.debug("Index de recherche en cours de construction, résultats partiels");
+        }
+
+        Set<String> authorities = currentAuthorities();
+        Set<String> allowedTypes = contributorsByType.values().stream()
+                .filter(contributor -> types == null || types.isEmpty() || types.contains(contributor.type()))
+                .filter(contributor -> authorities.contains("PERM_" + contributor.requiredPermission()))
+                .map(SearchIndexContributor::type)
+                .collect(Collectors.toSet());
+        if (allowedTypes.isEmpty()) {
+            return List.of();
+        }
+
+        int effectiveLimit = Math.min(limit != null ? Math.max(limit, 1) : properties.getDefaultLimit(),
+                properties.getMaxLimit());
+        return index.search(query, allowedTypes::contains, effectiveLimit, properties.getMinMatchRatio());
+    }
+
+    public boolean handles(Class<?> entityType) {
+        return properties.isEnabled() && contributorsByEntity.containsKey(entityType);
+    }
+
+    /**
+     * Entité créée ou modifiée (après commit)
+     */
+    public void onSaved(Class<?> entityType, Object entity) {
+        SearchIndexContributor<?> contributor = contributorsByEntity.get(entityType);
+        if (contributor != null) {
+            SearchDocument document = toDocument(contributor, entity);
+            apply(target -> target.put(document));
+        }
+    }
+
+    /**
+     * Entité supprimée (après commit)
+     */
+    public void onDeleted(Class<?> entityType, Object id) {
+        SearchIndexContributor<?> contributor = contributorsByEntity.get(entityType);
+        if (contributor != null && id instanceof Long entityId) {
+            apply(target -> target.remove(contributor.type(), entityId));
+        }
+    }
+
+    /**
+     * Relire une entité modifiée sur un autre nœud (ou toutes celles du type si id est null)
+     *
+     * @return false si le type n'est pas indexé
+     */
+    public boolean refresh(String entityName, Long id) {
+        SearchIndexContributor<?> contributor = contributorsByEntity.entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().equals(entityName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        if (!properties.isEnabled() || contributor == null) {
+            return false;
+        }
+        if (id == null) {
+            rebuild();
+            return true;
+        }
+        // Premier identifiant supérieur à id - 1 : l'entité elle-même, ou une autre si elle a été supprimée
+        List<? extends BaseEntity> rows = contributor.loadBatch(id - 1, 1);
+        if (!rows.isEmpty() && id.equals(rows.get(0).getId())) {
+            onSaved(contributor.entityType(), rows.get(0));
+        } else {
+            onDeleted(contributor.entityType(), id);
+        }
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!properties.isEnabled() || contributorsByType.isEmpty()) {
+            return;
+        }
+        Thread loader = new Thread(this::rebuild, "search-index-init");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(cron = "${app.search.rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        if (properties.isEnabled()) {
+            log.debug("Reconstruction planifiée de l'index de recherche (versions périmées: {}%)",
+                    Math.round(index.staleRatio() * 100));
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstruction complète depuis la base, sans interrompre les recherches
+     *
+     * @return false si une reconstruction est déjà en cours
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            synchronized (writeLock) {
+                pendingWrites = new ArrayList<>();
+            }
+            TrigramIndex fresh = new TrigramIndex();
+            for (SearchIndexContributor<?> contributor : contributorsByType.values()) {
+                load(contributor, fresh);
+            }
+            synchronized (writeLock) {
+                pendingWrites.forEach(write -> write.accept(fresh));
+                pendingWrites = null;
+                index = fresh;
+            }
+            ready = true;
+            log.info("Index de recherche reconstruit: {} documents en {} ms", fresh.size(),
+                    System.currentTimeMillis() - start);
+            return true;
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pendingWrites = null;
+            }
+            log.error("Échec de la reconstruction de l'index de recherche: {}", e.getMessage());
+            return false;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void apply(Consumer<TrigramIndex> write) {
+        synchronized (writeLock) {
+            write.accept(index);
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+        }
+    }
+
+    // Pagination par identifiant : chaque lot coûte le même prix quelle que soit sa position
+    private <T extends BaseEntity> void load(SearchIndexContributor<T> contributor, TrigramIndex target) {
+        int batchSize = properties.getBatchSize();
+        Long afterId = 0L;
+        List<T> batch;
+        do {
+            batch = contributor.loadBatch(afterId, batchSize);
+            batch.forEach(entity -> target.put(contributor.toDocument(entity)));
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private static <T extends BaseEntity> SearchDocument toDocument(SearchIndexContributor<T> contributor,
+                                                                    Object entity) {
+        return contributor.toDocument(contributor.entityType().cast(entity));
+    }
+
+    private static Set<String> currentAuthorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Set.of();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
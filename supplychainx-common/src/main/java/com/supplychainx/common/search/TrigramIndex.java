@@ -0,0 +1,217 @@
+package com.supplychainx.common.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé de trigrammes en mémoire
+ *
+ * Chaque mot est découpé en trigrammes ("  s", " st", "ste", "tee", "eel", "el ") ; un trigramme pointe vers
+ * la liste des documents qui le contiennent. Une requête ne parcourt que les listes de ses propres trigrammes :
+ * - préfixe : les mots de la requête ne sont pas fermés, "ste" trouve "steel" (saisie semi-automatique)
+ * - tolérance aux fautes : un document est retenu dès qu'il partage une part suffisante des trigrammes
+ * - pertinence : part des trigrammes communs, bonus si le libellé principal est égal ou commence par la requête
+ *
+ * Une mise à jour ajoute une nouvelle version du document ; l'ancienne reste dans les listes mais est ignorée
+ * jusqu'à la prochaine reconstruction complète.
+ */
+public class TrigramIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int staleEntries;
+
+    public void put(SearchDocument document) {
+        String title = normalize(document.title());
+        Set<String> trigrams = new LinkedHashSet<>();
+        addDocumentTrigrams(title, trigrams);
+        addDocumentTrigrams(normalize(document.subtitle()), trigrams);
+        if (document.keywords() != null) {
+            document.keywords().forEach(keyword -> addDocumentTrigrams(normalize(keyword), trigrams));
+        }
+
+        lock.writeLock().lock();
+        try {
+            int docId = entries.size();
+            Integer previous = docIds.put(key(document.type(), document.id()), docId);
+            if (previous != null) {
+                entries.set(previous, null);
+                staleEntries++;
+            }
+            entries.add(new Entry(document, title, trigrams.size()));
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, t -> new Postings()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String type, Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.remove(key(type, id));
+            if (docId != null) {
+                entries.set(docId, null);
+                staleEntries++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rechercher les documents les plus pertinents
+     *
+     * @param typeFilter    types autorisés
+     * @param minMatchRatio part minimale des trigrammes de la requête présents dans le document (0..1)
+     */
+    public List<SearchHit> search(String query, Predicate<String> typeFilter, int limit, double minMatchRatio) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryTrigrams = queryTrigrams(normalizedQuery);
+        int required = Math.max(1, (int) Math.ceil(queryTrigrams.size() * minMatchRatio));
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, int[]> matches = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    for (int i = 0; i < list.size; i++) {
+                        matches.computeIfAbsent(list.docIds[i], id -> new int[1])[0]++;
+                    }
+                }
+            }
+
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(SearchHit::score));
+            for (Map.Entry<Integer, int[]> match : matches.entrySet()) {
+                int matched = match.getValue()[0];
+                Entry entry = matched >= required ? entries.get(match.getKey()) : null;
+                if (entry == null || !typeFilter.test(entry.document().type())) {
+                    continue;
+                }
+                SearchDocument document = entry.document();
+                top.offer(new SearchHit(document.type(), document.id(), document.title(), document.subtitle(),
+                        score(entry, normalizedQuery, matched, queryTrigrams.size())));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(hit -> hit.title() != null ? hit.title().length() : 0));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Part des versions périmées encore présentes dans les listes (déclenche une reconstruction)
+     */
+    public double staleRatio() {
+        lock.readLock().lock();
+        try {
+            return entries.isEmpty() ? 0.0 : (double) staleEntries / entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutAccents.toLowerCase()).replaceAll(" ").trim();
+    }
+
+    private static double score(Entry entry, String query, int matched, int queryTrigramCount) {
+        double coverage = (double) matched / queryTrigramCount;
+        double similarity = (double) matched / (queryTrigramCount + entry.trigramCount() - matched);
+        double boost = 0.0;
+        if (entry.title().equals(query)) {
+            boost = 1.0;
+        } else if (entry.title().startsWith(query)) {
+            boost = 0.6;
+        } else if (entry.title().contains(" " + query)) {
+            boost = 0.3;
+        }
+        return Math.round((coverage + 0.5 * similarity + boost) * 1000) / 1000.0;
+    }
+
+    // Mots fermés : "ste" produit "  s", " st", "ste", "te "
+    private static void addDocumentTrigrams(String text, Set<String> trigrams) {
+        if (text.isEmpty()) {
+            return;
+        }
+        for (String word : text.split(" ")) {
+            addTrigrams("  " + word + " ", trigrams);
+        }
+    }
+
+    // Mots ouverts (recherche par préfixe) : "ste" produit "  s", " st", "ste"
+    private static Set<String> queryTrigrams(String query) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : query.split(" ")) {
+            addTrigrams("  " + word, trigrams);
+        }
+        return trigrams;
+    }
+
+    private static void addTrigrams(String padded, Set<String> trigrams) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private record Entry(SearchDocument document, String title, int trigramCount) {
+    }
+
+    // Liste de documents extensible, sans boxing des identifiants
+    private static final class Postings {
+
+        private int[] docIds = new int[4];
+        private int size;
+
+        private void add(int docId) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            docIds[size++] = docId;
+        }
+    }
+}
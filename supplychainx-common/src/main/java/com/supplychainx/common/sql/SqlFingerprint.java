@@ -0,0 +1,119 @@
+package com.supplychainx.common.sql;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Empreinte d'un ordre SQL : littéraux remplacés par ?, commentaires et espaces superflus retirés,
+ * listes IN (?, ?, ...) et lignes VALUES multiples repliées. Deux ordres de même forme ont la même empreinte.
+ */
+public final class SqlFingerprint {
+
+    private static final String COMPARISON_CHARS = "=<>!";
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(?:,\\?)+\\)");
+    private static final Pattern REPEATED_ROWS = Pattern.compile("(\\(\\?\\+?\\))(?:,\\1)+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (c == '-' && next == '-') {
+                i = skipUntil(sql, i + 2, "\n");
+                pendingSpace = true;
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                i = skipUntil(sql, i + 2, "*/");
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && !out.isEmpty() && !isTight(out.charAt(out.length() - 1), c)) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '\'') {
+                i = skipStringLiteral(sql, i + 1);
+                out.append('?');
+            } else if (c == '"' || c == '`') {
+                int end = sql.indexOf(c, i + 1);
+                end = end < 0 ? length : end + 1;
+                out.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && (out.isEmpty() || !isIdentifierPart(out.charAt(out.length() - 1)))) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (isIdentifierPart(c)) {
+                int start = i;
+                while (i < length && isIdentifierPart(sql.charAt(i))) {
+                    i++;
+                }
+                out.append(sql.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        String fingerprint = PARAMETER_LIST.matcher(out).replaceAll("(?+)");
+        return REPEATED_ROWS.matcher(fingerprint).replaceAll("$1+");
+    }
+
+    /**
+     * Ordre de lecture (les N+1 ne concernent que les SELECT)
+     */
+    public static boolean isSelect(String fingerprint) {
+        return fingerprint.startsWith("select") || fingerprint.startsWith("with");
+    }
+
+    private static int skipUntil(String sql, int from, String end) {
+        int index = sql.indexOf(end, from);
+        return index < 0 ? sql.length() : index + end.length();
+    }
+
+    // '' à l'intérieur d'un littéral est une apostrophe échappée
+    private static int skipStringLiteral(String sql, int from) {
+        int i = from;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    // Pas d'espace autour des virgules et des comparaisons ni à l'intérieur des parenthèses :
+    // "IN ( 1 , 2 )" et "IN (1,2)", "a = ?" et "a=?" donnent la même empreinte
+    private static boolean isTight(char previous, char c) {
+        return previous == '(' || previous == ',' || c == ')' || c == ','
+                || COMPARISON_CHARS.indexOf(previous) >= 0 || COMPARISON_CHARS.indexOf(c) >= 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.supplychainx.common.sql;
+
+import com.supplychainx.common.config.SqlStatsProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/sqlstats : requêtes SQL les plus coûteuses par empreinte et méthode appelante
+ *
+ * GET ?sort=total|count|mean|max|rows|n-plus-one&limit=50 ; DELETE remet les compteurs à zéro.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private final SqlStatsRegistry registry;
+    private final SqlStatsProperties properties;
+
+    @ReadOperation
+    public SqlStatsRegistry.SqlStatsReport report(@Nullable String sort, @Nullable Integer limit) {
+        return registry.report(sort, limit != null ? limit : properties.getReportLimit());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
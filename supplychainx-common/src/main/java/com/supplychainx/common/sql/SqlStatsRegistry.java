@@ -0,0 +1,285 @@
+package com.supplychainx.common.sql;
+
+import com.supplychainx.common.config.SqlStatsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques des ordres SQL par empreinte et méthode appelante (service ou mapper), en mémoire
+ *
+ * La méthode appelante et la portée de requête HTTP sont portées par le thread courant
+ * (voir {@link com.supplychainx.common.aspect.SqlStatsAspect}). Un SELECT exécuté au moins
+ * n-plus-one-threshold fois depuis le même appelant dans une même requête est signalé comme N+1.
+ */
+@Slf4j
+@Component
+public class SqlStatsRegistry {
+
+    static final String N_PLUS_ONE_COUNTER = "supplychainx.sql.n_plus_one";
+    static final String NO_CALLER = "other";
+
+    // Bornes supérieures des buckets de durée (en microsecondes), le dernier bucket est ouvert
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 5_000_000};
+    private static final int MAX_REQUEST_ENTRIES = 1000;
+
+    private final SqlStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<StatsKey, QueryStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final ThreadLocal<String> caller = new ThreadLocal<>();
+    private final ThreadLocal<Map<QueryStats, int[]>> request = new ThreadLocal<>();
+    private volatile Instant since = Instant.now();
+
+    public SqlStatsRegistry(SqlStatsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Enregistrer une exécution
+     *
+     * @return les statistiques de l'ordre (pour y ajouter les lignes lues), ou null s'il n'est pas suivi
+     */
+    public QueryStats record(String sql, long elapsedNanos, boolean failed) {
+        if (sql == null) {
+            return null;
+        }
+        String currentCaller = caller.get();
+        StatsKey key = new StatsKey(fingerprint(sql), currentCaller != null ? currentCaller : NO_CALLER);
+        QueryStats queryStats = stats.get(key);
+        if (queryStats == null) {
+            if (stats.size() >= properties.getMaxFingerprints()) {
+                dropped.increment();
+                return null;
+            }
+            queryStats = stats.computeIfAbsent(key, QueryStats::new);
+        }
+        queryStats.record(elapsedNanos, failed);
+
+        Map<QueryStats, int[]> requestCounts = request.get();
+        if (requestCounts != null && SqlFingerprint.isSelect(key.fingerprint())
+                && (requestCounts.size() < MAX_REQUEST_ENTRIES || requestCounts.containsKey(queryStats))) {
+            requestCounts.computeIfAbsent(queryStats, k -> new int[1])[0]++;
+        }
+        return queryStats;
+    }
+
+    /**
+     * Entrée dans une méthode appelante
+     *
+     * @return l'appelant précédent, à restaurer en sortie
+     */
+    public String enterCaller(String label) {
+        String previous = caller.get();
+        caller.set(label);
+        return previous;
+    }
+
+    public void restoreCaller(String previous) {
+        if (previous == null) {
+            caller.remove();
+        } else {
+            caller.set(previous);
+        }
+    }
+
+    public boolean inRequest() {
+        return request.get() != null;
+    }
+
+    public void beginRequest() {
+        request.set(new IdentityHashMap<>());
+    }
+
+    /**
+     * Fin de requête : signaler les SELECT répétés
+     */
+    public void endRequest(String requestLabel) {
+        Map<QueryStats, int[]> requestCounts = request.get();
+        request.remove();
+        if (requestCounts == null) {
+            return;
+        }
+        int threshold = Math.max(2, properties.getNPlusOneThreshold());
+        requestCounts.forEach((queryStats, count) -> {
+            if (count[0] < threshold) {
+                return;
+            }
+            queryStats.nPlusOne.increment();
+            Counter.builder(N_PLUS_ONE_COUNTER)
+                    .description("Requêtes HTTP ayant répété un même SELECT depuis un même appelant (N+1 probable)")
+                    .tag("caller", queryStats.caller)
+                    .register(meterRegistry)
+                    .increment();
+            if (queryStats.nPlusOne.sum() == 1) {
+                log.warn("N+1 probable dans {} : {} exécutions depuis {} de [{}]", requestLabel, count[0],
+                        queryStats.caller, queryStats.fingerprint);
+            } else if (log.isDebugEnabled()) {
+                log.debug("N+1 probable dans {} : {} exécutions depuis {} de [{}]", requestLabel, count[0],
+                        queryStats.caller, queryStats.fingerprint);
+            }
+        });
+    }
+
+    /**
+     * Requêtes les plus coûteuses selon le critère demandé (total, count, mean, max, rows, n-plus-one)
+     */
+    public SqlStatsReport report(String sort, int limit) {
+        Comparator<QueryStatsSnapshot> order = switch (sort == null ? "total" : sort) {
+            case "count" -> Comparator.comparingLong(QueryStatsSnapshot::count);
+            case "mean" -> Comparator.comparingDouble(QueryStatsSnapshot::meanMs);
+            case "max" -> Comparator.comparingDouble(QueryStatsSnapshot::maxMs);
+            case "rows" -> Comparator.comparingLong(QueryStatsSnapshot::rows);
+            case "n-plus-one" -> Comparator.comparingLong(QueryStatsSnapshot::nPlusOneRequests);
+            default -> Comparator.comparingDouble(QueryStatsSnapshot::totalMs);
+        };
+        List<QueryStatsSnapshot> queries = stats.values().stream()
+                .map(QueryStats::snapshot)
+                .sorted(order.reversed())
+                .limit(Math.max(1, limit))
+                .toList();
+        return new SqlStatsReport(since, stats.size(), dropped.sum(), queries);
+    }
+
+    public void reset() {
+        stats.clear();
+        dropped.reset();
+        since = Instant.now();
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = SqlFingerprint.of(sql);
+            // Les ordres générés (listes IN de taille variable) ne doivent pas faire grossir le cache sans fin
+            if (fingerprints.size() < properties.getMaxFingerprints() * 4) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    private record StatsKey(String fingerprint, String caller) {
+    }
+
+    /**
+     * Compteurs d'un couple (empreinte, appelant)
+     */
+    public static final class QueryStats {
+
+        private final String fingerprint;
+        private final String caller;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder nPlusOne = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+
+        private QueryStats(StatsKey key) {
+            this.fingerprint = key.fingerprint();
+            this.caller = key.caller();
+        }
+
+        public void addRows(long rowCount) {
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+        }
+
+        private void record(long elapsedNanos, boolean failed) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            if (failed) {
+                errors.increment();
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+        }
+
+        private QueryStatsSnapshot snapshot() {
+            long executions = count.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            double maxMs = maxNanos.get() / 1_000_000.0;
+            return new QueryStatsSnapshot(fingerprint, caller, executions, rows.sum(), totalMs,
+                    executions > 0 ? totalMs / executions : 0, maxMs,
+                    percentileMs(0.5, maxMs), percentileMs(0.95, maxMs), percentileMs(0.99, maxMs),
+                    errors.sum(), nPlusOne.sum());
+        }
+
+        // Borne supérieure du bucket contenant le rang demandé (la durée maximale pour le dernier bucket)
+        private double percentileMs(double percentile, double maxMs) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(BUCKET_BOUNDS_MICROS[i] / 1000.0, maxMs);
+                }
+            }
+            return maxMs;
+        }
+    }
+
+    /**
+     * Statistiques d'un couple (empreinte, appelant) à un instant donné
+     */
+    public record QueryStatsSnapshot(
+            String fingerprint,
+            String caller,
+            long count,
+            long rows,
+            double totalMs,
+            double meanMs,
+            double maxMs,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            long errors,
+            long nPlusOneRequests
+    ) {
+    }
+
+    /**
+     * Réponse de /actuator/sqlstats
+     */
+    public record SqlStatsReport(
+            Instant since,
+            int trackedQueries,
+            long droppedExecutions,
+            List<QueryStatsSnapshot> queries
+    ) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.supplychainx.common.stock;
+
+/**
+ * Article en stock faible
+ *
+ * @param itemType type d'article (StockChangedEvent.RAW_MATERIAL ou StockChangedEvent.PRODUCT)
+ */
+public record LowStockItem(
+        String itemType,
+        Long itemId,
+        String itemName,
+        double stock,
+        double stockMin
+) {
+}
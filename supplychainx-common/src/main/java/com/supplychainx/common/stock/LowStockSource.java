@@ -0,0 +1,19 @@
+package com.supplychainx.common.stock;
+
+import com.supplychainx.common.lock.JobShard;
+
+import java.util.List;
+
+/**
+ * Articles en stock faible, exposés par le module qui les possède
+ *
+ * La vérification planifiée des alertes (module audit) passe par cette interface plutôt que par les
+ * dépôts des modules supply et production.
+ */
+public interface LowStockSource {
+
+    /**
+     * Articles dont le stock est sous le minimum, limités à la part indiquée (JobShard.ALL : tous)
+     */
+    List<LowStockItem> findLowStock(JobShard shard);
+}
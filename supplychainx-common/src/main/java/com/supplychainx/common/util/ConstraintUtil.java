@@ -0,0 +1,38 @@
+package com.supplychainx.common.util;
+
+import lombok.experimental.UtilityClass;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/**
+ * Identification de la contrainte violée derrière une DataIntegrityViolationException
+ */
+@UtilityClass
+public class ConstraintUtil {
+
+    /**
+     * Vrai si la violation porte sur la contrainte d'unicité indiquée
+     *
+     * Le nom remonté par le driver varie selon la base (MySQL : nom de l'index, H2 : description de l'index
+     * avec ses colonnes) : on accepte le nom de la contrainte ou, à défaut, la colonne qu'elle couvre.
+     *
+     * @param e              exception levée par l'écriture
+     * @param constraintName nom de la contrainte (ex: uk_supply_orders_order_number)
+     * @param column         colonne couverte par la contrainte (ex: order_number)
+     */
+    public static boolean isUniqueViolation(Throwable e, String constraintName, String column) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String violated = violation.getConstraintName();
+                if (violated == null) {
+                    return false;
+                }
+                String normalized = violated.toLowerCase(Locale.ROOT);
+                return normalized.contains(constraintName.toLowerCase(Locale.ROOT))
+                        || normalized.contains(column.toLowerCase(Locale.ROOT));
+            }
+        }
+        return false;
+    }
+}
@@ -3,6 +3,9 @@ package com.supplychainx.common.util;
 import com.supplychainx.common.exception.UnauthorizedException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.experimental.UtilityClass;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -14,6 +17,7 @@ public class SecurityUtil {
     public static final String HEADER_PASSWORD = "X-User-Password";
     public static final String HEADER_USER_ID = "X-User-Id";
     public static final String HEADER_USER_ROLE = "X-User-Role";
+    public static final String SYSTEM_USER = "system";
 
 
     public static HttpServletRequest getCurrentRequest() {
@@ -83,4 +87,13 @@ public class SecurityUtil {
             return false;
         }
     }
+
+
+//      Get authenticated username from the security context ("system" for jobs and anonymous calls)
+
+    public static String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : SYSTEM_USER;
+    }
 }
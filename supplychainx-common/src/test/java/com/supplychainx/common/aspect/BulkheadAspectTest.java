@@ -0,0 +1,110 @@
+package com.supplychainx.common.aspect;
+
+import com.supplychainx.common.annotation.Bulkhead;
+import com.supplychainx.common.config.BulkheadProperties;
+import com.supplychainx.common.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportController reports;
+    private ReportController target;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        BulkheadProperties properties = new BulkheadProperties();
+        BulkheadProperties.Group reporting = new BulkheadProperties.Group();
+        reporting.setMaxConcurrent(1);
+        reporting.setRetryAfterSeconds(5);
+        properties.getGroups().put("reporting", reporting);
+
+        target = new ReportController();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new BulkheadAspect(properties, meterRegistry));
+        reports = factory.getProxy();
+    }
+
+    @Test
+    void saturatedGroup_shouldRejectImmediatelyAndRecoverAfterRelease() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = pool.submit(() -> reports.export());
+            assertTrue(target.started.await(5, TimeUnit.SECONDS));
+
+            BulkheadFullException rejected = assertThrows(BulkheadFullException.class, () -> reports.statistics());
+            assertEquals("reporting", rejected.getGroup());
+            assertEquals(5, rejected.getRetryAfterSeconds());
+            assertEquals(1.0, meterRegistry.get(BulkheadAspect.ACTIVE_GAUGE).tag("group", "reporting").gauge().value());
+
+            target.release.countDown();
+            assertEquals("export", slow.get(5, TimeUnit.SECONDS));
+            assertEquals("statistics", reports.statistics());
+            assertEquals(1.0, meterRegistry.get(BulkheadAspect.CALLS_COUNTER)
+                    .tag("group", "reporting").tag("outcome", "rejected").counter().count());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void methodAnnotation_shouldUseItsOwnGroup() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> reports.export());
+            assertTrue(target.started.await(5, TimeUnit.SECONDS));
+
+            // Groupe non configuré : valeurs par défaut, indépendant de la cloison saturée
+            assertEquals("create", reports.create());
+            target.release.countDown();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void aspect_shouldRunAfterMethodSecurity() {
+        // Un appel refusé par @PreAuthorize ne doit pas consommer de place dans la cloison
+        assertTrue(OrderUtils.getOrder(BulkheadAspect.class) > AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        assertTrue(OrderUtils.getOrder(BulkheadAspect.class)
+                < OrderUtils.getOrder(IdempotencyAspect.class, Ordered.LOWEST_PRECEDENCE));
+    }
+
+    @Bulkhead("reporting")
+    static class ReportController {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        public String export() throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "export";
+        }
+
+        public String statistics() {
+            return "statistics";
+        }
+
+        @Bulkhead("orders")
+        public String create() {
+            return "create";
+        }
+    }
+}
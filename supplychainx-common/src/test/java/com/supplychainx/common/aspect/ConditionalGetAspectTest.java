@@ -0,0 +1,116 @@
+package com.supplychainx.common.aspect;
+
+import com.supplychainx.common.annotation.ConditionalGet;
+import com.supplychainx.common.config.ConditionalGetProperties;
+import com.supplychainx.common.entity.BaseEntity;
+import com.supplychainx.common.etag.EntityVersion;
+import com.supplychainx.common.etag.EntityVersionResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConditionalGetAspectTest {
+
+    private EntityVersionResolver resolver;
+    private CatalogController target;
+    private CatalogController controller;
+
+    @BeforeEach
+    void setup() {
+        resolver = mock(EntityVersionResolver.class);
+        target = new CatalogController();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ConditionalGetAspect(resolver, new ConditionalGetProperties(), new SimpleMeterRegistry()));
+        controller = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void matchingIfNoneMatch_shouldReturn304WithoutExecutingController() {
+        when(resolver.tableVersion(Item.class)).thenReturn(EntityVersion.modifiedAt(3, LocalDateTime.now().minusMinutes(5)));
+
+        MockHttpServletResponse first = bind(null);
+        assertEquals("items", controller.list());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/\""));
+
+        MockHttpServletResponse second = bind(etag);
+        assertNull(controller.list());
+        assertEquals(304, second.getStatus());
+        assertEquals(etag, second.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void changedVersion_shouldReturnFreshContent() {
+        when(resolver.tableVersion(Item.class)).thenReturn(EntityVersion.modifiedAt(3, LocalDateTime.now().minusMinutes(5)));
+        bind(null);
+        controller.list();
+        String etag = currentResponse().getHeader(HttpHeaders.ETAG);
+
+        when(resolver.tableVersion(Item.class)).thenReturn(EntityVersion.counter("a1b2", 4));
+        MockHttpServletResponse response = bind(etag);
+
+        assertEquals("items", controller.list());
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void recentModification_shouldNotEmitEtag() {
+        when(resolver.tableVersion(Item.class)).thenReturn(EntityVersion.modifiedAt(3, LocalDateTime.now()));
+        MockHttpServletResponse response = bind("*");
+
+        assertEquals("items", controller.list());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletResponse bind(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private static MockHttpServletResponse currentResponse() {
+        return (MockHttpServletResponse) ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes())
+                .getResponse();
+    }
+
+    static class Item extends BaseEntity {
+    }
+
+    static class CatalogController {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @ConditionalGet(Item.class)
+        public String list() {
+            calls.incrementAndGet();
+            return "items";
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.supplychainx.common.aspect;
+
+import com.supplychainx.common.annotation.SingleFlight;
+import com.supplychainx.common.config.SingleFlightProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardService dashboard;
+    private DashboardService target;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new DashboardService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(meterRegistry, new SingleFlightProperties()));
+        dashboard = factory.getProxy();
+    }
+
+    @Test
+    void concurrentIdenticalCalls_shouldExecuteOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                results.add(pool.submit(() -> dashboard.countByStatus("EN_COURS")));
+            }
+            Thread.sleep(200);
+            target.release.countDown();
+
+            for (Future<Long> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, target.executions.get());
+            assertEquals(9.0, meterRegistry.get(SingleFlightAspect.COUNTER_NAME)
+                    .tag("outcome", "coalesced").counter().count());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void differentArguments_shouldNotBeMerged() {
+        target.release.countDown();
+
+        dashboard.countByStatus("EN_COURS");
+        dashboard.countByStatus("RECUE");
+
+        assertEquals(2, target.executions.get());
+    }
+
+    @Test
+    void ttl_shouldServeCachedResult() {
+        target.release.countDown();
+
+        assertEquals(1, dashboard.cachedTotal());
+        assertEquals(1, dashboard.cachedTotal());
+        assertEquals(1, target.executions.get());
+    }
+
+    static class DashboardService {
+
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @SingleFlight
+        public Long countByStatus(String status) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return (long) executions.incrementAndGet();
+        }
+
+        @SingleFlight(ttlMs = 60000)
+        public int cachedTotal() {
+            return executions.incrementAndGet();
+        }
+    }
+}
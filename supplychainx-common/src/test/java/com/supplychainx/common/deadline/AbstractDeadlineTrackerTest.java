@@ -0,0 +1,185 @@
+package com.supplychainx.common.deadline;
+
+import com.supplychainx.common.event.OrderDeletedEvent;
+import com.supplychainx.common.event.OrderUpdatedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractDeadlineTrackerTest {
+
+    private static final String ORDER_TYPE = "TEST_ORDER";
+    private static final LocalDate YESTERDAY = LocalDate.now().minusDays(1);
+
+    private final StubTracker tracker = new StubTracker();
+
+    @Test
+    void orderDeletedEvent_shouldUntrackWithoutReloading() {
+        tracker.orders.put(1L, entry(1L, YESTERDAY));
+        tracker.resync();
+        assertEquals(List.of(1L), tracker.findLateOrderIds());
+
+        tracker.onOrderEvent(new OrderDeletedEvent(ORDER_TYPE, 1L));
+
+        assertTrue(tracker.findLateOrderIds().isEmpty());
+        assertEquals(0, tracker.getTrackedCount());
+        assertEquals(0, tracker.singleLoads);
+    }
+
+    @Test
+    void refresh_shouldNotBeOverwrittenByResyncLoadedBeforeIt() throws Exception {
+        tracker.orders.put(1L, entry(1L, YESTERDAY));
+        tracker.resync();
+
+        // La resynchronisation lit l'ancien état, puis la commande est livrée et son événement arrive
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        tracker.blockNextLoad(loaded, release);
+        Thread resync = new Thread(tracker::resync, "resync");
+        resync.start();
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+        tracker.orders.remove(1L);
+        Thread refresh = new Thread(() -> tracker.onOrderEvent(new OrderUpdatedEvent(ORDER_TYPE, 1L)), "refresh");
+        refresh.start();
+        awaitBlocked(refresh);
+
+        release.countDown();
+        resync.join(5000);
+        refresh.join(5000);
+
+        assertTrue(tracker.findLateOrderIds().isEmpty());
+        assertEquals(0, tracker.getTrackedCount());
+    }
+
+    @Test
+    void eventDuringInitialLoad_shouldNotBeLost() throws Exception {
+        // Premier chargement : la commande n'est pas encore suivie, puis elle passe en cours pendant la lecture
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        tracker.blockNextLoad(loaded, release);
+        Thread resync = new Thread(tracker::resync, "resync");
+        resync.start();
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+        tracker.orders.put(1L, entry(1L, YESTERDAY));
+        Thread refresh = new Thread(() -> tracker.onOrderEvent(new OrderUpdatedEvent(ORDER_TYPE, 1L)), "refresh");
+        refresh.start();
+        awaitBlocked(refresh);
+
+        release.countDown();
+        resync.join(5000);
+        refresh.join(5000);
+
+        assertEquals(List.of(1L), tracker.findLateOrderIds());
+    }
+
+    @Test
+    void refresh_shouldReadInItsOwnTransaction() {
+        tracker.resync();
+
+        tracker.onOrderEvent(new OrderUpdatedEvent(ORDER_TYPE, 1L));
+
+        // Appelé après le commit : la transaction d'origine, terminée, ne doit pas être réutilisée
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, tracker.transactionManager.lastPropagation);
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.BLOCKED) {
+            assertTrue(System.nanoTime() < deadline, "Le rafraîchissement doit attendre la resynchronisation");
+            Thread.sleep(5);
+        }
+    }
+
+    private static DeadlineIndex.Entry entry(Long id, LocalDate deadline) {
+        return new DeadlineIndex.Entry(id, "ORD-" + id, deadline);
+    }
+
+    private static final class StubTracker extends AbstractDeadlineTracker {
+
+        private final Map<Long, DeadlineIndex.Entry> orders = new ConcurrentHashMap<>();
+        private volatile CountDownLatch loaded;
+        private volatile CountDownLatch release;
+        private volatile int singleLoads;
+
+        private final RecordingTransactionManager transactionManager;
+
+        StubTracker() {
+            this(new RecordingTransactionManager());
+        }
+
+        private StubTracker(RecordingTransactionManager transactionManager) {
+            super(event -> { }, transactionManager);
+            this.transactionManager = transactionManager;
+        }
+
+        void blockNextLoad(CountDownLatch loaded, CountDownLatch release) {
+            this.loaded = loaded;
+            this.release = release;
+        }
+
+        @Override
+        protected String orderType() {
+            return ORDER_TYPE;
+        }
+
+        @Override
+        protected String entityName() {
+            return "TestOrder";
+        }
+
+        @Override
+        protected List<DeadlineIndex.Entry> loadTrackedEntries() {
+            List<DeadlineIndex.Entry> entries = List.copyOf(orders.values());
+            CountDownLatch latch = loaded;
+            if (latch != null) {
+                loaded = null;
+                latch.countDown();
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return entries;
+        }
+
+        @Override
+        protected Optional<DeadlineIndex.Entry> loadTrackedEntry(Long orderId) {
+            singleLoads++;
+            return Optional.ofNullable(orders.get(orderId));
+        }
+    }
+
+    private static final class RecordingTransactionManager implements PlatformTransactionManager {
+
+        private volatile int lastPropagation = -1;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            lastPropagation = definition.getPropagationBehavior();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
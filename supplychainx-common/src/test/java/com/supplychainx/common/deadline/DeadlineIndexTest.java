@@ -0,0 +1,96 @@
+package com.supplychainx.common.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+
+    private final DeadlineIndex index = new DeadlineIndex();
+
+    @Test
+    void advance_shouldReportOnlyPassedDeadlinesOnce() {
+        index.track(entry(1L, TODAY.minusDays(2)));
+        index.track(entry(2L, TODAY));
+        index.track(entry(3L, TODAY.minusDays(1)));
+
+        assertEquals(List.of(1L, 3L), ids(index.advance(TODAY)));
+        assertTrue(index.advance(TODAY).isEmpty());
+        assertEquals(List.of(2L), ids(index.advance(TODAY.plusDays(1))));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void track_shouldRescheduleExistingEntry() {
+        index.track(entry(1L, TODAY.minusDays(1)));
+        index.track(entry(1L, TODAY.plusDays(5)));
+
+        assertTrue(index.advance(TODAY).isEmpty());
+        assertEquals(1, index.size());
+
+        // Une commande en retard dont l'échéance est repoussée n'est plus en retard
+        index.advance(TODAY.plusDays(6));
+        index.track(entry(1L, TODAY.plusDays(10)));
+        assertTrue(index.lateEntries().isEmpty());
+    }
+
+    @Test
+    void untrack_shouldRemoveUpcomingAndLateEntries() {
+        index.track(entry(1L, TODAY.minusDays(1)));
+        index.track(entry(2L, TODAY.plusDays(1)));
+        index.advance(TODAY);
+
+        index.untrack(1L);
+        index.untrack(2L);
+
+        assertTrue(index.lateEntries().isEmpty());
+        assertTrue(index.advance(TODAY.plusDays(2)).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void lateEntriesAsOf_shouldIncludeNotYetAdvancedWithoutMovingThem() {
+        index.track(entry(1L, TODAY.minusDays(3)));
+        index.track(entry(2L, TODAY.minusDays(1)));
+        index.track(entry(3L, TODAY.plusDays(1)));
+        index.advance(TODAY.minusDays(2));
+
+        assertEquals(List.of(1L, 2L), ids(index.lateEntries(TODAY)).stream().sorted().toList());
+        // La lecture ne signale rien : l'entrée 2 reste à annoncer par advance()
+        assertEquals(List.of(2L), ids(index.advance(TODAY)));
+    }
+
+    @Test
+    void reset_shouldNotReportAlreadyLateEntriesAgain() {
+        index.track(entry(1L, TODAY.minusDays(1)));
+        index.advance(TODAY);
+
+        index.reset(List.of(entry(1L, TODAY.minusDays(1)), entry(2L, TODAY.minusDays(1))));
+
+        assertEquals(List.of(2L), ids(index.advance(TODAY)));
+        assertEquals(2, index.lateEntries().size());
+    }
+
+    @Test
+    void manyReschedules_shouldKeepHeapCompact() {
+        for (int i = 0; i < 1_000; i++) {
+            index.track(entry(1L, TODAY.plusDays(i % 30)));
+        }
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(1L), ids(index.advance(TODAY.plusDays(100))));
+    }
+
+    private static DeadlineIndex.Entry entry(Long id, LocalDate deadline) {
+        return new DeadlineIndex.Entry(id, "CMD-" + id, deadline);
+    }
+
+    private static List<Long> ids(List<DeadlineIndex.Entry> entries) {
+        return entries.stream().map(DeadlineIndex.Entry::id).toList();
+    }
+}
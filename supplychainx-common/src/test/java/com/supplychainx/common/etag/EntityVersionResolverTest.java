@@ -0,0 +1,61 @@
+package com.supplychainx.common.etag;
+
+import com.supplychainx.common.entity.BaseEntity;
+import com.supplychainx.common.invalidation.CacheInvalidationBus;
+import com.supplychainx.common.invalidation.InvalidationKey;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EntityVersionResolverTest {
+
+    private EntityManager entityManager;
+    private EntityVersionResolver resolver;
+
+    @BeforeEach
+    void setup() {
+        entityManager = mock(EntityManager.class);
+        CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+        when(bus.handles("Item")).thenReturn(true);
+        resolver = new EntityVersionResolver(entityManager, bus, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void tableVersion_shouldChangeOnlyAfterWritesWithoutQueryingTheDatabase() {
+        EntityVersion initial = resolver.tableVersion(Item.class);
+        assertEquals(initial, resolver.tableVersion(Item.class));
+        assertNull(initial.lastModified());
+
+        resolver.onInvalidation(new InvalidationKey("Item", 4L), false);
+        EntityVersion afterLocalWrite = resolver.tableVersion(Item.class);
+        assertNotEquals(initial, afterLocalWrite);
+
+        // Écriture d'un autre nœud, reçue par le bus
+        resolver.onInvalidation(InvalidationKey.all("Item"), true);
+        assertNotEquals(afterLocalWrite, resolver.tableVersion(Item.class));
+
+        resolver.onInvalidation(new InvalidationKey("Other", 1L), false);
+        assertEquals(resolver.tableVersion(Item.class), resolver.tableVersion(Item.class));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void tableVersion_shouldNotMatchAcrossNodeStarts() {
+        CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+        when(bus.handles("Item")).thenReturn(true);
+        EntityVersionResolver otherNode = new EntityVersionResolver(entityManager, bus,
+                mock(PlatformTransactionManager.class));
+
+        // Même nombre d'écritures vues, états potentiellement différents : versions distinctes
+        assertNotEquals(resolver.tableVersion(Item.class), otherNode.tableVersion(Item.class));
+    }
+
+    static class Item extends BaseEntity {
+    }
+}
@@ -0,0 +1,135 @@
+package com.supplychainx.common.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.supplychainx.common.config.EventStreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStreamBroadcasterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        EventStreamProperties properties = new EventStreamProperties();
+        properties.setMaxSenderThreads(4);
+        properties.setSendTimeoutMs(50);
+        broadcaster = new EventStreamBroadcaster(properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void slowSubscriber_shouldNotDelayOthers() throws Exception {
+        BlockingEmitter slow = new BlockingEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        broadcaster.register(slow, Set.of(), null);
+        broadcaster.register(fast, Set.of(), null);
+
+        broadcaster.broadcast(event(1L));
+
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        // Le client lent occupe son thread : le client rapide est servi par un autre
+        assertTrue(fast.received.await(5, TimeUnit.SECONDS));
+        slow.release.countDown();
+    }
+
+    @Test
+    void stalledSend_shouldEvictSubscriber() throws Exception {
+        BlockingEmitter slow = new BlockingEmitter();
+        broadcaster.register(slow, Set.of(), null);
+        broadcaster.register(new RecordingEmitter(), Set.of(), null);
+
+        broadcaster.broadcast(event(1L));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        broadcaster.evictStalledSubscribers();
+
+        assertEquals(1, broadcaster.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("supplychainx.stream.evicted").counter().count());
+        slow.release.countDown();
+    }
+
+    @Test
+    void fanOutBeyondSenderThreads_shouldQueueWithoutEvicting() throws Exception {
+        // 4 threads d'écriture, tous occupés par des envois lents mais sains
+        List<BlockingEmitter> busy = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            BlockingEmitter emitter = new BlockingEmitter();
+            busy.add(emitter);
+            broadcaster.register(emitter, Set.of(), null);
+        }
+        List<RecordingEmitter> waiting = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            waiting.add(emitter);
+            broadcaster.register(emitter, Set.of(), null);
+        }
+
+        broadcaster.broadcast(event(1L));
+        broadcaster.sendHeartbeats();
+        for (BlockingEmitter emitter : busy) {
+            assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(24, broadcaster.getSubscriberCount());
+        busy.forEach(emitter -> emitter.release.countDown());
+        for (RecordingEmitter emitter : waiting) {
+            assertTrue(emitter.received.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(24, broadcaster.getSubscriberCount());
+        assertEquals(0.0, meterRegistry.get("supplychainx.stream.evicted").counter().count());
+    }
+
+    private static OrderLateEvent event(Long orderId) {
+        return new OrderLateEvent("SUPPLY", orderId, "SO-" + orderId, LocalDate.now(), LocalDateTime.now());
+    }
+
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+}
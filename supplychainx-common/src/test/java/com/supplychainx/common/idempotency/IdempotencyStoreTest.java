@@ -0,0 +1,155 @@
+package com.supplychainx.common.idempotency;
+
+import com.supplychainx.common.config.IdempotencyProperties;
+import com.supplychainx.common.exception.IdempotencyConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private IdempotencyStore store;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS idempotency_keys (idempotency_key VARCHAR(255) PRIMARY KEY, "
+                + "fingerprint VARCHAR(64) NOT NULL, status VARCHAR(20) NOT NULL, response_status INT, "
+                + "response_body CLOB, created_at TIMESTAMP NOT NULL, expires_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS orders (id INT PRIMARY KEY)");
+        jdbcTemplate.execute("DELETE FROM idempotency_keys");
+        jdbcTemplate.execute("DELETE FROM orders");
+        store = new IdempotencyStore(jdbcTemplate, transactionManager, new IdempotencyProperties());
+    }
+
+    @Test
+    void retry_shouldReplayStoredResponseWithoutExecuting() {
+        IdempotencyStore.Result first = store.execute("user:key-1", "fp", this::createOrder);
+        IdempotencyStore.Result retry = store.execute("user:key-1", "fp", this::createOrder);
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.response(), retry.response());
+        assertEquals(1, executions.get());
+
+        // Après redémarrage (cache mémoire vide), la réponse est relue en base
+        IdempotencyStore restarted = new IdempotencyStore(jdbcTemplate, transactionManager, new IdempotencyProperties());
+        assertTrue(restarted.execute("user:key-1", "fp", this::createOrder).replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void sameKeyForDifferentRequest_shouldBeRejected() {
+        store.execute("user:key-2", "fp", this::createOrder);
+
+        assertThrows(IdempotencyConflictException.class,
+                () -> store.execute("user:key-2", "autre-requete", this::createOrder));
+    }
+
+    @Test
+    void failedExecution_shouldReleaseKey() {
+        assertThrows(IllegalStateException.class, () -> store.execute("user:key-3", "fp", () -> {
+            throw new IllegalStateException("échec");
+        }));
+
+        assertFalse(store.execute("user:key-3", "fp", this::createOrder).replayed());
+    }
+
+    @Test
+    void failedCompletion_shouldRollBackActionAndLeaveKeyRetryable() {
+        // La clé est reprise par un autre nœud pendant l'exécution : le passage à COMPLETED échoue
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("user:key-5", "fp", () -> {
+            StoredResponse response = createOrder();
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", "user:key-5");
+            return response;
+        }));
+
+        assertEquals(0, count("SELECT COUNT(*) FROM orders"));
+        assertEquals(0, count("SELECT COUNT(*) FROM idempotency_keys WHERE status = 'PROCESSING'"));
+        assertFalse(store.execute("user:key-5", "fp", this::createOrder).replayed());
+        assertEquals(1, count("SELECT COUNT(*) FROM orders"));
+    }
+
+    @Test
+    void abandonedProcessingKey_shouldBeTakenOverAfterTimeout() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setProcessingTimeoutMs(1_000);
+        IdempotencyStore shortTimeout = new IdempotencyStore(jdbcTemplate, transactionManager, properties);
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(1);
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, created_at, expires_at) "
+                        + "VALUES (?, ?, 'PROCESSING', ?, ?)", "user:key-6", "fp",
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt.plusHours(24)));
+
+        assertFalse(shortTimeout.execute("user:key-6", "fp", this::createOrder).replayed());
+        assertTrue(shortTimeout.execute("user:key-6", "fp", this::createOrder).replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicates_shouldCollapseOntoOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<IdempotencyStore.Result>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> store.execute("user:key-4", "fp", () -> {
+                    awaitQuietly(release);
+                    return createOrder();
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            int replayed = 0;
+            for (Future<IdempotencyStore.Result> result : results) {
+                if (result.get(5, TimeUnit.SECONDS).replayed()) {
+                    replayed++;
+                }
+            }
+            assertEquals(1, executions.get());
+            assertEquals(7, replayed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private StoredResponse createOrder() {
+        int id = executions.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO orders (id) VALUES (?)", id);
+        return new StoredResponse("fp", 201, "{\"id\":" + id + "}");
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
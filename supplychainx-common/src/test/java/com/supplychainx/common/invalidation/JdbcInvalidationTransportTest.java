@@ -0,0 +1,60 @@
+package com.supplychainx.common.invalidation;
+
+import com.supplychainx.common.config.CacheInvalidationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcInvalidationTransportTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcInvalidationTransport nodeA;
+    private JdbcInvalidationTransport nodeB;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:invalidations;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cache_invalidations");
+        jdbcTemplate.execute("CREATE TABLE cache_invalidations (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "entity_name VARCHAR(100) NOT NULL, entity_id BIGINT, origin VARCHAR(200) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL)");
+        nodeA = new JdbcInvalidationTransport(jdbcTemplate, new CacheInvalidationProperties());
+        nodeB = new JdbcInvalidationTransport(jdbcTemplate, new CacheInvalidationProperties());
+        // Premier appel : position initiale en fin de table
+        nodeA.receive("node-a");
+        nodeB.receive("node-b");
+    }
+
+    @Test
+    void receive_shouldReturnOtherNodesKeysOnlyOnce() {
+        nodeA.publish("node-a", List.of(new InvalidationKey("Product", 7L), InvalidationKey.all("User")));
+
+        assertEquals(List.of(new InvalidationKey("Product", 7L), InvalidationKey.all("User")), nodeB.receive("node-b"));
+        assertEquals(List.of(), nodeB.receive("node-b"));
+        assertEquals(List.of(), nodeA.receive("node-a"));
+    }
+
+    @Test
+    void receive_shouldPickUpRowsCommittedAfterAHigherId() {
+        // L'identifiant 2 est attribué mais sa transaction n'est validée qu'après celle de l'identifiant 3
+        insert(1, "RawMaterial", 10L);
+        insert(3, "RawMaterial", 30L);
+        assertEquals(List.of(new InvalidationKey("RawMaterial", 10L), new InvalidationKey("RawMaterial", 30L)),
+                nodeB.receive("node-b"));
+
+        insert(2, "RawMaterial", 20L);
+        assertEquals(List.of(new InvalidationKey("RawMaterial", 20L)), nodeB.receive("node-b"));
+        assertEquals(List.of(), nodeB.receive("node-b"));
+    }
+
+    private void insert(long id, String entity, Long entityId) {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (id, entity_name, entity_id, origin, created_at) "
+                + "VALUES (?, ?, ?, 'node-a', CURRENT_TIMESTAMP)", id, entity, entityId);
+    }
+}
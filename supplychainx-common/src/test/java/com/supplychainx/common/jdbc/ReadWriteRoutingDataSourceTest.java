@@ -0,0 +1,101 @@
+package com.supplychainx.common.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setup() {
+        // Deux bases H2 locales, chacune marquée par son rôle
+        primary = h2("primary");
+        replica = h2("replica");
+
+        routing = new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(30));
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseReplica() {
+        assertEquals("replica", readOnlyTx.execute(status -> currentRole()));
+        assertEquals("primary", writeTx.execute(status -> currentRole()));
+        assertEquals("primary", currentRole());
+    }
+
+    @Test
+    void replicaDown_shouldFallBackToPrimary() {
+        replica.setUrl("jdbc:h2:tcp://localhost:1/indisponible");
+
+        assertEquals("primary", readOnlyTx.execute(status -> currentRole()));
+        assertFalse(routing.isReplicaHealthy());
+        assertFalse(routing.checkReplicaHealth(1));
+
+        replica.setUrl(h2Url("replica"));
+        assertTrue(routing.checkReplicaHealth(1));
+        assertEquals("replica", readOnlyTx.execute(status -> currentRole()));
+    }
+
+    @Test
+    void writer_shouldReadOwnWritesFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        assertEquals("replica", readOnlyTx.execute(status -> currentRole()));
+
+        writeTx.executeWithoutResult(status -> jdbcTemplate.update("UPDATE db_role SET touched = TRUE"));
+        assertEquals("primary", readOnlyTx.execute(status -> currentRole()));
+
+        // Les autres utilisateurs continuent de lire sur le réplica
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+        assertEquals("replica", readOnlyTx.execute(status -> currentRole()));
+    }
+
+    private String currentRole() {
+        return jdbcTemplate.queryForObject("SELECT name FROM db_role", String.class);
+    }
+
+    private static DriverManagerDataSource h2(String role) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(h2Url(role), "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS db_role (name VARCHAR(20), touched BOOLEAN DEFAULT FALSE)");
+        jdbc.execute("DELETE FROM db_role");
+        jdbc.update("INSERT INTO db_role (name) VALUES (?)", role);
+        return dataSource;
+    }
+
+    private static String h2Url(String role) {
+        return "jdbc:h2:mem:routing_" + role + ";DB_CLOSE_DELAY=-1";
+    }
+}
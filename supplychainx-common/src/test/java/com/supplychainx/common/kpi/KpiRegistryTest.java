@@ -0,0 +1,201 @@
+package com.supplychainx.common.kpi;
+
+import com.supplychainx.common.config.KpiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KpiRegistryTest {
+
+    private static final String STOCK_VALUE = "stock.value";
+
+    private JdbcTemplate jdbcTemplate;
+    private StubContributor contributor;
+    private KpiRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:kpi;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS kpi_counters (name VARCHAR(100) PRIMARY KEY, "
+                + "kpi_value DOUBLE NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("DELETE FROM kpi_counters");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS kpi_source (total DOUBLE NOT NULL)");
+        jdbcTemplate.execute("DELETE FROM kpi_source");
+        jdbcTemplate.execute("INSERT INTO kpi_source (total) VALUES (0)");
+
+        contributor = new StubContributor(jdbcTemplate);
+        registry = newRegistry();
+    }
+
+    @Test
+    void value_shouldBeNullUntilInitialized() {
+        assertNull(registry.value(STOCK_VALUE));
+
+        contributor.setTotal(100.0);
+        registry.initialize();
+
+        assertEquals(100.0, registry.value(STOCK_VALUE));
+    }
+
+    @Test
+    void deltas_shouldBeAppliedOnTopOfReconciledValue() {
+        contributor.setTotal(100.0);
+        registry.initialize();
+
+        registry.apply(Map.of(STOCK_VALUE, 25.0));
+        registry.apply(Map.of(STOCK_VALUE, -5.0));
+
+        assertEquals(120.0, registry.value(STOCK_VALUE));
+    }
+
+    @Test
+    void reconcile_shouldKeepDeltasAppliedDuringRecompute() throws Exception {
+        contributor.setTotal(100.0);
+        registry.initialize();
+        registry.apply(Map.of(STOCK_VALUE, 10.0));
+
+        // Une écriture validée pendant le recalcul n'est pas vue par l'instantané, et n'attend pas sa fin
+        contributor.setTotal(110.0);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            contributor.duringRecompute = () -> assertDoesNotThrow(() -> pool.submit(() -> {
+                long stamp = registry.enterCommit();
+                try {
+                    contributor.add(7.0);
+                    registry.apply(Map.of(STOCK_VALUE, 7.0));
+                } finally {
+                    registry.exitCommit(stamp);
+                }
+            }).get(5, TimeUnit.SECONDS));
+            registry.reconcile();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(117.0, registry.value(STOCK_VALUE));
+        contributor.duringRecompute = () -> { };
+        registry.reconcile();
+        assertEquals(117.0, registry.value(STOCK_VALUE));
+    }
+
+    @Test
+    void reconcile_shouldNotDoubleCountCommitsInFlight() throws Exception {
+        contributor.setTotal(0.0);
+        registry.initialize();
+        int writers = 4;
+        int commitsPerWriter = 2_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        try {
+            Future<?> reconciler = pool.submit(() -> {
+                while (writing.get()) {
+                    registry.reconcile();
+                }
+            });
+            List<Future<?>> commits = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                commits.add(pool.submit(() -> {
+                    for (int i = 0; i < commitsPerWriter; i++) {
+                        // Écriture validée en base, puis delta appliqué par l'événement post-commit
+                        long stamp = registry.enterCommit();
+                        try {
+                            contributor.add(1.0);
+                            registry.apply(Map.of(STOCK_VALUE, 1.0));
+                        } finally {
+                            registry.exitCommit(stamp);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> commit : commits) {
+                commit.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            reconciler.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(writers * commitsPerWriter, registry.value(STOCK_VALUE), 1e-6);
+        registry.reconcile();
+        assertEquals(writers * commitsPerWriter, registry.value(STOCK_VALUE), 1e-6);
+    }
+
+    @Test
+    void persistedSnapshot_shouldBeServedAfterRestart() {
+        contributor.setTotal(42.0);
+        registry.initialize();
+        registry.persist();
+
+        contributor.failing = true;
+        KpiRegistry restarted = newRegistry();
+        restarted.initialize();
+
+        assertEquals(42.0, restarted.value(STOCK_VALUE));
+    }
+
+    private KpiRegistry newRegistry() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("contributor", contributor);
+        KpiProperties properties = new KpiProperties();
+        properties.setSnapshotIsolation(Isolation.SERIALIZABLE);
+        return new KpiRegistry(beanFactory.getBeanProvider(KpiContributor.class), jdbcTemplate,
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()), properties,
+                new SimpleMeterRegistry());
+    }
+
+    // Source en base H2 : le recalcul lit l'instantané ouvert par le registre
+    private static class StubContributor implements KpiContributor {
+
+        private final JdbcTemplate jdbcTemplate;
+        private boolean failing;
+        private Runnable duringRecompute = () -> { };
+
+        StubContributor(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        void setTotal(double total) {
+            jdbcTemplate.update("UPDATE kpi_source SET total = ?", total);
+        }
+
+        void add(double value) {
+            jdbcTemplate.update("UPDATE kpi_source SET total = total + ?", value);
+        }
+
+        @Override
+        public Class<?> entityType() {
+            return Object.class;
+        }
+
+        @Override
+        public Map<String, Double> contribution(State state) {
+            return Map.of(STOCK_VALUE, state.getDouble("value"));
+        }
+
+        @Override
+        public Map<String, Double> recompute() {
+            if (failing) {
+                throw new IllegalStateException("base indisponible");
+            }
+            duringRecompute.run();
+            return Map.of(STOCK_VALUE, jdbcTemplate.queryForObject("SELECT total FROM kpi_source", Double.class));
+        }
+    }
+}
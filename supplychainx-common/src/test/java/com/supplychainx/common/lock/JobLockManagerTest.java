@@ -0,0 +1,112 @@
+package com.supplychainx.common.lock;
+
+import com.supplychainx.common.config.JobLockProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobLockManagerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private final List<JobLockManager> managers = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:joblocks;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS job_locks (lock_name VARCHAR(150) PRIMARY KEY, "
+                + "owner VARCHAR(200) NOT NULL, fencing_token BIGINT NOT NULL, locked_at TIMESTAMP NOT NULL, "
+                + "locked_until TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("DELETE FROM job_locks");
+    }
+
+    @AfterEach
+    void shutdown() {
+        managers.forEach(JobLockManager::shutdown);
+    }
+
+    @Test
+    void runExclusively_shouldSkipWhileAnotherNodeHoldsTheLease() {
+        JobLockManager nodeA = manager("node-a", 30000);
+        JobLockManager nodeB = manager("node-b", 30000);
+        AtomicBoolean ranOnB = new AtomicBoolean();
+
+        boolean ranOnA = nodeA.runExclusively("cleanup", lease ->
+                assertFalse(nodeB.runExclusively("cleanup", other -> ranOnB.set(true))));
+
+        assertTrue(ranOnA);
+        assertFalse(ranOnB.get());
+        // Durée minimale de détention : même occurrence déclenchée un peu plus tard sur B
+        assertFalse(nodeB.runExclusively("cleanup", lease -> ranOnB.set(true)));
+    }
+
+    @Test
+    void expiredLease_shouldBeTakenOverWithHigherFencingToken() {
+        JobLockManager nodeA = manager("node-a", 0);
+        JobLockManager nodeB = manager("node-b", 0);
+        AtomicLong tokenA = new AtomicLong();
+        AtomicLong tokenB = new AtomicLong();
+
+        nodeA.runExclusively("stock-check", lease -> {
+            tokenA.set(lease.fencingToken());
+            // Nœud A figé au-delà de son bail : B reprend le verrou
+            jdbcTemplate.update("UPDATE job_locks SET locked_until = DATEADD('SECOND', -1, CURRENT_TIMESTAMP)");
+            assertTrue(nodeB.runExclusively("stock-check", other -> tokenB.set(other.fencingToken())));
+            assertThrows(JobLeaseLostException.class, lease::verify);
+            assertFalse(lease.isHeld());
+        });
+
+        assertTrue(tokenB.get() > tokenA.get());
+    }
+
+    @Test
+    void staleLeadership_shouldFailVerificationWhileLocalClockStillValid() {
+        JobLockManager nodeA = manager("node-a", 0);
+        JobLockManager nodeB = manager("node-b", 0);
+        JobLease leaseA = nodeA.leadership("outbox-relay");
+        assertNotNull(leaseA);
+
+        // Bail expiré en base pendant une pause de A : B prend le rôle avec un jeton plus grand
+        jdbcTemplate.update("UPDATE job_locks SET locked_until = DATEADD('SECOND', -1, CURRENT_TIMESTAMP)");
+        JobLease leaseB = nodeB.leadership("outbox-relay");
+        assertNotNull(leaseB);
+        assertTrue(leaseB.fencingToken() > leaseA.fencingToken());
+
+        assertTrue(leaseA.isHeld());
+        assertThrows(JobLeaseLostException.class, leaseA::verify);
+        assertDoesNotThrow(leaseB::verify);
+        assertNull(nodeA.leadership("outbox-relay"));
+    }
+
+    @Test
+    void runSharded_shouldProcessEveryShardOnce() {
+        JobLockManager nodeA = manager("node-a", 30000);
+        JobLockManager nodeB = manager("node-b", 30000);
+        List<Integer> shards = new ArrayList<>();
+
+        int onA = nodeA.runSharded("stock-check", 4, (lease, shard) -> shards.add(shard.index()));
+        int onB = nodeB.runSharded("stock-check", 4, (lease, shard) -> shards.add(shard.index()));
+
+        assertEquals(4, onA + onB);
+        assertEquals(List.of(0, 1, 2, 3), shards.stream().sorted().toList());
+    }
+
+    private JobLockManager manager(String nodeId, long minHoldMs) {
+        JobLockProperties properties = new JobLockProperties();
+        properties.setNodeId(nodeId);
+        properties.setMinHoldMs(minHoldMs);
+        JobLockManager manager = new JobLockManager(jdbcTemplate, properties, new SimpleMeterRegistry());
+        managers.add(manager);
+        return manager;
+    }
+}
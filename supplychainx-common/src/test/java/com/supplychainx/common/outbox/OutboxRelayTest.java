@@ -0,0 +1,143 @@
+package com.supplychainx.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supplychainx.common.config.JobLockProperties;
+import com.supplychainx.common.config.OutboxProperties;
+import com.supplychainx.common.event.StockChangedEvent;
+import com.supplychainx.common.lock.JobLease;
+import com.supplychainx.common.lock.JobLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxRelayTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private OutboxPublisher publisher;
+    private JobLockManager lockManager;
+    private OutboxProperties properties;
+    private RecordingHandler handler;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS outbox_events");
+        jdbcTemplate.execute("CREATE TABLE outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "aggregate_type VARCHAR(50) NOT NULL, aggregate_id BIGINT NOT NULL, event_type VARCHAR(100) NOT NULL, "
+                + "payload TEXT NOT NULL, status VARCHAR(20) NOT NULL, attempts INT DEFAULT 0 NOT NULL, "
+                + "next_attempt_at TIMESTAMP NOT NULL, last_error VARCHAR(500), created_at TIMESTAMP NOT NULL, "
+                + "published_at TIMESTAMP)");
+
+        JobLockProperties lockProperties = new JobLockProperties();
+        lockProperties.setEnabled(false);
+        lockManager = new JobLockManager(jdbcTemplate, lockProperties, new SimpleMeterRegistry());
+        properties = new OutboxProperties();
+        handler = new RecordingHandler();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("handler", handler);
+        publisher = new OutboxPublisher(jdbcTemplate, new ObjectMapper());
+        relay = new OutboxRelay(jdbcTemplate, new ObjectMapper(), lockManager, properties,
+                beanFactory.getBeanProvider(ResolvableType.forClass(DomainEventHandler.class)), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+        lockManager.shutdown();
+    }
+
+    @Test
+    void append_shouldRequireTransactionAndRollBackWithIt() {
+        assertThrows(IllegalStateException.class, () -> publisher.append(stockChanged(1L, 5)));
+
+        assertThrows(IllegalArgumentException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            publisher.append(stockChanged(1L, 5));
+            throw new IllegalArgumentException("annulation");
+        }));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class));
+    }
+
+    @Test
+    void relayBatch_shouldHoldBackLaterEventsOfAFailedAggregateOnly() {
+        append(stockChanged(1L, 10), stockChanged(1L, 20), stockChanged(2L, 30));
+        handler.failOnce.add(10.0);
+        JobLease lease = lockManager.leadership(OutboxRelay.RELAY_ROLE);
+
+        assertEquals(3, relay.relayBatch(lease));
+        assertEquals(List.of(30.0), handler.delivered);
+        // Le premier événement attend sa nouvelle tentative, le suivant du même agrégat aussi
+        assertEquals(0, relay.relayBatch(lease));
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = DATEADD('HOUR', -1, CURRENT_TIMESTAMP) "
+                + "WHERE status = 'PENDING'");
+        assertEquals(2, relay.relayBatch(lease));
+        assertEquals(List.of(30.0, 10.0, 20.0), handler.delivered);
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE status = 'PUBLISHED'", Integer.class));
+    }
+
+    @Test
+    void relayBatch_shouldGiveUpAfterMaxAttemptsAndReleaseTheAggregate() {
+        properties.setMaxAttempts(1);
+        append(stockChanged(1L, 10), stockChanged(1L, 20));
+        handler.failOnce.add(10.0);
+        JobLease lease = lockManager.leadership(OutboxRelay.RELAY_ROLE);
+
+        relay.relayBatch(lease);
+        relay.relayBatch(lease);
+
+        assertEquals(List.of(20.0), handler.delivered);
+        assertEquals(List.of("FAILED", "PUBLISHED"),
+                jdbcTemplate.queryForList("SELECT status FROM outbox_events ORDER BY id", String.class));
+    }
+
+    private void append(StockChangedEvent... events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (StockChangedEvent event : events) {
+                publisher.append(event);
+            }
+        });
+    }
+
+    private static StockChangedEvent stockChanged(Long materialId, int newStock) {
+        return StockChangedEvent.rawMaterial(materialId, "Acier", 0, newStock, 100);
+    }
+
+    static class RecordingHandler implements DomainEventHandler<StockChangedEvent> {
+
+        final List<Double> delivered = new ArrayList<>();
+        final Set<Double> failOnce = new HashSet<>();
+
+        @Override
+        public Class<StockChangedEvent> eventType() {
+            return StockChangedEvent.class;
+        }
+
+        @Override
+        public synchronized void handle(StockChangedEvent event) {
+            if (failOnce.remove(event.newStock())) {
+                throw new IllegalStateException("consommateur indisponible");
+            }
+            delivered.add(event.newStock());
+        }
+    }
+}
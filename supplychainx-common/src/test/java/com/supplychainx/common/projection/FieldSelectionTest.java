@@ -0,0 +1,81 @@
+package com.supplychainx.common.projection;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.supplychainx.common.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    @Test
+    void parse_shouldReturnAllWhenParameterIsMissing() {
+        assertTrue(FieldSelection.parse(null, OrderDTO.class).isAll());
+        assertTrue(FieldSelection.parse(" ", OrderDTO.class).isAll());
+    }
+
+    @Test
+    void parse_shouldRejectUnknownOrNonNestedFields() {
+        assertThrows(ValidationException.class, () -> FieldSelection.parse("id,unknown", OrderDTO.class));
+        assertThrows(ValidationException.class, () -> FieldSelection.parse("number.length", OrderDTO.class));
+        assertThrows(ValidationException.class, () -> FieldSelection.parse("supplier.unknown", OrderDTO.class));
+    }
+
+    @Test
+    void columnPaths_shouldKeepIdAndSkipCollectionsAndComputedFields() {
+        FieldSelection fields = FieldSelection.parse("number,supplier.name,lines,total", OrderDTO.class);
+
+        assertEquals(List.of("id", "number", "supplier.name"), fields.columnPaths(OrderDTO.class, Set.of("total")));
+    }
+
+    @Test
+    void filter_shouldSerializeOnlySelectedFields() throws Exception {
+        FieldSelection fields = FieldSelection.parse("number,supplier.name,lines.quantity", OrderDTO.class);
+        ObjectMapper mapper = new ObjectMapper().setFilterProvider(new SimpleFilterProvider()
+                .addFilter(FieldSelection.FILTER_ID, new FieldSelectionFilter(fields)));
+        OrderDTO order = new OrderDTO(1L, "CMD-001", 10.0, new SupplierDTO(2L, "Acier SA"),
+                List.of(new LineDTO(3L, 5)));
+
+        String json = mapper.writeValueAsString(List.of(order));
+
+        assertEquals("[{\"number\":\"CMD-001\",\"supplier\":{\"name\":\"Acier SA\"},\"lines\":[{\"quantity\":5}]}]", json);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonFilter(FieldSelection.FILTER_ID)
+    static class OrderDTO {
+        private Long id;
+        private String number;
+        private Double total;
+        private SupplierDTO supplier;
+        private List<LineDTO> lines;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonFilter(FieldSelection.FILTER_ID)
+    static class SupplierDTO {
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonFilter(FieldSelection.FILTER_ID)
+    static class LineDTO {
+        private Long id;
+        private Integer quantity;
+    }
+}
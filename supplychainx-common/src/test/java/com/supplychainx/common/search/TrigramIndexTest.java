@@ -0,0 +1,73 @@
+package com.supplychainx.common.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private static final double MIN_MATCH_RATIO = 0.5;
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new TrigramIndex();
+        index.put(new SearchDocument("material", 1L, "Acier inoxydable", "MAT-001", List.of("Métaux")));
+        index.put(new SearchDocument("material", 2L, "Aluminium", "MAT-002", List.of("Métaux")));
+        index.put(new SearchDocument("product", 3L, "Étagère en acier", "PRD-001", List.of("Mobilier")));
+        index.put(new SearchDocument("supplier", 4L, "Acier", "SUP-001", List.of("contact@acier.fr")));
+    }
+
+    @Test
+    void search_shouldMatchPrefixAndIgnoreAccents() {
+        List<SearchHit> hits = search("etag", 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(3L, hits.get(0).id());
+    }
+
+    @Test
+    void search_shouldTolerateTypos() {
+        List<SearchHit> hits = search("aluminim", 10);
+
+        assertFalse(hits.isEmpty());
+        assertEquals(2L, hits.get(0).id());
+    }
+
+    @Test
+    void search_shouldRankExactThenPrefixMatchesFirst() {
+        List<SearchHit> hits = search("acier", 10);
+
+        assertEquals(List.of(4L, 1L, 3L), hits.stream().map(SearchHit::id).toList());
+        assertEquals(1, search("acier", 1).size());
+    }
+
+    @Test
+    void search_shouldApplyTypeFilter() {
+        List<SearchHit> hits = index.search("acier", "product"::equals, 10, MIN_MATCH_RATIO);
+
+        assertEquals(List.of(3L), hits.stream().map(SearchHit::id).toList());
+    }
+
+    @Test
+    void putAndRemove_shouldReplacePreviousVersion() {
+        index.put(new SearchDocument("material", 2L, "Cuivre", "MAT-002", List.of()));
+
+        assertTrue(search("aluminium", 10).isEmpty());
+        assertEquals(List.of(2L), search("cuiv", 10).stream().map(SearchHit::id).toList());
+
+        index.remove("material", 2L);
+
+        assertTrue(search("cuivre", 10).isEmpty());
+        assertEquals(3, index.size());
+        assertTrue(index.staleRatio() > 0);
+    }
+
+    private List<SearchHit> search(String query, int limit) {
+        return index.search(query, type -> true, limit, MIN_MATCH_RATIO);
+    }
+}
@@ -0,0 +1,24 @@
+package com.supplychainx.common.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlFingerprintTest {
+
+    @Test
+    void of_shouldReplaceLiteralsAndNormalizeSpacingAndCase() {
+        assertEquals("select id from raw_materials where code=? and stock<? and name like ?",
+                SqlFingerprint.of("SELECT id FROM raw_materials\n  WHERE code='RM-''01' AND stock < 10 -- seuil\n AND name LIKE '%acier%'"));
+        assertEquals(SqlFingerprint.of("select * from t1_0 where a=? /* hint */"),
+                SqlFingerprint.of("select *   from t1_0 where a = ?"));
+    }
+
+    @Test
+    void of_shouldCollapseInListsAndRepeatedRows() {
+        assertEquals(SqlFingerprint.of("select * from orders where id in (1, 2, 3)"),
+                SqlFingerprint.of("select * from orders where id in (?,?)"));
+        assertEquals("insert into kpi_counters (name,value) values (?+)+",
+                SqlFingerprint.of("insert into kpi_counters (name, value) values (?, ?), (?, ?), ('x', 3)"));
+    }
+}
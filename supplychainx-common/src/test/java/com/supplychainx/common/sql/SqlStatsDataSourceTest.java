@@ -0,0 +1,77 @@
+package com.supplychainx.common.sql;
+
+import com.supplychainx.common.config.SqlStatsProperties;
+import com.supplychainx.common.jdbc.SqlStatsDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatsDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatsRegistry registry;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        SqlStatsProperties properties = new SqlStatsProperties();
+        properties.setNPlusOneThreshold(3);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new SqlStatsRegistry(properties, meterRegistry);
+        jdbcTemplate = new JdbcTemplate(new SqlStatsDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1", "sa", ""), registry));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS items");
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        registry.reset();
+    }
+
+    @Test
+    void execute_shouldRecordCountsAndRowsPerFingerprintAndCaller() {
+        String previous = registry.enterCaller("ItemService.create");
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+        registry.restoreCaller(previous);
+        jdbcTemplate.queryForList("SELECT name FROM items WHERE id > ?", String.class, 1);
+
+        SqlStatsRegistry.SqlStatsReport report = registry.report("count", 10);
+
+        assertEquals(2, report.trackedQueries());
+        SqlStatsRegistry.QueryStatsSnapshot insert = report.queries().stream()
+                .filter(q -> q.fingerprint().startsWith("insert")).findFirst().orElseThrow();
+        assertEquals("ItemService.create", insert.caller());
+        assertEquals(3, insert.rows());
+        SqlStatsRegistry.QueryStatsSnapshot select = report.queries().stream()
+                .filter(q -> q.fingerprint().startsWith("select")).findFirst().orElseThrow();
+        assertEquals("select name from items where id>?", select.fingerprint());
+        assertEquals(SqlStatsRegistry.NO_CALLER, select.caller());
+        assertEquals(1, select.count());
+        assertEquals(2, select.rows());
+    }
+
+    @Test
+    void endRequest_shouldFlagSelectRepeatedFromSameCaller() {
+        jdbcTemplate.update("INSERT INTO items (id, name) VALUES (1, 'a')");
+        registry.beginRequest();
+        String previous = registry.enterCaller("OrderMapper.toResponseDTO");
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.queryForList("SELECT name FROM items WHERE id = " + i, String.class);
+        }
+        registry.restoreCaller(previous);
+        jdbcTemplate.queryForList("SELECT id FROM items", Long.class);
+        registry.endRequest("OrderController.findAll");
+
+        SqlStatsRegistry.SqlStatsReport report = registry.report("n-plus-one", 10);
+
+        assertEquals("select name from items where id=?", report.queries().get(0).fingerprint());
+        assertEquals(1, report.queries().get(0).nPlusOneRequests());
+        assertEquals(0, report.queries().get(1).nPlusOneRequests());
+        assertEquals(1.0, meterRegistry.get(SqlStatsRegistry.N_PLUS_ONE_COUNTER)
+                .tag("caller", "OrderMapper.toResponseDTO").counter().count());
+    }
+}
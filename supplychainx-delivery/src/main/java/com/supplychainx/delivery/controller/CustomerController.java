@@ -1,7 +1,9 @@
 package com.supplychainx.delivery.controller;
 
+import com.supplychainx.common.annotation.ConditionalGet;
 import com.supplychainx.delivery.dto.request.CustomerRequestDTO;
 import com.supplychainx.delivery.dto.response.CustomerResponseDTO;
+import com.supplychainx.delivery.entity.Customer;
 import com.supplychainx.delivery.service.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -55,6 +57,7 @@ public class CustomerController {
      */
     @PreAuthorize("@securityExpressions.hasPermission('CUSTOMER_READ')")
     @GetMapping("/{id}")
+    @ConditionalGet(value = Customer.class, idVariable = "id")
     public ResponseEntity<CustomerResponseDTO> getById(@PathVariable Long id) {
         log.info("REST request to get Customer : {}", id);
         CustomerResponseDTO response = customerService.getById(id);
@@ -67,6 +70,7 @@ public class CustomerController {
      */
     @PreAuthorize("@securityExpressions.hasPermission('CUSTOMER_READ')")
     @GetMapping("/code/{code}")
+    @ConditionalGet(Customer.class)
     public ResponseEntity<CustomerResponseDTO> getByCode(@PathVariable String code) {
         log.info("REST request to get Customer by code : {}", code);
         CustomerResponseDTO response = customerService.getByCode(code);
@@ -79,6 +83,7 @@ public class CustomerController {
      */
     @PreAuthorize("@securityExpressions.hasPermission('CUSTOMER_READ')")
     @GetMapping
+    @ConditionalGet(Customer.class)
     public ResponseEntity<Page<CustomerResponseDTO>> getAll(
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
         log.info("REST request to get all Customers - page: {}", pageable.getPageNumber());
@@ -92,6 +97,7 @@ public class CustomerController {
      */
     @PreAuthorize("@securityExpressions.hasPermission('CUSTOMER_READ')")
     @GetMapping("/search")
+    @ConditionalGet(Customer.class)
     public ResponseEntity<Page<CustomerResponseDTO>> search(
             @RequestParam String keyword,
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
@@ -106,6 +112,7 @@ public class CustomerController {
      */
     @PreAuthorize("@securityExpressions.hasPermission('CUSTOMER_READ')")
     @GetMapping("/city/{city}")
+    @ConditionalGet(Customer.class)
     public ResponseEntity<Page<CustomerResponseDTO>> getByCity(
             @PathVariable String city,
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
@@ -120,6 +127,7 @@ public class CustomerController {
      */
     @PreAuthorize("@securityExpressions.hasPermission('CUSTOMER_READ')")
     @GetMapping("/country/{country}")
+    @ConditionalGet(Customer.class)
     public ResponseEntity<Page<CustomerResponseDTO>> getByCountry(
             @PathVariable String country,
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
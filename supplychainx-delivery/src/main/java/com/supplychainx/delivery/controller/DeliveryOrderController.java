@@ -1,5 +1,9 @@
 package com.supplychainx.delivery.controller;
 
+import com.supplychainx.common.annotation.Bulkhead;
+import com.supplychainx.common.annotation.Idempotent;
+import com.supplychainx.common.annotation.SparseFieldset;
+import com.supplychainx.common.projection.FieldSelection;
 import com.supplychainx.delivery.dto.request.DeliveryOrderRequestDTO;
 import com.supplychainx.delivery.dto.response.DeliveryOrderResponseDTO;
 import com.supplychainx.delivery.enums.OrderStatus;
@@ -24,6 +28,7 @@ import java.util.List;
 @RequestMapping("/api/delivery/orders")
 @RequiredArgsConstructor
 @Slf4j
+@Bulkhead("delivery")
 public class DeliveryOrderController {
 
     private final DeliveryOrderService deliveryOrderService;
@@ -33,6 +38,7 @@ public class DeliveryOrderController {
      * POST /api/delivery/orders
      */
     @PreAuthorize("@securityExpressions.hasPermission('DELIVERY_ORDER_CREATE')")
+    @Idempotent
     @PostMapping
     public ResponseEntity<DeliveryOrderResponseDTO> create(@Valid @RequestBody DeliveryOrderRequestDTO requestDTO) {
         log.info("REST request to create DeliveryOrder : {}", requestDTO.getOrderNumber());
@@ -85,9 +91,10 @@ public class DeliveryOrderController {
     @PreAuthorize("@securityExpressions.hasPermission('DELIVERY_ORDER_READ')")
     @GetMapping
     public ResponseEntity<Page<DeliveryOrderResponseDTO>> getAll(
-            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+            @SparseFieldset(DeliveryOrderResponseDTO.class) FieldSelection fields) {
         log.info("REST request to get all DeliveryOrders - page: {}", pageable.getPageNumber());
-        Page<DeliveryOrderResponseDTO> response = deliveryOrderService.getAll(pageable);
+        Page<DeliveryOrderResponseDTO> response = deliveryOrderService.getAll(pageable, fields);
         return ResponseEntity.ok(response);
     }
 
@@ -99,9 +106,10 @@ public class DeliveryOrderController {
     @GetMapping("/status/{status}")
     public ResponseEntity<Page<DeliveryOrderResponseDTO>> getByStatus(
             @PathVariable OrderStatus status,
-            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+            @SparseFieldset(DeliveryOrderResponseDTO.class) FieldSelection fields) {
         log.info("REST request to get DeliveryOrders by status : {}", status);
-        Page<DeliveryOrderResponseDTO> response = deliveryOrderService.getByStatus(status, pageable);
+        Page<DeliveryOrderResponseDTO> response = deliveryOrderService.getByStatus(status, pageable, fields);
         return ResponseEntity.ok(response);
     }
 
@@ -113,9 +121,10 @@ public class DeliveryOrderController {
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<Page<DeliveryOrderResponseDTO>> getByCustomer(
             @PathVariable Long customerId,
-            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+            @SparseFieldset(DeliveryOrderResponseDTO.class) FieldSelection fields) {
         log.info("REST request to get DeliveryOrders by customer : {}", customerId);
-        Page<DeliveryOrderResponseDTO> response = deliveryOrderService.getByCustomer(customerId, pageable);
+        Page<DeliveryOrderResponseDTO> response = deliveryOrderService.getByCustomer(customerId, pageable, fields);
         return ResponseEntity.ok(response);
     }
 
@@ -1,11 +1,14 @@
 package com.supplychainx.delivery.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.supplychainx.common.projection.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,7 @@
 package com.supplychainx.delivery.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.supplychainx.common.projection.FieldSelection;
 import com.supplychainx.production.dto.response.ProductResponseDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
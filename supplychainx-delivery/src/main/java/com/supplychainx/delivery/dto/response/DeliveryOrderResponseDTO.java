@@ -1,5 +1,7 @@
 package com.supplychainx.delivery.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.supplychainx.common.projection.FieldSelection;
 import com.supplychainx.delivery.enums.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +12,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
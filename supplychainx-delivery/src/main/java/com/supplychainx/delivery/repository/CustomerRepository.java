@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,4 +29,6 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Page<Customer> findByCity(String city, Pageable pageable);
 
     Page<Customer> findByCountry(String country, Pageable pageable);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.supplychainx.delivery.repository;
 
 import com.supplychainx.delivery.entity.DeliveryOrder;
+import com.supplychainx.delivery.entity.DeliveryOrderLine;
 import com.supplychainx.delivery.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,22 +22,39 @@ public interface DeliveryOrderRepository extends JpaRepository<DeliveryOrder, Lo
 
     boolean existsByOrderNumber(String orderNumber);
 
-        Page<DeliveryOrder> findByStatus(OrderStatus status, Pageable pageable);
+    // La livraison est le côté inverse d'un one-to-one : Hibernate ne peut pas la charger paresseusement
+    // ni par lots, elle est donc jointe aux pages de commandes pour éviter une requête par commande
+    @Query(value = "SELECT d FROM DeliveryOrder d LEFT JOIN FETCH d.delivery",
+           countQuery = "SELECT COUNT(d) FROM DeliveryOrder d")
+    Page<DeliveryOrder> findAllWithDelivery(Pageable pageable);
 
-    Page<DeliveryOrder> findByCustomerId(Long customerId, Pageable pageable);
+    @Query(value = "SELECT d FROM DeliveryOrder d LEFT JOIN FETCH d.delivery WHERE d.status = :status",
+           countQuery = "SELECT COUNT(d) FROM DeliveryOrder d WHERE d.status = :status")
+    Page<DeliveryOrder> findByStatus(@Param("status") OrderStatus status, Pageable pageable);
 
-    @Query("SELECT d FROM DeliveryOrder d WHERE d.orderDate BETWEEN :startDate AND :endDate")
+    @Query(value = "SELECT d FROM DeliveryOrder d LEFT JOIN FETCH d.delivery WHERE d.customer.id = :customerId",
+           countQuery = "SELECT COUNT(d) FROM DeliveryOrder d WHERE d.customer.id = :customerId")
+    Page<DeliveryOrder> findByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(value = "SELECT d FROM DeliveryOrder d LEFT JOIN FETCH d.delivery " +
+                   "WHERE d.orderDate BETWEEN :startDate AND :endDate",
+           countQuery = "SELECT COUNT(d) FROM DeliveryOrder d WHERE d.orderDate BETWEEN :startDate AND :endDate")
     Page<DeliveryOrder> findByOrderDateBetween(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             Pageable pageable
     );
 
-    @Query("SELECT d FROM DeliveryOrder d WHERE d.status = :status AND d.expectedDeliveryDate < :date")
-    List<DeliveryOrder> findDelayedOrders(
-            @Param("status") OrderStatus status,
-            @Param("date") LocalDate date
-    );
+    @Query("SELECT l FROM DeliveryOrderLine l JOIN FETCH l.product WHERE l.deliveryOrder.id IN :orderIds")
+    List<DeliveryOrderLine> findLinesWithProductByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT l.deliveryOrder.id, SUM(l.quantity * l.unitPrice) FROM DeliveryOrderLine l " +
+           "WHERE l.deliveryOrder.id IN :orderIds GROUP BY l.deliveryOrder.id")
+    List<Object[]> sumLineTotalsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT d.id, d.orderNumber, d.expectedDeliveryDate FROM DeliveryOrder d " +
+           "WHERE d.status = :status AND d.expectedDeliveryDate IS NOT NULL")
+    List<Object[]> findDeadlinesByStatus(@Param("status") OrderStatus status);
 
         @Query("SELECT d FROM DeliveryOrder d WHERE d.expectedDeliveryDate = :date AND d.status IN ('EN_PREPARATION', 'EN_ROUTE')")
         List<DeliveryOrder> findOrdersForDeliveryDate(@Param("date") LocalDate date);
@@ -22,18 +22,25 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
 
     Optional<Delivery> findByDeliveryOrderId(Long deliveryOrderId);
 
-    Page<Delivery> findByStatus(DeliveryStatus status, Pageable pageable);
+    // Commande jointe aux listes : chargée seule, elle relirait sa livraison (côté inverse du one-to-one)
+    // par une requête par ligne
+    @Query(value = "SELECT d FROM Delivery d JOIN FETCH d.deliveryOrder",
+           countQuery = "SELECT COUNT(d) FROM Delivery d")
+    Page<Delivery> findAllWithOrder(Pageable pageable);
 
-    @Query("SELECT d FROM Delivery d WHERE d.deliveryDate = :date")
+    @Query(value = "SELECT d FROM Delivery d JOIN FETCH d.deliveryOrder WHERE d.status = :status",
+           countQuery = "SELECT COUNT(d) FROM Delivery d WHERE d.status = :status")
+    Page<Delivery> findByStatus(@Param("status") DeliveryStatus status, Pageable pageable);
+
+    @Query("SELECT d FROM Delivery d JOIN FETCH d.deliveryOrder WHERE d.deliveryDate = :date")
     List<Delivery> findByDeliveryDate(@Param("date") LocalDate date);
 
-    @Query("SELECT d FROM Delivery d WHERE d.status = :status AND d.deliveryDate < :date")
-    List<Delivery> findDelayedDeliveries(
-            @Param("status") DeliveryStatus status,
-            @Param("date") LocalDate date
-    );
+    @Query("SELECT d.id, d.deliveryNumber, d.deliveryDate FROM Delivery d " +
+           "WHERE d.status = :status AND d.deliveryDate IS NOT NULL")
+    List<Object[]> findDeadlinesByStatus(@Param("status") DeliveryStatus status);
 
-    @Query("SELECT d FROM Delivery d WHERE d.driver = :driver AND d.status IN ('PLANIFIEE', 'EN_COURS')")
+    @Query("SELECT d FROM Delivery d JOIN FETCH d.deliveryOrder " +
+           "WHERE d.driver = :driver AND d.status IN ('PLANIFIEE', 'EN_COURS')")
     List<Delivery> findActiveDeliveriesByDriver(@Param("driver") String driver);
 
     @Query("SELECT d FROM Delivery d WHERE d.trackingNumber = :trackingNumber")
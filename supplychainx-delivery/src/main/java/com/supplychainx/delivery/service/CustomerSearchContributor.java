@@ -0,0 +1,46 @@
+package com.supplychainx.delivery.service;
+
+import com.supplychainx.common.search.SearchDocument;
+import com.supplychainx.common.search.SearchIndexContributor;
+import com.supplychainx.delivery.entity.Customer;
+import com.supplychainx.delivery.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Recherche unifiée : nom, code, contact, email et ville des clients
+@Component
+@RequiredArgsConstructor
+public class CustomerSearchContributor implements SearchIndexContributor<Customer> {
+
+    private final CustomerRepository customerRepository;
+
+    @Override
+    public String type() {
+        return "customer";
+    }
+
+    @Override
+    public Class<Customer> entityType() {
+        return Customer.class;
+    }
+
+    @Override
+    public String requiredPermission() {
+        return "CUSTOMER_READ";
+    }
+
+    @Override
+    public SearchDocument toDocument(Customer customer) {
+        return new SearchDocument(type(), customer.getId(), customer.getName(), customer.getCode(),
+                Arrays.asList(customer.getContact(), customer.getEmail(), customer.getCity()));
+    }
+
+    @Override
+    public List<Customer> loadBatch(Long afterId, int batchSize) {
+        return customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+    }
+}
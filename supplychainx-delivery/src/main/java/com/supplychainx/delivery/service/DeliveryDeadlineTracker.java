@@ -0,0 +1,66 @@
+package com.supplychainx.delivery.service;
+
+import com.supplychainx.common.deadline.AbstractDeadlineTracker;
+import com.supplychainx.common.deadline.DeadlineIndex;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.delivery.entity.Delivery;
+import com.supplychainx.delivery.enums.DeliveryStatus;
+import com.supplychainx.delivery.repository.DeliveryRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Index des échéances des livraisons EN_COURS (date de livraison)
+@Component
+public class DeliveryDeadlineTracker extends AbstractDeadlineTracker {
+
+    private final DeliveryRepository deliveryRepository;
+
+    public DeliveryDeadlineTracker(DeliveryRepository deliveryRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        super(eventPublisher, transactionManager);
+        this.deliveryRepository = deliveryRepository;
+    }
+
+    @Override
+    protected String orderType() {
+        return OrderEvent.DELIVERY;
+    }
+
+    @Override
+    protected String entityName() {
+        return Delivery.class.getSimpleName();
+    }
+
+    @Override
+    protected List<DeadlineIndex.Entry> loadTrackedEntries() {
+        return deliveryRepository.findDeadlinesByStatus(DeliveryStatus.EN_COURS).stream()
+                .map(row -> new DeadlineIndex.Entry((Long) row[0], (String) row[1], (LocalDate) row[2]))
+                .toList();
+    }
+
+    @Override
+    protected Optional<DeadlineIndex.Entry> loadTrackedEntry(Long orderId) {
+        return deliveryRepository.findById(orderId)
+                .filter(this::isTracked)
+                .map(delivery -> new DeadlineIndex.Entry(
+                        delivery.getId(), delivery.getDeliveryNumber(), delivery.getDeliveryDate()));
+    }
+
+    /**
+     * Vérifier qu'une livraison signalée par l'index est toujours en retard d'après son état en base :
+     * l'index ne voit les écritures des autres nœuds qu'au passage suivant du bus d'invalidation
+     */
+    public boolean isLate(Delivery delivery, LocalDate today) {
+        return isTracked(delivery) && delivery.getDeliveryDate().isBefore(today);
+    }
+
+    private boolean isTracked(Delivery delivery) {
+        return delivery.getStatus() == DeliveryStatus.EN_COURS && delivery.getDeliveryDate() != null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.supplychainx.delivery.service;
+
+import com.supplychainx.common.deadline.AbstractDeadlineTracker;
+import com.supplychainx.common.deadline.DeadlineIndex;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.delivery.entity.DeliveryOrder;
+import com.supplychainx.delivery.enums.OrderStatus;
+import com.supplychainx.delivery.repository.DeliveryOrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Index des échéances des commandes clients EN_ROUTE (date de livraison prévue)
+@Component
+public class DeliveryOrderDeadlineTracker extends AbstractDeadlineTracker {
+
+    private final DeliveryOrderRepository deliveryOrderRepository;
+
+    public DeliveryOrderDeadlineTracker(DeliveryOrderRepository deliveryOrderRepository,
+                                        ApplicationEventPublisher eventPublisher,
+                                        PlatformTransactionManager transactionManager) {
+        super(eventPublisher, transactionManager);
+        this.deliveryOrderRepository = deliveryOrderRepository;
+    }
+
+    @Override
+    protected String orderType() {
+        return OrderEvent.DELIVERY_ORDER;
+    }
+
+    @Override
+    protected String entityName() {
+        return DeliveryOrder.class.getSimpleName();
+    }
+
+    @Override
+    protected List<DeadlineIndex.Entry> loadTrackedEntries() {
+        return deliveryOrderRepository.findDeadlinesByStatus(OrderStatus.EN_ROUTE).stream()
+                .map(row -> new DeadlineIndex.Entry((Long) row[0], (String) row[1], (LocalDate) row[2]))
+                .toList();
+    }
+
+    @Override
+    protected Optional<DeadlineIndex.Entry> loadTrackedEntry(Long orderId) {
+        return deliveryOrderRepository.findById(orderId)
+                .filter(this::isTracked)
+                .map(order -> new DeadlineIndex.Entry(
+                        order.getId(), order.getOrderNumber(), order.getExpectedDeliveryDate()));
+    }
+
+    /**
+     * Vérifier qu'une commande signalée par l'index est toujours en retard d'après son état en base :
+     * l'index ne voit les écritures des autres nœuds qu'au passage suivant du bus d'invalidation
+     */
+    public boolean isLate(DeliveryOrder order, LocalDate today) {
+        return isTracked(order) && order.getExpectedDeliveryDate().isBefore(today);
+    }
+
+    private boolean isTracked(DeliveryOrder order) {
+        return order.getStatus() == OrderStatus.EN_ROUTE && order.getExpectedDeliveryDate() != null;
+    }
+}
@@ -1,15 +1,27 @@
 package com.supplychainx.delivery.service;
 
+import com.supplychainx.common.event.DeliveryShippedEvent;
+import com.supplychainx.common.event.OrderDeletedEvent;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.common.event.OrderStatusChangedEvent;
+import com.supplychainx.common.event.OrderUpdatedEvent;
 import com.supplychainx.common.exception.BusinessException;
 import com.supplychainx.common.exception.DuplicateResourceException;
 import com.supplychainx.common.exception.ResourceNotFoundException;
+import com.supplychainx.common.outbox.OutboxPublisher;
+import com.supplychainx.common.projection.FieldSelection;
+import com.supplychainx.common.projection.ProjectionQueryExecutor;
+import com.supplychainx.common.util.ConstraintUtil;
 import com.supplychainx.delivery.dto.request.DeliveryOrderLineRequestDTO;
 import com.supplychainx.delivery.dto.request.DeliveryOrderRequestDTO;
+import com.supplychainx.delivery.dto.response.DeliveryOrderLineResponseDTO;
 import com.supplychainx.delivery.dto.response.DeliveryOrderResponseDTO;
 import com.supplychainx.delivery.entity.Customer;
+import com.supplychainx.delivery.entity.Delivery;
 import com.supplychainx.delivery.entity.DeliveryOrder;
 import com.supplychainx.delivery.entity.DeliveryOrderLine;
 import com.supplychainx.delivery.enums.OrderStatus;
+import com.supplychainx.delivery.mapper.DeliveryOrderLineMapper;
 import com.supplychainx.delivery.mapper.DeliveryOrderMapper;
 import com.supplychainx.delivery.repository.CustomerRepository;
 import com.supplychainx.delivery.repository.DeliveryOrderRepository;
@@ -17,14 +29,21 @@ import com.supplychainx.production.entity.Product;
 import com.supplychainx.production.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +55,11 @@ public class DeliveryOrderService {
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
     private final DeliveryOrderMapper deliveryOrderMapper;
+    private final DeliveryOrderLineMapper deliveryOrderLineMapper;
+    private final ProjectionQueryExecutor projectionQueryExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeliveryOrderDeadlineTracker deadlineTracker;
+    private final OutboxPublisher outboxPublisher;
 
     // Créer une nouvelle commande
     @Transactional
@@ -84,7 +108,17 @@ public class DeliveryOrderService {
             deliveryOrder.setStatus(OrderStatus.EN_PREPARATION);
         }
 
-        DeliveryOrder savedOrder = deliveryOrderRepository.save(deliveryOrder);
+        DeliveryOrder savedOrder;
+        try {
+            savedOrder = deliveryOrderRepository.save(deliveryOrder);
+        } catch (DataIntegrityViolationException e) {
+            // Seule une création concurrente avec le même numéro est un doublon : le reste remonte tel quel
+            if (!ConstraintUtil.isUniqueViolation(e, "uk_delivery_orders_order_number", "order_number")) {
+                throw e;
+            }
+            throw new DuplicateResourceException("Une commande avec le numéro " + requestDTO.getOrderNumber() + " existe déjà");
+        }
+        eventPublisher.publishEvent(new OrderUpdatedEvent(OrderEvent.DELIVERY_ORDER, savedOrder.getId()));
 
         log.info("Commande créée avec succès - ID: {}, Numéro: {}", savedOrder.getId(), savedOrder.getOrderNumber());
         return deliveryOrderMapper.toResponseDTO(savedOrder);
@@ -144,6 +178,7 @@ public class DeliveryOrderService {
         existingOrder.getOrderLines().addAll(newOrderLines);
 
         DeliveryOrder updatedOrder = deliveryOrderRepository.save(existingOrder);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(OrderEvent.DELIVERY_ORDER, updatedOrder.getId()));
 
         log.info("Commande mise à jour avec succès - ID: {}", id);
         return deliveryOrderMapper.toResponseDTO(updatedOrder);
@@ -173,10 +208,18 @@ public class DeliveryOrderService {
     public Page<DeliveryOrderResponseDTO> getAll(Pageable pageable) {
         log.info("Récupération de toutes les commandes - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<DeliveryOrder> orders = deliveryOrderRepository.findAll(pageable);
+        Page<DeliveryOrder> orders = deliveryOrderRepository.findAllWithDelivery(pageable);
         return orders.map(deliveryOrderMapper::toResponseDTO);
     }
 
+    // Récupérer toutes les commandes en ne lisant que les champs demandés (fields=...)
+    public Page<DeliveryOrderResponseDTO> getAll(Pageable pageable, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getAll(pageable);
+        }
+        return findProjected(null, pageable, fields);
+    }
+
     // Récupérer les commandes par statut
     public Page<DeliveryOrderResponseDTO> getByStatus(OrderStatus status, Pageable pageable) {
         log.info("Récupération des commandes avec le statut: {}", status);
@@ -185,6 +228,16 @@ public class DeliveryOrderService {
         return orders.map(deliveryOrderMapper::toResponseDTO);
     }
 
+    // Récupérer les commandes par statut (champs demandés uniquement)
+    public Page<DeliveryOrderResponseDTO> getByStatus(OrderStatus status, Pageable pageable, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getByStatus(status, pageable);
+        }
+        log.info("Récupération des commandes avec le statut: {} - Champs: {}", status, fields);
+        Specification<DeliveryOrder> byStatus = (root, query, cb) -> cb.equal(root.get("status"), status);
+        return findProjected(byStatus, pageable, fields);
+    }
+
     // Récupérer les commandes d'un client
     public Page<DeliveryOrderResponseDTO> getByCustomer(Long customerId, Pageable pageable) {
         log.info("Récupération des commandes du client ID: {}", customerId);
@@ -198,6 +251,18 @@ public class DeliveryOrderService {
         return orders.map(deliveryOrderMapper::toResponseDTO);
     }
 
+    // Récupérer les commandes d'un client (champs demandés uniquement)
+    public Page<DeliveryOrderResponseDTO> getByCustomer(Long customerId, Pageable pageable, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getByCustomer(customerId, pageable);
+        }
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Client non trouvé avec l'ID: " + customerId);
+        }
+        Specification<DeliveryOrder> byCustomer = (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+        return findProjected(byCustomer, pageable, fields);
+    }
+
     // Récupérer les commandes entre deux dates
     public Page<DeliveryOrderResponseDTO> getByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         log.info("Récupération des commandes entre {} et {}", startDate, endDate);
@@ -210,7 +275,13 @@ public class DeliveryOrderService {
     public List<DeliveryOrderResponseDTO> getDelayedOrders() {
         log.info("Récupération des commandes en retard");
 
-        List<DeliveryOrder> orders = deliveryOrderRepository.findDelayedOrders(OrderStatus.EN_ROUTE, LocalDate.now());
+        // Index des échéances : lecture par clé primaire des seules commandes en retard, revérifiées en base
+        LocalDate today = LocalDate.now();
+        List<DeliveryOrder> orders = deliveryOrderRepository.findAllById(deadlineTracker.findLateOrderIds()).stream()
+                .filter(order -> deadlineTracker.isLate(order, today))
+                .sorted(Comparator.comparing(DeliveryOrder::getExpectedDeliveryDate,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
         return deliveryOrderMapper.toResponseDTOList(orders);
     }
 
@@ -231,6 +302,7 @@ public class DeliveryOrderService {
             throw new BusinessException("Impossible de modifier le statut d'une commande annulée");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
 
         // Si la commande est livrée, mettre à jour la date de livraison
@@ -239,6 +311,12 @@ public class DeliveryOrderService {
         }
 
         DeliveryOrder updatedOrder = deliveryOrderRepository.save(order);
+        if (newStatus == OrderStatus.EN_ROUTE && previousStatus != OrderStatus.EN_ROUTE) {
+            outboxPublisher.append(DeliveryShippedEvent.of(updatedOrder.getId(), updatedOrder.getOrderNumber(),
+                    updatedOrder.getCustomer() != null ? updatedOrder.getCustomer().getId() : null));
+        }
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(
+                OrderEvent.DELIVERY_ORDER, updatedOrder.getId(), updatedOrder.getOrderNumber(), previousStatus, newStatus));
 
         log.info("Statut de la commande mis à jour - ID: {}, Nouveau statut: {}", id, newStatus);
         return deliveryOrderMapper.toResponseDTO(updatedOrder);
@@ -257,7 +335,42 @@ public class DeliveryOrderService {
             throw new BusinessException("Impossible de supprimer une commande en cours de livraison ou déjà livrée");
         }
 
+        // La livraison de la commande est supprimée en cascade
+        Delivery delivery = order.getDelivery();
         deliveryOrderRepository.delete(order);
+        eventPublisher.publishEvent(new OrderDeletedEvent(OrderEvent.DELIVERY_ORDER, id));
+        if (delivery != null) {
+            eventPublisher.publishEvent(new OrderDeletedEvent(OrderEvent.DELIVERY, delivery.getId()));
+        }
         log.info("Commande supprimée avec succès - ID: {}", id);
     }
+
+    // Colonnes de la commande (et du client si demandé) en une requête ; lignes et montant total calculés pour toute la page
+    private Page<DeliveryOrderResponseDTO> findProjected(Specification<DeliveryOrder> specification, Pageable pageable,
+                                                         FieldSelection fields) {
+        Page<DeliveryOrderResponseDTO> orders = projectionQueryExecutor.findPage(DeliveryOrder.class, specification,
+                pageable, fields.columnPaths(DeliveryOrderResponseDTO.class, Set.of("totalAmount")),
+                DeliveryOrderResponseDTO::new);
+        if (!orders.hasContent()) {
+            return orders;
+        }
+        List<Long> orderIds = orders.map(DeliveryOrderResponseDTO::getId).getContent();
+        if (fields.includes("orderLines")) {
+            Map<Long, List<DeliveryOrderLine>> linesByOrder = deliveryOrderRepository
+                    .findLinesWithProductByOrderIdIn(orderIds).stream()
+                    .collect(Collectors.groupingBy(line -> line.getDeliveryOrder().getId()));
+            orders.forEach(order -> {
+                List<DeliveryOrderLine> lines = linesByOrder.getOrDefault(order.getId(), List.of());
+                List<DeliveryOrderLineResponseDTO> lineDtos = lines.stream().map(deliveryOrderLineMapper::toResponseDTO).toList();
+                order.setOrderLines(lineDtos);
+                order.setTotalAmount(lines.stream().mapToDouble(DeliveryOrderLine::getLineTotal).sum());
+            });
+        } else if (fields.includes("totalAmount")) {
+            // Montant total calculé en base, sans charger les lignes
+            Map<Long, Double> totals = deliveryOrderRepository.sumLineTotalsByOrderIdIn(orderIds).stream()
+                    .collect(Collectors.toMap(row -> (Long) row[0], row -> ((Number) row[1]).doubleValue()));
+            orders.forEach(order -> order.setTotalAmount(totals.getOrDefault(order.getId(), 0.0)));
+        }
+        return orders;
+    }
 }
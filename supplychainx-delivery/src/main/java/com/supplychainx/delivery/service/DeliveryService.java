@@ -1,5 +1,9 @@
 package com.supplychainx.delivery.service;
 
+import com.supplychainx.common.event.OrderDeletedEvent;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.common.event.OrderStatusChangedEvent;
+import com.supplychainx.common.event.OrderUpdatedEvent;
 import com.supplychainx.common.exception.BusinessException;
 import com.supplychainx.common.exception.DuplicateResourceException;
 import com.supplychainx.common.exception.ResourceNotFoundException;
@@ -13,12 +17,14 @@ import com.supplychainx.delivery.repository.DeliveryOrderRepository;
 import com.supplychainx.delivery.repository.DeliveryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -30,6 +36,8 @@ public class DeliveryService {
     private final DeliveryRepository deliveryRepository;
     private final DeliveryOrderRepository deliveryOrderRepository;
     private final DeliveryMapper deliveryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeliveryDeadlineTracker deadlineTracker;
 
     // Créer une nouvelle livraison
     @Transactional
@@ -60,6 +68,7 @@ public class DeliveryService {
         }
 
         Delivery savedDelivery = deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(OrderEvent.DELIVERY, savedDelivery.getId()));
 
         log.info("Livraison créée avec succès - ID: {}, Numéro: {}", savedDelivery.getId(), savedDelivery.getDeliveryNumber());
         return deliveryMapper.toResponseDTO(savedDelivery);
@@ -93,6 +102,7 @@ public class DeliveryService {
         existingDelivery.setDeliveryOrder(deliveryOrder);
 
         Delivery updatedDelivery = deliveryRepository.save(existingDelivery);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(OrderEvent.DELIVERY, updatedDelivery.getId()));
 
         log.info("Livraison mise à jour avec succès - ID: {}", id);
         return deliveryMapper.toResponseDTO(updatedDelivery);
@@ -142,7 +152,7 @@ public class DeliveryService {
     public Page<DeliveryResponseDTO> getAll(Pageable pageable) {
         log.info("Récupération de toutes les livraisons - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Delivery> deliveries = deliveryRepository.findAll(pageable);
+        Page<Delivery> deliveries = deliveryRepository.findAllWithOrder(pageable);
         return deliveries.map(deliveryMapper::toResponseDTO);
     }
 
@@ -166,7 +176,13 @@ public class DeliveryService {
     public List<DeliveryResponseDTO> getDelayedDeliveries() {
         log.info("Récupération des livraisons en retard");
 
-        List<Delivery> deliveries = deliveryRepository.findDelayedDeliveries(DeliveryStatus.EN_COURS, LocalDate.now());
+        // Index des échéances : lecture par clé primaire des seules livraisons en retard, revérifiées en base
+        LocalDate today = LocalDate.now();
+        List<Delivery> deliveries = deliveryRepository.findAllById(deadlineTracker.findLateOrderIds()).stream()
+                .filter(delivery -> deadlineTracker.isLate(delivery, today))
+                .sorted(Comparator.comparing(Delivery::getDeliveryDate,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
         return deliveryMapper.toResponseDTOList(deliveries);
     }
 
@@ -195,6 +211,7 @@ public class DeliveryService {
             throw new BusinessException("Impossible de modifier le statut d'une livraison annulée");
         }
 
+        DeliveryStatus previousStatus = delivery.getStatus();
         delivery.setStatus(newStatus);
 
         // Si la livraison est effectuée, mettre à jour la date de livraison
@@ -203,6 +220,7 @@ public class DeliveryService {
         }
 
         Delivery updatedDelivery = deliveryRepository.save(delivery);
+        publishStatusChange(updatedDelivery, previousStatus);
 
         log.info("Statut de la livraison mis à jour - ID: {}, Nouveau statut: {}", id, newStatus);
         return deliveryMapper.toResponseDTO(updatedDelivery);
@@ -220,13 +238,21 @@ public class DeliveryService {
             throw new BusinessException("Cette livraison est déjà marquée comme livrée");
         }
 
+        DeliveryStatus previousStatus = delivery.getStatus();
         delivery.markAsDelivered();
         Delivery updatedDelivery = deliveryRepository.save(delivery);
+        publishStatusChange(updatedDelivery, previousStatus);
 
         log.info("Livraison marquée comme livrée - ID: {}", id);
         return deliveryMapper.toResponseDTO(updatedDelivery);
     }
 
+    // Diffuser le changement de statut (après commit) sur le flux temps réel
+    private void publishStatusChange(Delivery delivery, DeliveryStatus previousStatus) {
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(
+                OrderEvent.DELIVERY, delivery.getId(), delivery.getDeliveryNumber(), previousStatus, delivery.getStatus()));
+    }
+
     // Supprimer une livraison
     @Transactional
     public void delete(Long id) {
@@ -241,6 +267,7 @@ public class DeliveryService {
         }
 
         deliveryRepository.delete(delivery);
+        eventPublisher.publishEvent(new OrderDeletedEvent(OrderEvent.DELIVERY, id));
         log.info("Livraison supprimée avec succès - ID: {}", id);
     }
 }
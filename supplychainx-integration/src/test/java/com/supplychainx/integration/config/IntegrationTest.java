@@ -3,10 +3,11 @@ package com.supplychainx.integration.config;
 import com.supplychainx.SupplyChainXApplication;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
@@ -15,27 +16,47 @@ import org.testcontainers.utility.DockerImageName;
  * Utilise un conteneur MySQL singleton partagé entre tous les tests
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-@ContextConfiguration(classes = SupplyChainXApplication.class)
+@ContextConfiguration(
+        classes = {SupplyChainXApplication.class, QueryCountConfig.class},
+        initializers = IntegrationTest.MySqlInitializer.class)
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 public abstract class IntegrationTest {
     
-    private static final MySQLContainer<?> MYSQL_CONTAINER;
-    
-    static {
-        MYSQL_CONTAINER = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+    /**
+     * Conteneur démarré au premier accès seulement
+     */
+    private static final class MySql {
+        
+        private static final MySQLContainer<?> CONTAINER = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
                 .withDatabaseName("test_supplychainx_db")
                 .withUsername("test")
                 .withPassword("test")
                 .withReuse(true);
-        MYSQL_CONTAINER.start();
+        
+        static {
+            CONTAINER.start();
+        }
     }
     
-    @DynamicPropertySource
-    static void configureProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.datasource.url", MYSQL_CONTAINER::getJdbcUrl);
-        registry.add("spring.datasource.username", MYSQL_CONTAINER::getUsername);
-        registry.add("spring.datasource.password", MYSQL_CONTAINER::getPassword);
-        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+    /**
+     * Branche la datasource sur le conteneur MySQL, sauf si le profil actif fournit déjà une base H2
+     * (test de charge) : aucun Docker n'est alors requis
+     */
+    static class MySqlInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            String url = context.getEnvironment().getProperty("spring.datasource.url", "");
+            if (url.startsWith("jdbc:h2:")) {
+                return;
+            }
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + MySql.CONTAINER.getJdbcUrl(),
+                    "spring.datasource.username=" + MySql.CONTAINER.getUsername(),
+                    "spring.datasource.password=" + MySql.CONTAINER.getPassword(),
+                    "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver"
+            ).applyTo(context.getEnvironment());
+        }
     }
 }
@@ -0,0 +1,89 @@
+package com.supplychainx.integration.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Enveloppe la DataSource de l'application pour alimenter {@link QueryCounter}
+ *
+ * Chaque appel execute* compte pour un ordre (un lot JDBC compte donc pour un seul ordre).
+ */
+@TestConfiguration
+public class QueryCountConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor queryCountDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class QueryCountingDataSource extends DelegatingDataSource {
+
+        QueryCountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return instrument(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return instrument(super.getConnection(username, password));
+        }
+
+        private static Connection instrument(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return switch (method.getName()) {
+                            case "prepareStatement" -> instrument((Statement) result, PreparedStatement.class, (String) args[0]);
+                            case "prepareCall" -> instrument((Statement) result, CallableStatement.class, (String) args[0]);
+                            case "createStatement" -> instrument((Statement) result, Statement.class, null);
+                            default -> result;
+                        };
+                    });
+        }
+
+        private static Statement instrument(Statement target, Class<? extends Statement> type, String preparedSql) {
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            QueryCounter.record(preparedSql != null ? preparedSql
+                                    : args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
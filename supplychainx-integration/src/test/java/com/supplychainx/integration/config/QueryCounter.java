@@ -0,0 +1,160 @@
+package com.supplychainx.integration.config;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Budget d'ordres SQL par bloc de test
+ *
+ * Le comptage est propre au thread du test (MockMvc exécute la requête dans ce thread) : les tâches
+ * planifiées, le relais de l'outbox et les autres threads de fond ne faussent pas les budgets.
+ * Il démarre à {@link #reset()} ; chaque ordre exécuté est classé selon son premier mot-clé.
+ *
+ * <pre>
+ * QueryCounter.reset();
+ * mockMvc.perform(get("/api/supply-orders")...);
+ * QueryCounter.assertSelectCount(3);
+ * </pre>
+ *
+ * Pour une liste, {@link #selectCount()} permet de vérifier que le nombre d'ordres ne croît pas avec
+ * la taille de la page (absence de N+1).
+ */
+public final class QueryCounter {
+
+    // Ordres conservés pour le message d'échec
+    private static final int MAX_LOGGED_STATEMENTS = 50;
+
+    private static final ThreadLocal<Counts> COUNTS = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Remettre les compteurs du thread courant à zéro et démarrer le comptage
+     */
+    public static void reset() {
+        COUNTS.set(new Counts());
+    }
+
+    public static void assertSelectCount(int max) {
+        assertCount(Kind.SELECT, max);
+    }
+
+    public static void assertInsertCount(int max) {
+        assertCount(Kind.INSERT, max);
+    }
+
+    public static void assertUpdateCount(int max) {
+        assertCount(Kind.UPDATE, max);
+    }
+
+    public static void assertDeleteCount(int max) {
+        assertCount(Kind.DELETE, max);
+    }
+
+    public static void assertTotalCount(int max) {
+        assertCount(null, max);
+    }
+
+    /**
+     * Nombre d'ordres SELECT exécutés depuis {@link #reset()}, pour comparer deux mesures entre elles
+     */
+    public static int selectCount() {
+        return counts().count(Kind.SELECT);
+    }
+
+    static void record(String sql) {
+        Counts counts = COUNTS.get();
+        if (counts != null && sql != null) {
+            counts.add(Kind.of(sql), sql);
+        }
+    }
+
+    private static void assertCount(Kind kind, int max) {
+        Counts counts = counts();
+        int actual = counts.count(kind);
+        if (actual > max) {
+            Assertions.fail(String.format("Budget SQL dépassé : %d ordres %s exécutés pour un maximum de %d%n%s",
+                    actual, kind == null ? "au total" : kind.name(), max, counts.describe()));
+        }
+    }
+
+    private static Counts counts() {
+        Counts counts = COUNTS.get();
+        if (counts == null) {
+            throw new IllegalStateException("QueryCounter.reset() doit être appelé avant les assertions");
+        }
+        return counts;
+    }
+
+    enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        static Kind of(String sql) {
+            String keyword = firstKeyword(sql);
+            return switch (keyword) {
+                case "select", "with" -> SELECT;
+                case "insert" -> INSERT;
+                case "update" -> UPDATE;
+                case "delete" -> DELETE;
+                default -> OTHER;
+            };
+        }
+
+        // Premier mot après les blancs, commentaires et parenthèses ouvrantes
+        private static String firstKeyword(String sql) {
+            int i = 0;
+            int length = sql.length();
+            while (i < length) {
+                char c = sql.charAt(i);
+                if (Character.isWhitespace(c) || c == '(') {
+                    i++;
+                } else if (sql.startsWith("/*", i)) {
+                    int end = sql.indexOf("*/", i + 2);
+                    i = end < 0 ? length : end + 2;
+                } else if (sql.startsWith("--", i)) {
+                    int end = sql.indexOf('\n', i);
+                    i = end < 0 ? length : end + 1;
+                } else {
+                    break;
+                }
+            }
+            int start = i;
+            while (i < length && Character.isLetter(sql.charAt(i))) {
+                i++;
+            }
+            return sql.substring(start, i).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class Counts {
+
+        private final int[] byKind = new int[Kind.values().length];
+        private final List<String> statements = new ArrayList<>();
+        private int total;
+
+        void add(Kind kind, String sql) {
+            byKind[kind.ordinal()]++;
+            total++;
+            if (statements.size() < MAX_LOGGED_STATEMENTS) {
+                statements.add(sql);
+            }
+        }
+
+        int count(Kind kind) {
+            return kind == null ? total : byKind[kind.ordinal()];
+        }
+
+        String describe() {
+            StringBuilder builder = new StringBuilder("Ordres exécutés :");
+            statements.forEach(sql -> builder.append(System.lineSeparator()).append("  ").append(sql));
+            if (total > statements.size()) {
+                builder.append(System.lineSeparator()).append("  ... ").append(total - statements.size()).append(" autres");
+            }
+            return builder.toString();
+        }
+    }
+}
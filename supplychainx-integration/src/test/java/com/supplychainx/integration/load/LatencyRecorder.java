@@ -0,0 +1,106 @@
+package com.supplychainx.integration.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collecte les latences par endpoint et produit le rapport de débit / percentiles
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        stats.computeIfAbsent(endpoint, k -> new EndpointStats()).record(elapsedNanos, success);
+    }
+
+    long totalErrors() {
+        return stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+    }
+
+    long totalRequests() {
+        return stats.values().stream().mapToLong(EndpointStats::count).sum();
+    }
+
+    /**
+     * Construire le rapport trié par endpoint
+     */
+    List<EndpointReport> report(long wallClockNanos) {
+        double seconds = wallClockNanos / 1_000_000_000.0;
+        List<EndpointReport> reports = new ArrayList<>();
+        new TreeMap<>(stats).forEach((endpoint, s) -> reports.add(s.toReport(endpoint, seconds)));
+        return reports;
+    }
+
+    String format(List<EndpointReport> reports) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-55s %8s %7s %10s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+        for (EndpointReport r : reports) {
+            sb.append(String.format("%-55s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.endpoint(), r.requests(), r.errors(), r.throughput(), r.p50(), r.p95(), r.p99(), r.max()));
+        }
+        return sb.toString();
+    }
+
+    void writeCsv(List<EndpointReport> reports, Path target) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms");
+        for (EndpointReport r : reports) {
+            lines.add(String.format(java.util.Locale.ROOT, "\"%s\",%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f",
+                    r.endpoint(), r.requests(), r.errors(), r.throughput(), r.p50(), r.p95(), r.p99(), r.max()));
+        }
+        Files.createDirectories(target.getParent());
+        Files.write(target, lines);
+    }
+
+    record EndpointReport(String endpoint, long requests, long errors, double throughput,
+                          double p50, double p95, double p99, double max) {
+    }
+
+    private static final class EndpointStats {
+
+        private final LongAdder errors = new LongAdder();
+        private long[] samples = new long[256];
+        private int size;
+
+        synchronized void record(long elapsedNanos, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = elapsedNanos;
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        synchronized long count() {
+            return size;
+        }
+
+        synchronized EndpointReport toReport(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new EndpointReport(endpoint, size, errors.sum(), seconds > 0 ? size / seconds : 0,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+        }
+
+        // Méthode "nearest-rank"
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.supplychainx.integration.load;
+
+import com.jayway.jsonpath.JsonPath;
+import com.supplychainx.delivery.entity.Customer;
+import com.supplychainx.delivery.repository.CustomerRepository;
+import com.supplychainx.integration.config.IntegrationTest;
+import com.supplychainx.production.entity.BillOfMaterial;
+import com.supplychainx.production.entity.Product;
+import com.supplychainx.production.repository.BillOfMaterialRepository;
+import com.supplychainx.production.repository.ProductRepository;
+import com.supplychainx.supply.entity.RawMaterial;
+import com.supplychainx.supply.entity.Supplier;
+import com.supplychainx.supply.repository.RawMaterialRepository;
+import com.supplychainx.supply.repository.SupplierRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Harnais de charge E2E sur une base H2 en mémoire (mode MySQL)
+ *
+ * Chaque utilisateur virtuel exécute en boucle le scénario complet :
+ * login → commande d'approvisionnement → réception → production → commande client → livraison
+ *
+ * Même contexte que les tests d'intégration ({@link IntegrationTest}) ; le profil loadtest fournit la base H2,
+ * le conteneur MySQL n'est alors pas démarré.
+ *
+ * Désactivé par défaut. Exécution :
+ * mvn -pl supplychainx-integration test -Dtest=WorkflowLoadTest -Dloadtest.enabled=true
+ *     [-Dloadtest.users=8] [-Dloadtest.iterations=5] [-Dloadtest.seed=20]
+ *
+ * Le rapport est affiché en fin d'exécution et écrit dans target/load-test-report.csv
+ */
+@ActiveProfiles(value = "loadtest", inheritProfiles = false)
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+@DisplayName("Load Test - Full workflow on embedded H2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WorkflowLoadTest extends IntegrationTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 8);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 5);
+    private static final int SEED_SIZE = Integer.getInteger("loadtest.seed", 20);
+
+    private static final String PASSWORD = "password123";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final Queue<String> scenarioFailures = new ConcurrentLinkedQueue<>();
+
+    private List<Long> supplierIds;
+    private List<Long> materialIds;
+    private List<Long> productIds;
+    private List<Long> customerIds;
+
+    @BeforeAll
+    void seedData() {
+        List<Supplier> suppliers = new ArrayList<>();
+        List<RawMaterial> materials = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>();
+
+        for (int i = 0; i < SEED_SIZE; i++) {
+            suppliers.add(Supplier.builder()
+                    .code("SUP-LOAD-" + i).name("Load Supplier " + i)
+                    .email("supplier" + i + "@load.test").rating(4.0).leadTime(5)
+                    .build());
+            materials.add(RawMaterial.builder()
+                    .code("RM-LOAD-" + i).name("Load Material " + i).category("Load")
+                    .unit("kg").unitPrice(10.0).stock(1_000_000).stockMin(10)
+                    .build());
+            products.add(Product.builder()
+                    .code("PROD-LOAD-" + i).name("Load Product " + i).category("Load")
+                    .productionTime(10).cost(50.0).stock(1_000_000.0).stockMin(10.0)
+                    .build());
+            customers.add(Customer.builder()
+                    .code("CUS-LOAD-" + i).name("Load Customer " + i)
+                    .email("customer" + i + "@load.test").city("Casablanca").country("Maroc")
+                    .build());
+        }
+
+        supplierIds = supplierRepository.saveAll(suppliers).stream().map(Supplier::getId).toList();
+        materials = rawMaterialRepository.saveAll(materials);
+        materialIds = materials.stream().map(RawMaterial::getId).toList();
+        products = productRepository.saveAll(products);
+        productIds = products.stream().map(Product::getId).toList();
+        customerIds = customerRepository.saveAll(customers).stream().map(Customer::getId).toList();
+
+        // Nomenclature : chaque produit consomme une matière première
+        List<BillOfMaterial> boms = new ArrayList<>();
+        for (int i = 0; i < SEED_SIZE; i++) {
+            boms.add(BillOfMaterial.builder()
+                    .product(products.get(i)).rawMaterial(materials.get(i))
+                    .quantity(1.0).unit("kg")
+                    .build());
+        }
+        billOfMaterialRepository.saveAll(boms);
+    }
+
+    @Test
+    void runConcurrentWorkflows() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(USERS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int user = 0; user < USERS; user++) {
+            futures.add(executor.submit(() -> {
+                VirtualUser virtualUser = new VirtualUser();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    try {
+                        virtualUser.runScenario();
+                    } catch (RuntimeException e) {
+                        // Un scénario en échec n'interrompt pas les autres : l'erreur est comptée dans le rapport
+                        scenarioFailures.add(e.getMessage());
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.MINUTES);
+        }
+        long wallClock = System.nanoTime() - start;
+        executor.shutdown();
+
+        List<LatencyRecorder.EndpointReport> reports = recorder.report(wallClock);
+        recorder.writeCsv(reports, Path.of("target", "load-test-report.csv"));
+        System.out.printf("%nLoad test: %d users x %d iterations, %d requests in %.1f s (%.1f req/s)%n%s%n",
+                USERS, ITERATIONS, recorder.totalRequests(), wallClock / 1e9,
+                recorder.totalRequests() / (wallClock / 1e9), recorder.format(reports));
+
+        scenarioFailures.stream().limit(5).forEach(failure -> System.out.println("Scenario failure: " + failure));
+        Assertions.assertEquals(0, recorder.totalErrors(), "Some requests failed during the load test");
+    }
+
+    /**
+     * Un utilisateur virtuel : se connecte une fois par rôle puis enchaîne les scénarios
+     */
+    private final class VirtualUser {
+
+        private final String purchaseToken = login("purchase_manager");
+        private final String productionToken = login("production_manager");
+        private final String salesToken = login("sales_manager");
+        private final String logisticsToken = login("delivery_logistics");
+
+        void runScenario() {
+            int n = sequence.incrementAndGet();
+            int slot = ThreadLocalRandom.current().nextInt(SEED_SIZE);
+
+            // 1. Approvisionnement : création, passage en cours, réception
+            String supplyOrder = call("POST", "/api/supply-orders", "POST /api/supply-orders", purchaseToken, """
+                    {"orderNumber": "SO-LOAD-%d", "supplierId": %d, "orderDate": "%s", "expectedDeliveryDate": "%s",
+                     "status": "EN_ATTENTE", "orderLines": [{"materialId": %d, "quantity": 50, "unitPrice": 10.0}]}
+                    """.formatted(n, supplierIds.get(slot), TODAY, TODAY.plusDays(7), materialIds.get(slot)));
+            Long supplyOrderId = extractId(supplyOrder);
+            call("PATCH", "/api/supply-orders/" + supplyOrderId + "/status?status=EN_COURS",
+                    "PATCH /api/supply-orders/{id}/status", purchaseToken, null);
+            call("PATCH", "/api/supply-orders/" + supplyOrderId + "/receive?actualDeliveryDate=" + TODAY,
+                    "PATCH /api/supply-orders/{id}/receive", purchaseToken, null);
+
+            // 2. Production : création, démarrage, fin
+            String productionOrder = call("POST", "/api/production/production-orders",
+                    "POST /api/production/production-orders", productionToken, """
+                    {"orderNumber": "PO-LOAD-%d", "productId": %d, "quantity": 5, "priority": "STANDARD"}
+                    """.formatted(n, productIds.get(slot)));
+            Long productionOrderId = extractId(productionOrder);
+            call("PATCH", "/api/production/production-orders/" + productionOrderId + "/start",
+                    "PATCH /api/production/production-orders/{id}/start", productionToken, null);
+            call("PATCH", "/api/production/production-orders/" + productionOrderId + "/complete",
+                    "PATCH /api/production/production-orders/{id}/complete", productionToken, null);
+
+            // 3. Livraison : commande client, livraison, expédition, remise
+            String deliveryOrder = call("POST", "/api/delivery/orders", "POST /api/delivery/orders", salesToken, """
+                    {"orderNumber": "DO-LOAD-%d", "customerId": %d, "orderDate": "%s", "expectedDeliveryDate": "%s",
+                     "deliveryAddress": "1 Load Street", "deliveryCity": "Casablanca", "status": "EN_PREPARATION",
+                     "orderLines": [{"productId": %d, "quantity": 5, "unitPrice": 120.0}]}
+                    """.formatted(n, customerIds.get(slot), TODAY, TODAY.plusDays(3), productIds.get(slot)));
+            Long deliveryOrderId = extractId(deliveryOrder);
+            String delivery = call("POST", "/api/delivery/deliveries", "POST /api/delivery/deliveries", logisticsToken, """
+                    {"deliveryNumber": "DEL-LOAD-%d", "deliveryOrderId": %d, "vehicle": "Truck-%d", "driver": "Driver %d",
+                     "status": "PLANIFIEE", "deliveryDate": "%s", "cost": 25.5, "trackingNumber": "TRK-LOAD-%d"}
+                    """.formatted(n, deliveryOrderId, slot, slot, TODAY.plusDays(3), n));
+            Long deliveryId = extractId(delivery);
+            call("PATCH", "/api/delivery/deliveries/" + deliveryId + "/status?status=EN_COURS",
+                    "PATCH /api/delivery/deliveries/{id}/status", logisticsToken, null);
+            call("PATCH", "/api/delivery/deliveries/" + deliveryId + "/deliver",
+                    "PATCH /api/delivery/deliveries/{id}/deliver", logisticsToken, null);
+        }
+
+        private String login(String username) {
+            String response = call("POST", "/api/auth/login", "POST /api/auth/login", null, """
+                    {"username": "%s", "password": "%s"}
+                    """.formatted(username, PASSWORD));
+            return JsonPath.read(response, "$.token");
+        }
+    }
+
+    private String call(String method, String path, String endpoint, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            if (!success) {
+                throw new IllegalStateException(endpoint + " -> HTTP " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(endpoint + " interrupted", e);
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            throw new IllegalStateException(endpoint + " failed", e);
+        }
+    }
+
+    // Les modules Supply (ApiResponse) et Production/Delivery (DTO direct) n'enveloppent pas les réponses de la même façon
+    private static Long extractId(String json) {
+        Object data = JsonPath.read(json, "$");
+        String path = data instanceof Map<?, ?> map && map.containsKey("data") ? "$.data.id" : "$.id";
+        Number id = JsonPath.read(json, path);
+        return id.longValue();
+    }
+}
@@ -2,6 +2,7 @@ package com.supplychainx.integration.workflow;
 
 import com.jayway.jsonpath.JsonPath;
 import com.supplychainx.integration.config.IntegrationTest;
+import com.supplychainx.integration.config.QueryCounter;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
@@ -10,6 +11,7 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.*;
 
 /**
  * Tests d'intégration E2E pour le workflow complet du module Delivery
@@ -23,6 +25,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 6. Passage de la livraison en statut EN_COURS
  * 7. Finalisation de la livraison (réduction stock produit)
  * 8. Vérification du stock produit
+ *
+ * Les créations et les listes sont soumises à un budget d'ordres SQL ({@link QueryCounter}) :
+ * la requête d'authentification JWT (chargement de l'utilisateur) compte pour un SELECT. Les listes sont
+ * mesurées sur plusieurs éléments : leur budget ne doit pas croître avec le nombre d'éléments renvoyés.
  */
 @DisplayName("Integration Tests - Delivery Workflow E2E")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -128,6 +134,7 @@ class DeliveryWorkflowIntegrationTest extends IntegrationTest {
                 }
                 """;
 
+        QueryCounter.reset();
         MvcResult result = mockMvc.perform(post("/api/delivery/customers")
                         .header("Authorization", "Bearer " + authToken)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -137,6 +144,10 @@ class DeliveryWorkflowIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.name").value("Test Customer Corp"))
                 .andReturn();
 
+        // Budget SQL : utilisateur JWT, unicité du code et de l'email, insertion
+        QueryCounter.assertSelectCount(3);
+        QueryCounter.assertInsertCount(1);
+
         customerId = extractId(result.getResponse().getContentAsString());
         Assertions.assertNotNull(customerId);
     }
@@ -165,6 +176,7 @@ class DeliveryWorkflowIntegrationTest extends IntegrationTest {
                 }
                 """, customerId, productId);
 
+        QueryCounter.reset();
         MvcResult result = mockMvc.perform(post("/api/delivery/orders")
                         .header("Authorization", "Bearer " + authToken)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -174,6 +186,11 @@ class DeliveryWorkflowIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.status").value("EN_PREPARATION"))
                 .andReturn();
 
+        // Budget SQL : utilisateur JWT, unicité du numéro, client, produit, insertion de la commande et de la ligne,
+        // puis relecture de l'échéance après commit (commande et sa livraison)
+        QueryCounter.assertSelectCount(6);
+        QueryCounter.assertInsertCount(2);
+
         deliveryOrderId = extractId(result.getResponse().getContentAsString());
         Assertions.assertNotNull(deliveryOrderId);
     }
@@ -229,6 +246,7 @@ class DeliveryWorkflowIntegrationTest extends IntegrationTest {
                 }
                 """, deliveryOrderId);
 
+        QueryCounter.reset();
         MvcResult result = mockMvc.perform(post("/api/delivery/deliveries")
                         .header("Authorization", "Bearer " + logisticToken)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -239,8 +257,36 @@ class DeliveryWorkflowIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.driver").value("John Driver"))
                 .andReturn();
 
+        // Budget SQL : utilisateur JWT, unicité du numéro, commande, livraison existante, puis client et lignes,
+        // et relecture de l'échéance après commit
+        QueryCounter.assertSelectCount(8);
+        QueryCounter.assertInsertCount(1);
+
         deliveryId = extractId(result.getResponse().getContentAsString());
         Assertions.assertNotNull(deliveryId);
+
+        // Trois commandes de plus, chacune avec son client, son produit et sa livraison : une requête par ligne
+        // (N+1) sur l'une de ces associations ferait croître les mesures avec le nombre d'éléments renvoyés
+        seedDelivery(2, "John Driver");
+        seedDelivery(3, "John Driver");
+        seedDelivery(4, "Jane Driver");
+
+        int singleOrderSelects = listSelectCount("/api/delivery/orders", authToken, 1);
+        // Utilisateur JWT, page et comptage, puis par lot : livraisons, clients, lignes avec produits
+        QueryCounter.assertSelectCount(6);
+        Assertions.assertEquals(singleOrderSelects, listSelectCount("/api/delivery/orders", authToken, 3),
+                "Le nombre de requêtes de la liste des commandes ne doit pas dépendre de la taille de la page");
+
+        int singleDeliverySelects = listSelectCount("/api/delivery/deliveries", logisticToken, 1);
+        // Utilisateur JWT, page et comptage, puis par lot : commandes et leurs associations
+        QueryCounter.assertSelectCount(7);
+        Assertions.assertEquals(singleDeliverySelects, listSelectCount("/api/delivery/deliveries", logisticToken, 3),
+                "Le nombre de requêtes de la liste des livraisons ne doit pas dépendre de la taille de la page");
+
+        int singleDriverSelects = driverDeliveriesSelectCount("Jane Driver", 1);
+        QueryCounter.assertSelectCount(6);
+        Assertions.assertEquals(singleDriverSelects, driverDeliveriesSelectCount("John Driver", 3),
+                "Le nombre de requêtes des livraisons d'un chauffeur ne doit pas dépendre de leur nombre");
     }
 
     @Test
@@ -329,6 +375,108 @@ class DeliveryWorkflowIntegrationTest extends IntegrationTest {
     }
 
     // Helper methods
+    private int listSelectCount(String path, String token, int size) throws Exception {
+        QueryCounter.reset();
+        mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + token)
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(size)));
+        return QueryCounter.selectCount();
+    }
+
+    private int driverDeliveriesSelectCount(String driver, int expectedDeliveries) throws Exception {
+        QueryCounter.reset();
+        mockMvc.perform(get("/api/delivery/deliveries/driver/" + driver)
+                        .header("Authorization", "Bearer " + logisticToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(expectedDeliveries)));
+        return QueryCounter.selectCount();
+    }
+
+    private void seedDelivery(int index, String driver) throws Exception {
+        MvcResult product = mockMvc.perform(post("/api/production/products")
+                        .header("Authorization", "Bearer " + productionToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "code": "PROD-DELIVERY-TEST-00%1$d",
+                                    "name": "Product for Delivery Test %1$d",
+                                    "category": "Electronics",
+                                    "productionTime": 60,
+                                    "cost": 50.00,
+                                    "stock": 100.0,
+                                    "stockMin": 20.0
+                                }
+                                """, index)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long seededProductId = extractId(product.getResponse().getContentAsString());
+
+        MvcResult customer = mockMvc.perform(post("/api/delivery/customers")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "code": "CUST-TEST-00%1$d",
+                                    "name": "Test Customer %1$d",
+                                    "email": "test%1$d@customer.com",
+                                    "phone": "+987654321%1$d",
+                                    "address": "%1$d Customer Avenue",
+                                    "city": "Test City",
+                                    "country": "Test Country",
+                                    "postalCode": "12345"
+                                }
+                                """, index)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long seededCustomerId = extractId(customer.getResponse().getContentAsString());
+
+        MvcResult order = mockMvc.perform(post("/api/delivery/orders")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "orderNumber": "DO-TEST-00%1$d",
+                                    "customerId": %2$d,
+                                    "orderDate": "2025-11-09T09:00:00",
+                                    "expectedDeliveryDate": "2025-11-12",
+                                    "deliveryAddress": "%1$d Test Avenue",
+                                    "deliveryCity": "Test City",
+                                    "deliveryPostalCode": "12345",
+                                    "status": "EN_PREPARATION",
+                                    "orderLines": [
+                                        {
+                                            "productId": %3$d,
+                                            "quantity": 5,
+                                            "unitPrice": 120.00
+                                        }
+                                    ]
+                                }
+                                """, index, seededCustomerId, seededProductId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long seededOrderId = extractId(order.getResponse().getContentAsString());
+
+        mockMvc.perform(post("/api/delivery/deliveries")
+                        .header("Authorization", "Bearer " + logisticToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "deliveryNumber": "DEL-TEST-00%1$d",
+                                    "deliveryOrderId": %2$d,
+                                    "vehicle": "Truck-00%1$d",
+                                    "driver": "%3$s",
+                                    "driverPhone": "+21260011122%1$d",
+                                    "status": "PLANIFIEE",
+                                    "deliveryDate": "2025-11-12",
+                                    "cost": 25.5,
+                                    "trackingNumber": "TRK-TEST-00%1$d"
+                                }
+                                """, index, seededOrderId, driver)))
+                .andExpect(status().isCreated());
+    }
+
     private Long extractId(String jsonResponse) {
         try {
             // Try direct ID path first (Production/Delivery modules return DTOs directly)
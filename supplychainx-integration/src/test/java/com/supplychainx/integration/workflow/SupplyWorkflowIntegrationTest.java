@@ -2,6 +2,7 @@ package com.supplychainx.integration.workflow;
 
 import com.jayway.jsonpath.JsonPath;
 import com.supplychainx.integration.config.IntegrationTest;
+import com.supplychainx.integration.config.QueryCounter;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
@@ -26,6 +27,10 @@ import static org.hamcrest.Matchers.*;
  * 8. Réception de la commande
  * 9. Vérification de l'augmentation du stock
  * 10. Vérification complète du workflow
+ *
+ * Les créations et la liste sont soumises à un budget d'ordres SQL ({@link QueryCounter}) :
+ * la requête d'authentification JWT (chargement de l'utilisateur) compte pour un SELECT. La liste est
+ * mesurée sur plusieurs commandes : son budget ne doit pas croître avec la taille de la page.
  */
 @DisplayName("Integration Tests - Supply Workflow E2E")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -90,6 +95,7 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
                 """;
 
         // When & Then
+        QueryCounter.reset();
         MvcResult result = mockMvc.perform(post("/api/suppliers")
                         .header("Authorization", "Bearer " + supplyManagerToken)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -101,6 +107,10 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.data.leadTime").value(7))
                 .andReturn();
 
+        // Budget SQL : utilisateur JWT, unicité du code et de l'email, insertion
+        QueryCounter.assertSelectCount(3);
+        QueryCounter.assertInsertCount(1);
+
         // Extract supplier ID
         String response = result.getResponse().getContentAsString();
         supplierId = extractId(response);
@@ -127,6 +137,7 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
                 """, supplierId);
 
         // When & Then
+        QueryCounter.reset();
         MvcResult result = mockMvc.perform(post("/api/raw-materials")
                         .header("Authorization", "Bearer " + supplyManagerToken)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -138,6 +149,11 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.data.unitPrice").value(15.50))
                 .andReturn();
 
+        // Budget SQL : utilisateur JWT, unicité du code, fournisseur, insertion de la matière, de son événement
+        // de stock (outbox) et du lien fournisseur
+        QueryCounter.assertSelectCount(3);
+        QueryCounter.assertInsertCount(3);
+
         // Extract material ID
         String response = result.getResponse().getContentAsString();
         materialId = extractId(response);
@@ -196,6 +212,7 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
                 """, supplierId, materialId);
 
         // When & Then
+        QueryCounter.reset();
         MvcResult result = mockMvc.perform(post("/api/supply-orders")
                         .header("Authorization", "Bearer " + purchaseManagerToken)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -207,6 +224,11 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.data.orderLines[0].quantity").value(200))
                 .andReturn();
 
+        // Budget SQL : utilisateur JWT, unicité du numéro, fournisseur, matière, fournisseurs de la matière,
+        // puis relecture de l'échéance après commit
+        QueryCounter.assertSelectCount(6);
+        QueryCounter.assertInsertCount(2);
+
         // Extract order ID
         String response = result.getResponse().getContentAsString();
         supplyOrderId = extractId(response);
@@ -234,6 +256,19 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
                         .header("Authorization", "Bearer " + purchaseManagerToken))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data").value(3100.0)); // 200 * 15.50 = 3100
+
+        // Deux commandes de plus, chacune avec son propre fournisseur et sa propre matière : une requête
+        // par ligne (N+1) sur l'une de ces associations ferait croître la mesure avec la taille de la page
+        seedSupplyOrder(2);
+        seedSupplyOrder(3);
+
+        int singleOrderSelects = listSupplyOrdersSelectCount(1);
+        // Utilisateur JWT, page et comptage, puis par lot : fournisseurs, lignes, matières et leurs fournisseurs
+        QueryCounter.assertSelectCount(7);
+        QueryCounter.assertTotalCount(7);
+
+        Assertions.assertEquals(singleOrderSelects, listSupplyOrdersSelectCount(3),
+                "Le nombre de requêtes de la liste ne doit pas dépendre du nombre de commandes de la page");
     }
 
     @Test
@@ -296,6 +331,77 @@ class SupplyWorkflowIntegrationTest extends IntegrationTest {
     }
 
     // Helper methods
+    private int listSupplyOrdersSelectCount(int size) throws Exception {
+        QueryCounter.reset();
+        mockMvc.perform(get("/api/supply-orders")
+                        .header("Authorization", "Bearer " + purchaseManagerToken)
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(size)));
+        return QueryCounter.selectCount();
+    }
+
+    private void seedSupplyOrder(int index) throws Exception {
+        MvcResult supplier = mockMvc.perform(post("/api/suppliers")
+                        .header("Authorization", "Bearer " + supplyManagerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "code": "SUP-TEST-00%1$d",
+                                    "name": "Test Supplier %1$d",
+                                    "email": "test%1$d@supplier.com",
+                                    "phone": "+123456789%1$d",
+                                    "address": "%1$d Test Street",
+                                    "contact": "John Doe",
+                                    "rating": 4.0,
+                                    "leadTime": 5
+                                }
+                                """, index)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long seededSupplierId = extractId(supplier.getResponse().getContentAsString());
+
+        MvcResult material = mockMvc.perform(post("/api/raw-materials")
+                        .header("Authorization", "Bearer " + supplyManagerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "code": "RM-TEST-00%1$d",
+                                    "name": "Test Raw Material %1$d",
+                                    "category": "Test Category",
+                                    "unit": "kg",
+                                    "unitPrice": 10.00,
+                                    "stock": 100,
+                                    "stockMin": 50,
+                                    "supplierIds": [%2$d]
+                                }
+                                """, index, seededSupplierId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long seededMaterialId = extractId(material.getResponse().getContentAsString());
+
+        mockMvc.perform(post("/api/supply-orders")
+                        .header("Authorization", "Bearer " + purchaseManagerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "orderNumber": "SO-TEST-00%1$d",
+                                    "supplierId": %2$d,
+                                    "orderDate": "2025-11-09",
+                                    "expectedDeliveryDate": "2025-11-16",
+                                    "status": "EN_ATTENTE",
+                                    "orderLines": [
+                                        {
+                                            "materialId": %3$d,
+                                            "quantity": 10,
+                                            "unitPrice": 10.00
+                                        }
+                                    ]
+                                }
+                                """, index, seededSupplierId, seededMaterialId)))
+                .andExpect(status().isCreated());
+    }
+
     private Long extractId(String jsonResponse) {
         try {
             // Extract ID from $.data.id path (API responses wrap data in "data" field)
@@ -1,7 +1,9 @@
 package com.supplychainx.production.controller;
 
+import com.supplychainx.common.annotation.ConditionalGet;
 import com.supplychainx.production.dto.request.ProductRequestDTO;
 import com.supplychainx.production.dto.response.ProductResponseDTO;
+import com.supplychainx.production.entity.Product;
 import com.supplychainx.production.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -37,6 +39,7 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(value = Product.class, idVariable = "id")
     @Operation(summary = "Récupérer un produit par ID", description = "Récupère les détails d'un produit par son identifiant")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id) {
@@ -46,6 +49,7 @@ public class ProductController {
     }
 
     @GetMapping("/code/{code}")
+    @ConditionalGet(Product.class)
     @Operation(summary = "Récupérer un produit par code", description = "Récupère les détails d'un produit par son code unique")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<ProductResponseDTO> getProductByCode(@PathVariable String code) {
@@ -55,6 +59,7 @@ public class ProductController {
     }
 
     @GetMapping
+    @ConditionalGet(Product.class)
     @Operation(summary = "Récupérer tous les produits", description = "Récupère la liste paginée de tous les produits")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<Page<ProductResponseDTO>> getAllProducts(
@@ -66,6 +71,7 @@ public class ProductController {
     }
 
     @GetMapping("/search")
+    @ConditionalGet(Product.class)
     @Operation(summary = "Rechercher des produits par nom", description = "Recherche des produits dont le nom contient la chaîne spécifiée")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<Page<ProductResponseDTO>> searchProductsByName(
@@ -77,6 +83,7 @@ public class ProductController {
     }
 
     @GetMapping("/category/{category}")
+    @ConditionalGet(Product.class)
     @Operation(summary = "Récupérer les produits par catégorie", description = "Récupère tous les produits d'une catégorie spécifique")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<Page<ProductResponseDTO>> getProductsByCategory(
@@ -88,6 +95,7 @@ public class ProductController {
     }
 
     @GetMapping("/low-stock")
+    @ConditionalGet(Product.class)
     @Operation(summary = "Récupérer les produits en stock bas", description = "Récupère les produits dont le stock est inférieur au stock minimum")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<Page<ProductResponseDTO>> getLowStockProducts(
@@ -98,6 +106,7 @@ public class ProductController {
     }
 
     @GetMapping("/low-stock/count")
+    @ConditionalGet(Product.class)
     @Operation(summary = "Compter les produits en stock bas", description = "Retourne le nombre de produits en stock bas")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<Map<String, Long>> countLowStockProducts() {
@@ -107,6 +116,7 @@ public class ProductController {
     }
 
     @GetMapping("/inventory/value")
+    @ConditionalGet(Product.class)
     @Operation(summary = "Calculer la valeur totale de l'inventaire", description = "Calcule la valeur totale de tous les produits en stock")
     @PreAuthorize("@securityExpressions.hasPermission('PRODUCT_READ')")
     public ResponseEntity<Map<String, Double>> calculateTotalInventoryValue() {
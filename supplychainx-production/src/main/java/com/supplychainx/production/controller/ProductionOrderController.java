@@ -1,5 +1,7 @@
 package com.supplychainx.production.controller;
 
+import com.supplychainx.common.annotation.Bulkhead;
+import com.supplychainx.common.annotation.Idempotent;
 import com.supplychainx.production.dto.request.ProductionOrderRequestDTO;
 import com.supplychainx.production.dto.response.ProductionOrderResponseDTO;
 import com.supplychainx.production.enums.ProductionOrderStatus;
@@ -26,6 +28,7 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Production Orders", description = "API de gestion des ordres de production")
+@Bulkhead("production")
 public class ProductionOrderController {
 
     private final ProductionOrderService productionOrderService;
@@ -33,6 +36,7 @@ public class ProductionOrderController {
     @PostMapping
     @Operation(summary = "Créer un nouvel ordre de production", description = "Crée un nouvel ordre de production avec statut PLANIFIE")
     @PreAuthorize("@securityExpressions.hasAnyPermission('PRODUCTION_ORDER_CREATE')")
+    @Idempotent
     public ResponseEntity<ProductionOrderResponseDTO> createProductionOrder(@Valid @RequestBody ProductionOrderRequestDTO requestDTO) {
         log.info("Requête de création d'ordre de production: {}", requestDTO.getOrderNumber());
         ProductionOrderResponseDTO response = productionOrderService.createProductionOrder(requestDTO);
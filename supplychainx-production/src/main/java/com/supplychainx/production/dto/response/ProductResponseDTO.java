@@ -1,5 +1,7 @@
 package com.supplychainx.production.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.supplychainx.common.projection.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,6 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
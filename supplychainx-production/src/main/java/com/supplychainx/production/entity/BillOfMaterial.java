@@ -41,4 +41,16 @@ public class BillOfMaterial extends BaseEntity {
         }
         return 0.0;
     }
+
+    public Double calculateRequiredQuantity(Integer orderQuantity) {
+        if (quantity != null && orderQuantity != null) {
+            return quantity * orderQuantity;
+        }
+        return 0.0;
+    }
+
+    public boolean isAvailableFor(Integer orderQuantity) {
+        return rawMaterial != null && rawMaterial.getStock() != null
+                && rawMaterial.getStock() >= calculateRequiredQuantity(orderQuantity);
+    }
 }
@@ -22,6 +22,9 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @Query("SELECT p FROM Product p WHERE p.stock < p.stockMin")
     List<Product> findLowStockProducts();
 
+    @Query("SELECT p FROM Product p WHERE p.stock < p.stockMin AND MOD(p.id, :shardCount) = :shardIndex")
+    List<Product> findLowStockProductsInShard(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
+
     @Query("SELECT p FROM Product p WHERE p.stock < p.stockMin")
     Page<Product> findLowStockProducts(Pageable pageable);
 
@@ -39,4 +42,6 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
            "FROM ProductionOrder po " +
            "WHERE po.product.id = :productId")
     boolean isUsedInProductionOrders(@Param("productId") Long productId);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
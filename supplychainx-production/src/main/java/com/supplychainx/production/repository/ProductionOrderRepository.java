@@ -26,8 +26,10 @@ public interface ProductionOrderRepository extends JpaRepository<ProductionOrder
     @Query("SELECT po FROM ProductionOrder po WHERE po.startDate BETWEEN :start AND :end")
     Page<ProductionOrder> findByStartDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end, Pageable pageable);
 
-    // Find orders in a given status whose end date is before `now` (delayed)
-    List<ProductionOrder> findByStatusAndEndDateBefore(ProductionOrderStatus status, LocalDate now);
+    // Deadlines (id, order number, end date) of orders in a given status, for the delayed-orders index
+    @Query("SELECT po.id, po.orderNumber, po.endDate FROM ProductionOrder po " +
+           "WHERE po.status = :status AND po.endDate IS NOT NULL")
+    List<Object[]> findDeadlinesByStatus(@Param("status") ProductionOrderStatus status);
 
     Page<ProductionOrder> findByProductId(Long productId, Pageable pageable);
 }
@@ -0,0 +1,43 @@
+package com.supplychainx.production.service;
+
+import com.supplychainx.common.kpi.KpiContributor;
+import com.supplychainx.production.entity.Product;
+import com.supplychainx.production.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// KPI produits : valeur de l'inventaire (coût × stock) et nombre de produits en stock bas
+@Component
+@RequiredArgsConstructor
+public class ProductKpiContributor implements KpiContributor {
+
+    public static final String INVENTORY_VALUE = "production.inventory.value";
+    public static final String LOW_STOCK_PRODUCTS = "production.products.low-stock";
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public Class<?> entityType() {
+        return Product.class;
+    }
+
+    @Override
+    public Map<String, Double> contribution(State state) {
+        Object stock = state.get("stock");
+        Object stockMin = state.get("stockMin");
+        boolean lowStock = stock != null && stockMin != null && state.getDouble("stock") < state.getDouble("stockMin");
+        return Map.of(
+                INVENTORY_VALUE, state.getDouble("cost") * state.getDouble("stock"),
+                LOW_STOCK_PRODUCTS, lowStock ? 1.0 : 0.0);
+    }
+
+    @Override
+    public Map<String, Double> recompute() {
+        Double total = productRepository.calculateTotalInventoryValue();
+        return Map.of(
+                INVENTORY_VALUE, total != null ? total : 0.0,
+                LOW_STOCK_PRODUCTS, productRepository.countLowStockProducts().doubleValue());
+    }
+}
@@ -0,0 +1,33 @@
+package com.supplychainx.production.service;
+
+import com.supplychainx.common.event.StockChangedEvent;
+import com.supplychainx.common.lock.JobShard;
+import com.supplychainx.common.stock.LowStockItem;
+import com.supplychainx.common.stock.LowStockSource;
+import com.supplychainx.production.entity.Product;
+import com.supplychainx.production.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Produits finis en stock faible, pour la vérification planifiée des alertes
+@Component
+@RequiredArgsConstructor
+public class ProductLowStockSource implements LowStockSource {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LowStockItem> findLowStock(JobShard shard) {
+        List<Product> products = shard.isAll()
+                ? productRepository.findLowStockProducts()
+                : productRepository.findLowStockProductsInShard(shard.count(), shard.index());
+        return products.stream()
+                .map(product -> new LowStockItem(StockChangedEvent.PRODUCT, product.getId(), product.getName(),
+                        product.getStock(), product.getStockMin()))
+                .toList();
+    }
+}
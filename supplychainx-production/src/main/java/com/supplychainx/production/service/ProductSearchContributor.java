@@ -0,0 +1,46 @@
+package com.supplychainx.production.service;
+
+import com.supplychainx.common.search.SearchDocument;
+import com.supplychainx.common.search.SearchIndexContributor;
+import com.supplychainx.production.entity.Product;
+import com.supplychainx.production.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Recherche unifiée : nom, code, catégorie et description des produits
+@Component
+@RequiredArgsConstructor
+public class ProductSearchContributor implements SearchIndexContributor<Product> {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public String type() {
+        return "product";
+    }
+
+    @Override
+    public Class<Product> entityType() {
+        return Product.class;
+    }
+
+    @Override
+    public String requiredPermission() {
+        return "PRODUCT_READ";
+    }
+
+    @Override
+    public SearchDocument toDocument(Product product) {
+        return new SearchDocument(type(), product.getId(), product.getName(), product.getCode(),
+                Arrays.asList(product.getCategory(), product.getDescription()));
+    }
+
+    @Override
+    public List<Product> loadBatch(Long afterId, int batchSize) {
+        return productRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+    }
+}
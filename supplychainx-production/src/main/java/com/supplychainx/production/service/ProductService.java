@@ -1,7 +1,11 @@
 package com.supplychainx.production.service;
 
+import com.supplychainx.common.annotation.SingleFlight;
+import com.supplychainx.common.event.StockChangedEvent;
 import com.supplychainx.common.exception.BusinessException;
 import com.supplychainx.common.exception.ResourceNotFoundException;
+import com.supplychainx.common.kpi.KpiRegistry;
+import com.supplychainx.common.outbox.OutboxPublisher;
 import com.supplychainx.production.dto.request.ProductRequestDTO;
 import com.supplychainx.production.dto.response.ProductResponseDTO;
 import com.supplychainx.production.entity.Product;
@@ -14,6 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +28,8 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final KpiRegistry kpiRegistry;
+    private final OutboxPublisher outboxPublisher;
 
     // Créer un nouveau produit
     public ProductResponseDTO createProduct(ProductRequestDTO requestDTO) {
@@ -35,6 +42,7 @@ public class ProductService {
 
         Product product = productMapper.toEntity(requestDTO);
         Product savedProduct = productRepository.save(product);
+        publishStockChange(savedProduct, null, null);
 
         log.info("Produit créé avec succès - ID: {}, Code: {}", savedProduct.getId(), savedProduct.getCode());
         return productMapper.toResponseDTO(savedProduct);
@@ -98,16 +106,26 @@ public class ProductService {
                 .map(productMapper::toResponseDTO);
     }
 
-    // Compter les produits en stock bas
+    // Compter les produits en stock bas (compteur KPI, requête d'agrégat tant qu'il n'est pas initialisé)
     @Transactional(readOnly = true)
+    @SingleFlight(ttlMs = 2000)
     public Long countLowStockProducts() {
+        Double kpi = kpiRegistry.value(ProductKpiContributor.LOW_STOCK_PRODUCTS);
+        if (kpi != null) {
+            return Math.round(kpi);
+        }
         log.debug("Comptage des produits en stock bas");
         return productRepository.countLowStockProducts();
     }
 
-    // Calculer la valeur totale de l'inventaire
+    // Calculer la valeur totale de l'inventaire (compteur KPI, requête d'agrégat tant qu'il n'est pas initialisé)
     @Transactional(readOnly = true)
+    @SingleFlight(ttlMs = 2000)
     public Double calculateTotalInventoryValue() {
+        Double kpi = kpiRegistry.value(ProductKpiContributor.INVENTORY_VALUE);
+        if (kpi != null) {
+            return kpi;
+        }
         log.debug("Calcul de la valeur totale de l'inventaire");
         Double total = productRepository.calculateTotalInventoryValue();
         return total != null ? total : 0.0;
@@ -125,8 +143,11 @@ public class ProductService {
             throw new BusinessException("Un produit avec ce code existe déjà: " + requestDTO.getCode());
         }
 
+        Double previousStock = product.getStock();
+        Double previousStockMin = product.getStockMin();
         productMapper.updateEntityFromDTO(requestDTO, product);
         Product updatedProduct = productRepository.save(product);
+        publishStockChange(updatedProduct, previousStock, previousStockMin);
 
         log.info("Produit mis à jour avec succès - ID: {}", id);
         return productMapper.toResponseDTO(updatedProduct);
@@ -147,6 +168,7 @@ public class ProductService {
         product.setStock(currentStock + quantity);
 
         Product updatedProduct = productRepository.save(product);
+        publishStockChange(updatedProduct, currentStock, updatedProduct.getStockMin());
 
         log.info("Stock ajouté avec succès - Nouveau stock: {}", updatedProduct.getStock());
         return productMapper.toResponseDTO(updatedProduct);
@@ -171,6 +193,7 @@ public class ProductService {
 
         product.setStock(currentStock - quantity);
         Product updatedProduct = productRepository.save(product);
+        publishStockChange(updatedProduct, currentStock, updatedProduct.getStockMin());
 
         log.info("Stock réduit avec succès - Nouveau stock: {}", updatedProduct.getStock());
         return productMapper.toResponseDTO(updatedProduct);
@@ -191,4 +214,13 @@ public class ProductService {
         productRepository.delete(product);
         log.info("Produit supprimé avec succès - ID: {}", id);
     }
+
+    // Variation de stock (ou du minimum) publiée dans l'outbox : alerte immédiate si le stock passe sous le minimum
+    private void publishStockChange(Product product, Double previousStock, Double previousStockMin) {
+        if (Objects.equals(previousStock, product.getStock()) && Objects.equals(previousStockMin, product.getStockMin())) {
+            return;
+        }
+        outboxPublisher.append(StockChangedEvent.product(product.getId(), product.getName(), previousStock,
+                product.getStock(), product.getStockMin()));
+    }
 }
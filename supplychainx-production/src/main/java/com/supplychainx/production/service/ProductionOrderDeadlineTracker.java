@@ -0,0 +1,66 @@
+package com.supplychainx.production.service;
+
+import com.supplychainx.common.deadline.AbstractDeadlineTracker;
+import com.supplychainx.common.deadline.DeadlineIndex;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.production.entity.ProductionOrder;
+import com.supplychainx.production.enums.ProductionOrderStatus;
+import com.supplychainx.production.repository.ProductionOrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Index des échéances des ordres de production EN_PRODUCTION (date de fin prévue)
+@Component
+public class ProductionOrderDeadlineTracker extends AbstractDeadlineTracker {
+
+    private final ProductionOrderRepository productionOrderRepository;
+
+    public ProductionOrderDeadlineTracker(ProductionOrderRepository productionOrderRepository,
+                                          ApplicationEventPublisher eventPublisher,
+                                          PlatformTransactionManager transactionManager) {
+        super(eventPublisher, transactionManager);
+        this.productionOrderRepository = productionOrderRepository;
+    }
+
+    @Override
+    protected String orderType() {
+        return OrderEvent.PRODUCTION_ORDER;
+    }
+
+    @Override
+    protected String entityName() {
+        return ProductionOrder.class.getSimpleName();
+    }
+
+    @Override
+    protected List<DeadlineIndex.Entry> loadTrackedEntries() {
+        return productionOrderRepository.findDeadlinesByStatus(ProductionOrderStatus.EN_PRODUCTION).stream()
+                .map(row -> new DeadlineIndex.Entry((Long) row[0], (String) row[1], (LocalDate) row[2]))
+                .toList();
+    }
+
+    @Override
+    protected Optional<DeadlineIndex.Entry> loadTrackedEntry(Long orderId) {
+        return productionOrderRepository.findById(orderId)
+                .filter(this::isTracked)
+                .map(order -> new DeadlineIndex.Entry(
+                        order.getId(), order.getOrderNumber(), order.getEndDate()));
+    }
+
+    /**
+     * Vérifier qu'un ordre signalé par l'index est toujours en retard d'après son état en base :
+     * l'index ne voit les écritures des autres nœuds qu'au passage suivant du bus d'invalidation
+     */
+    public boolean isLate(ProductionOrder order, LocalDate today) {
+        return isTracked(order) && order.getEndDate().isBefore(today);
+    }
+
+    private boolean isTracked(ProductionOrder order) {
+        return order.getStatus() == ProductionOrderStatus.EN_PRODUCTION && order.getEndDate() != null;
+    }
+}
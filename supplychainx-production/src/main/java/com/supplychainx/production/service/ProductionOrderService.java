@@ -1,7 +1,15 @@
 package com.supplychainx.production.service;
 
+import com.supplychainx.common.event.OrderDeletedEvent;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.common.event.OrderStatusChangedEvent;
+import com.supplychainx.common.event.OrderUpdatedEvent;
+import com.supplychainx.common.event.ProductionCompletedEvent;
+import com.supplychainx.common.event.StockChangedEvent;
 import com.supplychainx.common.exception.BusinessException;
 import com.supplychainx.common.exception.ResourceNotFoundException;
+import com.supplychainx.common.outbox.OutboxPublisher;
+import com.supplychainx.common.util.ConstraintUtil;
 import com.supplychainx.production.dto.request.ProductionOrderRequestDTO;
 import com.supplychainx.production.dto.response.ProductionOrderResponseDTO;
 import com.supplychainx.production.entity.BillOfMaterial;
@@ -16,12 +24,15 @@ import com.supplychainx.supply.entity.RawMaterial;
 import com.supplychainx.supply.repository.RawMaterialRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -35,6 +46,9 @@ public class ProductionOrderService {
     private final BillOfMaterialRepository billOfMaterialRepository;
     private final RawMaterialRepository rawMaterialRepository;
     private final ProductionOrderMapper productionOrderMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductionOrderDeadlineTracker deadlineTracker;
+    private final OutboxPublisher outboxPublisher;
 
     // Créer un nouvel ordre de production
     public ProductionOrderResponseDTO createProductionOrder(ProductionOrderRequestDTO requestDTO) {
@@ -57,7 +71,16 @@ public class ProductionOrderService {
         Integer estimatedTime = productionOrder.calculateEstimatedTime();
         productionOrder.setEstimatedTime(estimatedTime);
 
-        ProductionOrder savedOrder = productionOrderRepository.save(productionOrder);
+        ProductionOrder savedOrder;
+        try {
+            savedOrder = productionOrderRepository.save(productionOrder);
+        } catch (DataIntegrityViolationException e) {
+            // Seule une création concurrente avec le même numéro est un doublon : le reste remonte tel quel
+            if (!ConstraintUtil.isUniqueViolation(e, "uk_production_orders_order_number", "order_number")) {
+                throw e;
+            }
+            throw new BusinessException("Un ordre de production avec ce numéro existe déjà: " + requestDTO.getOrderNumber());
+        }
 
         log.info("Ordre de production créé avec succès - ID: {}, Numéro: {}", savedOrder.getId(), savedOrder.getOrderNumber());
         return productionOrderMapper.toResponseDTO(savedOrder);
@@ -122,7 +145,13 @@ public class ProductionOrderService {
     public List<ProductionOrderResponseDTO> getDelayedProductionOrders() {
         log.debug("Récupération des ordres de production retardés");
 
-        List<ProductionOrder> delayedOrders = productionOrderRepository.findByStatusAndEndDateBefore(ProductionOrderStatus.EN_PRODUCTION, LocalDate.now());
+        // Index des échéances : lecture par clé primaire des seuls ordres en retard, revérifiés en base
+        LocalDate today = LocalDate.now();
+        List<ProductionOrder> delayedOrders = productionOrderRepository.findAllById(deadlineTracker.findLateOrderIds()).stream()
+                .filter(order -> deadlineTracker.isLate(order, today))
+                .sorted(Comparator.comparing(ProductionOrder::getEndDate,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
         return productionOrderMapper.toResponseDTOList(delayedOrders);
     }
 
@@ -167,6 +196,7 @@ public class ProductionOrderService {
         productionOrder.setEstimatedTime(estimatedTime);
 
         ProductionOrder updatedOrder = productionOrderRepository.save(productionOrder);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(OrderEvent.PRODUCTION_ORDER, updatedOrder.getId()));
 
         log.info("Ordre de production mis à jour avec succès - ID: {}", id);
         return productionOrderMapper.toResponseDTO(updatedOrder);
@@ -194,6 +224,7 @@ public class ProductionOrderService {
         productionOrder.setStartDate(LocalDate.now());
 
         ProductionOrder updatedOrder = productionOrderRepository.save(productionOrder);
+        publishStatusChange(updatedOrder, ProductionOrderStatus.EN_ATTENTE);
 
         log.info("Production démarrée avec succès pour l'ordre ID: {}", id);
         return productionOrderMapper.toResponseDTO(updatedOrder);
@@ -219,12 +250,17 @@ public class ProductionOrderService {
         Double currentStock = product.getStock() != null ? product.getStock() : 0.0;
         product.setStock(currentStock + productionOrder.getQuantity());
         productRepository.save(product);
+        outboxPublisher.append(StockChangedEvent.product(product.getId(), product.getName(), currentStock,
+                product.getStock(), product.getStockMin()));
 
         // Mettre à jour le statut et la date de fin
         productionOrder.setStatus(ProductionOrderStatus.TERMINE);
         productionOrder.setEndDate(LocalDate.now());
 
         ProductionOrder updatedOrder = productionOrderRepository.save(productionOrder);
+        outboxPublisher.append(ProductionCompletedEvent.of(updatedOrder.getId(), updatedOrder.getOrderNumber(),
+                product.getId(), updatedOrder.getQuantity()));
+        publishStatusChange(updatedOrder, ProductionOrderStatus.EN_PRODUCTION);
 
         log.info("Production terminée avec succès pour l'ordre ID: {} - {} unités ajoutées au stock", 
                  id, productionOrder.getQuantity());
@@ -248,13 +284,21 @@ public class ProductionOrderService {
             throw new BusinessException("Cet ordre de production est déjà annulé");
         }
 
+        ProductionOrderStatus previousStatus = productionOrder.getStatus();
         productionOrder.setStatus(ProductionOrderStatus.ANNULE);
         ProductionOrder updatedOrder = productionOrderRepository.save(productionOrder);
+        publishStatusChange(updatedOrder, previousStatus);
 
         log.info("Ordre de production annulé avec succès - ID: {}", id);
         return productionOrderMapper.toResponseDTO(updatedOrder);
     }
 
+    // Diffuser le changement de statut (après commit) sur le flux temps réel
+    private void publishStatusChange(ProductionOrder order, ProductionOrderStatus previousStatus) {
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(
+                OrderEvent.PRODUCTION_ORDER, order.getId(), order.getOrderNumber(), previousStatus, order.getStatus()));
+    }
+
     // Supprimer un ordre de production
     public void deleteProductionOrder(Long id) {
         log.info("Suppression de l'ordre de production avec l'ID: {}", id);
@@ -269,6 +313,7 @@ public class ProductionOrderService {
         }
 
         productionOrderRepository.delete(productionOrder);
+        eventPublisher.publishEvent(new OrderDeletedEvent(OrderEvent.PRODUCTION_ORDER, id));
         log.info("Ordre de production supprimé avec succès - ID: {}", id);
     }
 
@@ -280,12 +325,10 @@ public class ProductionOrderService {
         List<BillOfMaterial> billOfMaterials = billOfMaterialRepository.findByProductId(product.getId());
 
         for (BillOfMaterial bom : billOfMaterials) {
-            RawMaterial rawMaterial = bom.getRawMaterial();
-            Double requiredQuantity = bom.getQuantity() * productionOrder.getQuantity();
-            
-            if (rawMaterial.getStock() < requiredQuantity) {
+            if (!bom.isAvailableFor(productionOrder.getQuantity())) {
+                RawMaterial rawMaterial = bom.getRawMaterial();
                 log.warn("Stock insuffisant pour la matière première {} - Requis: {}, Disponible: {}", 
-                         rawMaterial.getName(), requiredQuantity, rawMaterial.getStock());
+                         rawMaterial.getName(), bom.calculateRequiredQuantity(productionOrder.getQuantity()), rawMaterial.getStock());
                 return false;
             }
         }
@@ -310,8 +353,11 @@ public class ProductionOrderService {
 
             // Réduire le stock de la matière première
             // RawMaterial.stock is Integer, so round requiredQuantity up
-            rawMaterial.setStock(rawMaterial.getStock() - (int) Math.ceil(requiredQuantity));
+            Integer previousStock = rawMaterial.getStock();
+            rawMaterial.setStock(previousStock - (int) Math.ceil(requiredQuantity));
             rawMaterialRepository.save(rawMaterial);
+            outboxPublisher.append(StockChangedEvent.rawMaterial(rawMaterial.getId(), rawMaterial.getName(),
+                    previousStock, rawMaterial.getStock(), rawMaterial.getStockMin()));
 
             log.debug("Matière première consommée: {} - Quantité: {}", rawMaterial.getName(), requiredQuantity);
         }
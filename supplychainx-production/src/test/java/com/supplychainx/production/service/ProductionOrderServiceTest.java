@@ -13,13 +13,16 @@ import com.supplychainx.production.repository.ProductionOrderRepository;
 import com.supplychainx.production.repository.ProductRepository;
 import com.supplychainx.supply.entity.RawMaterial;
 import com.supplychainx.supply.repository.RawMaterialRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -99,6 +102,23 @@ class ProductionOrderServiceTest {
         assertEquals("PO-100", result.getOrderNumber());
     }
 
+    @Test
+    void createProductionOrder_concurrentDuplicateNumber_throwsBusinessException() {
+        ProductionOrderRequestDTO request = stubCreate("PO-101", "uk_production_orders_order_number");
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> productionOrderService.createProductionOrder(request));
+        assertTrue(ex.getMessage().contains("existe déjà"));
+    }
+
+    @Test
+    void createProductionOrder_otherIntegrityViolation_propagates() {
+        ProductionOrderRequestDTO request = stubCreate("PO-102", "fk_production_orders_product");
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> productionOrderService.createProductionOrder(request));
+    }
+
     @Test
     void startProduction_insufficientMaterials_throws() {
         // Build an order with quantity such that required materials exceed stock
@@ -132,4 +152,25 @@ class ProductionOrderServiceTest {
         BusinessException ex = assertThrows(BusinessException.class, () -> productionOrderService.startProduction(20L));
         assertTrue(ex.getMessage().contains("Matières premières insuffisantes"));
     }
+
+    // La création passe le contrôle préalable puis l'insertion viole la contrainte indiquée
+    private ProductionOrderRequestDTO stubCreate(String orderNumber, String violatedConstraint) {
+        ProductionOrderRequestDTO request = ProductionOrderRequestDTO.builder()
+                .orderNumber(orderNumber)
+                .productId(1L)
+                .quantity(5)
+                .build();
+        ProductionOrder mapped = ProductionOrder.builder()
+                .orderNumber(orderNumber)
+                .quantity(request.getQuantity())
+                .build();
+
+        when(productionOrderRepository.existsByOrderNumber(orderNumber)).thenReturn(false);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(productionOrderMapper.toEntity(request)).thenReturn(mapped);
+        when(productionOrderRepository.save(any(ProductionOrder.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new ConstraintViolationException("could not execute statement",
+                        new SQLException("Violation d'intégrité", "23000"), violatedConstraint)));
+        return request;
+    }
 }
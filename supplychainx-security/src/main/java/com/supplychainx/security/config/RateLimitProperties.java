@@ -0,0 +1,80 @@
+package com.supplychainx.security.config;
+
+import com.supplychainx.common.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Configuration de la limitation de débit des API (seaux à jetons par utilisateur ou par IP)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Active la limitation de débit sur /api/**
+     * Par défaut: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre maximal de seaux gardés en mémoire (utilisateurs et IP confondus)
+     * Par défaut: 100000
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * Intervalle de retrait des seaux inactifs (en millisecondes)
+     * Par défaut: 60000
+     */
+    private long sweepIntervalMs = 60_000;
+
+    /**
+     * Quota par IP des endpoints d'authentification (/api/auth/**)
+     * Par défaut: 10 requêtes en rafale, puis 12 par minute
+     */
+    private Quota auth = new Quota(10, 0.2);
+
+    /**
+     * Quota par IP des requêtes sans token valide
+     * Par défaut: 20 requêtes en rafale, puis 2 par seconde
+     */
+    private Quota anonymous = new Quota(20, 2);
+
+    /**
+     * Quota par utilisateur des rôles absents de roles
+     * Par défaut: 60 requêtes en rafale, puis 20 par seconde
+     */
+    private Quota defaultQuota = new Quota(60, 20);
+
+    /**
+     * Quotas par utilisateur selon son rôle
+     */
+    private Map<Role, Quota> roles = new LinkedHashMap<>();
+
+    public Quota quotaFor(Role role) {
+        return role != null ? roles.getOrDefault(role, defaultQuota) : defaultQuota;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quota {
+
+        /**
+         * Taille du seau : nombre de requêtes acceptées en rafale
+         */
+        private int capacity;
+
+        /**
+         * Jetons ajoutés par seconde : débit soutenu autorisé
+         */
+        private double refillPerSecond;
+    }
+}
@@ -1,7 +1,10 @@
 package com.supplychainx.security.config;
 
+import com.supplychainx.common.aspect.IdempotencyAspect;
 import com.supplychainx.security.filter.JwtAuthenticationFilter;
+import com.supplychainx.security.filter.RateLimitFilter;
 import com.supplychainx.security.service.UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,6 +42,7 @@ public class SecurityConfig {
     
     private final UserService userService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final PasswordEncoder passwordEncoder;
     
@@ -66,6 +70,9 @@ public class SecurityConfig {
                 
                 // Configuration des autorisations
                 .authorizeHttpRequests(auth -> auth
+                        // Dispatch asynchrone (flux SSE) : la requête initiale a déjà été autorisée
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Endpoints publics (pas d'authentification requise)
                         .requestMatchers(
                                 "/api/auth/**",
@@ -77,6 +84,15 @@ public class SecurityConfig {
                                 "/actuator/health"
                         ).permitAll()
                         
+                        // Métriques (durées par classe/méthode, erreurs) réservées aux administrateurs
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics/**", "/actuator/metrics").hasRole("ADMIN")
+                        
+                        // Modification des niveaux de log à chaud réservée aux administrateurs
+                        .requestMatchers("/actuator/loggers/**").hasRole("ADMIN")
+                        
+                        // Statistiques SQL (texte des requêtes) réservées aux administrateurs
+                        .requestMatchers("/actuator/sqlstats/**", "/actuator/sqlstats").hasRole("ADMIN")
+                        
                         // Permettre OPTIONS pour CORS
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         
@@ -86,6 +102,9 @@ public class SecurityConfig {
                 
                 // Ajouter le filtre JWT avant le filtre d'authentification standard
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Limitation de débit avant le filtre JWT : une requête rejetée ne charge pas l'utilisateur
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
                 
                 // Configuration pour H2 console (développement uniquement)
                 .headers(headers -> headers
@@ -141,11 +160,18 @@ public class SecurityConfig {
                 "Content-Type",
                 "Accept",
                 "Origin",
-                "X-Requested-With"
+                "X-Requested-With",
+                IdempotencyAspect.IDEMPOTENCY_KEY_HEADER
         ));
         
         // Headers exposés
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of(
+                "Authorization",
+                RateLimitFilter.LIMIT_HEADER,
+                RateLimitFilter.REMAINING_HEADER,
+                "Retry-After",
+                IdempotencyAspect.REPLAYED_HEADER
+        ));
         
         // Permettre les credentials (cookies, authorization headers)
         configuration.setAllowCredentials(true);
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * DTO for password change requests
@@ -17,12 +18,15 @@ import lombok.NoArgsConstructor;
 public class ChangePasswordRequestDTO {
 
     @NotBlank(message = "Current password is required")
+    @ToString.Exclude
     private String currentPassword;
 
     @NotBlank(message = "New password is required")
     @Size(min = 8, max = 100, message = "New password must be between 8 and 100 characters")
+    @ToString.Exclude
     private String newPassword;
 
     @NotBlank(message = "Password confirmation is required")
+    @ToString.Exclude
     private String confirmPassword;
 }
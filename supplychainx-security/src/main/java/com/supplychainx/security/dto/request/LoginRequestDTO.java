@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * DTO for user login requests
@@ -19,5 +20,6 @@ public class LoginRequestDTO {
     private String username;
 
     @NotBlank(message = "Password is required")
+    @ToString.Exclude
     private String password;
 }
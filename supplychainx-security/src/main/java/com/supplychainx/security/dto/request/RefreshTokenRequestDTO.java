@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * DTO pour le rafraîchissement du token
@@ -17,5 +18,6 @@ import lombok.NoArgsConstructor;
 public class RefreshTokenRequestDTO {
     
     @NotBlank(message = "Le refresh token est obligatoire")
+    @ToString.Exclude
     private String refreshToken;
 }
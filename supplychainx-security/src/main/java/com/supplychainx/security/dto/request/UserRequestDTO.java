@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * DTO for user registration and creation requests
@@ -25,6 +26,7 @@ public class UserRequestDTO {
 
     @NotBlank(message = "Password is required")
     @Size(min = 8, max = 100, message = "Password must be between 8 and 100 characters")
+    @ToString.Exclude
     private String password;
 
     @NotBlank(message = "Email is required")
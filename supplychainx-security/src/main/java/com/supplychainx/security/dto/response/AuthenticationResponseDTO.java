@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -11,7 +12,9 @@ import lombok.NoArgsConstructor;
 @Builder
 public class AuthenticationResponseDTO {
 
+    @ToString.Exclude
     private String token;
+    @ToString.Exclude
     private String refreshToken;
     
     @Builder.Default
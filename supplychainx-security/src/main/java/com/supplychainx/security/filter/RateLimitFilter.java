@@ -0,0 +1,131 @@
+package com.supplychainx.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supplychainx.common.enums.Role;
+import com.supplychainx.security.config.JwtProperties;
+import com.supplychainx.security.config.RateLimitProperties;
+import com.supplychainx.security.ratelimit.RateLimiter;
+import com.supplychainx.security.ratelimit.TokenBucket;
+import com.supplychainx.security.service.JwtTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limitation de débit des API, placée avant {@link JwtAuthenticationFilter}
+ *
+ * Clé : identifiant de l'utilisateur lu dans le JWT (quota de son rôle), ou adresse IP pour /api/auth/**
+ * et les requêtes sans token valide. Une requête rejetée ne coûte ni chargement de l'utilisateur
+ * ni connexion JDBC : 429 avec Retry-After. Les en-têtes X-RateLimit-* accompagnent chaque réponse.
+ * L'adresse IP est celle du client même derrière un équilibreur : X-Forwarded-For n'est appliqué par Tomcat
+ * que pour les proxies de confiance (server.forward-headers-strategy, server.tomcat.remoteip.internal-proxies).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final String AUTH_PATH = "/api/auth/";
+    private static final String AUTH_QUOTA = "auth";
+    private static final String ANONYMOUS_QUOTA = "anonymous";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final JwtTokenService jwtTokenService;
+    private final JwtProperties jwtProperties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        TokenBucket.Probe probe = acquire(request);
+        response.setHeader(LIMIT_HEADER, String.valueOf(probe.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(probe.remaining()));
+        if (probe.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("Limite de débit atteinte: {} {}", request.getMethod(), request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(probe.retryAfterSeconds()));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Trop de requêtes, réessayez dans " + probe.retryAfterSeconds() + " s");
+        body.put("path", request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    private TokenBucket.Probe acquire(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith(AUTH_PATH)) {
+            return rateLimiter.tryAcquire(AUTH_QUOTA + ":" + request.getRemoteAddr(), AUTH_QUOTA, properties.getAuth());
+        }
+        Caller caller = identify(request);
+        if (caller == null) {
+            return rateLimiter.tryAcquire(ANONYMOUS_QUOTA + ":" + request.getRemoteAddr(), ANONYMOUS_QUOTA,
+                    properties.getAnonymous());
+        }
+        // Le rôle fait partie de la clé : un changement de rôle prend effet sans attendre l'éviction du seau
+        String quotaName = caller.role() != null ? caller.role().name() : "default";
+        return rateLimiter.tryAcquire("user:" + caller.id() + ":" + quotaName, quotaName,
+                properties.quotaFor(caller.role()));
+    }
+
+    // Token invalide ou expiré : traité comme anonyme, le filtre JWT le rejettera ensuite
+    private Caller identify(HttpServletRequest request) {
+        String header = request.getHeader(jwtProperties.getHeaderString());
+        if (header == null || !header.startsWith(jwtProperties.getTokenPrefix())) {
+            return null;
+        }
+        try {
+            return jwtTokenService.extractClaim(header.substring(jwtProperties.getTokenPrefix().length()), claims -> {
+                Long userId = claims.get("userId", Long.class);
+                return new Caller(userId != null ? userId.toString() : claims.getSubject(),
+                        toRole(claims.get("role", String.class)));
+            });
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Role toRole(String roleName) {
+        if (roleName == null) {
+            return null;
+        }
+        try {
+            return Role.valueOf(roleName);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record Caller(String id, Role role) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.supplychainx.security.ratelimit;
+
+import com.supplychainx.security.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seaux à jetons par clé (utilisateur ou IP), en mémoire et bornés
+ *
+ * Un seau plein ne porte aucune information : il est retiré par le balayage périodique, ou aussitôt
+ * que la table atteint max-buckets (au plus un balayage par seconde). Si la table reste pleine de seaux
+ * actifs, les nouvelles clés partagent un seau de débordement par quota au lieu d'agrandir la table.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    static final String COUNTER_NAME = "supplychainx.ratelimit.requests";
+    static final String BUCKETS_GAUGE = "supplychainx.ratelimit.buckets";
+
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> overflow = new ConcurrentHashMap<>();
+    private final Map<String, Outcomes> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.lastSweepNanos = new AtomicLong(System.nanoTime() - MIN_SWEEP_INTERVAL_NANOS);
+        Gauge.builder(BUCKETS_GAUGE, buckets, Map::size)
+                .description("Seaux de limitation de débit en mémoire")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consommer un jeton du seau de la clé
+     *
+     * @param quotaName nom du quota (rôle, auth, anonymous), sert aussi d'étiquette aux métriques
+     */
+    public TokenBucket.Probe tryAcquire(String key, String quotaName, RateLimitProperties.Quota quota) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = bucketForNewKey(key, quotaName, quota, now);
+        }
+        TokenBucket.Probe probe = bucket.tryConsume(now);
+        Outcomes counters = outcomes.computeIfAbsent(quotaName, this::registerCounters);
+        (probe.allowed() ? counters.allowed : counters.rejected).increment();
+        return probe;
+    }
+
+    /**
+     * Retirer les seaux pleins (clés inactives depuis au moins capacité / débit)
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        sweep(System.nanoTime());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucketForNewKey(String key, String quotaName, RateLimitProperties.Quota quota, long now) {
+        if (buckets.size() >= properties.getMaxBuckets()) {
+            long lastSweep = lastSweepNanos.get();
+            if (now - lastSweep >= MIN_SWEEP_INTERVAL_NANOS && lastSweepNanos.compareAndSet(lastSweep, now)) {
+                sweep(now);
+                if (buckets.size() >= properties.getMaxBuckets()) {
+                    log.warn("Table de limitation de débit pleine ({} seaux actifs) : nouvelles clés sur les seaux partagés",
+                            buckets.size());
+                }
+            }
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                return overflow.computeIfAbsent(quotaName, name -> newBucket(quota, now));
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> newBucket(quota, now));
+    }
+
+    private void sweep(long now) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        overflow.values().removeIf(bucket -> bucket.isFull(now));
+        if (log.isDebugEnabled() && before != buckets.size()) {
+            log.debug("{} seaux de limitation de débit inactifs retirés, {} restants", before - buckets.size(), buckets.size());
+        }
+    }
+
+    private static TokenBucket newBucket(RateLimitProperties.Quota quota, long now) {
+        return new TokenBucket(quota.getCapacity(), quota.getRefillPerSecond(), now);
+    }
+
+    private Outcomes registerCounters(String quotaName) {
+        return new Outcomes(counter(quotaName, "allowed"), counter(quotaName, "rejected"));
+    }
+
+    private Counter counter(String quotaName, String outcome) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Requêtes API par quota et par issue (acceptées, rejetées en 429)")
+                .tag("quota", quotaName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Outcomes(Counter allowed, Counter rejected) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.supplychainx.security.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou
+ *
+ * L'état se réduit à un instant : celui où le seau sera de nouveau plein (algorithme GCRA).
+ * Consommer un jeton recule cet instant d'un intervalle de remplissage, par compare-and-set ;
+ * la requête est refusée s'il dépasse maintenant + capacité × intervalle. Un seau dont l'instant
+ * est passé est plein : il peut être oublié sans perte d'information.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAtNanos;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = Math.max(1, capacity);
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(refillPerSecond, 1e-6)));
+        this.burstNanos = this.capacity * intervalNanos;
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consommer un jeton
+     *
+     * @return le résultat, avec les jetons restants ou le délai avant le prochain jeton
+     */
+    public Probe tryConsume(long nowNanos) {
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            long next = Math.max(fullAt, nowNanos) + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return new Probe(false, capacity, 0, debt - burstNanos);
+            }
+            if (fullAtNanos.compareAndSet(fullAt, next)) {
+                return new Probe(true, capacity, (int) ((burstNanos - debt) / intervalNanos), 0);
+            }
+        }
+    }
+
+    public boolean isFull(long nowNanos) {
+        return fullAtNanos.get() <= nowNanos;
+    }
+
+    /**
+     * Résultat d'une consommation
+     */
+    public record Probe(boolean allowed, int limit, int remaining, long retryAfterNanos) {
+
+        public long retryAfterSeconds() {
+            return Math.max(1, (long) Math.ceil(retryAfterNanos / 1_000_000_000.0));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.supplychainx.security.repository;
 
 import com.supplychainx.common.enums.Role;
 import com.supplychainx.security.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -69,4 +70,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%'))")
     List<User> searchUsers(@Param("search") String search);
+
+    /**
+     * Next batch for the search index rebuild (keyset pagination)
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
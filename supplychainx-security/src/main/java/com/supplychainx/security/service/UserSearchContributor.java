@@ -0,0 +1,48 @@
+package com.supplychainx.security.service;
+
+import com.supplychainx.common.search.SearchDocument;
+import com.supplychainx.common.search.SearchIndexContributor;
+import com.supplychainx.security.entity.User;
+import com.supplychainx.security.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Recherche unifiée : nom, identifiant et email des utilisateurs (réservée à l'administration)
+@Component
+@RequiredArgsConstructor
+public class UserSearchContributor implements SearchIndexContributor<User> {
+
+    private final UserRepository userRepository;
+
+    @Override
+    public String type() {
+        return "user";
+    }
+
+    @Override
+    public Class<User> entityType() {
+        return User.class;
+    }
+
+    @Override
+    public String requiredPermission() {
+        return "USER_MANAGEMENT";
+    }
+
+    @Override
+    public SearchDocument toDocument(User user) {
+        String fullName = ((user.getFirstName() != null ? user.getFirstName() : "") + " "
+                + (user.getLastName() != null ? user.getLastName() : "")).trim();
+        return new SearchDocument(type(), user.getId(), fullName.isEmpty() ? user.getUsername() : fullName,
+                user.getUsername(), Arrays.asList(user.getEmail()));
+    }
+
+    @Override
+    public List<User> loadBatch(Long afterId, int batchSize) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+    }
+}
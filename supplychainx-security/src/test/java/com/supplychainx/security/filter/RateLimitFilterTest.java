@@ -0,0 +1,108 @@
+package com.supplychainx.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supplychainx.common.enums.Role;
+import com.supplychainx.security.config.JwtProperties;
+import com.supplychainx.security.config.RateLimitProperties;
+import com.supplychainx.security.ratelimit.RateLimiter;
+import com.supplychainx.security.service.JwtTokenService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RateLimitProperties properties;
+    private JwtTokenService jwtTokenService;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        properties = new RateLimitProperties();
+        properties.setAuth(new RateLimitProperties.Quota(2, 0.2));
+        properties.getRoles().put(Role.ADMIN, new RateLimitProperties.Quota(1, 0.001));
+        jwtTokenService = mock(JwtTokenService.class);
+        filter = new RateLimitFilter(new RateLimiter(properties, new SimpleMeterRegistry()), properties,
+                jwtTokenService, new JwtProperties(), objectMapper);
+    }
+
+    @Test
+    void spentAuthQuota_shouldReturn429WithRetryAfter() throws Exception {
+        assertEquals(200, send(login("10.0.0.1")).getStatus());
+        MockHttpServletResponse second = send(login("10.0.0.1"));
+        assertEquals("2", second.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("0", second.getHeader(RateLimitFilter.REMAINING_HEADER));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.1"), rejected, chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertNull(chain.getRequest(), "la requête rejetée ne doit pas atteindre le contrôleur");
+        // 0,2 jeton par seconde : prochain jeton dans 5 s
+        assertEquals("5", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        Map<?, ?> body = objectMapper.readValue(rejected.getContentAsByteArray(), Map.class);
+        assertEquals(429, body.get("status"));
+        assertEquals("/api/auth/login", body.get("path"));
+
+        // Quota par IP : un autre client n'est pas pénalisé
+        assertEquals(200, send(login("10.0.0.2")).getStatus());
+    }
+
+    @Test
+    void authenticatedUser_shouldUseRoleQuotaWhateverTheAddress() throws Exception {
+        Claims claims = mock(Claims.class);
+        when(claims.get("userId", Long.class)).thenReturn(7L);
+        when(claims.get("role", String.class)).thenReturn(Role.ADMIN.name());
+        when(jwtTokenService.extractClaim(eq("jeton"), any())).thenAnswer(invocation ->
+                invocation.<Function<Claims, ?>>getArgument(1).apply(claims));
+
+        assertEquals(200, send(authenticated("10.0.0.1")).getStatus());
+        assertEquals(429, send(authenticated("10.0.0.2")).getStatus());
+    }
+
+    @Test
+    void disabledLimiter_shouldLetEveryRequestThrough() throws Exception {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = send(login("10.0.0.1"));
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        }
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest login(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static MockHttpServletRequest authenticated(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer jeton");
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.supplychainx.security.ratelimit;
+
+import com.supplychainx.security.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_shouldKeepOneBucketPerKey() {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(), meterRegistry);
+        RateLimitProperties.Quota quota = new RateLimitProperties.Quota(1, 0.001);
+
+        assertTrue(rateLimiter.tryAcquire("anonymous:10.0.0.1", "anonymous", quota).allowed());
+        assertFalse(rateLimiter.tryAcquire("anonymous:10.0.0.1", "anonymous", quota).allowed());
+        assertTrue(rateLimiter.tryAcquire("anonymous:10.0.0.2", "anonymous", quota).allowed());
+
+        assertEquals(2, rateLimiter.size());
+        assertEquals(2.0, meterRegistry.get(RateLimiter.COUNTER_NAME)
+                .tag("quota", "anonymous").tag("outcome", "allowed").counter().count());
+        assertEquals(1.0, meterRegistry.get(RateLimiter.COUNTER_NAME)
+                .tag("quota", "anonymous").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void fullTable_shouldSendNewKeysToSharedOverflowBucket() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(2);
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+        RateLimitProperties.Quota quota = new RateLimitProperties.Quota(1, 0.001);
+
+        rateLimiter.tryAcquire("a", "anonymous", quota);
+        rateLimiter.tryAcquire("b", "anonymous", quota);
+
+        // Seaux actifs (non pleins) : le balayage ne libère rien, c et d partagent un seau
+        assertTrue(rateLimiter.tryAcquire("c", "anonymous", quota).allowed());
+        assertFalse(rateLimiter.tryAcquire("d", "anonymous", quota).allowed());
+        assertEquals(2, rateLimiter.size());
+    }
+
+    @Test
+    void evictIdle_shouldRemoveOnlyFullBuckets() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(), meterRegistry);
+
+        rateLimiter.tryAcquire("fast", "default", new RateLimitProperties.Quota(1, 1000));
+        rateLimiter.tryAcquire("slow", "default", new RateLimitProperties.Quota(1, 0.001));
+        Thread.sleep(20);
+        rateLimiter.evictIdle();
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
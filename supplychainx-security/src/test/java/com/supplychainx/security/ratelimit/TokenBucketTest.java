@@ -0,0 +1,88 @@
+package com.supplychainx.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    @Test
+    void burst_shouldAllowCapacityThenReject() {
+        TokenBucket bucket = new TokenBucket(5, 1, START);
+
+        for (int i = 4; i >= 0; i--) {
+            TokenBucket.Probe probe = bucket.tryConsume(START);
+            assertTrue(probe.allowed());
+            assertEquals(5, probe.limit());
+            assertEquals(i, probe.remaining());
+        }
+
+        TokenBucket.Probe rejected = bucket.tryConsume(START);
+        assertFalse(rejected.allowed());
+        assertEquals(SECOND, rejected.retryAfterNanos());
+        assertEquals(1, rejected.retryAfterSeconds());
+    }
+
+    @Test
+    void refill_shouldAddTokensAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 0.5, START);
+        assertTrue(bucket.tryConsume(START).allowed());
+        assertTrue(bucket.tryConsume(START).allowed());
+
+        // 0,5 jeton par seconde : un jeton toutes les 2 s
+        TokenBucket.Probe tooEarly = bucket.tryConsume(START + SECOND);
+        assertFalse(tooEarly.allowed());
+        assertEquals(SECOND, tooEarly.retryAfterNanos());
+
+        assertTrue(bucket.tryConsume(START + 2 * SECOND).allowed());
+        assertFalse(bucket.tryConsume(START + 2 * SECOND).allowed());
+    }
+
+    @Test
+    void idleBucket_shouldRefillUpToCapacityOnly() {
+        TokenBucket bucket = new TokenBucket(3, 10, START);
+        bucket.tryConsume(START);
+        assertFalse(bucket.isFull(START));
+
+        long later = START + 60 * SECOND;
+        assertTrue(bucket.isFull(later));
+        int allowed = 0;
+        while (bucket.tryConsume(later).allowed()) {
+            allowed++;
+        }
+        assertEquals(3, allowed);
+    }
+
+    @Test
+    void concurrentConsumers_shouldNeverExceedCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 1e-3, START);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    if (bucket.tryConsume(START).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+    }
+}
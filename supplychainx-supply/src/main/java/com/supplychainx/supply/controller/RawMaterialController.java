@@ -1,9 +1,12 @@
 package com.supplychainx.supply.controller;
 
+import com.supplychainx.common.annotation.ConditionalGet;
 import com.supplychainx.common.dto.ApiResponse;
 import com.supplychainx.common.dto.PageResponse;
 import com.supplychainx.supply.dto.request.RawMaterialRequestDTO;
 import com.supplychainx.supply.dto.response.RawMaterialResponseDTO;
+import com.supplychainx.supply.entity.RawMaterial;
+import com.supplychainx.supply.entity.Supplier;
 import com.supplychainx.supply.service.RawMaterialService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -59,6 +62,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(value = RawMaterial.class, idVariable = "id", dependsOn = Supplier.class)
     @Operation(summary = "Consulter une matière première par ID", description = "Récupère les détails d'une matière première par son ID")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<RawMaterialResponseDTO> findById(@PathVariable Long id) {
@@ -68,6 +72,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/code/{code}")
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Consulter une matière première par code", description = "Récupère les détails d'une matière première par son code")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<RawMaterialResponseDTO> findByCode(@PathVariable String code) {
@@ -77,6 +82,7 @@ public class RawMaterialController {
     }
 
     @GetMapping
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Lister toutes les matières premières", description = "Récupère la liste de toutes les matières premières avec pagination")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<PageResponse<RawMaterialResponseDTO>> findAll(
@@ -87,6 +93,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/search")
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Rechercher des matières premières par nom", description = "Recherche des matières premières dont le nom contient la chaîne fournie")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<List<RawMaterialResponseDTO>> searchByName(
@@ -98,6 +105,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/category/{category}")
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Filtrer par catégorie", description = "Récupère les matières premières d'une catégorie spécifique")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<List<RawMaterialResponseDTO>> findByCategory(
@@ -109,6 +117,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/low-stock")
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Matières en stock faible", description = "Récupère les matières premières dont le stock est inférieur au stock minimum")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<List<RawMaterialResponseDTO>> findLowStockMaterials() {
@@ -118,6 +127,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/low-stock/paginated")
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Matières en stock faible avec pagination", description = "Récupère les matières premières en stock faible avec pagination")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<PageResponse<RawMaterialResponseDTO>> findLowStockMaterialsPaginated(
@@ -128,6 +138,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/low-stock/count")
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Compter les matières en stock faible", description = "Retourne le nombre de matières premières en stock faible")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<Long> countLowStockMaterials() {
@@ -137,6 +148,7 @@ public class RawMaterialController {
     }
 
     @GetMapping("/supplier/{supplierId}")
+    @ConditionalGet(value = RawMaterial.class, dependsOn = Supplier.class)
     @Operation(summary = "Matières d'un fournisseur", description = "Récupère les matières premières fournies par un fournisseur spécifique")
     @PreAuthorize("@securityExpressions.hasPermission('RAW_MATERIAL_READ')")
     public ApiResponse<List<RawMaterialResponseDTO>> findBySupplier(@PathVariable Long supplierId) {
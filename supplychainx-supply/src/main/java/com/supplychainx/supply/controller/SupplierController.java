@@ -1,9 +1,11 @@
 package com.supplychainx.supply.controller;
 
+import com.supplychainx.common.annotation.ConditionalGet;
 import com.supplychainx.common.dto.ApiResponse;
 import com.supplychainx.common.dto.PageResponse;
 import com.supplychainx.supply.dto.request.SupplierRequestDTO;
 import com.supplychainx.supply.dto.response.SupplierResponseDTO;
+import com.supplychainx.supply.entity.Supplier;
 import com.supplychainx.supply.service.SupplierService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -60,6 +62,7 @@ public class SupplierController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(value = Supplier.class, idVariable = "id")
     @Operation(summary = "Consulter un fournisseur par ID", description = "Récupère les détails d'un fournisseur par son ID")
     @PreAuthorize("@securityExpressions.hasPermission('SUPPLIER_READ')")
     public ApiResponse<SupplierResponseDTO> findById(@PathVariable Long id) {
@@ -69,6 +72,7 @@ public class SupplierController {
     }
 
     @GetMapping("/code/{code}")
+    @ConditionalGet(Supplier.class)
     @Operation(summary = "Consulter un fournisseur par code", description = "Récupère les détails d'un fournisseur par son code")
     @PreAuthorize("@securityExpressions.hasPermission('SUPPLIER_READ')")
     public ApiResponse<SupplierResponseDTO> findByCode(@PathVariable String code) {
@@ -78,6 +82,7 @@ public class SupplierController {
     }
 
     @GetMapping
+    @ConditionalGet(Supplier.class)
     @Operation(summary = "Lister tous les fournisseurs", description = "Récupère la liste de tous les fournisseurs avec pagination")
     @PreAuthorize("@securityExpressions.hasPermission('SUPPLIER_READ')")
     public ApiResponse<PageResponse<SupplierResponseDTO>> findAll(
@@ -88,6 +93,7 @@ public class SupplierController {
     }
 
     @GetMapping("/search")
+    @ConditionalGet(Supplier.class)
     @Operation(summary = "Rechercher des fournisseurs par nom", description = "Recherche des fournisseurs dont le nom contient la chaîne fournie")
     @PreAuthorize("@securityExpressions.hasPermission('SUPPLIER_READ')")
     public ApiResponse<List<SupplierResponseDTO>> searchByName(
@@ -99,6 +105,7 @@ public class SupplierController {
     }
 
     @GetMapping("/rating/{minRating}")
+    @ConditionalGet(Supplier.class)
     @Operation(summary = "Filtrer par note minimale", description = "Récupère les fournisseurs avec une note supérieure ou égale à la note minimale")
     @PreAuthorize("@securityExpressions.hasPermission('SUPPLIER_READ')")
     public ApiResponse<List<SupplierResponseDTO>> findByMinimumRating(@PathVariable Double minRating) {
@@ -108,6 +115,7 @@ public class SupplierController {
     }
 
     @GetMapping("/lead-time/{maxLeadTime}")
+    @ConditionalGet(Supplier.class)
     @Operation(summary = "Filtrer par délai maximum", description = "Récupère les fournisseurs avec un délai de livraison inférieur ou égal au délai maximum")
     @PreAuthorize("@securityExpressions.hasPermission('SUPPLIER_READ')")
     public ApiResponse<List<SupplierResponseDTO>> findByMaxLeadTime(@PathVariable Integer maxLeadTime) {
@@ -117,6 +125,7 @@ public class SupplierController {
     }
 
     @GetMapping("/top-rated")
+    @ConditionalGet(Supplier.class)
     @Operation(summary = "Fournisseurs les mieux notés", description = "Récupère tous les fournisseurs triés par note décroissante")
     @PreAuthorize("@securityExpressions.hasPermission('SUPPLIER_READ')")
     public ApiResponse<List<SupplierResponseDTO>> findTopRated(
@@ -1,7 +1,11 @@
 package com.supplychainx.supply.controller;
 
+import com.supplychainx.common.annotation.Bulkhead;
+import com.supplychainx.common.annotation.Idempotent;
+import com.supplychainx.common.annotation.SparseFieldset;
 import com.supplychainx.common.dto.ApiResponse;
 import com.supplychainx.common.dto.PageResponse;
+import com.supplychainx.common.projection.FieldSelection;
 import com.supplychainx.supply.dto.request.SupplyOrderRequestDTO;
 import com.supplychainx.supply.dto.response.SupplyOrderResponseDTO;
 import com.supplychainx.supply.enums.SupplyOrderStatus;
@@ -27,6 +31,7 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Commandes d'Approvisionnement", description = "API de gestion des commandes d'approvisionnement")
+@Bulkhead("supply")
 public class SupplyOrderController {
 
     private final SupplyOrderService supplyOrderService;
@@ -36,6 +41,7 @@ public class SupplyOrderController {
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Créer une commande", description = "Crée une nouvelle commande d'approvisionnement avec ses lignes")
     @PreAuthorize("@securityExpressions.hasPermission('PURCHASE_ORDER_CREATE')")
+    @Idempotent
     public ApiResponse<SupplyOrderResponseDTO> create(@Valid @RequestBody SupplyOrderRequestDTO requestDTO) {
         log.info("Requête de création d'une commande - Numéro: {}", requestDTO.getOrderNumber());
         SupplyOrderResponseDTO order = supplyOrderService.create(requestDTO);
@@ -89,9 +95,10 @@ public class SupplyOrderController {
     @Operation(summary = "Lister toutes les commandes", description = "Récupère la liste de toutes les commandes avec pagination")
     @PreAuthorize("@securityExpressions.hasPermission('PURCHASE_ORDER_READ')")
     public ApiResponse<PageResponse<SupplyOrderResponseDTO>> findAll(
-            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+            @SparseFieldset(SupplyOrderResponseDTO.class) FieldSelection fields) {
         log.debug("Requête de liste de toutes les commandes - Page: {}", pageable.getPageNumber());
-        PageResponse<SupplyOrderResponseDTO> orders = supplyOrderService.findAll(pageable);
+        PageResponse<SupplyOrderResponseDTO> orders = supplyOrderService.findAll(pageable, fields);
         return ApiResponse.success(orders);
     }
 
@@ -101,9 +108,10 @@ public class SupplyOrderController {
     @PreAuthorize("@securityExpressions.hasPermission('PURCHASE_ORDER_READ')")
     public ApiResponse<List<SupplyOrderResponseDTO>> findByStatus(
             @PathVariable SupplyOrderStatus status,
-            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+            @SparseFieldset(SupplyOrderResponseDTO.class) FieldSelection fields) {
         log.debug("Requête de filtrage des commandes - Statut: {}", status);
-        List<SupplyOrderResponseDTO> orders = supplyOrderService.findByStatus(status, pageable);
+        List<SupplyOrderResponseDTO> orders = supplyOrderService.findByStatus(status, pageable, fields);
         return ApiResponse.success(orders);
     }
 
@@ -113,9 +121,10 @@ public class SupplyOrderController {
     @PreAuthorize("@securityExpressions.hasPermission('PURCHASE_ORDER_READ')")
     public ApiResponse<List<SupplyOrderResponseDTO>> findBySupplier(
             @PathVariable Long supplierId,
-            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+            @SparseFieldset(SupplyOrderResponseDTO.class) FieldSelection fields) {
         log.debug("Requête de liste des commandes du fournisseur ID: {}", supplierId);
-        List<SupplyOrderResponseDTO> orders = supplyOrderService.findBySupplier(supplierId, pageable);
+        List<SupplyOrderResponseDTO> orders = supplyOrderService.findBySupplier(supplierId, pageable, fields);
         return ApiResponse.success(orders);
     }
 
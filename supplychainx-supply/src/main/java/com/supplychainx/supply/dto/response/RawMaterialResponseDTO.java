@@ -1,5 +1,7 @@
 package com.supplychainx.supply.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.supplychainx.common.projection.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +11,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
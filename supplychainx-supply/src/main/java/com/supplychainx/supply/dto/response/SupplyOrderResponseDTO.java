@@ -1,5 +1,7 @@
 package com.supplychainx.supply.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.supplychainx.common.projection.FieldSelection;
 import com.supplychainx.supply.enums.SupplyOrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
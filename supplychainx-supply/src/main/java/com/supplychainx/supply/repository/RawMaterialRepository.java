@@ -28,6 +28,10 @@ public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>,
     @Query("SELECT rm FROM RawMaterial rm WHERE rm.stock < rm.stockMin")
     List<RawMaterial> findLowStockMaterials();
 
+    // Stock critique limité à une part des identifiants (vérification répartie entre nœuds)
+    @Query("SELECT rm FROM RawMaterial rm WHERE rm.stock < rm.stockMin AND MOD(rm.id, :shardCount) = :shardIndex")
+    List<RawMaterial> findLowStockMaterialsInShard(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
+
     // Recherche des matières premières dont le stock est inférieur au stock minimum avec pagination
     @Query("SELECT rm FROM RawMaterial rm WHERE rm.stock < rm.stockMin")
     Page<RawMaterial> findLowStockMaterials(Pageable pageable);
@@ -51,4 +55,7 @@ public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>,
     // Compte le nombre de matières en stock critique
     @Query("SELECT COUNT(rm) FROM RawMaterial rm WHERE rm.stock < rm.stockMin")
     Long countLowStockMaterials();
+
+    // Lot suivant pour la reconstruction de l'index de recherche (pagination par identifiant)
+    List<RawMaterial> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
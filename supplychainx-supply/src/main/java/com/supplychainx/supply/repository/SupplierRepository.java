@@ -46,4 +46,7 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long>, JpaSp
     // Recherche des fournisseurs avec pagination et tri
     @Query("SELECT s FROM Supplier s ORDER BY s.rating DESC, s.name ASC")
     Page<Supplier> findAllOrderByRatingDesc(Pageable pageable);
+
+    // Lot suivant pour la reconstruction de l'index de recherche (pagination par identifiant)
+    List<Supplier> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
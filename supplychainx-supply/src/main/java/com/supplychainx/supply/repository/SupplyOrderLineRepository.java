@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +15,10 @@ public interface SupplyOrderLineRepository extends JpaRepository<SupplyOrderLine
     // Recherche toutes les lignes d'une commande
     List<SupplyOrderLine> findBySupplyOrderId(Long supplyOrderId);
 
+    // Lignes de plusieurs commandes avec leur matière (une requête pour toute une page)
+    @Query("SELECT sol FROM SupplyOrderLine sol JOIN FETCH sol.material WHERE sol.supplyOrder.id IN :orderIds")
+    List<SupplyOrderLine> findWithMaterialBySupplyOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
     // Recherche toutes les lignes contenant une matière première
     List<SupplyOrderLine> findByMaterialId(Long materialId);
 
@@ -38,11 +38,10 @@ public interface SupplyOrderRepository extends JpaRepository<SupplyOrder, Long>,
         Pageable pageable
     );
 
-    // Recherche des commandes en retard (date de livraison prévue dépassée et statut EN_COURS)
-    @Query("SELECT so FROM SupplyOrder so " +
-           "WHERE so.status = 'EN_COURS' " +
-           "AND so.expectedDeliveryDate < :currentDate")
-    List<SupplyOrder> findDelayedOrders(@Param("currentDate") LocalDate currentDate);
+    // Échéances des commandes EN_COURS (id, numéro, date prévue) pour l'index des retards
+    @Query("SELECT so.id, so.orderNumber, so.expectedDeliveryDate FROM SupplyOrder so " +
+           "WHERE so.status = 'EN_COURS' AND so.expectedDeliveryDate IS NOT NULL")
+    List<Object[]> findInProgressDeadlines();
 
     // Vérifie si un numéro de commande existe déjà
     boolean existsByOrderNumber(String orderNumber);
@@ -57,6 +56,10 @@ public interface SupplyOrderRepository extends JpaRepository<SupplyOrder, Long>,
     @Query("SELECT SUM(so.totalAmount) FROM SupplyOrder so WHERE so.status = :status")
     Double sumTotalAmountByStatus(@Param("status") SupplyOrderStatus status);
 
+    // Montant total de toutes les commandes, groupé par statut (réconciliation des KPI)
+    @Query("SELECT so.status, SUM(so.totalAmount) FROM SupplyOrder so GROUP BY so.status")
+    List<Object[]> sumTotalAmountGroupByStatus();
+
     // Recherche les dernières commandes
     @Query("SELECT so FROM SupplyOrder so ORDER BY so.orderDate DESC")
     Page<SupplyOrder> findRecentOrders(Pageable pageable);
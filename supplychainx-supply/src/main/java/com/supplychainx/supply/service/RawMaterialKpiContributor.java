@@ -0,0 +1,37 @@
+package com.supplychainx.supply.service;
+
+import com.supplychainx.common.kpi.KpiContributor;
+import com.supplychainx.supply.entity.RawMaterial;
+import com.supplychainx.supply.repository.RawMaterialRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// KPI matières premières : nombre de matières en stock faible
+@Component
+@RequiredArgsConstructor
+public class RawMaterialKpiContributor implements KpiContributor {
+
+    public static final String LOW_STOCK_MATERIALS = "supply.materials.low-stock";
+
+    private final RawMaterialRepository rawMaterialRepository;
+
+    @Override
+    public Class<?> entityType() {
+        return RawMaterial.class;
+    }
+
+    @Override
+    public Map<String, Double> contribution(State state) {
+        Object stock = state.get("stock");
+        Object stockMin = state.get("stockMin");
+        boolean lowStock = stock != null && stockMin != null && state.getDouble("stock") < state.getDouble("stockMin");
+        return Map.of(LOW_STOCK_MATERIALS, lowStock ? 1.0 : 0.0);
+    }
+
+    @Override
+    public Map<String, Double> recompute() {
+        return Map.of(LOW_STOCK_MATERIALS, rawMaterialRepository.countLowStockMaterials().doubleValue());
+    }
+}
@@ -0,0 +1,33 @@
+package com.supplychainx.supply.service;
+
+import com.supplychainx.common.event.StockChangedEvent;
+import com.supplychainx.common.lock.JobShard;
+import com.supplychainx.common.stock.LowStockItem;
+import com.supplychainx.common.stock.LowStockSource;
+import com.supplychainx.supply.entity.RawMaterial;
+import com.supplychainx.supply.repository.RawMaterialRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Matières premières en stock faible, pour la vérification planifiée des alertes
+@Component
+@RequiredArgsConstructor
+public class RawMaterialLowStockSource implements LowStockSource {
+
+    private final RawMaterialRepository rawMaterialRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LowStockItem> findLowStock(JobShard shard) {
+        List<RawMaterial> materials = shard.isAll()
+                ? rawMaterialRepository.findLowStockMaterials()
+                : rawMaterialRepository.findLowStockMaterialsInShard(shard.count(), shard.index());
+        return materials.stream()
+                .map(material -> new LowStockItem(StockChangedEvent.RAW_MATERIAL, material.getId(), material.getName(),
+                        material.getStock(), material.getStockMin()))
+                .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.supplychainx.supply.service;
+
+import com.supplychainx.common.search.SearchDocument;
+import com.supplychainx.common.search.SearchIndexContributor;
+import com.supplychainx.supply.entity.RawMaterial;
+import com.supplychainx.supply.repository.RawMaterialRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Recherche unifiée : nom, code et catégorie des matières premières
+@Component
+@RequiredArgsConstructor
+public class RawMaterialSearchContributor implements SearchIndexContributor<RawMaterial> {
+
+    private final RawMaterialRepository rawMaterialRepository;
+
+    @Override
+    public String type() {
+        return "material";
+    }
+
+    @Override
+    public Class<RawMaterial> entityType() {
+        return RawMaterial.class;
+    }
+
+    @Override
+    public String requiredPermission() {
+        return "RAW_MATERIAL_READ";
+    }
+
+    @Override
+    public SearchDocument toDocument(RawMaterial rawMaterial) {
+        return new SearchDocument(type(), rawMaterial.getId(), rawMaterial.getName(), rawMaterial.getCode(),
+                Arrays.asList(rawMaterial.getCategory()));
+    }
+
+    @Override
+    public List<RawMaterial> loadBatch(Long afterId, int batchSize) {
+        return rawMaterialRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+    }
+}
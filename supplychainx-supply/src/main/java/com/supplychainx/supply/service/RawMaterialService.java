@@ -1,10 +1,13 @@
 package com.supplychainx.supply.service;
 
 import com.supplychainx.common.dto.PageResponse;
+import com.supplychainx.common.event.StockChangedEvent;
 import com.supplychainx.common.exception.BusinessException;
 import com.supplychainx.common.exception.DuplicateResourceException;
 import com.supplychainx.common.exception.InsufficientStockException;
 import com.supplychainx.common.exception.ResourceNotFoundException;
+import com.supplychainx.common.kpi.KpiRegistry;
+import com.supplychainx.common.outbox.OutboxPublisher;
 import com.supplychainx.supply.dto.request.RawMaterialRequestDTO;
 import com.supplychainx.supply.dto.response.RawMaterialResponseDTO;
 import com.supplychainx.supply.entity.RawMaterial;
@@ -19,7 +22,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +35,8 @@ public class RawMaterialService {
     private final RawMaterialRepository rawMaterialRepository;
     private final SupplierRepository supplierRepository;
     private final RawMaterialMapper rawMaterialMapper;
+    private final KpiRegistry kpiRegistry;
+    private final OutboxPublisher outboxPublisher;
 
     @Transactional
     public RawMaterialResponseDTO create(RawMaterialRequestDTO requestDTO) {
@@ -47,6 +54,7 @@ public class RawMaterialService {
             rawMaterial.setSuppliers(suppliers);
         }
         RawMaterial savedMaterial = rawMaterialRepository.save(rawMaterial);
+        publishStockChange(savedMaterial, null, null);
         log.info("Matière première créée avec succès - ID: {}, Code: {}", savedMaterial.getId(), savedMaterial.getCode());
         return rawMaterialMapper.toResponseDTO(savedMaterial);
     }
@@ -59,6 +67,8 @@ public class RawMaterialService {
             rawMaterialRepository.existsByCode(requestDTO.getCode())) {
             throw new DuplicateResourceException("Une matière première avec le code " + requestDTO.getCode() + " existe déjà");
         }
+        Integer previousStock = existingMaterial.getStock();
+        Integer previousStockMin = existingMaterial.getStockMin();
         rawMaterialMapper.updateEntityFromDTO(requestDTO, existingMaterial);
         if (requestDTO.getSupplierIds() != null) {
             List<Supplier> suppliers = new java.util.ArrayList<>();
@@ -67,8 +77,11 @@ public class RawMaterialService {
                 suppliers.add(supplier);
             }
             existingMaterial.setSuppliers(suppliers);
+            // Un changement de fournisseurs seul ne modifie pas la ligne : forcer la date de modification (ETag)
+            existingMaterial.setUpdatedAt(LocalDateTime.now());
         }
         RawMaterial updatedMaterial = rawMaterialRepository.save(existingMaterial);
+        publishStockChange(updatedMaterial, previousStock, previousStockMin);
         log.info("Matière première mise à jour avec succès - ID: {}", id);
         return rawMaterialMapper.toResponseDTO(updatedMaterial);
     }
@@ -141,6 +154,10 @@ public class RawMaterialService {
     }
 
     public Long countLowStockMaterials() {
+        Double kpi = kpiRegistry.value(RawMaterialKpiContributor.LOW_STOCK_MATERIALS);
+        if (kpi != null) {
+            return Math.round(kpi);
+        }
         log.debug("Comptage des matières premières en stock faible");
         return rawMaterialRepository.countLowStockMaterials();
     }
@@ -160,8 +177,10 @@ public class RawMaterialService {
             throw new BusinessException("La quantité à ajouter doit être supérieure à 0");
         }
         RawMaterial material = rawMaterialRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Matière première non trouvée avec l'ID: " + id));
-        material.setStock(material.getStock() + quantity);
+        Integer previousStock = material.getStock();
+        material.setStock(previousStock + quantity);
         RawMaterial updatedMaterial = rawMaterialRepository.save(material);
+        publishStockChange(updatedMaterial, previousStock, updatedMaterial.getStockMin());
         log.info("Stock ajouté avec succès - ID: {}, Nouveau stock: {}", id, updatedMaterial.getStock());
         return rawMaterialMapper.toResponseDTO(updatedMaterial);
     }
@@ -177,8 +196,10 @@ public class RawMaterialService {
             log.error("Stock insuffisant pour la matière première ID: {}", id);
             throw new InsufficientStockException("Stock insuffisant. Stock actuel: " + material.getStock() + ", quantité demandée: " + quantity);
         }
-        material.setStock(material.getStock() - quantity);
+        Integer previousStock = material.getStock();
+        material.setStock(previousStock - quantity);
         RawMaterial updatedMaterial = rawMaterialRepository.save(material);
+        publishStockChange(updatedMaterial, previousStock, updatedMaterial.getStockMin());
         log.info("Stock réduit avec succès - ID: {}, Nouveau stock: {}", id, updatedMaterial.getStock());
         return rawMaterialMapper.toResponseDTO(updatedMaterial);
     }
@@ -189,4 +210,13 @@ public class RawMaterialService {
         }
         return !rawMaterialRepository.isUsedInOrders(id);
     }
+
+    // Variation de stock (ou du minimum) publiée dans l'outbox : alerte immédiate si le stock passe sous le minimum
+    private void publishStockChange(RawMaterial material, Integer previousStock, Integer previousStockMin) {
+        if (Objects.equals(previousStock, material.getStock()) && Objects.equals(previousStockMin, material.getStockMin())) {
+            return;
+        }
+        outboxPublisher.append(StockChangedEvent.rawMaterial(material.getId(), material.getName(), previousStock,
+                material.getStock(), material.getStockMin()));
+    }
 }
@@ -0,0 +1,46 @@
+package com.supplychainx.supply.service;
+
+import com.supplychainx.common.search.SearchDocument;
+import com.supplychainx.common.search.SearchIndexContributor;
+import com.supplychainx.supply.entity.Supplier;
+import com.supplychainx.supply.repository.SupplierRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Recherche unifiée : nom, code, contact et email des fournisseurs
+@Component
+@RequiredArgsConstructor
+public class SupplierSearchContributor implements SearchIndexContributor<Supplier> {
+
+    private final SupplierRepository supplierRepository;
+
+    @Override
+    public String type() {
+        return "supplier";
+    }
+
+    @Override
+    public Class<Supplier> entityType() {
+        return Supplier.class;
+    }
+
+    @Override
+    public String requiredPermission() {
+        return "SUPPLIER_READ";
+    }
+
+    @Override
+    public SearchDocument toDocument(Supplier supplier) {
+        return new SearchDocument(type(), supplier.getId(), supplier.getName(), supplier.getCode(),
+                Arrays.asList(supplier.getContact(), supplier.getEmail()));
+    }
+
+    @Override
+    public List<Supplier> loadBatch(Long afterId, int batchSize) {
+        return supplierRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+    }
+}
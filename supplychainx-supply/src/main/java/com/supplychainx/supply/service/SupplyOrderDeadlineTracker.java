@@ -0,0 +1,66 @@
+package com.supplychainx.supply.service;
+
+import com.supplychainx.common.deadline.AbstractDeadlineTracker;
+import com.supplychainx.common.deadline.DeadlineIndex;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.supply.entity.SupplyOrder;
+import com.supplychainx.supply.enums.SupplyOrderStatus;
+import com.supplychainx.supply.repository.SupplyOrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Index des échéances des commandes d'approvisionnement EN_COURS (date de livraison prévue)
+@Component
+public class SupplyOrderDeadlineTracker extends AbstractDeadlineTracker {
+
+    private final SupplyOrderRepository supplyOrderRepository;
+
+    public SupplyOrderDeadlineTracker(SupplyOrderRepository supplyOrderRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager) {
+        super(eventPublisher, transactionManager);
+        this.supplyOrderRepository = supplyOrderRepository;
+    }
+
+    @Override
+    protected String orderType() {
+        return OrderEvent.SUPPLY_ORDER;
+    }
+
+    @Override
+    protected String entityName() {
+        return SupplyOrder.class.getSimpleName();
+    }
+
+    @Override
+    protected List<DeadlineIndex.Entry> loadTrackedEntries() {
+        return supplyOrderRepository.findInProgressDeadlines().stream()
+                .map(row -> new DeadlineIndex.Entry((Long) row[0], (String) row[1], (LocalDate) row[2]))
+                .toList();
+    }
+
+    @Override
+    protected Optional<DeadlineIndex.Entry> loadTrackedEntry(Long orderId) {
+        return supplyOrderRepository.findById(orderId)
+                .filter(this::isTracked)
+                .map(order -> new DeadlineIndex.Entry(
+                        order.getId(), order.getOrderNumber(), order.getExpectedDeliveryDate()));
+    }
+
+    /**
+     * Vérifier qu'une commande signalée par l'index est toujours en retard d'après son état en base :
+     * l'index ne voit les écritures des autres nœuds qu'au passage suivant du bus d'invalidation
+     */
+    public boolean isLate(SupplyOrder order, LocalDate today) {
+        return isTracked(order) && order.getExpectedDeliveryDate().isBefore(today);
+    }
+
+    private boolean isTracked(SupplyOrder order) {
+        return order.getStatus() == SupplyOrderStatus.EN_COURS && order.getExpectedDeliveryDate() != null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.supplychainx.supply.service;
+
+import com.supplychainx.common.kpi.KpiContributor;
+import com.supplychainx.supply.entity.SupplyOrder;
+import com.supplychainx.supply.enums.SupplyOrderStatus;
+import com.supplychainx.supply.repository.SupplyOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// KPI commandes d'approvisionnement : montant total par statut
+@Component
+@RequiredArgsConstructor
+public class SupplyOrderKpiContributor implements KpiContributor {
+
+    private static final String TOTAL_AMOUNT_PREFIX = "supply.orders.amount.";
+
+    private final SupplyOrderRepository supplyOrderRepository;
+
+    public static String totalAmount(SupplyOrderStatus status) {
+        return TOTAL_AMOUNT_PREFIX + status.name();
+    }
+
+    @Override
+    public Class<?> entityType() {
+        return SupplyOrder.class;
+    }
+
+    @Override
+    public Map<String, Double> contribution(State state) {
+        SupplyOrderStatus status = (SupplyOrderStatus) state.get("status");
+        if (status == null) {
+            return Map.of();
+        }
+        return Map.of(totalAmount(status), state.getDouble("totalAmount"));
+    }
+
+    @Override
+    public Map<String, Double> recompute() {
+        Map<String, Double> totals = new HashMap<>();
+        for (SupplyOrderStatus status : SupplyOrderStatus.values()) {
+            totals.put(totalAmount(status), 0.0);
+        }
+        for (Object[] row : supplyOrderRepository.sumTotalAmountGroupByStatus()) {
+            totals.put(totalAmount((SupplyOrderStatus) row[0]), row[1] != null ? ((Number) row[1]).doubleValue() : 0.0);
+        }
+        return totals;
+    }
+}
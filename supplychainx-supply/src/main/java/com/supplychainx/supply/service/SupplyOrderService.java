@@ -1,31 +1,53 @@
 package com.supplychainx.supply.service;
 
+import com.supplychainx.common.annotation.SingleFlight;
 import com.supplychainx.common.dto.PageResponse;
+import com.supplychainx.common.event.OrderDeletedEvent;
+import com.supplychainx.common.event.OrderEvent;
+import com.supplychainx.common.event.OrderReceivedEvent;
+import com.supplychainx.common.event.OrderStatusChangedEvent;
+import com.supplychainx.common.event.OrderUpdatedEvent;
+import com.supplychainx.common.event.StockChangedEvent;
 import com.supplychainx.common.exception.BusinessException;
 import com.supplychainx.common.exception.DuplicateResourceException;
 import com.supplychainx.common.exception.ResourceNotFoundException;
+import com.supplychainx.common.kpi.KpiRegistry;
+import com.supplychainx.common.outbox.OutboxPublisher;
+import com.supplychainx.common.projection.FieldSelection;
+import com.supplychainx.common.projection.ProjectionQueryExecutor;
+import com.supplychainx.common.util.ConstraintUtil;
 import com.supplychainx.supply.dto.request.SupplyOrderLineRequestDTO;
 import com.supplychainx.supply.dto.request.SupplyOrderRequestDTO;
+import com.supplychainx.supply.dto.response.SupplyOrderLineResponseDTO;
 import com.supplychainx.supply.dto.response.SupplyOrderResponseDTO;
 import com.supplychainx.supply.entity.RawMaterial;
 import com.supplychainx.supply.entity.Supplier;
 import com.supplychainx.supply.entity.SupplyOrder;
 import com.supplychainx.supply.entity.SupplyOrderLine;
 import com.supplychainx.supply.enums.SupplyOrderStatus;
+import com.supplychainx.supply.mapper.SupplyOrderLineMapper;
 import com.supplychainx.supply.mapper.SupplyOrderMapper;
 import com.supplychainx.supply.repository.RawMaterialRepository;
 import com.supplychainx.supply.repository.SupplierRepository;
+import com.supplychainx.supply.repository.SupplyOrderLineRepository;
 import com.supplychainx.supply.repository.SupplyOrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -37,6 +59,13 @@ public class SupplyOrderService {
     private final SupplierRepository supplierRepository;
     private final RawMaterialRepository rawMaterialRepository;
     private final SupplyOrderMapper supplyOrderMapper;
+    private final SupplyOrderLineRepository supplyOrderLineRepository;
+    private final SupplyOrderLineMapper supplyOrderLineMapper;
+    private final ProjectionQueryExecutor projectionQueryExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SupplyOrderDeadlineTracker deadlineTracker;
+    private final KpiRegistry kpiRegistry;
+    private final OutboxPublisher outboxPublisher;
 
     // Créer une nouvelle commande d'approvisionnement
     @Transactional
@@ -66,7 +95,17 @@ public class SupplyOrderService {
             orderLines.add(orderLine);
         }
         supplyOrder.setOrderLines(orderLines);
-        SupplyOrder savedOrder = supplyOrderRepository.save(supplyOrder);
+        SupplyOrder savedOrder;
+        try {
+            savedOrder = supplyOrderRepository.save(supplyOrder);
+        } catch (DataIntegrityViolationException e) {
+            // Seule une création concurrente avec le même numéro est un doublon : le reste remonte tel quel
+            if (!ConstraintUtil.isUniqueViolation(e, "uk_supply_orders_order_number", "order_number")) {
+                throw e;
+            }
+            throw new DuplicateResourceException("Une commande avec le numéro " + requestDTO.getOrderNumber() + " existe déjà");
+        }
+        eventPublisher.publishEvent(new OrderUpdatedEvent(OrderEvent.SUPPLY_ORDER, savedOrder.getId()));
         log.info("Commande créée avec succès - ID: {}, Numéro: {}", savedOrder.getId(), savedOrder.getOrderNumber());
         return supplyOrderMapper.toResponseDTO(savedOrder);
     }
@@ -110,6 +149,7 @@ public class SupplyOrderService {
         existingOrder.getOrderLines().addAll(newOrderLines);
 
         SupplyOrder updatedOrder = supplyOrderRepository.save(existingOrder);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(OrderEvent.SUPPLY_ORDER, updatedOrder.getId()));
 
         log.info("Commande mise à jour avec succès - ID: {}", id);
         return supplyOrderMapper.toResponseDTO(updatedOrder);
@@ -129,6 +169,7 @@ public class SupplyOrderService {
         }
 
         supplyOrderRepository.delete(order);
+        eventPublisher.publishEvent(new OrderDeletedEvent(OrderEvent.SUPPLY_ORDER, id));
         log.info("Commande supprimée avec succès - ID: {}", id);
     }
 
@@ -164,6 +205,21 @@ public class SupplyOrderService {
         );
     }
 
+    // Lister les commandes en ne lisant que les champs demandés (fields=...)
+    public PageResponse<SupplyOrderResponseDTO> findAll(Pageable pageable, FieldSelection fields) {
+        if (fields.isAll()) {
+            return findAll(pageable);
+        }
+        Page<SupplyOrderResponseDTO> orderPage = findProjected(null, pageable, fields);
+        return PageResponse.of(
+                orderPage.getContent(),
+                orderPage.getNumber(),
+                orderPage.getSize(),
+                orderPage.getTotalElements(),
+                orderPage.getTotalPages()
+        );
+    }
+
     // Récupérer les commandes par statut
     public List<SupplyOrderResponseDTO> findByStatus(SupplyOrderStatus status, Pageable pageable) {
         log.debug("Recherche des commandes avec le statut: {}", status);
@@ -171,6 +227,16 @@ public class SupplyOrderService {
         return supplyOrderMapper.toResponseDTOList(orders.getContent());
     }
 
+    // Récupérer les commandes par statut (champs demandés uniquement)
+    public List<SupplyOrderResponseDTO> findByStatus(SupplyOrderStatus status, Pageable pageable, FieldSelection fields) {
+        if (fields.isAll()) {
+            return findByStatus(status, pageable);
+        }
+        log.debug("Recherche des commandes avec le statut: {} - Champs: {}", status, fields);
+        Specification<SupplyOrder> byStatus = (root, query, cb) -> cb.equal(root.get("status"), status);
+        return findProjected(byStatus, pageable, fields).getContent();
+    }
+
     // Récupérer les commandes d'un fournisseur
     public List<SupplyOrderResponseDTO> findBySupplier(Long supplierId, Pageable pageable) {
         log.debug("Recherche des commandes du fournisseur ID: {}", supplierId);
@@ -182,6 +248,18 @@ public class SupplyOrderService {
         return supplyOrderMapper.toResponseDTOList(orders.getContent());
     }
 
+    // Récupérer les commandes d'un fournisseur (champs demandés uniquement)
+    public List<SupplyOrderResponseDTO> findBySupplier(Long supplierId, Pageable pageable, FieldSelection fields) {
+        if (fields.isAll()) {
+            return findBySupplier(supplierId, pageable);
+        }
+        if (!supplierRepository.existsById(supplierId)) {
+            throw new ResourceNotFoundException("Fournisseur non trouvé avec l'ID: " + supplierId);
+        }
+        Specification<SupplyOrder> bySupplier = (root, query, cb) -> cb.equal(root.get("supplier").get("id"), supplierId);
+        return findProjected(bySupplier, pageable, fields).getContent();
+    }
+
     // Récupérer les commandes d'un fournisseur par statut
     public List<SupplyOrderResponseDTO> findBySupplierAndStatus(Long supplierId, SupplyOrderStatus status, Pageable pageable) {
         log.debug("Recherche des commandes du fournisseur ID: {} avec le statut: {}", supplierId, status);
@@ -206,7 +284,13 @@ public class SupplyOrderService {
     // Récupérer les commandes en retard
     public List<SupplyOrderResponseDTO> findDelayedOrders() {
         log.debug("Recherche des commandes en retard");
-        List<SupplyOrder> orders = supplyOrderRepository.findDelayedOrders(LocalDate.now());
+        // Index des échéances : lecture par clé primaire des seules commandes en retard, revérifiées en base
+        LocalDate today = LocalDate.now();
+        List<SupplyOrder> orders = supplyOrderRepository.findAllById(deadlineTracker.findLateOrderIds()).stream()
+                .filter(order -> deadlineTracker.isLate(order, today))
+                .sorted(Comparator.comparing(SupplyOrder::getExpectedDeliveryDate,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
         return supplyOrderMapper.toResponseDTOList(orders);
     }
 
@@ -224,9 +308,11 @@ public class SupplyOrderService {
         SupplyOrder order = supplyOrderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Commande non trouvée avec l'ID: " + id));
         // Vérifier la transition de statut
-        validateStatusTransition(order.getStatus(), newStatus);
+        SupplyOrderStatus previousStatus = order.getStatus();
+        validateStatusTransition(previousStatus, newStatus);
         order.setStatus(newStatus);
         SupplyOrder updatedOrder = supplyOrderRepository.save(order);
+        publishStatusChange(updatedOrder, previousStatus);
         log.info("Statut de la commande mis à jour avec succès - ID: {}, Nouveau statut: {}", id, newStatus);
         return supplyOrderMapper.toResponseDTO(updatedOrder);
     }
@@ -240,16 +326,23 @@ public class SupplyOrderService {
         if (order.getStatus() != SupplyOrderStatus.EN_COURS) {
             throw new BusinessException("Seules les commandes EN_COURS peuvent être marquées comme reçues");
         }
+        SupplyOrderStatus previousStatus = order.getStatus();
         order.setStatus(SupplyOrderStatus.RECUE);
         order.setActualDeliveryDate(actualDeliveryDate);
         // Mettre à jour le stock des matières premières
         for (SupplyOrderLine line : order.getOrderLines()) {
             RawMaterial material = line.getMaterial();
-            material.setStock(material.getStock() + line.getQuantity());
+            Integer previousStock = material.getStock();
+            material.setStock(previousStock + line.getQuantity());
             rawMaterialRepository.save(material);
+            outboxPublisher.append(StockChangedEvent.rawMaterial(material.getId(), material.getName(),
+                    previousStock, material.getStock(), material.getStockMin()));
             log.info("Stock mis à jour pour la matière {} - Quantité ajoutée: {}", material.getCode(), line.getQuantity());
         }
         SupplyOrder updatedOrder = supplyOrderRepository.save(order);
+        outboxPublisher.append(OrderReceivedEvent.of(updatedOrder.getId(), updatedOrder.getOrderNumber(),
+                actualDeliveryDate));
+        publishStatusChange(updatedOrder, previousStatus);
         log.info("Commande reçue avec succès - ID: {}, Date de réception: {}", id, actualDeliveryDate);
         return supplyOrderMapper.toResponseDTO(updatedOrder);
     }
@@ -266,12 +359,20 @@ public class SupplyOrderService {
         if (order.getStatus() == SupplyOrderStatus.ANNULEE) {
             throw new BusinessException("La commande est déjà annulée");
         }
+        SupplyOrderStatus previousStatus = order.getStatus();
         order.setStatus(SupplyOrderStatus.ANNULEE);
         SupplyOrder updatedOrder = supplyOrderRepository.save(order);
+        publishStatusChange(updatedOrder, previousStatus);
         log.info("Commande annulée avec succès - ID: {}", id);
         return supplyOrderMapper.toResponseDTO(updatedOrder);
     }
 
+    // Diffuser le changement de statut (après commit) sur le flux temps réel
+    private void publishStatusChange(SupplyOrder order, SupplyOrderStatus previousStatus) {
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(
+                OrderEvent.SUPPLY_ORDER, order.getId(), order.getOrderNumber(), previousStatus, order.getStatus()));
+    }
+
     // Compter les commandes actives d'un fournisseur
     public Long countActiveOrdersBySupplier(Long supplierId) {
         if (!supplierRepository.existsById(supplierId)) {
@@ -281,8 +382,14 @@ public class SupplyOrderService {
     }
 
     // Calculer le montant total par statut
+    @SingleFlight(ttlMs = 2000)
     public Double sumTotalAmountByStatus(SupplyOrderStatus status) {
-        return supplyOrderRepository.sumTotalAmountByStatus(status);
+        Double kpi = kpiRegistry.value(SupplyOrderKpiContributor.totalAmount(status));
+        if (kpi != null) {
+            return kpi;
+        }
+        Double total = supplyOrderRepository.sumTotalAmountByStatus(status);
+        return total != null ? total : 0.0;
     }
 
     // Vérifier si une commande peut être supprimée
@@ -313,4 +420,20 @@ public class SupplyOrderService {
             throw new BusinessException("Une commande EN_ATTENTE doit passer par le statut EN_COURS avant d'être reçue");
         }
     }
+
+    // Colonnes de la commande (et du fournisseur si demandé) en une requête, lignes chargées pour toute la page
+    private Page<SupplyOrderResponseDTO> findProjected(Specification<SupplyOrder> specification, Pageable pageable,
+                                                       FieldSelection fields) {
+        Page<SupplyOrderResponseDTO> orders = projectionQueryExecutor.findPage(SupplyOrder.class, specification, pageable,
+                fields.columnPaths(SupplyOrderResponseDTO.class, Set.of()), SupplyOrderResponseDTO::new);
+        if (fields.includes("orderLines") && orders.hasContent()) {
+            List<Long> orderIds = orders.map(SupplyOrderResponseDTO::getId).getContent();
+            Map<Long, List<SupplyOrderLineResponseDTO>> linesByOrder = supplyOrderLineRepository
+                    .findWithMaterialBySupplyOrderIdIn(orderIds).stream()
+                    .collect(Collectors.groupingBy(line -> line.getSupplyOrder().getId(),
+                            Collectors.mapping(supplyOrderLineMapper::toResponseDTO, Collectors.toList())));
+            orders.forEach(order -> order.setOrderLines(linesByOrder.getOrDefault(order.getId(), List.of())));
+        }
+        return orders;
+    }
 }